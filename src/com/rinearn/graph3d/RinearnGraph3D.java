@@ -25,6 +25,7 @@ import java.awt.event.WindowListener;
 import java.io.File;
 import java.io.IOException;
 import java.io.FileNotFoundException;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JMenuBar;
 import javax.swing.JOptionPane;
@@ -498,6 +499,235 @@ public final class RinearnGraph3D {
 	// to BufferedImage explicitly, for this API.
 
 
+	/**
+	 * <span class="lang-en">
+	 * Copies the current screen image to the specified buffer if it is reusable, otherwise to a newly allocated buffer
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在のスクリーンの内容を, 指定されたバッファが再利用可能であればそこに, そうでなければ新しく確保したバッファにコピーします
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The specified buffer is reused when its width/height are the same as the screen and its type is "bufferedImageType".
+	 * In both cases, this method returns the buffer storing the copied image.
+	 * Hence, by passing the returned buffer to the next call of this method,
+	 * you can copy the screen image repeatedly (e.g. for streaming frames of the graph) without allocating large buffers for each copy,
+	 * e.g.: "buffer = graph.copyImage(buffer, BufferedImage.TYPE_INT_RGB);".
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたバッファは, その縦横サイズがスクリーンと等しく, かつタイプが "bufferedImageType" である場合に再利用されます.
+	 * いずれの場合も, このメソッドはコピー結果を格納しているバッファを返します.
+	 * 従って, 戻り値を次回の呼び出し時に渡す事で, コピーの度に大きなバッファを確保する事なく,
+	 * 繰り返しスクリーンの内容をコピーできます（グラフのフレームを連続的に取り出す場合など）.
+	 * （例: "buffer = graph.copyImage(buffer, BufferedImage.TYPE_INT_RGB);" ）
+	 * </span>
+	 *
+	 * @param buffer
+	 *   <span class="lang-en">The buffer to be reused (may be null)</span>
+	 *   <span class="lang-ja">再利用するバッファ（ null も可）</span>
+	 *
+	 * @param bufferedImageType
+	 *   <span class="lang-en">The type of the BufferedImage to be returned (e.g.: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, etc.)</span>
+	 *   <span class="lang-ja">BufferedImage のタイプ (例: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, 等々)</span>
+	 *
+	 * @return
+	 *   <span class="lang-en">
+	 *   The buffer storing the copy of the current screen image (the specified one if reused)
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   現在のスクリーンの内容のコピーを格納しているバッファ（再利用された場合は, 指定されたバッファ）
+	 *   </span>
+	 */
+	public synchronized BufferedImage copyImage(BufferedImage buffer, int bufferedImageType) {
+		return this.presenter.imageIOHandler.copyImage(buffer, bufferedImageType);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Picks the data point nearest to the specified position on the graph screen, e.g.: the clicked/hovered position
+	 * </span>
+	 * <span class="lang-ja">
+	 * グラフ画面上の指定位置（クリック/ホバーされた位置など）に最も近いデータ点を選択（ピック）します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The returned object stores the index of the data series, the grid indices, and the raw coordinate values of the picked point.
+	 * The positions of all the visible data points on the screen are indexed when this method is called after the graph has been re-rendered,
+	 * so the first call after re-rendering requires the cost proportional to the number of the points,
+	 * but the subsequent calls (until the next re-rendering) are processed in a short time, even for millions of points.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 戻り値のオブジェクトには, 選択された点の系列インデックス, 格子インデックス, および座標値が格納されています.
+	 * グラフが再描画された後の最初の呼び出し時に, 表示されている全データ点のスクリーン上の位置が索引化されるため,
+	 * その呼び出しは点数に比例したコストを要しますが, 以降（次の再描画まで）の呼び出しは, 点数が数百万点の場合でも短時間で処理されます.
+	 * </span>
+	 *
+	 * @param screenX
+	 *   <span class="lang-en">The X coordinate (in pixels, from the left edge) on the screen</span>
+	 *   <span class="lang-ja">スクリーン上の X 座標（左端からのピクセル数）</span>
+	 *
+	 * @param screenY
+	 *   <span class="lang-en">The Y coordinate (in pixels, from the top edge) on the screen</span>
+	 *   <span class="lang-ja">スクリーン上の Y 座標（上端からのピクセル数）</span>
+	 *
+	 * @param radius
+	 *   <span class="lang-en">The maximum distance (in pixels) between the specified position and the point to be picked</span>
+	 *   <span class="lang-ja">指定位置と, 選択される点との間の最大距離（ピクセル数）</span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The information of the picked point (null if no point exists within the radius)</span>
+	 *   <span class="lang-ja">選択された点の情報（半径内に点が存在しない場合は null）</span>
+	 */
+	public synchronized RinearnGraph3DPickedPoint pickPoint(int screenX, int screenY, int radius) {
+		return this.presenter.pointPicker.pick(screenX, screenY, radius);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the reduction ratio of the number of the polygons by the simplification of the surfaces, at the last plotting
+	 * </span>
+	 * <span class="lang-ja">
+	 * 直近のプロット時における, 曲面の簡略化によるポリゴン数の削減率を取得します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The ratio is: (the number of the drawn polygons) / (the number of the quadrangles before the simplification),
+	 * over all the simplified data series.
+	 * The simplification is enabled by setting a positive maximum error to the configuration of "With Surfaces" option.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 削減率は, 簡略化された全系列における（描画されたポリゴン数）/（簡略化前の四角形の数）です.
+	 * 簡略化は,「曲面プロット」オプションの設定において, 正の最大誤差を指定すると有効になります.
+	 * </span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The reduction ratio (1.0 if no data series has been simplified)</span>
+	 *   <span class="lang-ja">削減率（簡略化された系列が無い場合は 1.0）</span>
+	 */
+	public synchronized double getSurfaceSimplificationReductionRatio() {
+		return this.presenter.surfacePlotter.getSimplificationReductionRatio();
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the number of the lines removed by the simplification of the lines, at the last plotting
+	 * </span>
+	 * <span class="lang-ja">
+	 * 直近のプロット時に, 線の簡略化によって削減された線分の数を取得します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The simplification is enabled by setting a positive maximum error to the configuration of "With Lines" option.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 簡略化は,「線プロット」オプションの設定において, 正の最大誤差を指定すると有効になります.
+	 * </span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The number of the removed lines, over all the simplified data series (0 if no data series has been simplified)</span>
+	 *   <span class="lang-ja">簡略化された全系列において削減された線分の数（簡略化された系列が無い場合は 0）</span>
+	 */
+	public synchronized long getLineSimplificationRemovedLineCount() {
+		return this.presenter.linePlotter.getSimplificationRemovedLineCount();
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the total number of the times the coordinate values of the currently plotted math expressions have been computed
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている数式の座標値が, 実際に計算された回数の合計を取得します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The computations skipped because the expressions and the ranges were unchanged are not counted.
+	 * For the number of them, use {@link RinearnGraph3D#getSkippedMathComputationCount() getSkippedMathComputationCount()}.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 数式や範囲が変化していないためにスキップされた計算は数えられません.
+	 * その回数は {@link RinearnGraph3D#getSkippedMathComputationCount() getSkippedMathComputationCount()} で取得できます.
+	 * </span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The total number of the computations</span>
+	 *   <span class="lang-ja">計算回数の合計</span>
+	 */
+	public synchronized long getMathComputationCount() {
+		return this.model.dataStore.getMathComputationCount();
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the total number of the times the computation of the currently plotted math expressions has been skipped,
+	 * because the expressions and the ranges were unchanged
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている数式の計算が, 数式や範囲が変化していないためにスキップされた回数の合計を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The total number of the skipped computations</span>
+	 *   <span class="lang-ja">スキップされた計算の回数の合計</span>
+	 */
+	public synchronized long getSkippedMathComputationCount() {
+		return this.model.dataStore.getSkippedMathComputationCount();
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the total number of the points of the currently plotted z(x,y) math expressions,
+	 * reused from the last computations when the X/Y ranges were panned
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている z(x,y) 形式の数式において, X/Y の範囲が平行移動された際に, 前回の計算結果から再利用された点数の合計を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The total number of the reused points</span>
+	 *   <span class="lang-ja">再利用された点数の合計</span>
+	 */
+	public synchronized long getReusedMathPointCount() {
+		return this.model.dataStore.getReusedMathPointCount();
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the total number of the points at which the currently plotted math expressions have been evaluated in their last computations
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている数式が, 直近の計算において評価された点数の合計を取得します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * It can be compared with the number of the points of the uniform sampling (determined by the resolutions),
+	 * to see the effect of the adaptive sampling mode,
+	 * which is enabled by {@link com.rinearn.graph3d.config.data.DataConfiguration#setMathAdaptiveSamplingEnabled(boolean)
+	 * DataConfiguration.setMathAdaptiveSamplingEnabled(boolean)}.
+	 * In the adaptive sampling mode, the count includes the evaluations at the points probed for estimating the errors.
+	 * </span>
+	 * <span class="lang-ja">
+	 * この値を, 解像度から決まる一様なサンプリングの点数と比較する事で,
+	 * {@link com.rinearn.graph3d.config.data.DataConfiguration#setMathAdaptiveSamplingEnabled(boolean)
+	 * DataConfiguration.setMathAdaptiveSamplingEnabled(boolean)} で有効化される適応サンプリングモードの効果を確認できます.
+	 * 適応サンプリングモードでは, 誤差の見積もりのために評価された点も数えられます.
+	 * </span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The total number of the evaluations in the last computations</span>
+	 *   <span class="lang-ja">直近の計算における評価点数の合計</span>
+	 */
+	public synchronized long getLastMathEvaluationCount() {
+		return this.model.dataStore.getLastMathEvaluationCount();
+	}
+
+
 	/**
 	 * <span class="lang-en">
 	 * Exports the current screen image to a image file
@@ -647,6 +877,136 @@ public final class RinearnGraph3D {
 	}
 
 
+	/**
+	 * <span class="lang-ja">
+	 * 座標値データファイルを開き, その内容をグラフにプロットします（非同期版）
+	 * </span>
+	 * <span class="lang-en">
+	 * Opens a data file, and plots the data in it into the graph, asynchronously
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the loading and the plotting,
+	 * and the file is loaded and plotted on a background thread.
+	 * If an error occurred when loading the file, the returned future is completed exceptionally with it
+	 * (FileNotFoundException, IOException, etc.).
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドは読み込みとプロットの完了を待たずに即座に処理を返し, ファイルはバックグラウンドのスレッドで読み込み・プロットされます.
+	 * 読み込み時にエラーが発生した場合, 戻り値の Future は, そのエラー（FileNotFoundException や IOException など）で例外的に完了します.
+	 * </span>
+	 *
+	 * @param file
+	 *   <span class="lang-ja">プロットする座標値データファイル</span>
+	 *   <span class="lang-en">The data file to be plotted</span>
+	 * @return
+	 *   <span class="lang-en">The future completed when the data has been plotted</span>
+	 *   <span class="lang-ja">データのプロットが完了した時点で完了する Future</span>
+	 */
+	public CompletableFuture<Void> openDataFileAsync(File file) {
+		return this.presenter.dataFileIOHandler.openDataFileAsync(file);
+	}
+
+
+	/**
+	 * <span class="lang-ja">
+	 * 複数の座標値データファイルを開き, その内容をグラフにプロットします（非同期版）
+	 * </span>
+	 * <span class="lang-en">
+	 * Opens multiple data files, and plots the data in them into the graph, asynchronously
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the loading and the plotting,
+	 * and the file is loaded and plotted on a background thread.
+	 * If an error occurred when loading the file, the returned future is completed exceptionally with it
+	 * (FileNotFoundException, IOException, etc.).
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドは読み込みとプロットの完了を待たずに即座に処理を返し, ファイルはバックグラウンドのスレッドで読み込み・プロットされます.
+	 * 読み込み時にエラーが発生した場合, 戻り値の Future は, そのエラー（FileNotFoundException や IOException など）で例外的に完了します.
+	 * </span>
+	 *
+	 * @param files
+	 *   <span class="lang-ja">プロットする座標値データファイル</span>
+	 *   <span class="lang-en">The data files to be plotted</span>
+	 * @return
+	 *   <span class="lang-en">The future completed when the data has been plotted</span>
+	 *   <span class="lang-ja">データのプロットが完了した時点で完了する Future</span>
+	 */
+	public CompletableFuture<Void> openDataFilesAsync(File[] files) {
+		return this.presenter.dataFileIOHandler.openDataFilesAsync(files);
+	}
+
+
+	/**
+	 * <span class="lang-ja">
+	 * 座標値データファイルを, 指定された書式で開き, その内容をグラフにプロットします（非同期版）
+	 * </span>
+	 * <span class="lang-en">
+	 * Opens a data file in the specified format, and plots the data in it into the graph, asynchronously
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the loading and the plotting,
+	 * and the file is loaded and plotted on a background thread.
+	 * If an error occurred when loading the file, the returned future is completed exceptionally with it
+	 * (FileNotFoundException, IOException, etc.).
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドは読み込みとプロットの完了を待たずに即座に処理を返し, ファイルはバックグラウンドのスレッドで読み込み・プロットされます.
+	 * 読み込み時にエラーが発生した場合, 戻り値の Future は, そのエラー（FileNotFoundException や IOException など）で例外的に完了します.
+	 * </span>
+	 *
+	 * @param file
+	 *   <span class="lang-ja">プロットする座標値データファイル</span>
+	 *   <span class="lang-en">The data file to be plotted</span>
+	 * @param format
+	 *   <span class="lang-ja">座標値データファイルの書式</span>
+	 *   <span class="lang-en">The format of the data file</span>
+	 * @return
+	 *   <span class="lang-en">The future completed when the data has been plotted</span>
+	 *   <span class="lang-ja">データのプロットが完了した時点で完了する Future</span>
+	 */
+	public CompletableFuture<Void> openDataFileAsync(File file, RinearnGraph3DDataFileFormat format) {
+		return this.presenter.dataFileIOHandler.openDataFileAsync(file, format);
+	}
+
+
+	/**
+	 * <span class="lang-ja">
+	 * 複数の座標値データファイルを, 指定された書式で開き, その内容をグラフにプロットします（非同期版）
+	 * </span>
+	 * <span class="lang-en">
+	 * Opens multiple data files in the specified formats, and plots the data in them into the graph, asynchronously
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the loading and the plotting,
+	 * and the file is loaded and plotted on a background thread.
+	 * If an error occurred when loading the file, the returned future is completed exceptionally with it
+	 * (FileNotFoundException, IOException, etc.).
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドは読み込みとプロットの完了を待たずに即座に処理を返し, ファイルはバックグラウンドのスレッドで読み込み・プロットされます.
+	 * 読み込み時にエラーが発生した場合, 戻り値の Future は, そのエラー（FileNotFoundException や IOException など）で例外的に完了します.
+	 * </span>
+	 *
+	 * @param files
+	 *   <span class="lang-ja">プロットする座標値データファイル</span>
+	 *   <span class="lang-en">The data files to be plotted</span>
+	 * @param formats
+	 *   <span class="lang-ja">座標値データファイルの書式</span>
+	 *   <span class="lang-en">The formats of the data files</span>
+	 * @return
+	 *   <span class="lang-en">The future completed when the data has been plotted</span>
+	 *   <span class="lang-ja">データのプロットが完了した時点で完了する Future</span>
+	 */
+	public CompletableFuture<Void> openDataFilesAsync(File[] files, RinearnGraph3DDataFileFormat[] formats) {
+		return this.presenter.dataFileIOHandler.openDataFilesAsync(files, formats);
+	}
+
+
 	/**
 	 * <span class="lang-en">
 	 * Sets the data composing a line to be plotted
@@ -922,43 +1282,846 @@ public final class RinearnGraph3D {
 
 	/**
 	 * <span class="lang-en">
-	 * Enables/disables the asynchronous plotting feature
+	 * Sets the data composing a line to be plotted, in single precision
 	 * </span>
 	 * <span class="lang-ja">
-	 * 非同期プロット機能の有効・無効を設定します
+	 * プロット対象として, 線状のデータをセットします（単精度版）
 	 * </span>
 	 * .
 	 * <span class="lang-en">
-	 * If this feature is disabled (default),
-	 * when you plot the data by calling setData(double[], double[], double[]) method,
-	 * the processing flow returns to the called-side after when the plotting has competed.
-	 * In the contrast, if this feature is enabled, the processing flow returns from
-	 * setData(double[], double[], double[]) method to the caller-side immediately with storing the data to the buffer.
-	 * Then, the plotting will be performed asynchronously on the other thread, at a suitable timing.
-	 * This feature is useful when you want to animate the graph by calling setData method repeatedly in high frequency.
-	 * In such case, with enabling this feature, you can reduce the load of the main thread, and also can make the animation smooth.
+	 * The coordinate values are stored in float-type (single precision) arrays without being converted into double-type,
+	 * so the memory usage is the half of the double-type version of this method.
+	 * It is suitable for plotting very large data, of which values don't require the double precision.
 	 * </span>
 	 * <span class="lang-ja">
-	 * この機能の有効・無効は, setData(double[], double[], double[]) メソッドなどを連続的に呼び出し続けて,
-	 * 大量の座標値データをグラフにプロットさせ続ける場合の振る舞いに影響します.
-	 * この機能が無効の場合は, 座標値データを渡した際, それがグラフにプロットされた後に, 呼び出し元に処理が戻ります.
-	 * 渡したデータが確実にプロットされるため, プロット結果を画像ファイルに出力するような場合に適しています.
-	 * それに対して, この機能が有効の場合は, 座標値データは一時的なバッファ領域に控えられるだけで, すぐに呼び出し元に処理が戻ります.
-	 * そして, バッファされたデータは, 後の適当なタイミングでグラフにプロットされます.
-	 * そのため, データを繰り返し高頻度で渡して, グラフをアニメーションさせてたいような場合には, この機能を有効化するのが適しています.
-	 * そうする事で, メインスレッドの負荷を低減させると共に, アニメーションをスムーズにする事ができます.
+	 * 座標値は double 型に変換されず, float 型（単精度）の配列で保持されるため, このメソッドの double 型版と比べて半分のメモリで済みます.
+	 * 倍精度を必要としない, 非常に大きなデータをプロットする場合に適しています.
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendData(...) instead.
+	 * </span>
+	 * <span class="lang-ja">
+	 * なお, 現時点で登録されているデータ系列は, 全てクリアされる事にご注意ください.
+	 * クリアしたくない場合は, 代わりに appendData(...) を使用してください.
 	 * </span>
 	 *
-	 * @param enabled
+	 * @param x
 	 *   <span class="lang-en">
-	 *   Specify true to enable, false to disable
+	 *   The array storing the X-coordinates of the node points of a line,
+	 *   where its index is [nodeIndex]
 	 *   </span>
 	 *   <span class="lang-ja">
-	 *   有効化する場合に true, 無効化する場合に false を指定
+	 *   線の節点における, X値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
 	 *   </span>
-	 */
-	public synchronized void setAsynchronousPlottingEnabled(boolean enabled) {
-		this.presenter.dataArrayIOHandler.setAsynchronousPlottingEnabled(enabled);
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Y値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Z値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 */
+	public synchronized void setData(float[] x, float[] y, float[] z) {
+		this.presenter.dataArrayIOHandler.setData(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Sets the data composing a mesh to be plotted, in single precision
+	 * </span>
+	 * <span class="lang-ja">
+	 * プロット対象として, メッシュ状のデータをセットします（単精度版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The coordinate values are stored in float-type (single precision) arrays without being converted into double-type,
+	 * so the memory usage is the half of the double-type version of this method.
+	 * It is suitable for plotting very large data, of which values don't require the double precision.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 座標値は double 型に変換されず, float 型（単精度）の配列で保持されるため, このメソッドの double 型版と比べて半分のメモリで済みます.
+	 * 倍精度を必要としない, 非常に大きなデータをプロットする場合に適しています.
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendData(...) instead.
+	 * </span>
+	 * <span class="lang-ja">
+	 * なお, 現時点で登録されているデータ系列は, 全てクリアされる事にご注意ください.
+	 * クリアしたくない場合は, 代わりに appendData(...) を使用してください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, X値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Y値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Z値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 */
+	public synchronized void setData(float[][] x, float[][] y, float[][] z) {
+		this.presenter.dataArrayIOHandler.setData(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Sets the multiple data series (composing multiple meshes or lines) to be plotted, in single precision
+	 * </span>
+	 * <span class="lang-ja">
+	 * プロット対象として, 複数系列のデータ（複数のメッシュや線を構成）をセットします（単精度版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The coordinate values are stored in float-type (single precision) arrays without being converted into double-type,
+	 * so the memory usage is the half of the double-type version of this method.
+	 * It is suitable for plotting very large data, of which values don't require the double precision.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 座標値は double 型に変換されず, float 型（単精度）の配列で保持されるため, このメソッドの double 型版と比べて半分のメモリで済みます.
+	 * 倍精度を必要としない, 非常に大きなデータをプロットする場合に適しています.
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendData(...) instead.
+	 * </span>
+	 * <span class="lang-ja">
+	 * なお, 現時点で登録されているデータ系列は, 全てクリアされる事にご注意ください.
+	 * クリアしたくない場合は, 代わりに appendData(...) を使用してください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, X値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Y値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Z値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 */
+	public synchronized void setData(float[][][] x, float[][][] y, float[][][] z) {
+		this.presenter.dataArrayIOHandler.setData(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the data composing a line, to the currently plotted data, in single precision
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている内容に, 線状のデータを追加します（単精度版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The coordinate values are stored in float-type (single precision) arrays without being converted into double-type,
+	 * so the memory usage is the half of the double-type version of this method.
+	 * It is suitable for plotting very large data, of which values don't require the double precision.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 座標値は double 型に変換されず, float 型（単精度）の配列で保持されるため, このメソッドの double 型版と比べて半分のメモリで済みます.
+	 * 倍精度を必要としない, 非常に大きなデータをプロットする場合に適しています.
+	 * </span>
+	 * .
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the node points of a line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, X値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Y値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Z値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 */
+	public synchronized void appendData(float[] x, float[] y, float[] z) {
+		this.presenter.dataArrayIOHandler.appendData(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the data composing a mesh, to the currently plotted data, in single precision
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている内容に、メッシュ状のデータを追加します（単精度版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The coordinate values are stored in float-type (single precision) arrays without being converted into double-type,
+	 * so the memory usage is the half of the double-type version of this method.
+	 * It is suitable for plotting very large data, of which values don't require the double precision.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 座標値は double 型に変換されず, float 型（単精度）の配列で保持されるため, このメソッドの double 型版と比べて半分のメモリで済みます.
+	 * 倍精度を必要としない, 非常に大きなデータをプロットする場合に適しています.
+	 * </span>
+	 * .
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, X値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Y値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Z値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 */
+	public synchronized void appendData(float[][] x, float[][] y, float[][] z) {
+		this.presenter.dataArrayIOHandler.appendData(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the multiple data series (composing multiple meshes or lines), to the currently plotted data, in single precision
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている内容に、複数系列のデータ（複数のメッシュや線を構成）を追加します（単精度版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The coordinate values are stored in float-type (single precision) arrays without being converted into double-type,
+	 * so the memory usage is the half of the double-type version of this method.
+	 * It is suitable for plotting very large data, of which values don't require the double precision.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 座標値は double 型に変換されず, float 型（単精度）の配列で保持されるため, このメソッドの double 型版と比べて半分のメモリで済みます.
+	 * 倍精度を必要としない, 非常に大きなデータをプロットする場合に適しています.
+	 * </span>
+	 * .
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, X値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Y値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Z値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 */
+	public synchronized void appendData(float[][][] x, float[][][] y, float[][][] z) {
+		this.presenter.dataArrayIOHandler.appendData(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Sets the data composing a line to be plotted, asynchronously
+	 * </span>
+	 * <span class="lang-ja">
+	 * プロット対象として, 線状のデータをセットします（非同期版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the plotting,
+	 * and the data are processed and plotted on a background thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドはプロットの完了を待たずに即座に処理を返し, データはバックグラウンドのスレッドで処理・プロットされます.
+	 * このメソッドの呼び出し後は, 渡した配列の内容を変更しないでください.
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendDataAsync(...) instead.
+	 * </span>
+	 * <span class="lang-ja">
+	 * なお, 現時点で登録されているデータ系列は, 全てクリアされる事にご注意ください.
+	 * クリアしたくない場合は, 代わりに appendDataAsync(...) を使用してください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the node points of a line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, X値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Y値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Z値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @return
+	 *   <span class="lang-en">
+	 *   The future completed when the data has been plotted
+	 *   (or has been skipped because newer data has been set by setDataAsync(...))
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   データのプロットが完了した時点（または, より新しいデータが setDataAsync(...) でセットされてスキップされた時点）で完了する Future
+	 *   </span>
+	 */
+	public synchronized CompletableFuture<Void> setDataAsync(double[] x, double[] y, double[] z) {
+		return this.presenter.dataArrayIOHandler.setDataAsync(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Sets the data composing a mesh to be plotted, asynchronously
+	 * </span>
+	 * <span class="lang-ja">
+	 * プロット対象として, メッシュ状のデータをセットします（非同期版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the plotting,
+	 * and the data are processed and plotted on a background thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドはプロットの完了を待たずに即座に処理を返し, データはバックグラウンドのスレッドで処理・プロットされます.
+	 * このメソッドの呼び出し後は, 渡した配列の内容を変更しないでください.
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendDataAsync(...) instead.
+	 * </span>
+	 * <span class="lang-ja">
+	 * なお, 現時点で登録されているデータ系列は, 全てクリアされる事にご注意ください.
+	 * クリアしたくない場合は, 代わりに appendDataAsync(...) を使用してください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, X値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Y値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Z値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @return
+	 *   <span class="lang-en">
+	 *   The future completed when the data has been plotted
+	 *   (or has been skipped because newer data has been set by setDataAsync(...))
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   データのプロットが完了した時点（または, より新しいデータが setDataAsync(...) でセットされてスキップされた時点）で完了する Future
+	 *   </span>
+	 */
+	public synchronized CompletableFuture<Void> setDataAsync(double[][] x, double[][] y, double[][] z) {
+		return this.presenter.dataArrayIOHandler.setDataAsync(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Sets the multiple data series (composing multiple meshes or lines) to be plotted, asynchronously
+	 * </span>
+	 * <span class="lang-ja">
+	 * プロット対象として, 複数系列のデータ（複数のメッシュや線を構成）をセットします（非同期版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the plotting,
+	 * and the data are processed and plotted on a background thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドはプロットの完了を待たずに即座に処理を返し, データはバックグラウンドのスレッドで処理・プロットされます.
+	 * このメソッドの呼び出し後は, 渡した配列の内容を変更しないでください.
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendDataAsync(...) instead.
+	 * </span>
+	 * <span class="lang-ja">
+	 * なお, 現時点で登録されているデータ系列は, 全てクリアされる事にご注意ください.
+	 * クリアしたくない場合は, 代わりに appendDataAsync(...) を使用してください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, X値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Y値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Z値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @return
+	 *   <span class="lang-en">
+	 *   The future completed when the data has been plotted
+	 *   (or has been skipped because newer data has been set by setDataAsync(...))
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   データのプロットが完了した時点（または, より新しいデータが setDataAsync(...) でセットされてスキップされた時点）で完了する Future
+	 *   </span>
+	 */
+	public synchronized CompletableFuture<Void> setDataAsync(double[][][] x, double[][][] y, double[][][] z) {
+		return this.presenter.dataArrayIOHandler.setDataAsync(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the data composing a line, to the currently plotted data, asynchronously
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている内容に, 線状のデータを追加します（非同期版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the plotting,
+	 * and the data are processed and plotted on a background thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドはプロットの完了を待たずに即座に処理を返し, データはバックグラウンドのスレッドで処理・プロットされます.
+	 * このメソッドの呼び出し後は, 渡した配列の内容を変更しないでください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the node points of a line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, X値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Y値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the node points of the line,
+	 *   where its index is [nodeIndex]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   線の節点における, Z値を格納する配列
+	 *   （インデックスは [節点のインデックス]）
+	 *   </span>
+	 * @return
+	 *   <span class="lang-en">
+	 *   The future completed when the data has been plotted
+	 *   (or has been skipped because newer data has been set by setDataAsync(...))
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   データのプロットが完了した時点（または, より新しいデータが setDataAsync(...) でセットされてスキップされた時点）で完了する Future
+	 *   </span>
+	 */
+	public synchronized CompletableFuture<Void> appendDataAsync(double[] x, double[] y, double[] z) {
+		return this.presenter.dataArrayIOHandler.appendDataAsync(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the data composing a mesh, to the currently plotted data, asynchronously
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている内容に、メッシュ状のデータを追加します（非同期版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the plotting,
+	 * and the data are processed and plotted on a background thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドはプロットの完了を待たずに即座に処理を返し, データはバックグラウンドのスレッドで処理・プロットされます.
+	 * このメソッドの呼び出し後は, 渡した配列の内容を変更しないでください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, X値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Y値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *   where its indices are [gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   メッシュ格子点における, Z値を格納する配列
+	 *   （インデックスは [格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @return
+	 *   <span class="lang-en">
+	 *   The future completed when the data has been plotted
+	 *   (or has been skipped because newer data has been set by setDataAsync(...))
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   データのプロットが完了した時点（または, より新しいデータが setDataAsync(...) でセットされてスキップされた時点）で完了する Future
+	 *   </span>
+	 */
+	public synchronized CompletableFuture<Void> appendDataAsync(double[][] x, double[][] y, double[][] z) {
+		return this.presenter.dataArrayIOHandler.appendDataAsync(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the multiple data series (composing multiple meshes or lines), to the currently plotted data, asynchronously
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在プロットされている内容に、複数系列のデータ（複数のメッシュや線を構成）を追加します（非同期版）
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method returns immediately without waiting for the plotting,
+	 * and the data are processed and plotted on a background thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドはプロットの完了を待たずに即座に処理を返し, データはバックグラウンドのスレッドで処理・プロットされます.
+	 * このメソッドの呼び出し後は, 渡した配列の内容を変更しないでください.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">
+	 *   The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, X値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param y
+	 *   <span class="lang-en">
+	 *   The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Y値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @param z
+	 *   <span class="lang-en">
+	 *   The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *   where its indices are [dataSeriesIndex][gridIndexA][gridIndexB]
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   各系列の、メッシュ格子点や線の節点における, Z値を格納する配列
+	 *   （インデックスは [系列インデックス][格子方向Aのインデックス][格子方向Bのインデックス]）
+	 *   </span>
+	 * @return
+	 *   <span class="lang-en">
+	 *   The future completed when the data has been plotted
+	 *   (or has been skipped because newer data has been set by setDataAsync(...))
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   データのプロットが完了した時点（または, より新しいデータが setDataAsync(...) でセットされてスキップされた時点）で完了する Future
+	 *   </span>
+	 */
+	public synchronized CompletableFuture<Void> appendDataAsync(double[][][] x, double[][][] y, double[][][] z) {
+		return this.presenter.dataArrayIOHandler.appendDataAsync(x, y, z);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Creates a new data stream for plotting real-time data (e.g. sensor data), and adds it to the currently plotted data
+	 * </span>
+	 * <span class="lang-ja">
+	 * リアルタイムなデータ（センサーデータなど）をプロットするためのデータストリームを生成し, 現在プロットされている内容に追加します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The returned stream keeps the latest points (up to the specified capacity) appended by its append(...) method,
+	 * and they are plotted as a data series (a line).
+	 * Appending points to the stream is lightweight (without re-copying the whole history, etc.),
+	 * and the re-plotting is performed asynchronously and coalesced, so the stream is suitable for plotting data updated at high frequency.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 返されるストリームは, その append(...) メソッドで追記された点のうち, 直近のもの（指定された容量まで）を保持し,
+	 * それらは1つの系列（線）としてプロットされます.
+	 * ストリームへの点の追記は軽量で（履歴全体の再コピー等を伴わず）, 再プロットも非同期にまとめて行われるため,
+	 * 高頻度で更新されるデータのプロットに適しています.
+	 * </span>
+	 *
+	 * @param capacity
+	 *   <span class="lang-en">The maximum number of the points kept in the stream</span>
+	 *   <span class="lang-ja">ストリームに保持される点数の上限</span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The created data stream</span>
+	 *   <span class="lang-ja">生成されたデータストリーム</span>
+	 */
+	public synchronized RinearnGraph3DDataStream createDataStream(int capacity) {
+		return this.presenter.dataStreamIOHandler.createDataStream(capacity);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Removes the specified data stream from the currently plotted data
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたデータストリームを, 現在プロットされている内容から削除します
+	 * </span>
+	 * .
+	 * @param dataStream
+	 *   <span class="lang-en">The data stream to be removed (created by createDataStream(int))</span>
+	 *   <span class="lang-ja">削除するデータストリーム（ createDataStream(int) で生成したもの）</span>
+	 */
+	public synchronized void removeDataStream(RinearnGraph3DDataStream dataStream) {
+		this.presenter.dataStreamIOHandler.removeDataStream(dataStream);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Enables/disables the asynchronous plotting feature
+	 * </span>
+	 * <span class="lang-ja">
+	 * 非同期プロット機能の有効・無効を設定します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * If this feature is disabled (default),
+	 * when you plot the data by calling setData(double[], double[], double[]) method,
+	 * the processing flow returns to the called-side after when the plotting has competed.
+	 * In the contrast, if this feature is enabled, the processing flow returns from
+	 * setData(double[], double[], double[]) method to the caller-side immediately with storing the data to the buffer.
+	 * Then, the plotting will be performed asynchronously on the other thread, at a suitable timing.
+	 * This feature is useful when you want to animate the graph by calling setData method repeatedly in high frequency.
+	 * In such case, with enabling this feature, you can reduce the load of the main thread, and also can make the animation smooth.
+	 * </span>
+	 * <span class="lang-ja">
+	 * この機能の有効・無効は, setData(double[], double[], double[]) メソッドなどを連続的に呼び出し続けて,
+	 * 大量の座標値データをグラフにプロットさせ続ける場合の振る舞いに影響します.
+	 * この機能が無効の場合は, 座標値データを渡した際, それがグラフにプロットされた後に, 呼び出し元に処理が戻ります.
+	 * 渡したデータが確実にプロットされるため, プロット結果を画像ファイルに出力するような場合に適しています.
+	 * それに対して, この機能が有効の場合は, 座標値データは一時的なバッファ領域に控えられるだけで, すぐに呼び出し元に処理が戻ります.
+	 * そして, バッファされたデータは, 後の適当なタイミングでグラフにプロットされます.
+	 * そのため, データを繰り返し高頻度で渡して, グラフをアニメーションさせてたいような場合には, この機能を有効化するのが適しています.
+	 * そうする事で, メインスレッドの負荷を低減させると共に, アニメーションをスムーズにする事ができます.
+	 * </span>
+	 *
+	 * @param enabled
+	 *   <span class="lang-en">
+	 *   Specify true to enable, false to disable
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   有効化する場合に true, 無効化する場合に false を指定
+	 *   </span>
+	 */
+	public synchronized void setAsynchronousPlottingEnabled(boolean enabled) {
+		this.presenter.dataArrayIOHandler.setAsynchronousPlottingEnabled(enabled);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Enables/disables the single precision storage feature
+	 * </span>
+	 * <span class="lang-ja">
+	 * 単精度保持機能の有効・無効を設定します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * If this feature is enabled, the coordinate values of the data loaded by openDataFile(File) method, etc.,
+	 * and the ones specified by setData(double[], double[], double[]) method, etc., are stored in float-type (single precision) arrays.
+	 * It halves the memory usage, so it is suitable for plotting very large data, of which values don't require the double precision.
+	 * This feature is disabled by default.
+	 * Note that, the coordinate values specified by setData(float[], float[], float[]) method, etc.
+	 * are always stored in the single precision, regardless of this feature.
+	 * </span>
+	 * <span class="lang-ja">
+	 * この機能を有効化すると, openDataFile(File) メソッドなどで読み込んだデータや,
+	 * setData(double[], double[], double[]) メソッドなどで渡した座標値が, float 型（単精度）の配列で保持されるようになります.
+	 * それによりメモリ使用量が半分になるため, 倍精度を必要としない, 非常に大きなデータをプロットする場合に適しています.
+	 * この機能は, デフォルトでは無効化されています.
+	 * なお, setData(float[], float[], float[]) メソッドなどで渡した座標値は, この機能の設定に関わらず, 常に単精度で保持されます.
+	 * </span>
+	 *
+	 * @param enabled
+	 *   <span class="lang-en">
+	 *   Specify true to enable, false to disable
+	 *   </span>
+	 *   <span class="lang-ja">
+	 *   有効化する場合に true, 無効化する場合に false を指定
+	 *   </span>
+	 */
+	public synchronized void setSinglePrecisionStorageEnabled(boolean enabled) {
+		this.presenter.dataArrayIOHandler.setSinglePrecisionStorageEnabled(enabled);
+		this.presenter.dataFileIOHandler.setSinglePrecisionStorageEnabled(enabled);
 	}
 
 
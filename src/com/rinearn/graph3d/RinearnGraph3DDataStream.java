@@ -0,0 +1,126 @@
+package com.rinearn.graph3d;
+
+/**
+ * <span class="lang-ja">
+ * リアルタイムに追記されるデータ（センサーデータなど）を, 直近の一定点数だけ保持してプロットするための, データストリームのインターフェースです
+ * </span>
+ * <span class="lang-en">
+ * The interface of a data stream, for plotting the latest points of real-time data (e.g. sensor data)
+ * </span>
+ * .
+ * <div class="lang-ja">
+ * データストリームは {@link com.rinearn.graph3d.RinearnGraph3D#createDataStream RinearnGraph3D.createDataStream} メソッドで生成し,
+ * グラフ上では1本の系列（線）としてプロットされます.
+ * ストリームは固定容量のリングバッファで点を保持し, 点数が容量を超えると, 古い点から順に破棄されます.
+ * 点の追記はメモリ確保を伴わず, 座標値の最小/最大値も追記ごとに差分的に更新されます.
+ * また, 追記後の再プロットは描画ループ上で非同期に行われ, 短時間に何度も追記された場合は, まとめて1回だけ行われます.
+ * </div>
+ *
+ * <div class="lang-en">
+ * A data stream is created by {@link com.rinearn.graph3d.RinearnGraph3D#createDataStream RinearnGraph3D.createDataStream} method,
+ * and is plotted as a data series (a line) on the graph.
+ * The points are stored in a fixed-capacity ring buffer,
+ * and when the number of the points exceeds the capacity, the oldest points are discarded.
+ * Appending points does not allocate memory, and the min/max coordinate values are updated incrementally.
+ * The re-plotting after appending points is performed asynchronously on the rendering loop,
+ * and is coalesced into once when points are appended many times in a short period.
+ * </div>
+ */
+public interface RinearnGraph3DDataStream {
+
+	/**
+	 * <span class="lang-en">
+	 * Appends a point to this stream
+	 * </span>
+	 * <span class="lang-ja">
+	 * このストリームに点を追記します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * If the number of the points has reached to the capacity, the oldest point is discarded.
+	 * The point of which coordinate values contain NaN or infinity is not plotted.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 点数が容量に達している場合, 最も古い点が破棄されます.
+	 * なお, 座標値に NaN や無限大を含む点はプロットされません.
+	 * </span>
+	 *
+	 * @param x
+	 *   <span class="lang-en">The X coordinate value of the point</span>
+	 *   <span class="lang-ja">点の X 座標値</span>
+	 *
+	 * @param y
+	 *   <span class="lang-en">The Y coordinate value of the point</span>
+	 *   <span class="lang-ja">点の Y 座標値</span>
+	 *
+	 * @param z
+	 *   <span class="lang-en">The Z coordinate value of the point</span>
+	 *   <span class="lang-ja">点の Z 座標値</span>
+	 */
+	public void append(double x, double y, double z);
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends multiple points to this stream
+	 * </span>
+	 * <span class="lang-ja">
+	 * このストリームに複数の点を追記します
+	 * </span>
+	 * .
+	 * @param x
+	 *   <span class="lang-en">The X coordinate values of the points</span>
+	 *   <span class="lang-ja">各点の X 座標値</span>
+	 *
+	 * @param y
+	 *   <span class="lang-en">The Y coordinate values of the points</span>
+	 *   <span class="lang-ja">各点の Y 座標値</span>
+	 *
+	 * @param z
+	 *   <span class="lang-en">The Z coordinate values of the points</span>
+	 *   <span class="lang-ja">各点の Z 座標値</span>
+	 */
+	public void append(double[] x, double[] y, double[] z);
+
+
+	/**
+	 * <span class="lang-en">
+	 * Discards all the points stored in this stream
+	 * </span>
+	 * <span class="lang-ja">
+	 * このストリームに保持されている全ての点を破棄します
+	 * </span>
+	 * .
+	 */
+	public void clear();
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the maximum number of the points stored in this stream
+	 * </span>
+	 * <span class="lang-ja">
+	 * このストリームに保持される点数の上限（容量）を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The capacity of this stream</span>
+	 *   <span class="lang-ja">このストリームの容量</span>
+	 */
+	public int getCapacity();
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the number of the points currently stored in this stream
+	 * </span>
+	 * <span class="lang-ja">
+	 * このストリームに現在保持されている点数を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The number of the points</span>
+	 *   <span class="lang-ja">点数</span>
+	 */
+	public int getSize();
+}
@@ -0,0 +1,210 @@
+package com.rinearn.graph3d;
+
+/**
+ * <span class="lang-ja">
+ * グラフ画面上で選択（ピック）されたデータ点の情報を格納するクラスです
+ * </span>
+ * <span class="lang-en">
+ * The class storing information of the data point picked on the graph screen
+ * </span>
+ * .
+ * <div class="lang-ja">
+ * このクラスのインスタンスは, スクリーン上の位置に最も近いデータ点を特定する
+ * {@link com.rinearn.graph3d.RinearnGraph3D#pickPoint RinearnGraph3D.pickPoint} メソッドの戻り値として返されます.
+ * </div>
+ *
+ * <div class="lang-en">
+ * Instances of this class are returned by {@link com.rinearn.graph3d.RinearnGraph3D#pickPoint RinearnGraph3D.pickPoint} method,
+ * which identifies the data point nearest to the specified position on the screen.
+ * </div>
+ */
+public final class RinearnGraph3DPickedPoint {
+
+	/** The index of the data series to which the picked point belongs. */
+	private final int seriesIndex;
+
+	/** The index of the picked point in the left-side dimension of the coordinate arrays of the data series. */
+	private final int leftIndex;
+
+	/** The index of the picked point in the right-side dimension of the coordinate arrays of the data series. */
+	private final int rightIndex;
+
+	/** The X coordinate value of the picked point. */
+	private final double x;
+
+	/** The Y coordinate value of the picked point. */
+	private final double y;
+
+	/** The Z coordinate value of the picked point. */
+	private final double z;
+
+	/** The X coordinate (in pixels) of the picked point on the screen. */
+	private final int screenX;
+
+	/** The Y coordinate (in pixels) of the picked point on the screen. */
+	private final int screenY;
+
+
+	/**
+	 * @hidden
+	 *
+	 * Creates a new instance storing the information of the picked point.
+	 *
+	 * @param seriesIndex The index of the data series to which the picked point belongs.
+	 * @param leftIndex The index of the picked point in the left-side dimension of the coordinate arrays.
+	 * @param rightIndex The index of the picked point in the right-side dimension of the coordinate arrays.
+	 * @param x The X coordinate value of the picked point.
+	 * @param y The Y coordinate value of the picked point.
+	 * @param z The Z coordinate value of the picked point.
+	 * @param screenX The X coordinate (in pixels) of the picked point on the screen.
+	 * @param screenY The Y coordinate (in pixels) of the picked point on the screen.
+	 */
+	public RinearnGraph3DPickedPoint(int seriesIndex, int leftIndex, int rightIndex,
+			double x, double y, double z, int screenX, int screenY) {
+
+		this.seriesIndex = seriesIndex;
+		this.leftIndex = leftIndex;
+		this.rightIndex = rightIndex;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.screenX = screenX;
+		this.screenY = screenY;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the index of the data series to which the picked point belongs
+	 * </span>
+	 * <span class="lang-ja">
+	 * 選択された点が属する系列のインデックスを取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The index of the data series</span>
+	 *   <span class="lang-ja">系列のインデックス</span>
+	 */
+	public int getSeriesIndex() {
+		return this.seriesIndex;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the index of the picked point in the left-side dimension of the grid (the coordinate arrays) of the data series
+	 * </span>
+	 * <span class="lang-ja">
+	 * 系列の格子（座標値配列）における, 選択された点の左側次元のインデックスを取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The index in the left-side dimension, e.g.: "i" of "x[i][j]"</span>
+	 *   <span class="lang-ja">左側次元のインデックス（例: "x[i][j]" の "i"）</span>
+	 */
+	public int getLeftIndex() {
+		return this.leftIndex;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the index of the picked point in the right-side dimension of the grid (the coordinate arrays) of the data series
+	 * </span>
+	 * <span class="lang-ja">
+	 * 系列の格子（座標値配列）における, 選択された点の右側次元のインデックスを取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The index in the right-side dimension, e.g.: "j" of "x[i][j]"</span>
+	 *   <span class="lang-ja">右側次元のインデックス（例: "x[i][j]" の "j"）</span>
+	 */
+	public int getRightIndex() {
+		return this.rightIndex;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the X coordinate value of the picked point
+	 * </span>
+	 * <span class="lang-ja">
+	 * 選択された点の X 座標値を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The X coordinate value</span>
+	 *   <span class="lang-ja">X 座標値</span>
+	 */
+	public double getX() {
+		return this.x;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the Y coordinate value of the picked point
+	 * </span>
+	 * <span class="lang-ja">
+	 * 選択された点の Y 座標値を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The Y coordinate value</span>
+	 *   <span class="lang-ja">Y 座標値</span>
+	 */
+	public double getY() {
+		return this.y;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the Z coordinate value of the picked point
+	 * </span>
+	 * <span class="lang-ja">
+	 * 選択された点の Z 座標値を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The Z coordinate value</span>
+	 *   <span class="lang-ja">Z 座標値</span>
+	 */
+	public double getZ() {
+		return this.z;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the X coordinate (in pixels, from the left edge) of the picked point on the screen
+	 * </span>
+	 * <span class="lang-ja">
+	 * 選択された点の, スクリーン上での X 座標（左端からのピクセル数）を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The X coordinate on the screen</span>
+	 *   <span class="lang-ja">スクリーン上での X 座標</span>
+	 */
+	public int getScreenX() {
+		return this.screenX;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Gets the Y coordinate (in pixels, from the top edge) of the picked point on the screen
+	 * </span>
+	 * <span class="lang-ja">
+	 * 選択された点の, スクリーン上での Y 座標（上端からのピクセル数）を取得します
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-en">The Y coordinate on the screen</span>
+	 *   <span class="lang-ja">スクリーン上での Y 座標</span>
+	 */
+	public int getScreenY() {
+		return this.screenY;
+	}
+}
@@ -13,6 +13,12 @@ public class DataConfiguration {
 	/** The array storing series attributes of all the data series. */
 	private volatile SeriesAttribute[] globalSeriesAttributes = new SeriesAttribute[0];
 
+	/** The flag representing whether the adaptive sampling mode of math expressions is enabled. */
+	private volatile boolean mathAdaptiveSamplingEnabled = false;
+
+	/** The tolerance of the interpolation error in the adaptive sampling mode of math expressions. */
+	private volatile double mathAdaptiveSamplingTolerance = 1.0E-3;
+
 
 	/**
 	 * Sets the series attributes of all the data series.
@@ -37,6 +43,56 @@ public class DataConfiguration {
 	}
 
 
+	/**
+	 * Enables/disables the adaptive sampling mode of math expressions.
+	 *
+	 * In the adaptive sampling mode, a math expression of z(x,y) form is sampled on a non-uniform grid,
+	 * which is refined from a coarse grid around the sharp features of the surface, until the interpolation error is within the tolerance.
+	 * The numbers of discretized X/Y-coordinates (resolutions) are used as the limit: the number of the points never exceeds their product.
+	 * Similarly, math expressions of x(t), y(t), z(t) form are sampled at non-uniform time points,
+	 * refined on the fast-moving or sharply-bending parts of the curve, until the chordal deviation is within the tolerance.
+	 * The number of discretized time points is used as the limit.
+	 * This setting is applied when a math expression is plotted or updated.
+	 *
+	 * @param enabled Specify true to enable the adaptive sampling mode (disabled by default).
+	 */
+	public synchronized void setMathAdaptiveSamplingEnabled(boolean enabled) {
+		this.mathAdaptiveSamplingEnabled = enabled;
+	}
+
+	/**
+	 * Gets whether the adaptive sampling mode of math expressions is enabled.
+	 *
+	 * @return Returns true if the adaptive sampling mode is enabled.
+	 */
+	public synchronized boolean isMathAdaptiveSamplingEnabled() {
+		return this.mathAdaptiveSamplingEnabled;
+	}
+
+
+	/**
+	 * Sets the tolerance of the interpolation error in the adaptive sampling mode of math expressions.
+	 *
+	 * For math expressions of z(x,y) form, the tolerance is relative to the span of the Z-values of the surface.
+	 * For math expressions of x(t), y(t), z(t) form, it is the tolerance of the chordal deviation,
+	 * relative to the span of the curve in each of X, Y, and Z directions.
+	 *
+	 * @param tolerance The tolerance (e.g. 0.001 for 0.1%, which is the default).
+	 */
+	public synchronized void setMathAdaptiveSamplingTolerance(double tolerance) {
+		this.mathAdaptiveSamplingTolerance = tolerance;
+	}
+
+	/**
+	 * Gets the tolerance of the interpolation error in the adaptive sampling mode of math expressions.
+	 *
+	 * @return The tolerance.
+	 */
+	public synchronized double getMathAdaptiveSamplingTolerance() {
+		return this.mathAdaptiveSamplingTolerance;
+	}
+
+
 	/**
 	 * Validates correctness and consistency of configuration parameters stored in this instance.
 	 *
@@ -50,5 +106,8 @@ public class DataConfiguration {
 		if (this.globalSeriesAttributes == null) {
 			throw new RinearnGraph3DConfigurationException("The series attributes is null.");
 		}
+		if (!(0.0 <= this.mathAdaptiveSamplingTolerance) || Double.isInfinite(this.mathAdaptiveSamplingTolerance)) {
+			throw new RinearnGraph3DConfigurationException("The tolerance of the adaptive sampling must be a positive value or zero.");
+		}
 	}
 }
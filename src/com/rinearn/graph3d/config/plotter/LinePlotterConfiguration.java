@@ -11,6 +11,9 @@ public final class LinePlotterConfiguration extends SeriesFilterablePlotterConfi
 	/** The width (in pixels) of lines plotted by this option. */
 	private volatile double lineWidth = 1.0;
 
+	/** The maximum error allowed for simplifying lines (0.0 for disabling the simplification). */
+	private volatile double maximumSimplificationError = 0.0;
+
 	/**
 	 * Creates a new instance.
 	 */
@@ -37,6 +40,31 @@ public final class LinePlotterConfiguration extends SeriesFilterablePlotterConfi
 	}
 
 
+	/**
+	 * Sets the maximum error allowed for simplifying lines.
+	 *
+	 * If a positive value is set, nearly collinear points on the lines of each data series are removed
+	 * (by the Douglas-Peucker algorithm), as long as their distances from the simplified lines
+	 * are within the specified error in each of X, Y, and Z directions.
+	 * The error is specified relative to the lengths of the ranges of the axes, e.g.: 0.01 means 1% of the range of each axis.
+	 * It reduces the number of the drawn lines of long trajectories drastically.
+	 *
+	 * @param maximumSimplificationError The maximum error relative to the lengths of the ranges of the axes (0.0 for disabling the simplification, which is the default).
+	 */
+	public synchronized void setMaximumSimplificationError(double maximumSimplificationError) {
+		this.maximumSimplificationError = maximumSimplificationError;
+	}
+
+	/**
+	 * Gets the maximum error allowed for simplifying lines.
+	 *
+	 * @return The maximum error relative to the lengths of the ranges of the axes (0.0 if the simplification is disabled).
+	 */
+	public synchronized double getMaximumSimplificationError() {
+		return this.maximumSimplificationError;
+	}
+
+
 	/**
 	 * Validates correctness and consistency of configuration parameters stored in this instance.
 	 *
@@ -50,5 +78,8 @@ public final class LinePlotterConfiguration extends SeriesFilterablePlotterConfi
 		if (this.lineWidth < 0.0) {
 			throw new RinearnGraph3DConfigurationException("The line width is negative, must be zero or positive value.");
 		}
+		if (!(0.0 <= this.maximumSimplificationError) || Double.isInfinite(this.maximumSimplificationError)) {
+			throw new RinearnGraph3DConfigurationException("The maximum simplification error must be a positive value or zero.");
+		}
 	}
 }
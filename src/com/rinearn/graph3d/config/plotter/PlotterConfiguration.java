@@ -68,6 +68,9 @@ public final class PlotterConfiguration {
 	/** Stores the configuration of "With Contours" option. */
 	private volatile ContourPlotterConfiguration contourPlotterConfiguration = new ContourPlotterConfiguration();
 
+	/** The flag representing whether the plotters generate geometries of data series in parallel. */
+	private volatile boolean parallelPlottingEnabled = false;
+
 
 	/**
 	 * Sets the configuration of "With Points" option.
@@ -144,6 +147,29 @@ public final class PlotterConfiguration {
 	}
 
 
+	/**
+	 * Enables/disables the parallel plotting, in which the plotters generate geometries of data series concurrently.
+	 *
+	 * Even when enabled, the generated geometries are drawn in the same order as the sequential plotting,
+	 * so the plotted result does not depend on this setting.
+	 * This setting is effective for the graphs containing multiple large data series, on multi-core processors.
+	 *
+	 * @param enabled Specify true to enable the parallel plotting (disabled by default).
+	 */
+	public synchronized void setParallelPlottingEnabled(boolean enabled) {
+		this.parallelPlottingEnabled = enabled;
+	}
+
+	/**
+	 * Checks whether the parallel plotting, in which the plotters generate geometries of data series concurrently, is enabled.
+	 *
+	 * @return Returns true if the parallel plotting is enabled.
+	 */
+	public synchronized boolean isParallelPlottingEnabled() {
+		return this.parallelPlottingEnabled;
+	}
+
+
 
 	/**
 	 * Validates correctness and consistency of configuration parameters stored in this instance.
@@ -26,6 +26,12 @@ public final class PointPlotterConfiguration extends SeriesFilterablePlotterConf
 	/** The flag to whether draw markers in bold fonts. */
 	private volatile boolean markerBold = false;
 
+	/** The flag representing whether the density aggregation is enabled. */
+	private volatile boolean densityAggregationEnabled = false;
+
+	/** The number of the voxels in each of X, Y, and Z directions, for the density aggregation. */
+	private volatile int densityAggregationResolution = 100;
+
 	/**
 	 * Creates a new instance.
 	 */
@@ -142,6 +148,48 @@ public final class PointPlotterConfiguration extends SeriesFilterablePlotterConf
 	}
 
 
+	/**
+	 * Enables/disables the density aggregation.
+	 *
+	 * When it is enabled, the graph space is divided into voxels (3D bins), and the points in each voxel are drawn
+	 * as a single point at their centroid, of which radius grows with the number of the points in the voxel.
+	 * It is effective for plotting a huge number of points (e.g. millions of points), most of which overlap each other.
+	 *
+	 * @param enabled Specify true to enable the density aggregation.
+	 */
+	public synchronized void setDensityAggregationEnabled(boolean enabled) {
+		this.densityAggregationEnabled = enabled;
+	}
+
+	/**
+	 * Gets whether the density aggregation is enabled.
+	 *
+	 * @return Returns true if the density aggregation is enabled.
+	 */
+	public synchronized boolean isDensityAggregationEnabled() {
+		return this.densityAggregationEnabled;
+	}
+
+
+	/**
+	 * Sets the number of the voxels in each of X, Y, and Z directions, for the density aggregation.
+	 *
+	 * @param densityAggregationResolution The number of the voxels in each direction (from 1 to 1024).
+	 */
+	public synchronized void setDensityAggregationResolution(int densityAggregationResolution) {
+		this.densityAggregationResolution = densityAggregationResolution;
+	}
+
+	/**
+	 * Gets the number of the voxels in each of X, Y, and Z directions, for the density aggregation.
+	 *
+	 * @return The number of the voxels in each direction.
+	 */
+	public synchronized int getDensityAggregationResolution() {
+		return this.densityAggregationResolution;
+	}
+
+
 	/**
 	 * Validates correctness and consistency of configuration parameters stored in this instance.
 	 *
@@ -167,5 +215,8 @@ public final class PointPlotterConfiguration extends SeriesFilterablePlotterConf
 		if (this.markerTexts.length == 0) {
 			throw new RinearnGraph3DConfigurationException("The number of marker texts is 0, but at least 1 element is required.");
 		}
+		if (this.densityAggregationResolution < 1 || 1024 < this.densityAggregationResolution) {
+			throw new RinearnGraph3DConfigurationException("The density aggregation resolution must be in the range from 1 to 1024.");
+		}
 	}
 }
@@ -8,6 +8,10 @@ import com.rinearn.graph3d.config.RinearnGraph3DConfigurationException;
  */
 public final class SurfacePlotterConfiguration extends SeriesFilterablePlotterConfiguration {
 
+	/** The maximum error allowed for simplifying surfaces (0.0 for disabling the simplification). */
+	private volatile double maximumSimplificationError = 0.0;
+
+
 	/**
 	 * Creates a new instance.
 	 */
@@ -16,6 +20,32 @@ public final class SurfacePlotterConfiguration extends SeriesFilterablePlotterCo
 	}
 
 
+	/**
+	 * Sets the maximum error allowed for simplifying surfaces.
+	 *
+	 * If a positive value is set, near-planar regions of the surface of each grid-shaped data series
+	 * are merged into larger quadrangles, as long as the coordinates of all the grid points in the regions
+	 * are within the specified error in each of X, Y, and Z directions.
+	 * The error is specified relative to the lengths of the ranges of the axes, e.g.: 0.01 means 1% of the range of each axis.
+	 * It reduces the number of the drawn quadrangles of huge grids (e.g. matrix-format data files) drastically.
+	 * Note that a merged quadrangle is painted with a single color, so the gradation of the colors becomes coarser.
+	 *
+	 * @param maximumSimplificationError The maximum error relative to the lengths of the ranges of the axes (0.0 for disabling the simplification, which is the default).
+	 */
+	public synchronized void setMaximumSimplificationError(double maximumSimplificationError) {
+		this.maximumSimplificationError = maximumSimplificationError;
+	}
+
+	/**
+	 * Gets the maximum error allowed for simplifying surfaces.
+	 *
+	 * @return The maximum error relative to the lengths of the ranges of the axes (0.0 if the simplification is disabled).
+	 */
+	public synchronized double getMaximumSimplificationError() {
+		return this.maximumSimplificationError;
+	}
+
+
 	/**
 	 * Validates correctness and consistency of configuration parameters stored in this instance.
 	 *
@@ -26,5 +56,8 @@ public final class SurfacePlotterConfiguration extends SeriesFilterablePlotterCo
 	 * @throws IllegalStateException Thrown when incorrect or inconsistent settings are detected.
 	 */
 	public synchronized void validate() throws RinearnGraph3DConfigurationException {
+		if (!(0.0 <= this.maximumSimplificationError) || Double.isInfinite(this.maximumSimplificationError)) {
+			throw new RinearnGraph3DConfigurationException("The maximum simplification error must be a positive value or zero.");
+		}
 	}
 }
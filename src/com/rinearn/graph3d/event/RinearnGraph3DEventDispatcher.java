@@ -67,6 +67,23 @@ public class RinearnGraph3DEventDispatcher {
 	}
 
 
+	/**
+	 * <span class="lang-ja">
+	 * 登録されているプロットイベントのリスナーの数を取得します
+	 * </span>
+	 * <span class="lang-en">
+	 * Gets the number of the registered plotting event listeners
+	 * </span>
+	 * .
+	 * @return
+	 *   <span class="lang-ja">登録されているリスナーの数</span>
+	 *   <span class="lang-en">The number of the registered listeners</span>
+	 */
+	public int getPlottingListenerCount() {
+		return this.plotListeners.size();
+	}
+
+
 	/**
 	 * <span class="lang-ja">
 	 * 登録されている全てのプロットイベントのリスナーに対して, plottingRequested メソッドを呼び出します
@@ -0,0 +1,651 @@
+package com.rinearn.graph3d.model;
+
+import org.vcssl.nano.VnanoException;
+import org.vcssl.nano.compiler.AstNode;
+import org.vcssl.nano.compiler.AttributeKey;
+import org.vcssl.nano.compiler.AttributeValue;
+import org.vcssl.nano.compiler.LexicalAnalyzer;
+import org.vcssl.nano.compiler.Parser;
+import org.vcssl.nano.compiler.Preprocessor;
+import org.vcssl.nano.compiler.Token;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * The class compiling math expressions into JVM classes, for calculating their values faster than the script engine.
+ *
+ * A math expression is parsed into an AST by the parser of the Vnano,
+ * and then it is translated into the bytecode of a hidden class implementing {@link CompiledMathExpression}.
+ * The functions provided by the elementary math plug-in (sin, cos, sqrt, pow, etc.) are translated into direct calls
+ * of the methods of java.lang.Math, so the JIT compiler of the JVM can inline the whole calculation.
+ *
+ * Only the expressions consisting of float-type literals, the parameters (x, y, and t), PI, the arithmetic operators,
+ * and the elementary math functions are compiled. For other expressions (e.g.: containing "mean(...)", or having errors),
+ * the compiler returns null, and they should be calculated by the script engine,
+ * which supports all features and reports errors with appropriate messages.
+ *
+ * The results are the same as the script engine, because both perform the same operations on double values in the same order.
+ */
+public final class MathExpressionBytecodeCompiler {
+
+	/**
+	 * The interface of the compiled math expressions.
+	 *
+	 * Instances of compiled math expressions are stateless, so they can be used by multiple threads at once.
+	 */
+	public interface CompiledMathExpression {
+
+		/**
+		 * Calculates the value of the math expression, with the specified values of the parameters.
+		 *
+		 * @param x The parameter "x" (NaN if it is not a parameter of the expression).
+		 * @param y The parameter "y" (NaN if it is not a parameter of the expression).
+		 * @param t The parameter "t" (NaN if it is not a parameter of the expression).
+		 * @return The calculated value.
+		 */
+		public double evaluate(double x, double y, double t);
+	}
+
+	/** The maximum number of the compiled math expressions (including the ones could not be compiled) to be cached. */
+	private static final int MAX_CACHE_SIZE = 64;
+
+	/** The placeholder cached for the math expressions which could not be compiled. */
+	private static final CompiledMathExpression UNSUPPORTED = (x, y, t) -> Double.NaN;
+
+	/** The name of the compiled classes (they are defined as hidden classes, so a unique suffix is appended to the name). */
+	private static final String COMPILED_CLASS_NAME = "com/rinearn/graph3d/model/CompiledMathExpressionImpl";
+
+	/** The name of the interface implemented by the compiled classes. */
+	private static final String INTERFACE_NAME = "com/rinearn/graph3d/model/MathExpressionBytecodeCompiler$CompiledMathExpression";
+
+	/** The names of the functions (taking one float-type argument), and the corresponding methods of java.lang.Math. */
+	private static final Map<String, String> UNARY_FUNCTION_METHOD_MAP = Map.ofEntries(
+		Map.entry("sin", "sin"), Map.entry("cos", "cos"), Map.entry("tan", "tan"),
+		Map.entry("asin", "asin"), Map.entry("acos", "acos"), Map.entry("atan", "atan"),
+		Map.entry("sqrt", "sqrt"), Map.entry("ln", "log"), Map.entry("log10", "log10"),
+		Map.entry("exp", "exp"), Map.entry("abs", "abs")
+	);
+
+	/** The value of PI, which is the same as the constant provided by the elementary math plug-in. */
+	private static final double PI = 3.141592653589793;
+
+	/** The namespace prefix of the elementary math plug-in, which can be prepended to the functions/variables. */
+	private static final String NAMESPACE_PREFIX = "Math.";
+
+	/** The indices of the local variable slots of the parameters, in the "evaluate" method (slot 0 is "this"). */
+	private static final Map<String, Integer> PARAMETER_SLOT_MAP = Map.of("x", 1, "y", 3, "t", 5);
+
+	/** The cache of the compiled math expressions, in the access order (least-recently used one is evicted first). */
+	private final Map<String, CompiledMathExpression> cache = new LinkedHashMap<String, CompiledMathExpression>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CompiledMathExpression> eldest) {
+			return MAX_CACHE_SIZE < this.size();
+		}
+	};
+
+	/** The flag representing whether the compilation is enabled. */
+	private volatile boolean enabled = true;
+
+
+	/**
+	 * Enables/disables the compilation (enabled by default).
+	 *
+	 * If disabled, {@link #compile(String) compile(...)} always returns null,
+	 * so all math expressions are calculated by the script engine.
+	 *
+	 * @param enabled Specify false to disable the compilation.
+	 */
+	public synchronized void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+
+	/**
+	 * Gets whether the compilation is enabled.
+	 *
+	 * @return Returns true if the compilation is enabled.
+	 */
+	public synchronized boolean isEnabled() {
+		return this.enabled;
+	}
+
+
+	/**
+	 * Compiles the specified math expression, or returns the cached result if it has already been compiled.
+	 *
+	 * @param expression The math expression to be compiled.
+	 * @return The compiled math expression, or null if the expression can not be compiled.
+	 */
+	public synchronized CompiledMathExpression compile(String expression) {
+		if (!this.enabled) {
+			return null;
+		}
+		CompiledMathExpression compiled = this.cache.get(expression);
+		if (compiled == null) {
+			compiled = compileWithoutCache(expression);
+			this.cache.put(expression, compiled == null ? UNSUPPORTED : compiled);
+		}
+		return compiled == UNSUPPORTED ? null : compiled;
+	}
+
+
+	/**
+	 * Compiles the specified math expression.
+	 *
+	 * @param expression The math expression to be compiled.
+	 * @return The compiled math expression, or null if the expression can not be compiled.
+	 */
+	private static CompiledMathExpression compileWithoutCache(String expression) {
+		try {
+
+			// Parse the expression into an AST, in the same way as the script engine.
+			String preprocessedExpression = new Preprocessor().preprocess(expression + ";");
+			Token[] tokens = new LexicalAnalyzer().analyze(preprocessedExpression, "Input_Expression");
+			AstNode rootNode = new Parser().parse(tokens);
+			AstNode[] statementNodes = rootNode.getChildNodes();
+			if (statementNodes.length != 1 || statementNodes[0].getType() != AstNode.Type.EXPRESSION
+					|| statementNodes[0].getChildNodes().length != 1) {
+				return null;
+			}
+
+			// Generate the bytecode of the class, and define it as a hidden class.
+			BytecodeWriter writer = new BytecodeWriter();
+			if (!writer.writeExpression(statementNodes[0].getChildNodes()[0])) {
+				return null;
+			}
+			byte[] classBytes = writer.toClassBytes();
+			MethodHandles.Lookup hiddenClassLookup = MethodHandles.lookup().defineHiddenClass(classBytes, true);
+			return (CompiledMathExpression)hiddenClassLookup.lookupClass().getDeclaredConstructor().newInstance();
+
+		// If the expression is invalid or not supported, it should be calculated by the script engine.
+		} catch (VnanoException | ReflectiveOperationException | IOException | RuntimeException | LinkageError e) {
+			return null;
+		}
+	}
+
+
+	/**
+	 * The class generating the bytecode of the class of a compiled math expression.
+	 */
+	private static final class BytecodeWriter {
+
+		/** The opcode "aload_0" (pushes "this"). */
+		private static final int ALOAD_0 = 0x2A;
+
+		/** The opcode "dload" (pushes a double-type local variable). */
+		private static final int DLOAD = 0x18;
+
+		/** The opcode "ldc2_w" (pushes a double-type constant). */
+		private static final int LDC2_W = 0x14;
+
+		/** The opcode "dadd". */
+		private static final int DADD = 0x63;
+
+		/** The opcode "dsub". */
+		private static final int DSUB = 0x67;
+
+		/** The opcode "dmul". */
+		private static final int DMUL = 0x6B;
+
+		/** The opcode "ddiv". */
+		private static final int DDIV = 0x6F;
+
+		/** The opcode "drem". */
+		private static final int DREM = 0x73;
+
+		/** The opcode "dneg". */
+		private static final int DNEG = 0x77;
+
+		/** The opcode "invokespecial". */
+		private static final int INVOKESPECIAL = 0xB7;
+
+		/** The opcode "invokestatic". */
+		private static final int INVOKESTATIC = 0xB8;
+
+		/** The opcode "dreturn". */
+		private static final int DRETURN = 0xAF;
+
+		/** The opcode "return". */
+		private static final int RETURN = 0xB1;
+
+		/** The maximum length of the bytecode of a method. */
+		private static final int MAX_CODE_LENGTH = 65535;
+
+		/** The maximum number of the entries of the constant pool (including the unusable slots next to double-type entries). */
+		private static final int MAX_CONSTANT_POOL_SIZE = 65535;
+
+		/** The serialized entries of the constant pool, and their indices. */
+		private final Map<String, Integer> constantIndexMap = new LinkedHashMap<String, Integer>();
+
+		/** The stream to which the entries of the constant pool are written. */
+		private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+
+		/** The index of the next entry of the constant pool. */
+		private int nextConstantIndex = 1;
+
+		/** The stream to which the bytecode of the "evaluate" method is written. */
+		private final ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+
+		/** The current depth of the operand stack (in slots, where a double value takes two slots). */
+		private int stackDepth = 0;
+
+		/** The maximum depth of the operand stack. */
+		private int maxStackDepth = 0;
+
+
+		/**
+		 * Writes the bytecode calculating the value of the specified node of the AST, to the "evaluate" method.
+		 *
+		 * @param node The node of the AST.
+		 * @return Returns false if the node (or any of its descendants) is not supported.
+		 * @throws IOException Thrown if the bytecode could not be written.
+		 */
+		public boolean writeExpression(AstNode node) throws IOException {
+			switch (node.getType()) {
+				case LEAF: {
+					return this.writeLeaf(node);
+				}
+				case OPERATOR: {
+					return this.writeOperator(node);
+				}
+				default: {
+					return false;
+				}
+			}
+		}
+
+
+		/**
+		 * Writes the bytecode pushing the value of the specified leaf node (a literal or a variable).
+		 *
+		 * @param node The leaf node.
+		 * @return Returns false if the node is not supported.
+		 * @throws IOException Thrown if the bytecode could not be written.
+		 */
+		private boolean writeLeaf(AstNode node) throws IOException {
+			String leafType = node.getAttribute(AttributeKey.LEAF_TYPE);
+
+			// Number literals (int literals are treated as float values, by the option of the script engine).
+			if (AttributeValue.LITERAL.equals(leafType)) {
+				String dataType = node.getAttribute(AttributeKey.DATA_TYPE);
+				if (!"float".equals(dataType) && !"int".equals(dataType)) {
+					return false;
+				}
+				String literal = node.getAttribute(AttributeKey.LITERAL_VALUE);
+				if (!literal.matches("[0-9]+(\\.[0-9]*)?|\\.[0-9]+")) {
+					return false;
+				}
+				this.writeConstant(Double.parseDouble(literal));
+				return true;
+			}
+
+			// Parameters and constants.
+			if (AttributeValue.VARIABLE_IDENTIFIER.equals(leafType)) {
+				String identifier = node.getAttribute(AttributeKey.IDENTIFIER_VALUE);
+				if (PARAMETER_SLOT_MAP.containsKey(identifier)) {
+					this.writeOpcode(DLOAD, 2);
+					this.codeBytes.write(PARAMETER_SLOT_MAP.get(identifier));
+					return true;
+				}
+				if (identifier.equals("PI") || identifier.equals(NAMESPACE_PREFIX + "PI")) {
+					this.writeConstant(PI);
+					return true;
+				}
+			}
+			return false;
+		}
+
+
+		/**
+		 * Writes the bytecode of the specified operator node, and its operands.
+		 *
+		 * @param node The operator node.
+		 * @return Returns false if the node is not supported.
+		 * @throws IOException Thrown if the bytecode could not be written.
+		 */
+		private boolean writeOperator(AstNode node) throws IOException {
+			String syntax = node.getAttribute(AttributeKey.OPERATOR_SYNTAX);
+			String executor = node.getAttribute(AttributeKey.OPERATOR_EXECUTOR);
+			String symbol = node.getAttribute(AttributeKey.OPERATOR_SYMBOL);
+			AstNode[] operands = node.getChildNodes();
+
+			// Function calls.
+			if (AttributeValue.CALL.equals(executor)) {
+				return this.writeFunctionCall(operands);
+			}
+			if (!AttributeValue.ARITHMETIC.equals(executor)) {
+				return false;
+			}
+
+			// Unary arithmetic operators.
+			if (AttributeValue.PREFIX.equals(syntax) && operands.length == 1) {
+				if (!this.writeExpression(operands[0])) {
+					return false;
+				}
+				switch (symbol) {
+					case "+": return true;
+					case "-": this.writeOpcode(DNEG, 0); return true;
+					default: return false;
+				}
+			}
+
+			// Binary arithmetic operators.
+			if (AttributeValue.BINARY.equals(syntax) && operands.length == 2) {
+				if (!this.writeExpression(operands[0]) || !this.writeExpression(operands[1])) {
+					return false;
+				}
+				switch (symbol) {
+					case "+": this.writeOpcode(DADD, -2); return true;
+					case "-": this.writeOpcode(DSUB, -2); return true;
+					case "*": this.writeOpcode(DMUL, -2); return true;
+					case "/": this.writeOpcode(DDIV, -2); return true;
+					case "%": this.writeOpcode(DREM, -2); return true;
+					default: return false;
+				}
+			}
+			return false;
+		}
+
+
+		/**
+		 * Writes the bytecode of a call of an elementary math function.
+		 *
+		 * @param operands The operands of the call operator: the function identifier and the arguments.
+		 * @return Returns false if the function is not supported.
+		 * @throws IOException Thrown if the bytecode could not be written.
+		 */
+		private boolean writeFunctionCall(AstNode[] operands) throws IOException {
+			if (operands.length < 2 || operands[0].getType() != AstNode.Type.LEAF
+					|| !AttributeValue.FUNCTION_IDENTIFIER.equals(operands[0].getAttribute(AttributeKey.LEAF_TYPE))) {
+				return false;
+			}
+			String functionName = operands[0].getAttribute(AttributeKey.IDENTIFIER_VALUE);
+			if (functionName.startsWith(NAMESPACE_PREFIX)) {
+				functionName = functionName.substring(NAMESPACE_PREFIX.length());
+			}
+			int argumentCount = operands.length - 1;
+
+			// pow(x, y): Math.pow(x, y)
+			if (functionName.equals("pow") && argumentCount == 2) {
+				if (!this.writeExpression(operands[1]) || !this.writeExpression(operands[2])) {
+					return false;
+				}
+				this.writeStaticCall("java/lang/Math", "pow", "(DD)D", -2);
+				return true;
+			}
+			if (argumentCount != 1) {
+				return false;
+			}
+
+			// rad(deg): Math.PI * deg / 180.0  (the same order of the operations as the plug-in)
+			if (functionName.equals("rad")) {
+				this.writeConstant(PI);
+				if (!this.writeExpression(operands[1])) {
+					return false;
+				}
+				this.writeOpcode(DMUL, -2);
+				this.writeConstant(180.0);
+				this.writeOpcode(DDIV, -2);
+				return true;
+			}
+
+			// deg(rad): 180.0 * rad / Math.PI  (the same order of the operations as the plug-in)
+			if (functionName.equals("deg")) {
+				this.writeConstant(180.0);
+				if (!this.writeExpression(operands[1])) {
+					return false;
+				}
+				this.writeOpcode(DMUL, -2);
+				this.writeConstant(PI);
+				this.writeOpcode(DDIV, -2);
+				return true;
+			}
+
+			// Other functions: Math.sin(x), Math.cos(x), etc.
+			if (UNARY_FUNCTION_METHOD_MAP.containsKey(functionName)) {
+				if (!this.writeExpression(operands[1])) {
+					return false;
+				}
+				this.writeStaticCall("java/lang/Math", UNARY_FUNCTION_METHOD_MAP.get(functionName), "(D)D", 0);
+				return true;
+			}
+			return false;
+		}
+
+
+		/**
+		 * Writes an opcode without operands, and updates the depth of the operand stack.
+		 *
+		 * @param opcode The opcode.
+		 * @param stackDepthChange The change of the depth of the operand stack by the instruction.
+		 */
+		private void writeOpcode(int opcode, int stackDepthChange) {
+			this.codeBytes.write(opcode);
+			this.stackDepth += stackDepthChange;
+			this.maxStackDepth = Math.max(this.maxStackDepth, this.stackDepth);
+		}
+
+
+		/**
+		 * Writes the bytecode pushing a double-type constant.
+		 *
+		 * @param value The value of the constant.
+		 * @throws IOException Thrown if the bytecode could not be written.
+		 */
+		private void writeConstant(double value) throws IOException {
+			int index = this.getDoubleConstantIndex(value);
+			this.writeOpcode(LDC2_W, 2);
+			this.writeShort(this.codeBytes, index);
+		}
+
+
+		/**
+		 * Writes the bytecode calling a static method.
+		 *
+		 * @param className The internal name of the class declaring the method.
+		 * @param methodName The name of the method.
+		 * @param descriptor The descriptor of the method.
+		 * @param stackDepthChange The change of the depth of the operand stack by the call.
+		 * @throws IOException Thrown if the bytecode could not be written.
+		 */
+		private void writeStaticCall(String className, String methodName, String descriptor, int stackDepthChange) throws IOException {
+			int index = this.getMethodrefIndex(className, methodName, descriptor);
+			this.writeOpcode(INVOKESTATIC, stackDepthChange);
+			this.writeShort(this.codeBytes, index);
+		}
+
+
+		/**
+		 * Generates the content of the class file, in which the "evaluate" method executes the written bytecode.
+		 *
+		 * @return The content of the class file.
+		 * @throws IOException Thrown if the class file could not be generated, e.g.: the bytecode is too long.
+		 */
+		public byte[] toClassBytes() throws IOException {
+
+			// Register the constants referred from the class, before writing the constant pool.
+			int thisClassIndex = this.getClassIndex(COMPILED_CLASS_NAME);
+			int superClassIndex = this.getClassIndex("java/lang/Object");
+			int interfaceIndex = this.getClassIndex(INTERFACE_NAME);
+			int superConstructorIndex = this.getMethodrefIndex("java/lang/Object", "<init>", "()V");
+			int constructorNameIndex = this.getUtf8Index("<init>");
+			int constructorDescriptorIndex = this.getUtf8Index("()V");
+			int evaluateNameIndex = this.getUtf8Index("evaluate");
+			int evaluateDescriptorIndex = this.getUtf8Index("(DDD)D");
+			int codeAttributeNameIndex = this.getUtf8Index("Code");
+			this.writeOpcode(DRETURN, -2);
+			if (MAX_CODE_LENGTH < this.codeBytes.size() || MAX_CONSTANT_POOL_SIZE < this.nextConstantIndex) {
+				throw new IOException("The expression is too long to be compiled.");
+			}
+
+			ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(classBytes);
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);  // minor_version
+			out.writeShort(52); // major_version (Java 8, which requires no stack map frames for branchless code)
+			out.writeShort(this.nextConstantIndex);
+			this.constantPoolBytes.writeTo(out);
+			out.writeShort(0x0001 | 0x0010 | 0x0020); // ACC_PUBLIC | ACC_FINAL | ACC_SUPER
+			out.writeShort(thisClassIndex);
+			out.writeShort(superClassIndex);
+			out.writeShort(1); // interfaces_count
+			out.writeShort(interfaceIndex);
+			out.writeShort(0); // fields_count
+			out.writeShort(2); // methods_count
+
+			// The constructor: calls the constructor of java.lang.Object.
+			byte[] constructorCode = {
+				(byte)ALOAD_0, (byte)INVOKESPECIAL, (byte)(superConstructorIndex >> 8), (byte)superConstructorIndex, (byte)RETURN
+			};
+			writeMethod(out, constructorNameIndex, constructorDescriptorIndex, codeAttributeNameIndex, 1, 1, constructorCode);
+
+			// The "evaluate" method: slot 0 is "this", and the slots 1-2, 3-4, 5-6 are the parameters x, y, t.
+			writeMethod(
+				out, evaluateNameIndex, evaluateDescriptorIndex, codeAttributeNameIndex,
+				this.maxStackDepth, 7, this.codeBytes.toByteArray()
+			);
+			out.writeShort(0); // attributes_count
+			out.flush();
+			return classBytes.toByteArray();
+		}
+
+
+		/**
+		 * Writes a public method having only the "Code" attribute, to the class file.
+		 *
+		 * @param out The stream of the class file.
+		 * @param nameIndex The index of the name of the method in the constant pool.
+		 * @param descriptorIndex The index of the descriptor of the method in the constant pool.
+		 * @param codeAttributeNameIndex The index of the name "Code" in the constant pool.
+		 * @param maxStack The maximum depth of the operand stack.
+		 * @param maxLocals The number of the local variable slots.
+		 * @param code The bytecode of the method.
+		 * @throws IOException Thrown if the method could not be written.
+		 */
+		private static void writeMethod(DataOutputStream out, int nameIndex, int descriptorIndex, int codeAttributeNameIndex,
+				int maxStack, int maxLocals, byte[] code) throws IOException {
+
+			out.writeShort(0x0001); // ACC_PUBLIC
+			out.writeShort(nameIndex);
+			out.writeShort(descriptorIndex);
+			out.writeShort(1); // attributes_count
+			out.writeShort(codeAttributeNameIndex);
+			out.writeInt(2 + 2 + 4 + code.length + 2 + 2); // attribute_length
+			out.writeShort(maxStack);
+			out.writeShort(maxLocals);
+			out.writeInt(code.length);
+			out.write(code);
+			out.writeShort(0); // exception_table_length
+			out.writeShort(0); // attributes_count
+		}
+
+
+		/**
+		 * Gets the index of the UTF-8 entry of the specified string in the constant pool (adds it if not exist).
+		 *
+		 * @param value The string.
+		 * @return The index of the entry.
+		 * @throws IOException Thrown if the entry could not be written.
+		 */
+		private int getUtf8Index(String value) throws IOException {
+			String key = "Utf8:" + value;
+			if (!this.constantIndexMap.containsKey(key)) {
+				DataOutputStream out = new DataOutputStream(this.constantPoolBytes);
+				out.writeByte(1); // CONSTANT_Utf8
+				out.writeUTF(value);
+				this.constantIndexMap.put(key, this.nextConstantIndex);
+				this.nextConstantIndex++;
+			}
+			return this.constantIndexMap.get(key);
+		}
+
+
+		/**
+		 * Gets the index of the class entry of the specified class in the constant pool (adds it if not exist).
+		 *
+		 * @param internalName The internal name of the class.
+		 * @return The index of the entry.
+		 * @throws IOException Thrown if the entry could not be written.
+		 */
+		private int getClassIndex(String internalName) throws IOException {
+			String key = "Class:" + internalName;
+			if (!this.constantIndexMap.containsKey(key)) {
+				int nameIndex = this.getUtf8Index(internalName);
+				this.constantPoolBytes.write(7); // CONSTANT_Class
+				this.writeShort(this.constantPoolBytes, nameIndex);
+				this.constantIndexMap.put(key, this.nextConstantIndex);
+				this.nextConstantIndex++;
+			}
+			return this.constantIndexMap.get(key);
+		}
+
+
+		/**
+		 * Gets the index of the method reference entry of the specified method in the constant pool (adds it if not exist).
+		 *
+		 * @param className The internal name of the class declaring the method.
+		 * @param methodName The name of the method.
+		 * @param descriptor The descriptor of the method.
+		 * @return The index of the entry.
+		 * @throws IOException Thrown if the entry could not be written.
+		 */
+		private int getMethodrefIndex(String className, String methodName, String descriptor) throws IOException {
+			String key = "Methodref:" + className + "." + methodName + descriptor;
+			if (!this.constantIndexMap.containsKey(key)) {
+				int classIndex = this.getClassIndex(className);
+				int nameIndex = this.getUtf8Index(methodName);
+				int descriptorIndex = this.getUtf8Index(descriptor);
+				this.constantPoolBytes.write(12); // CONSTANT_NameAndType
+				this.writeShort(this.constantPoolBytes, nameIndex);
+				this.writeShort(this.constantPoolBytes, descriptorIndex);
+				int nameAndTypeIndex = this.nextConstantIndex;
+				this.nextConstantIndex++;
+				this.constantPoolBytes.write(10); // CONSTANT_Methodref
+				this.writeShort(this.constantPoolBytes, classIndex);
+				this.writeShort(this.constantPoolBytes, nameAndTypeIndex);
+				this.constantIndexMap.put(key, this.nextConstantIndex);
+				this.nextConstantIndex++;
+			}
+			return this.constantIndexMap.get(key);
+		}
+
+
+		/**
+		 * Gets the index of the double-type constant entry of the specified value in the constant pool (adds it if not exist).
+		 *
+		 * @param value The value of the constant.
+		 * @return The index of the entry.
+		 * @throws IOException Thrown if the entry could not be written.
+		 */
+		private int getDoubleConstantIndex(double value) throws IOException {
+			String key = "Double:" + Double.doubleToRawLongBits(value);
+			if (!this.constantIndexMap.containsKey(key)) {
+				DataOutputStream out = new DataOutputStream(this.constantPoolBytes);
+				out.writeByte(6); // CONSTANT_Double
+				out.writeDouble(value);
+				this.constantIndexMap.put(key, this.nextConstantIndex);
+				this.nextConstantIndex += 2; // A double-type entry takes two slots.
+			}
+			return this.constantIndexMap.get(key);
+		}
+
+
+		/**
+		 * Writes a 16-bit big-endian value to the specified stream.
+		 *
+		 * @param out The stream.
+		 * @param value The value.
+		 */
+		private void writeShort(ByteArrayOutputStream out, int value) {
+			out.write((value >> 8) & 0xFF);
+			out.write(value & 0xFF);
+		}
+	}
+}
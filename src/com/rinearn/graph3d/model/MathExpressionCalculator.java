@@ -0,0 +1,471 @@
+package com.rinearn.graph3d.model;
+
+import org.vcssl.nano.VnanoEngine;
+import org.vcssl.nano.VnanoException;
+import org.vcssl.nano.VnanoPreparedScript;
+import org.vcssl.nano.spec.OptionValue;
+// import org.vcssl.nano.interconnect.PluginLoader;
+import org.vcssl.connect.ConnectorPermissionName;
+import org.vcssl.connect.ConnectorPermissionValue;
+import org.vcssl.nano.plugin.math.xnci1.MathElementaryXnci1Plugin;
+import org.vcssl.nano.plugin.math.xnci1.MathStatisticalXnci1Plugin;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * The class retaining a set of script engines for calculating values of math expressions, and wrapping I/O to/from them.
+ *
+ * An instance of this class is not thread-safe, and it must be used by a single thread at once.
+ * For calculating math expressions in parallel, use an independent instance for each thread.
+ */
+public final class MathExpressionCalculator {
+
+	/** The names of the parameters of "f(x,y)" form math expressions. */
+	public static final Set<String> XY_PARAMETER_NAMES = Set.of("x", "y");
+
+	/** The names of the parameters of "f(t)" form math expressions. */
+	public static final Set<String> T_PARAMETER_NAMES = Set.of("t");
+
+	/**
+	 * The names of the functions/variables of which values can be calculated in vector form element-wise.
+	 * Math expressions containing other identifiers (e.g.: "mean", which returns a scalar for an array) are calculated in scalar form.
+	 */
+	private static final Set<String> VECTORIZABLE_IDENTIFIERS = Set.of(
+		"Math", "PI",
+		"rad", "deg", "sin", "cos", "tan", "asin", "acos", "atan", "sqrt", "ln", "log10", "pow", "exp", "abs"
+	);
+
+	/** The pattern of the number literals and the identifiers in math expressions. */
+	private static final Pattern TOKEN_PATTERN = Pattern.compile(
+		"(?<number>(?:[0-9]+\\.?[0-9]*|\\.[0-9]+)(?:[eE][+-]?[0-9]+)?)|(?<identifier>[a-zA-Z_][a-zA-Z0-9_]*)"
+	);
+
+	/**
+	 * The maximum number of the expressions of which resources are cached for re-executing them, in the engine calculating in vector form.
+	 * It is small because the cached resources include the temporary arrays having the same size as the whole grid,
+	 * but it is enough for the x(t), y(t), and z(t) expressions of a curve, which are evaluated alternately.
+	 */
+	private static final int VECTOR_ENGINE_REEXECUTION_CACHE_CAPACITY = 3;
+
+	/** The compiler of math expressions into JVM classes, which are used instead of the script engines if possible. */
+	private final MathExpressionBytecodeCompiler bytecodeCompiler;
+
+	/** The script engine for calculating values of math expressions. */
+	private final VnanoEngine mathExpressionEngine;
+
+	/** The plug-in instance providing parameter variables (x, y, and t) available in math expressions. */
+	private final MathExpressionParameterPlugin mathExpressionParameterPlugin;
+
+	/** The math expression prepared on the script engine lastly (null if no expression has been prepared yet). */
+	private String preparedExpression = null;
+
+	/** The handle of the lastly prepared math expression, of which parameters x, y, and t are bound directly. */
+	private VnanoPreparedScript preparedScript = null;
+
+	/** The index of the bound parameter "x" of the prepared math expression. */
+	private int xParameterIndex = -1;
+
+	/** The index of the bound parameter "y" of the prepared math expression. */
+	private int yParameterIndex = -1;
+
+	/** The index of the bound parameter "t" of the prepared math expression. */
+	private int tParameterIndex = -1;
+
+	/** The script engine for calculating values of math expressions in vector form, for multiple points at once. */
+	private final VnanoEngine vectorMathExpressionEngine;
+
+	/** The plug-in instance providing array-type parameter variables (x, y, and t) available in math expressions. */
+	private final MathExpressionVectorParameterPlugin mathExpressionVectorParameterPlugin;
+
+	/** The plug-in class providing parameter variables (x, y, and t) available in math expressions. */
+	public final class MathExpressionParameterPlugin {
+
+		// Caution: This class must be "public", to be accessed from the script engine.
+
+		/** The parameter "x" of "f(x,y)" form math expressions. */
+		public volatile double x = Double.NaN;
+
+		/** The parameter "y" of "f(x,y)" form math expressions. */
+		public volatile double y = Double.NaN;
+
+		/** The parameter "t" of "f(t)" form math expressions. */
+		public volatile double t = Double.NaN;
+	}
+
+	/** The plug-in class providing array-type parameter variables (x, y, and t) available in math expressions. */
+	public final class MathExpressionVectorParameterPlugin {
+
+		// Caution: This class must be "public", to be accessed from the script engine.
+
+		/** The parameter "x" of "f(x,y)" form math expressions, for multiple points. */
+		public volatile double[] x = new double[0];
+
+		/** The parameter "y" of "f(x,y)" form math expressions, for multiple points. */
+		public volatile double[] y = new double[0];
+
+		/** The parameter "t" of "f(t)" form math expressions, for multiple points. */
+		public volatile double[] t = new double[0];
+	}
+
+
+	/**
+	 * Create a new instance retaining a set of script engines, by the default settings.
+	 *
+	 * @param locale The locale of the user's environment, which determines the language of error messages.
+	 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
+	 */
+	public MathExpressionCalculator(Locale locale) throws VnanoException {
+		this(locale, new MathExpressionBytecodeCompiler());
+	}
+
+
+	/**
+	 * Create a new instance retaining a set of script engines, sharing the specified compiler of math expressions.
+	 *
+	 * @param locale The locale of the user's environment, which determines the language of error messages.
+	 * @param bytecodeCompiler The compiler of math expressions into JVM classes (can be shared by multiple instances).
+	 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
+	 */
+	public MathExpressionCalculator(Locale locale, MathExpressionBytecodeCompiler bytecodeCompiler) throws VnanoException {
+		this.bytecodeCompiler = bytecodeCompiler;
+
+		// Instantiate plug-ins providing parameter variables available in math expressions,
+		// and create the engines to which they are connected.
+		this.mathExpressionParameterPlugin = new MathExpressionParameterPlugin();
+		this.mathExpressionEngine = createMathExpressionEngine(
+				locale, this.mathExpressionParameterPlugin, OptionValue.REEXECUTION_CACHE_CAPACITY_DEFAULT
+		);
+		this.mathExpressionVectorParameterPlugin = new MathExpressionVectorParameterPlugin();
+		this.vectorMathExpressionEngine = createMathExpressionEngine(
+				locale, this.mathExpressionVectorParameterPlugin, VECTOR_ENGINE_REEXECUTION_CACHE_CAPACITY
+		);
+	}
+
+
+	/**
+	 * Activates the script engines (initialization procedures of all connected plug-ins are invoked).
+	 *
+	 * @throws VnanoException Thrown when any error has occurred in the initialization procedure of any plug-in.
+	 */
+	public void activate() throws VnanoException {
+		this.mathExpressionEngine.activate();
+		this.vectorMathExpressionEngine.activate();
+	}
+
+
+	/**
+	 * Deactivates the script engines (finalization procedures of all connected plug-ins are invoked).
+	 *
+	 * @throws VnanoException Thrown when any error has occurred in the finalization procedure of any plug-in.
+	 */
+	public void deactivate() throws VnanoException {
+		this.mathExpressionEngine.deactivate();
+		this.vectorMathExpressionEngine.deactivate();
+	}
+
+
+	/**
+	 * Calculate the specified math expression, with the specified values of the parameters.
+	 *
+	 * If the expression can be compiled into a JVM class, it is calculated by the compiled class, instead of the script engine.
+	 * Otherwise, it is prepared on the script engine once, and calculated with setting the parameters directly.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param x The parameter "x" (NaN if it is not a parameter of the expression).
+	 * @param y The parameter "y" (NaN if it is not a parameter of the expression).
+	 * @param t The parameter "t" (NaN if it is not a parameter of the expression).
+	 * @return The calculated value.
+	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
+	 */
+	public double calculate(String expression, double x, double y, double t) throws VnanoException {
+		MathExpressionBytecodeCompiler.CompiledMathExpression compiledExpression = this.bytecodeCompiler.compile(expression);
+		if (compiledExpression != null) {
+			return compiledExpression.evaluate(x, y, t);
+		}
+		return this.calculateByPreparedScript(this.prepareScript(expression), x, y, t);
+	}
+
+
+	/**
+	 * Prepares the specified math expression on the script engine, with binding the parameters x, y, and t directly,
+	 * and returns the handle of it.
+	 *
+	 * The handle of the lastly prepared expression is reused, if the same expression is specified.
+	 *
+	 * @param expression The math expression to be prepared.
+	 * @return The handle of the prepared expression.
+	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
+	 */
+	private VnanoPreparedScript prepareScript(String expression) throws VnanoException {
+		if (this.preparedScript != null && expression.equals(this.preparedExpression)) {
+			return this.preparedScript;
+		}
+		VnanoPreparedScript preparedScript = this.mathExpressionEngine.prepareScript(expression + ";");
+		this.xParameterIndex = preparedScript.bindFloatParameter("x");
+		this.yParameterIndex = preparedScript.bindFloatParameter("y");
+		this.tParameterIndex = preparedScript.bindFloatParameter("t");
+		this.preparedExpression = expression;
+		this.preparedScript = preparedScript;
+		return preparedScript;
+	}
+
+
+	/**
+	 * Calculate the prepared math expression, with the specified values of the parameters.
+	 *
+	 * @param preparedScript The handle of the prepared math expression.
+	 * @param x The parameter "x" (NaN if it is not a parameter of the expression).
+	 * @param y The parameter "y" (NaN if it is not a parameter of the expression).
+	 * @param t The parameter "t" (NaN if it is not a parameter of the expression).
+	 * @return The calculated value.
+	 * @throws VnanoException Throws if any error is detected for calculating the expression.
+	 */
+	private double calculateByPreparedScript(VnanoPreparedScript preparedScript, double x, double y, double t)
+			throws VnanoException {
+
+		preparedScript.setFloatParameter(this.xParameterIndex, x);
+		preparedScript.setFloatParameter(this.yParameterIndex, y);
+		preparedScript.setFloatParameter(this.tParameterIndex, t);
+		return preparedScript.executeToFloat();
+	}
+
+
+	/**
+	 * Calculate the specified math expression of "f(x,y)" form, for the specified range of the points at once.
+	 *
+	 * If the expression consists of only element-wise operations/functions,
+	 * it is calculated in vector form by a single execution of the script engine, with binding x and y as arrays.
+	 * Otherwise, it is calculated for each point in scalar form.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param x The parameter "x" of "f(x,y)", for all the points.
+	 * @param y The parameter "y" of "f(x,y)", for all the points.
+	 * @param begin The index of the first point of the range to be calculated.
+	 * @param end The index next to the last point of the range to be calculated.
+	 * @return The calculated values for the points in the range.
+	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
+	 */
+	public double[] calculate(String expression, double[] x, double[] y, int begin, int end) throws VnanoException {
+		int pointCount = end - begin;
+
+		// Calculate by the compiled class, if the expression can be compiled.
+		MathExpressionBytecodeCompiler.CompiledMathExpression compiledExpression = this.bytecodeCompiler.compile(expression);
+		if (compiledExpression != null) {
+			double[] calculatedValues = new double[pointCount];
+			for (int ipoint=0; ipoint<pointCount; ipoint++) {
+				calculatedValues[ipoint] = compiledExpression.evaluate(x[begin + ipoint], y[begin + ipoint], Double.NaN);
+			}
+			return calculatedValues;
+		}
+
+		// Calculate in vector form, if possible.
+		// (If it failed, e.g.: when a function not supporting arrays is used, calculate it again in scalar form,
+		//  which throws an exception with the appropriate message if the expression is really wrong.)
+		if (isVectorizable(expression, XY_PARAMETER_NAMES)) {
+			this.mathExpressionVectorParameterPlugin.x = sliceIfPartial(x, begin, end);
+			this.mathExpressionVectorParameterPlugin.y = sliceIfPartial(y, begin, end);
+			double[] calculatedValues = this.calculateInVectorForm(expression, pointCount);
+			if (calculatedValues != null) {
+				return calculatedValues;
+			}
+		}
+
+		// Calculate in scalar form, for each point.
+		VnanoPreparedScript preparedScript = this.prepareScript(expression);
+		double[] calculatedValues = new double[pointCount];
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			calculatedValues[ipoint] = this.calculateByPreparedScript(preparedScript, x[begin + ipoint], y[begin + ipoint], Double.NaN);
+		}
+		return calculatedValues;
+	}
+
+
+	/**
+	 * Calculate the specified math expression of "f(t)" form, for the specified range of the points at once.
+	 *
+	 * If the expression consists of only element-wise operations/functions,
+	 * it is calculated in vector form by a single execution of the script engine, with binding t as an array.
+	 * Otherwise, it is calculated for each point in scalar form.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param t The parameter "t" of "f(t)", for all the points.
+	 * @param begin The index of the first point of the range to be calculated.
+	 * @param end The index next to the last point of the range to be calculated.
+	 * @return The calculated values for the points in the range.
+	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
+	 */
+	public double[] calculate(String expression, double[] t, int begin, int end) throws VnanoException {
+		int pointCount = end - begin;
+
+		// Calculate by the compiled class, if the expression can be compiled.
+		MathExpressionBytecodeCompiler.CompiledMathExpression compiledExpression = this.bytecodeCompiler.compile(expression);
+		if (compiledExpression != null) {
+			double[] calculatedValues = new double[pointCount];
+			for (int ipoint=0; ipoint<pointCount; ipoint++) {
+				calculatedValues[ipoint] = compiledExpression.evaluate(Double.NaN, Double.NaN, t[begin + ipoint]);
+			}
+			return calculatedValues;
+		}
+
+		// Calculate in vector form, if possible (see the comment in the above method).
+		if (isVectorizable(expression, T_PARAMETER_NAMES)) {
+			this.mathExpressionVectorParameterPlugin.t = sliceIfPartial(t, begin, end);
+			double[] calculatedValues = this.calculateInVectorForm(expression, pointCount);
+			if (calculatedValues != null) {
+				return calculatedValues;
+			}
+		}
+
+		// Calculate in scalar form, for each point.
+		VnanoPreparedScript preparedScript = this.prepareScript(expression);
+		double[] calculatedValues = new double[pointCount];
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			calculatedValues[ipoint] = this.calculateByPreparedScript(preparedScript, Double.NaN, Double.NaN, t[begin + ipoint]);
+		}
+		return calculatedValues;
+	}
+
+
+	/**
+	 * Calculate the specified math expression in vector form, with the array-type parameters which have been set to the plug-in.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param pointCount The number of the points (the length of the array-type parameters).
+	 * @return The calculated values for the points, or null if the expression could not be calculated in vector form.
+	 */
+	private double[] calculateInVectorForm(String expression, int pointCount) {
+		try {
+			Object calculatedValue = this.vectorMathExpressionEngine.executeScript(expression + ";");
+			if (calculatedValue instanceof double[] && ((double[])calculatedValue).length == pointCount) {
+				return (double[])calculatedValue;
+			}
+			if (calculatedValue instanceof Double) {
+				double[] calculatedValues = new double[pointCount];
+				Arrays.fill(calculatedValues, (double)calculatedValue);
+				return calculatedValues;
+			}
+			return null;
+		} catch (VnanoException vne) {
+			return null;
+		} finally {
+			this.mathExpressionVectorParameterPlugin.x = new double[0];
+			this.mathExpressionVectorParameterPlugin.y = new double[0];
+			this.mathExpressionVectorParameterPlugin.t = new double[0];
+		}
+	}
+
+
+	/**
+	 * Returns the specified range of the array, without copying it if the range is the whole of the array.
+	 *
+	 * @param array The array.
+	 * @param begin The index of the first element of the range.
+	 * @param end The index next to the last element of the range.
+	 * @return The array storing the elements in the range.
+	 */
+	private static double[] sliceIfPartial(double[] array, int begin, int end) {
+		if (begin == 0 && end == array.length) {
+			return array;
+		}
+		return Arrays.copyOfRange(array, begin, end);
+	}
+
+
+	/**
+	 * Returns whether the specified math expression can be calculated in vector form, element-wise.
+	 *
+	 * @param expression The math expression.
+	 * @param parameterNames The names of the parameters which are provided in vector form.
+	 * @return Returns true if the expression consists of only the parameters and element-wise operations/functions.
+	 */
+	private static boolean isVectorizable(String expression, Set<String> parameterNames) {
+		Matcher matcher = TOKEN_PATTERN.matcher(expression);
+		while (matcher.find()) {
+			String identifier = matcher.group("identifier");
+			if (identifier != null && !parameterNames.contains(identifier) && !VECTORIZABLE_IDENTIFIERS.contains(identifier)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Create a new script engine of Vnano, and initialize it for calculating math expressions.
+	 *
+	 * @param locale The locale of the user's environment, which determines the language of error messages.
+	 * @param parameterPlugin The plug-in providing parameter variables available in math expressions.
+	 * @param reexecutionCacheCapacity The maximum number of the expressions of which resources are cached for re-executing them.
+	 * @return An initialized engine.
+	 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
+	 */
+	private static VnanoEngine createMathExpressionEngine(Locale locale, Object parameterPlugin, int reexecutionCacheCapacity)
+			throws VnanoException {
+
+
+		// See also the tutorial guide for using Vnano, if necessary:
+		//     https://www.vcssl.org/en-us/vnano/doc/tutorial/
+
+		// Create a script engine of Vnano.
+		VnanoEngine engine = new VnanoEngine();
+
+		// Enable options for calculating math expressions.
+		// For details of each option, see:
+		//     https://www.vcssl.org/en-us/vnano/spec/#options
+		Map<String, Object> optionMap = new HashMap<String, Object>();
+		optionMap.put("LOCALE", locale);
+		optionMap.put("EVAL_INT_LITERAL_AS_FLOAT", true);
+		optionMap.put("EVAL_ONLY_EXPRESSION", true);
+		optionMap.put("EVAL_ONLY_FLOAT", true);
+		optionMap.put("AUTOMATIC_ACTIVATION_ENABLED", false);
+		optionMap.put("MAIN_SCRIPT_NAME", "Input_Expression");
+		optionMap.put("REEXECUTION_CACHE_CAPACITY", reexecutionCacheCapacity);
+		engine.setOptionMap(optionMap);
+
+		// Configure permission items.
+		// Set "DENY" to the default, and set "ALLOW" to only items unnecessary for calculating math expression.
+		// For details of each option, see:
+		//     https://www.vcssl.org/en-us/vnano/spec/#permissions
+		Map<String, String> permissionMap = new HashMap<String, String>();
+		permissionMap.put(ConnectorPermissionName.DEFAULT, ConnectorPermissionValue.DENY);
+		/* If there is any permission item necessary for this engine's usage, "ALLOW" it here. */
+		engine.setPermissionMap(permissionMap);
+
+		// After 2025/02/19, the Standard Vnano Plug-ins are contained in the same JAR file: RinearnGraph3D.jar.
+		// So simply instantiate Math-related plug-ins, and connect them to the engine.
+		MathElementaryXnci1Plugin mathElementaryPlugin = new MathElementaryXnci1Plugin();
+		MathStatisticalXnci1Plugin mathStatisticalPlugin = new MathStatisticalXnci1Plugin();
+		engine.connectPlugin("Math", mathElementaryPlugin);
+		engine.connectPlugin("Math", mathStatisticalPlugin);
+
+		// OLD: Loaded the above plug-ins dynamically.
+		/*
+		// Load plug-ins listed in "./plugin/VnanoPluginList.txt".
+		try {
+			PluginLoader pluginLoader = new PluginLoader("UTF-8");
+			pluginLoader.setPluginListPath("./plugin/VnanoPluginList.txt");
+			pluginLoader.load();
+			for (Object plugin: pluginLoader.getPluginInstances()) {
+				engine.connectPlugin("___VNANO_AUTO_KEY", plugin);
+			}
+
+		// The locale setting does not affect to error messages occurred in PluginLoader,
+		// so set the locale to the exception explicitly.
+		} catch (VnanoException vne) {
+			vne.setLocale(locale);
+			throw vne;
+		}
+		*/
+
+		// Connect the plug-in providing parameter variables available in math expressions.
+		engine.connectPlugin("MathExprParamPlugin", parameterPlugin);
+		return engine;
+	}
+}
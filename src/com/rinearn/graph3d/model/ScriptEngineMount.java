@@ -1,42 +1,58 @@
 package com.rinearn.graph3d.model;
 
-import org.vcssl.nano.VnanoEngine;
 import org.vcssl.nano.VnanoException;
-// import org.vcssl.nano.interconnect.PluginLoader;
-import org.vcssl.connect.ConnectorPermissionName;
-import org.vcssl.connect.ConnectorPermissionValue;
-import org.vcssl.nano.plugin.math.xnci1.MathElementaryXnci1Plugin;
-import org.vcssl.nano.plugin.math.xnci1.MathStatisticalXnci1Plugin;
-
-import java.util.Map;
-import java.util.HashMap;
+
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 
 /**
  * The class initializing and retaining script engines, and wrapping I/O to/from script engines.
+ *
+ * For calculating math expressions of many points in parallel, this class also retains a pool of the sets of script engines
+ * (instances of {@link MathExpressionCalculator}), each of which is used by one thread at once.
  */
 public final class ScriptEngineMount {
 
-	/** The script engine for calculating values of math expressions. */
-	private volatile VnanoEngine mathExpressionEngine = null;
+	/** The minimum number of the points calculated by a task, when calculating math expressions in parallel. */
+	private static final int MIN_PARALLEL_TASK_POINT_COUNT = 1024;
 
-	/** The plug-in instance providing parameter variables (x, y, and t) available in math expressions. */
-	private MathExpressionParameterPlugin mathExpressionParameterPlugin = null;
+	/** The number of the tasks per thread, when calculating math expressions in parallel (for balancing the loads). */
+	private static final int PARALLEL_TASKS_PER_THREAD = 4;
 
-	/** The plug-in class providing parameter variables (x, y, and t) available in math expressions. */
-	public final class MathExpressionParameterPlugin {
+	/** The locale of the user's environment, which determines the language of error messages. */
+	private final Locale locale;
 
-		// Caution: This class must be "public", to be accessed from the script engine.
+	/** The compiler of math expressions into JVM classes, shared by all the sets of the script engines. */
+	private final MathExpressionBytecodeCompiler mathExpressionBytecodeCompiler = new MathExpressionBytecodeCompiler();
 
-		/** The parameter "x" of "f(x,y)" form math expressions. */
-		public volatile double x = Double.NaN;
+	/** The set of the script engines for calculating values of math expressions, used by the methods not running in parallel. */
+	private final MathExpressionCalculator mathExpressionCalculator;
 
-		/** The parameter "y" of "f(x,y)" form math expressions. */
-		public volatile double y = Double.NaN;
+	/** The pool of the idle sets of the script engines, for calculating math expressions in parallel. */
+	private final ConcurrentLinkedQueue<MathExpressionCalculator> pooledMathExpressionCalculators
+			= new ConcurrentLinkedQueue<MathExpressionCalculator>();
 
-		/** The parameter "t" of "f(t)" form math expressions. */
-		public volatile double t = Double.NaN;
+	/**
+	 * The interface of a task calculating a math expression for a range of points, by using the specified set of the engines.
+	 */
+	@FunctionalInterface
+	private static interface RangeCalculationTask {
+
+		/**
+		 * Calculates the math expression for the specified range of points.
+		 *
+		 * @param calculator The set of the script engines to be used.
+		 * @param begin The index of the first point of the range to be calculated.
+		 * @param end The index next to the last point of the range to be calculated.
+		 * @return The calculated values for the points in the range.
+		 * @throws VnanoException Throws if any syntax error is detected for the math expression.
+		 */
+		public abstract double[] calculate(MathExpressionCalculator calculator, int begin, int end) throws VnanoException;
 	}
 
 
@@ -47,7 +63,8 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
 	 */
 	public ScriptEngineMount(Locale locale) throws VnanoException {
-		this.initializeMathExpressionEngine(locale);
+		this.locale = locale;
+		this.mathExpressionCalculator = new MathExpressionCalculator(locale, this.mathExpressionBytecodeCompiler);
 	}
 
 
@@ -61,10 +78,12 @@ public final class ScriptEngineMount {
 	 * to avoid degradation of processing speed caused by the above costs,
 	 * the timing of this activation must be tuned appropriately.
 	 *
+	 * (The engines used for calculating in parallel are activated/deactivated automatically.)
+	 *
 	 * @throws VnanoException Thrown when any error has occurred in the initialization procedure of any plug-in.
 	 */
 	public synchronized void activateMathExpressionEngine() throws VnanoException {
-		this.mathExpressionEngine.activate();
+		this.mathExpressionCalculator.activate();
 	}
 
 
@@ -78,9 +97,21 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Thrown when any error has occurred in the finalization procedure of any plug-in.
 	 */
 	public synchronized void deactivateMathExpressionEngine() throws VnanoException {
-		this.mathExpressionEngine.deactivate();
+		this.mathExpressionCalculator.deactivate();
 	}
 
+	/**
+	 * Enables/disables the compilation of math expressions into JVM classes (enabled by default).
+	 *
+	 * If disabled, all math expressions are calculated by the script engines.
+	 *
+	 * @param enabled Specify false to disable the compilation.
+	 */
+	public void setMathExpressionCompilationEnabled(boolean enabled) {
+		this.mathExpressionBytecodeCompiler.setEnabled(enabled);
+	}
+
+
 	/**
 	 * Calculate the specified math expression having no parameters.
 	 *
@@ -89,11 +120,7 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
 	 */
 	public synchronized double calculateMathExpression(String expression) throws VnanoException {
-		mathExpressionParameterPlugin.x = Double.NaN;
-		mathExpressionParameterPlugin.y = Double.NaN;
-		mathExpressionParameterPlugin.t = Double.NaN;
-		double calculatedValue = (double)this.mathExpressionEngine.executeScript(expression + ";");
-		return calculatedValue;
+		return this.mathExpressionCalculator.calculate(expression, Double.NaN, Double.NaN, Double.NaN);
 	}
 
 
@@ -108,11 +135,51 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
 	 */
 	public synchronized double calculateMathExpression(String expression, double x, double y) throws VnanoException {
-		mathExpressionParameterPlugin.x = x;
-		mathExpressionParameterPlugin.y = y;
-		mathExpressionParameterPlugin.t = Double.NaN;
-		double calculatedValue = (double)this.mathExpressionEngine.executeScript(expression + ";");
-		return calculatedValue;
+		return this.mathExpressionCalculator.calculate(expression, x, y, Double.NaN);
+	}
+
+
+	/**
+	 * Calculate the specified math expression of "f(x,y)" form, for all the specified points at once.
+	 *
+	 * If the expression consists of only element-wise operations/functions,
+	 * it is calculated in vector form by a single execution of the script engine, with binding x and y as arrays.
+	 * Otherwise, it is calculated for each point in scalar form.
+	 *
+	 * When "parallel" is true, the points are divided into ranges, and they are calculated in parallel
+	 * by using the pooled engines (it is not necessary to activate them manually).
+	 * The calculated values are the same as the sequential calculation, because each point is calculated independently.
+	 *
+	 * If the expression can be compiled into a JVM class (see {@link MathExpressionBytecodeCompiler}),
+	 * it is calculated by the compiled class instead of the script engines, which is much faster.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param x The parameter "x" of "f(x,y)", for all the points.
+	 * @param y The parameter "y" of "f(x,y)", for all the points.
+	 * @param parallel Specify true to calculate in parallel.
+	 * @return The calculated values for all the points.
+	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
+	 */
+	public double[] calculateMathExpression(String expression, double[] x, double[] y, boolean parallel) throws VnanoException {
+		if (x.length != y.length) {
+			throw new IllegalArgumentException("The lengths of the parameter arrays are mismatching.");
+		}
+
+		// If the expression can be compiled into a JVM class, calculate by it directly (it can be shared by multiple threads).
+		MathExpressionBytecodeCompiler.CompiledMathExpression compiledExpression = this.mathExpressionBytecodeCompiler.compile(expression);
+		if (compiledExpression != null) {
+			double[] calculatedValues = new double[x.length];
+			if (parallel) {
+				Arrays.parallelSetAll(calculatedValues, i -> compiledExpression.evaluate(x[i], y[i], Double.NaN));
+			} else {
+				Arrays.setAll(calculatedValues, i -> compiledExpression.evaluate(x[i], y[i], Double.NaN));
+			}
+			return calculatedValues;
+		}
+
+		return this.calculateRanges(
+			x.length, parallel, (calculator, begin, end) -> calculator.calculate(expression, x, y, begin, end)
+		);
 	}
 
 
@@ -124,79 +191,91 @@ public final class ScriptEngineMount {
 	 * @return The calculated value.
 	 */
 	public synchronized double calculateMathExpression(String expression, double t) throws VnanoException {
-		mathExpressionParameterPlugin.x = Double.NaN;
-		mathExpressionParameterPlugin.y = Double.NaN;
-		mathExpressionParameterPlugin.t = t;
-		double calculatedValue = (double)this.mathExpressionEngine.executeScript(expression + ";");
-		return calculatedValue;
+		return this.mathExpressionCalculator.calculate(expression, Double.NaN, Double.NaN, t);
 	}
 
 
 	/**
-	 * Create a new script engine of Vnano, and initialize it for calculating math expressions.
+	 * Calculate the specified math expression of "f(t)" form, for all the specified points at once.
 	 *
-	 * @param locale The locale of the user's environment, which determines the language of error messages.
-	 * @return An initialized engine.
-	 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
+	 * See {@link ScriptEngineMount#calculateMathExpression(String, double[], double[], boolean)}
+	 * for details of the vector-form and the parallel calculation.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param t The parameter "t" of "f(t)", for all the points.
+	 * @param parallel Specify true to calculate in parallel.
+	 * @return The calculated values for all the points.
+	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
 	 */
-	private final void initializeMathExpressionEngine(Locale locale) throws VnanoException {
-
-		// See also the tutorial guide for using Vnano, if necessary:
-		//     https://www.vcssl.org/en-us/vnano/doc/tutorial/
-
-		// Create a script engine of Vnano.
-		this.mathExpressionEngine = new VnanoEngine();
-
-		// Enable options for calculating math expressions.
-		// For details of each option, see:
-		//     https://www.vcssl.org/en-us/vnano/spec/#options
-		Map<String, Object> optionMap = new HashMap<String, Object>();
-		optionMap.put("LOCALE", locale);
-		optionMap.put("EVAL_INT_LITERAL_AS_FLOAT", true);
-		optionMap.put("EVAL_ONLY_EXPRESSION", true);
-		optionMap.put("EVAL_ONLY_FLOAT", true);
-		optionMap.put("AUTOMATIC_ACTIVATION_ENABLED", false);
-		optionMap.put("MAIN_SCRIPT_NAME", "Input_Expression");
-		this.mathExpressionEngine.setOptionMap(optionMap);
-
-		// Configure permission items.
-		// Set "DENY" to the default, and set "ALLOW" to only items unnecessary for calculating math expression.
-		// For details of each option, see:
-		//     https://www.vcssl.org/en-us/vnano/spec/#permissions
-		Map<String, String> permissionMap = new HashMap<String, String>();
-		permissionMap.put(ConnectorPermissionName.DEFAULT, ConnectorPermissionValue.DENY);
-		/* If there is any permission item necessary for this engine's usage, "ALLOW" it here. */
-		this.mathExpressionEngine.setPermissionMap(permissionMap);
-
-		// After 2025/02/19, the Standard Vnano Plug-ins are contained in the same JAR file: RinearnGraph3D.jar.
-		// So simply instantiate Math-related plug-ins, and connect them to the engine.
-		MathElementaryXnci1Plugin mathElementaryPlugin = new MathElementaryXnci1Plugin();
-		MathStatisticalXnci1Plugin mathStatisticalPlugin = new MathStatisticalXnci1Plugin();
-		this.mathExpressionEngine.connectPlugin("Math", mathElementaryPlugin);
-		this.mathExpressionEngine.connectPlugin("Math", mathStatisticalPlugin);
-
-		// OLD: Loaded the above plug-ins dynamically.
-		/*
-		// Load plug-ins listed in "./plugin/VnanoPluginList.txt".
-		try {
-			PluginLoader pluginLoader = new PluginLoader("UTF-8");
-			pluginLoader.setPluginListPath("./plugin/VnanoPluginList.txt");
-			pluginLoader.load();
-			for (Object plugin: pluginLoader.getPluginInstances()) {
-				this.mathExpressionEngine.connectPlugin("___VNANO_AUTO_KEY", plugin);
+	public double[] calculateMathExpression(String expression, double[] t, boolean parallel) throws VnanoException {
+
+		// If the expression can be compiled into a JVM class, calculate by it directly (see the comment in the above method).
+		MathExpressionBytecodeCompiler.CompiledMathExpression compiledExpression = this.mathExpressionBytecodeCompiler.compile(expression);
+		if (compiledExpression != null) {
+			double[] calculatedValues = new double[t.length];
+			if (parallel) {
+				Arrays.parallelSetAll(calculatedValues, i -> compiledExpression.evaluate(Double.NaN, Double.NaN, t[i]));
+			} else {
+				Arrays.setAll(calculatedValues, i -> compiledExpression.evaluate(Double.NaN, Double.NaN, t[i]));
 			}
+			return calculatedValues;
+		}
 
-		// The locale setting does not affect to error messages occurred in PluginLoader,
-		// so set the locale to the exception explicitly.
-		} catch (VnanoException vne) {
-			vne.setLocale(locale);
-			throw vne;
+		return this.calculateRanges(
+			t.length, parallel, (calculator, begin, end) -> calculator.calculate(expression, t, begin, end)
+		);
+	}
+
+
+	/**
+	 * Calculates a math expression for all the points, by dividing them into ranges if calculating in parallel.
+	 *
+	 * @param pointCount The number of the points.
+	 * @param parallel Specify true to calculate in parallel.
+	 * @param task The task calculating the math expression for a range of the points.
+	 * @return The calculated values for all the points.
+	 * @throws VnanoException Throws if any syntax error is detected for the math expression.
+	 */
+	private double[] calculateRanges(int pointCount, boolean parallel, RangeCalculationTask task) throws VnanoException {
+
+		// Calculate all the points at once, by the engine not for running in parallel.
+		int threadCount = ForkJoinPool.getCommonPoolParallelism();
+		if (!parallel || threadCount <= 1 || pointCount < MIN_PARALLEL_TASK_POINT_COUNT * 2) {
+			synchronized (this) {
+				return task.calculate(this.mathExpressionCalculator, 0, pointCount);
+			}
 		}
-		*/
 
-		// Instantiate a plug-in providing parameter variables (x, y, and t) available in math expressions,
-		// and connect it to the engine.
-		this.mathExpressionParameterPlugin = new MathExpressionParameterPlugin();
-		this.mathExpressionEngine.connectPlugin("MathExprParamPlugin", this.mathExpressionParameterPlugin);
+		// Divide the points into ranges, and calculate them in parallel, by the pooled engines.
+		int rangeCount = Math.min(threadCount * PARALLEL_TASKS_PER_THREAD, pointCount / MIN_PARALLEL_TASK_POINT_COUNT);
+		double[] calculatedValues = new double[pointCount];
+		AtomicReference<VnanoException> occurredException = new AtomicReference<VnanoException>();
+		IntStream.range(0, rangeCount).parallel().forEach(irange -> {
+			if (occurredException.get() != null) {
+				return;
+			}
+			int begin = (int)((long)pointCount * irange / rangeCount);
+			int end = (int)((long)pointCount * (irange + 1) / rangeCount);
+			try {
+				MathExpressionCalculator calculator = this.pooledMathExpressionCalculators.poll();
+				if (calculator == null) {
+					calculator = new MathExpressionCalculator(this.locale, this.mathExpressionBytecodeCompiler);
+				}
+				calculator.activate();
+				double[] rangeValues = task.calculate(calculator, begin, end);
+				calculator.deactivate();
+				System.arraycopy(rangeValues, 0, calculatedValues, begin, end - begin);
+
+				// Return the engines to the pool. (When any error occurred, they are discarded, because their states are unclear.)
+				this.pooledMathExpressionCalculators.offer(calculator);
+
+			} catch (VnanoException vne) {
+				occurredException.compareAndSet(null, vne);
+			}
+		});
+		if (occurredException.get() != null) {
+			throw occurredException.get();
+		}
+		return calculatedValues;
 	}
 }
@@ -4,6 +4,9 @@ import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
 import com.rinearn.graph3d.model.data.series.ArrayDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
 import com.rinearn.graph3d.model.data.series.MathDataSeries;
+import com.rinearn.graph3d.model.data.series.StreamDataSeries;
+import com.rinearn.graph3d.model.data.series.XtYtZtMathDataSeries;
+import com.rinearn.graph3d.model.data.series.ZxyMathDataSeries;
 
 
 /**
@@ -17,28 +20,33 @@ public class DataStore {
 	/** The group of array data series. */
 	private final DataSeriesGroup<ArrayDataSeries> arrayDataSeriesGroup = new DataSeriesGroup<ArrayDataSeries>();
 
+	/** The group of stream data series. */
+	private final DataSeriesGroup<StreamDataSeries> streamDataSeriesGroup = new DataSeriesGroup<StreamDataSeries>();
+
 
 	/**
-	 * Clear all the currently registered data series, without distinction of the type of the data series (math or array).
+	 * Clear all the currently registered data series, without distinction of the type of the data series (math, array, or stream).
 	 *
 	 * The same operation can be performed by calling arrayDataSeriesList() and mathDataSeriesList() methods,
 	 * but in some situation, we must perform them as an "atomic" operation. This method is provided for such situation.
 	 */
 	public synchronized void clearDataSeries() {
 		this.arrayDataSeriesGroup.clearAllDataSeries();
+		this.streamDataSeriesGroup.clearAllDataSeries();
 		this.mathDataSeriesGroup.clearAllDataSeries();
 	}
 
 
 	/**
 	 * Gets the group of all the currently registered data series,
-	 * without distinction of the type of the data series (math or array).
+	 * without distinction of the type of the data series (math, array, or stream).
 	 *
 	 * @return The group of all the currently registered data series.
 	 */
 	public synchronized DataSeriesGroup<AbstractDataSeries> getCombinedDataSeriesGroup() {
 		DataSeriesGroup<AbstractDataSeries> allDataSeriesGroup = new DataSeriesGroup<AbstractDataSeries>();
 		allDataSeriesGroup.combine(this.arrayDataSeriesGroup);
+		allDataSeriesGroup.combine(this.streamDataSeriesGroup);
 		allDataSeriesGroup.combine(this.mathDataSeriesGroup);
 		return allDataSeriesGroup.createUnmodifiableClone();
 	}
@@ -112,6 +120,73 @@ public class DataStore {
 	}
 
 
+	/**
+	 * Gets the total number of the times the coordinate values of the currently registered math data series have been actually computed.
+	 *
+	 * @return The total number of the computations.
+	 */
+	public synchronized long getMathComputationCount() {
+		long computationCount = 0;
+		for (int iseries=0; iseries<this.mathDataSeriesGroup.getDataSeriesCount(); iseries++) {
+			computationCount += this.mathDataSeriesGroup.getDataSeriesAt(iseries).getComputationCount();
+		}
+		return computationCount;
+	}
+
+
+	/**
+	 * Gets the total number of the times the computation of the coordinate values of the currently registered math data series
+	 * has been skipped, because its inputs were unchanged.
+	 *
+	 * @return The total number of the skipped computations.
+	 */
+	public synchronized long getSkippedMathComputationCount() {
+		long skippedComputationCount = 0;
+		for (int iseries=0; iseries<this.mathDataSeriesGroup.getDataSeriesCount(); iseries++) {
+			skippedComputationCount += this.mathDataSeriesGroup.getDataSeriesAt(iseries).getSkippedComputationCount();
+		}
+		return skippedComputationCount;
+	}
+
+
+	/**
+	 * Gets the total number of the points of the currently registered z(x,y) math data series,
+	 * reused from their last computations when the X/Y ranges were panned.
+	 *
+	 * @return The total number of the reused points.
+	 */
+	public synchronized long getReusedMathPointCount() {
+		long reusedPointCount = 0;
+		for (int iseries=0; iseries<this.mathDataSeriesGroup.getDataSeriesCount(); iseries++) {
+			MathDataSeries mathDataSeries = this.mathDataSeriesGroup.getDataSeriesAt(iseries);
+			if (mathDataSeries instanceof ZxyMathDataSeries) {
+				reusedPointCount += ((ZxyMathDataSeries)mathDataSeries).getReusedPointCount();
+			}
+		}
+		return reusedPointCount;
+	}
+
+
+	/**
+	 * Gets the total number of the points at which the math expressions of the currently registered math data series
+	 * have been evaluated in their last computations.
+	 *
+	 * @return The total number of the evaluations in the last computations.
+	 */
+	public synchronized long getLastMathEvaluationCount() {
+		long evaluationCount = 0;
+		for (int iseries=0; iseries<this.mathDataSeriesGroup.getDataSeriesCount(); iseries++) {
+			MathDataSeries mathDataSeries = this.mathDataSeriesGroup.getDataSeriesAt(iseries);
+			if (mathDataSeries instanceof ZxyMathDataSeries) {
+				evaluationCount += ((ZxyMathDataSeries)mathDataSeries).getLastEvaluationCount();
+			} else if (mathDataSeries instanceof XtYtZtMathDataSeries) {
+				evaluationCount += ((XtYtZtMathDataSeries)mathDataSeries).getLastEvaluationCount();
+			}
+		}
+		return evaluationCount;
+	}
+
+
 	/**
 	 * Sets all the array data series to be plotted.
 	 *
@@ -198,4 +273,53 @@ System.out.println("!!! TODO @" + this);
 		return this.arrayDataSeriesGroup.createUnmodifiableClone();
 	}
 
+
+	/**
+	 * Adds (registers) a new stream data series.
+	 *
+	 * @param streamDataSeries The stream data series to be added.
+	 */
+	public synchronized void addStreamDataSeries(StreamDataSeries streamDataSeries) {
+		this.streamDataSeriesGroup.addDataSeries(streamDataSeries);
+	}
+
+
+	/**
+	 * Removes the specified stream data series.
+	 *
+	 * If the specified data series is not registered, nothing occurs.
+	 *
+	 * @param streamDataSeries The stream data series to be removed.
+	 */
+	public synchronized void removeStreamDataSeries(StreamDataSeries streamDataSeries) {
+		int dataSeriesCount = this.streamDataSeriesGroup.getDataSeriesCount();
+		for (int iseries=0; iseries<dataSeriesCount; iseries++) {
+			if (this.streamDataSeriesGroup.getDataSeriesAt(iseries) == streamDataSeries) {
+				this.streamDataSeriesGroup.removeDataSeriesAt(iseries);
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * Clear all currently registered stream data series.
+	 */
+	public synchronized void clearStreamDataSeries() {
+		this.streamDataSeriesGroup.clearAllDataSeries();
+	}
+
+
+	/**
+	 * Gets the group of the currently registered stream data series.
+	 *
+	 * The returned group is unmodifiable. For adding/removing elements,
+	 * use the methods addStreamDataSeries(...), removeStreamDataSeries(...), etc.
+	 *
+	 * @return The group of the currently registered stream data series.
+	 */
+	public synchronized DataSeriesGroup<StreamDataSeries> getStreamDataSeriesGroup() {
+		return this.streamDataSeriesGroup.createUnmodifiableClone();
+	}
+
 }
@@ -10,6 +10,8 @@ import java.math.BigDecimal;
       |
       +- ArrayDataSeries
       |
+      +- StreamDataSeries
+      |
       +- MathDataSeries
           |
           +- ZxyMathDataSeries
@@ -28,6 +30,21 @@ public abstract class AbstractDataSeries {
 	//
 	// ・宣言するのすっかり忘れてたけど各点ごとの可視性の配列要るでしょ。
 
+	/** The points converted from the jagged arrays by getFlatPointStorage() last time. */
+	private FlatPointStorage convertedFlatPointStorage = null;
+
+	/** The X-coordinate values from which "convertedFlatPointStorage" has been converted. */
+	private double[][] convertedXCoordinates = null;
+
+	/** The Y-coordinate values from which "convertedFlatPointStorage" has been converted. */
+	private double[][] convertedYCoordinates = null;
+
+	/** The Z-coordinate values from which "convertedFlatPointStorage" has been converted. */
+	private double[][] convertedZCoordinates = null;
+
+	/** The visibilities from which "convertedFlatPointStorage" has been converted. */
+	private boolean[][] convertedVisibilities = null;
+
 	/**
 	 * Gets the container of the attribute (meta information) of this series.
 	 *
@@ -73,6 +90,37 @@ public abstract class AbstractDataSeries {
 	public abstract boolean[][] getVisibilities();
 
 
+	/**
+	 * Gets the coordinates and the visibilities of the points of this data series, in the flat (contiguous) layout.
+	 *
+	 * Plotters should access the points through the returned instance, instead of the jagged arrays.
+	 * The returned instance is the same one while the points are not changed, so it can be used for detecting changes.
+	 *
+	 * By default, it is converted from the jagged arrays returned by getXCoordinates(), getYCoordinates(), etc.,
+	 * and cached until they are replaced.
+	 * The data series storing the points in the flat layout natively override this method.
+	 *
+	 * @return The coordinates and the visibilities of the points.
+	 */
+	public synchronized FlatPointStorage getFlatPointStorage() {
+		double[][] xCoordinates = this.getXCoordinates();
+		double[][] yCoordinates = this.getYCoordinates();
+		double[][] zCoordinates = this.getZCoordinates();
+		boolean[][] visibilities = this.getVisibilities();
+		if (this.convertedFlatPointStorage == null
+				|| xCoordinates != this.convertedXCoordinates || yCoordinates != this.convertedYCoordinates
+				|| zCoordinates != this.convertedZCoordinates || visibilities != this.convertedVisibilities) {
+
+			this.convertedFlatPointStorage = FlatPointStorage.fromJaggedArrays(xCoordinates, yCoordinates, zCoordinates, visibilities);
+			this.convertedXCoordinates = xCoordinates;
+			this.convertedYCoordinates = yCoordinates;
+			this.convertedZCoordinates = zCoordinates;
+			this.convertedVisibilities = visibilities;
+		}
+		return this.convertedFlatPointStorage;
+	}
+
+
 	/**
 	 * Checks whether the minimum value of the X-coordinate values exists.
 	 *
@@ -0,0 +1,314 @@
+package com.rinearn.graph3d.model.data.series;
+
+import org.vcssl.nano.VnanoException;
+
+import java.util.Arrays;
+
+
+/**
+ * The class to sample a parametric curve of "x(t), y(t), z(t)" form at non-uniform time points adaptively,
+ * which are dense on the fast-moving or sharply-bending parts of the curve and sparse on its slow or straight parts.
+ *
+ * The sampling starts from coarse uniform time points, and then refines them recursively:
+ * for each interval between the adjacent time points, the curve is evaluated at the midpoint of the interval,
+ * and the interval is divided into halves if the chordal deviation (the distance between the midpoint of the curve
+ * and the midpoint of the chord) exceeds the tolerance. The refinement is repeated until all intervals are within the tolerance,
+ * or the number of the points reaches the limit.
+ *
+ * The deviation is measured independently for each of X, Y and Z directions, relative to the span of the curve in the direction,
+ * because the directions are scaled independently on the graph.
+ */
+public final class AdaptiveCurveSampler {
+
+	/** The number of the intervals of the initial coarse time points. */
+	private static final int INITIAL_INTERVAL_COUNT = 32;
+
+	/** The maximum number of the refinement rounds (each round divides the intervals into halves). */
+	private static final int MAX_REFINEMENT_COUNT = 16;
+
+	/**
+	 * The interface of the curve to be sampled, which evaluates the coordinates at multiple time points at once.
+	 */
+	public interface Evaluator {
+
+		/**
+		 * Evaluates the coordinates at the specified time points.
+		 *
+		 * @param t The time points.
+		 * @return The X, Y and Z coordinate values at the time points, in the form of [dimensionIndex][timeIndex].
+		 * @throws VnanoException Thrown when any error has been detected for evaluating the curve.
+		 */
+		public double[][] evaluate(double[] t) throws VnanoException;
+	}
+
+	/** The starting time. */
+	private final double timeMin;
+
+	/** The ending time. */
+	private final double timeMax;
+
+	/** The maximum number of the points. */
+	private final int maxPointCount;
+
+	/** The tolerance of the chordal deviation, relative to the span of the curve in each direction. */
+	private final double tolerance;
+
+	/** The sampled time points. */
+	private double[] timePoints = new double[0];
+
+	/** The coordinate values at the sampled time points, in the form of [dimensionIndex][timeIndex]. */
+	private double[][] coordinates = new double[3][0];
+
+	/** The number of the time points at which the curve has been evaluated. */
+	private long evaluationCount = 0;
+
+
+	/**
+	 * Creates a new instance sampling the curve in the specified time range.
+	 *
+	 * @param timeMin The starting time.
+	 * @param timeMax The ending time.
+	 * @param maxPointCount The maximum number of the points.
+	 * @param tolerance The tolerance of the chordal deviation, relative to the span of the curve in each direction.
+	 */
+	public AdaptiveCurveSampler(double timeMin, double timeMax, int maxPointCount, double tolerance) {
+		if (maxPointCount < 2) {
+			throw new IllegalArgumentException("The maximum number of the points must be 2 or greater: " + maxPointCount);
+		}
+		if (!(0.0 <= tolerance)) {
+			throw new IllegalArgumentException("The tolerance must be a positive value or zero: " + tolerance);
+		}
+		this.timeMin = timeMin;
+		this.timeMax = timeMax;
+		this.maxPointCount = maxPointCount;
+		this.tolerance = tolerance;
+	}
+
+
+	/**
+	 * Samples the specified curve.
+	 *
+	 * @param evaluator The curve to be sampled.
+	 * @throws VnanoException Thrown when any error has been detected for evaluating the curve.
+	 */
+	public void sample(Evaluator evaluator) throws VnanoException {
+		this.evaluationCount = 0;
+
+		// Sample the curve at the initial coarse time points.
+		int initialPointCount = Math.min(INITIAL_INTERVAL_COUNT + 1, this.maxPointCount);
+		double[] timePoints = new double[initialPointCount];
+		double timeDelta = (this.timeMax - this.timeMin) / (initialPointCount - 1);
+		for (int it=0; it<initialPointCount; it++) {
+			if (it == initialPointCount - 1) { // Branching to avoid the degradation of timeMax.
+				timePoints[it] = this.timeMax;
+			} else {
+				timePoints[it] = this.timeMin + timeDelta * it;
+			}
+		}
+		double[][] coordinates = this.evaluate(evaluator, timePoints);
+
+		// The flags representing that the intervals between the adjacent time points are within the tolerance.
+		boolean[] converged = new boolean[initialPointCount - 1];
+
+		for (int refinement=0; refinement<MAX_REFINEMENT_COUNT; refinement++) {
+			int n = timePoints.length;
+
+			// Collect the intervals to be checked, and evaluate the curve at their midpoints.
+			int[] candidates = new int[n - 1];
+			int candidateCount = 0;
+			for (int ic=0; ic<n-1; ic++) {
+				if (!converged[ic]) {
+					candidates[candidateCount] = ic;
+					candidateCount++;
+				}
+			}
+			if (candidateCount == 0) {
+				break;
+			}
+			candidates = Arrays.copyOf(candidates, candidateCount);
+			double[] probeTimePoints = new double[candidateCount];
+			for (int icc=0; icc<candidateCount; icc++) {
+				probeTimePoints[icc] = 0.5 * (timePoints[candidates[icc]] + timePoints[candidates[icc] + 1]);
+			}
+			double[][] probeCoordinates = this.evaluate(evaluator, probeTimePoints);
+
+			// Compute the chordal deviations of the intervals.
+			double[] spans = new double[3];
+			for (int dim=0; dim<3; dim++) {
+				spans[dim] = computeSpan(coordinates[dim], probeCoordinates[dim]);
+			}
+			double[] deviations = new double[candidateCount];
+			for (int icc=0; icc<candidateCount; icc++) {
+				int ic = candidates[icc];
+				for (int dim=0; dim<3; dim++) {
+					double deviation = chordalDeviation(
+						coordinates[dim][ic], probeCoordinates[dim][icc], coordinates[dim][ic + 1], spans[dim]
+					);
+					deviations[icc] = Math.max(deviations[icc], deviation);
+				}
+			}
+
+			// Select the intervals to be divided, in descending order of the deviations, within the limit of the number of the points.
+			// (The intervals within the tolerance are marked as converged, and not checked any more.)
+			Integer[] order = new Integer[candidateCount];
+			for (int icc=0; icc<candidateCount; icc++) {
+				order[icc] = icc;
+			}
+			Arrays.sort(order, (a, b) -> Double.compare(deviations[b], deviations[a]));
+			boolean[] divided = new boolean[candidateCount];
+			int dividedCount = 0;
+			boolean limitReached = false;
+			for (int icc: order) {
+				if (!(this.tolerance < deviations[icc])) {
+					converged[candidates[icc]] = true;
+				} else if (n + dividedCount < this.maxPointCount) {
+					divided[icc] = true;
+					dividedCount++;
+				} else {
+					limitReached = true;
+				}
+			}
+			if (dividedCount == 0) {
+				break;
+			}
+
+			// Insert the probed midpoints of the divided intervals (no additional evaluation is required).
+			int newN = n + dividedCount;
+			double[] newTimePoints = new double[newN];
+			double[][] newCoordinates = new double[3][newN];
+			boolean[] newConverged = new boolean[newN - 1];
+			int newIndex = 0;
+			int icc = 0;
+			for (int it=0; it<n; it++) {
+				newTimePoints[newIndex] = timePoints[it];
+				for (int dim=0; dim<3; dim++) {
+					newCoordinates[dim][newIndex] = coordinates[dim][it];
+				}
+				if (it == n - 1) {
+					break;
+				}
+				boolean isCandidate = icc < candidateCount && candidates[icc] == it;
+				if (isCandidate && divided[icc]) {
+					newIndex++;
+					newTimePoints[newIndex] = probeTimePoints[icc];
+					for (int dim=0; dim<3; dim++) {
+						newCoordinates[dim][newIndex] = probeCoordinates[dim][icc];
+					}
+				} else {
+					newConverged[newIndex] = converged[it];
+				}
+				if (isCandidate) {
+					icc++;
+				}
+				newIndex++;
+			}
+
+			timePoints = newTimePoints;
+			coordinates = newCoordinates;
+			converged = newConverged;
+			if (limitReached) {
+				break;
+			}
+		}
+
+		this.timePoints = timePoints;
+		this.coordinates = coordinates;
+	}
+
+
+	/**
+	 * Evaluates the curve at the specified time points, and counts the number of the evaluations.
+	 *
+	 * @param evaluator The curve to be evaluated.
+	 * @param t The time points.
+	 * @return The X, Y and Z coordinate values at the time points, in the form of [dimensionIndex][timeIndex].
+	 * @throws VnanoException Thrown when any error has been detected for evaluating the curve.
+	 */
+	private double[][] evaluate(Evaluator evaluator, double[] t) throws VnanoException {
+		this.evaluationCount += t.length;
+		return evaluator.evaluate(t);
+	}
+
+
+	/**
+	 * Computes the chordal deviation of an interval in a direction, relative to the span of the curve in the direction.
+	 *
+	 * If only some of the values are undefined (NaN or infinite), the deviation is regarded as infinite,
+	 * to refine the boundary of the range where the curve is defined.
+	 *
+	 * @param start The coordinate value at the start of the interval.
+	 * @param mid The coordinate value at the midpoint of the interval.
+	 * @param end The coordinate value at the end of the interval.
+	 * @param span The span of the curve in the direction.
+	 * @return The relative chordal deviation.
+	 */
+	private static double chordalDeviation(double start, double mid, double end, double span) {
+		boolean startDefined = Double.isFinite(start);
+		boolean midDefined = Double.isFinite(mid);
+		boolean endDefined = Double.isFinite(end);
+		if (startDefined && midDefined && endDefined) {
+			double deviation = Math.abs(mid - 0.5 * (start + end));
+			return span == 0.0 ? 0.0 : deviation / span;
+		}
+		if (!startDefined && !midDefined && !endDefined) {
+			return 0.0;
+		}
+		return Double.POSITIVE_INFINITY;
+	}
+
+
+	/**
+	 * Computes the span (the difference between the maximum and the minimum) of the defined values.
+	 *
+	 * @param values The values at the sampled time points.
+	 * @param probeValues The values at the probed time points.
+	 * @return The span of the values (0 if no value is defined).
+	 */
+	private static double computeSpan(double[] values, double[] probeValues) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double value: values) {
+			if (Double.isFinite(value)) {
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+		for (double value: probeValues) {
+			if (Double.isFinite(value)) {
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+		return min <= max ? max - min : 0.0;
+	}
+
+
+	/**
+	 * Gets the sampled time points.
+	 *
+	 * @return The sampled time points.
+	 */
+	public double[] getTimePoints() {
+		return this.timePoints;
+	}
+
+
+	/**
+	 * Gets the coordinate values at the sampled time points.
+	 *
+	 * @return The X, Y and Z coordinate values, in the form of [dimensionIndex][timeIndex].
+	 */
+	public double[][] getCoordinates() {
+		return this.coordinates;
+	}
+
+
+	/**
+	 * Gets the number of the time points at which the curve has been evaluated, including the probed midpoints.
+	 *
+	 * @return The number of the evaluations.
+	 */
+	public long getEvaluationCount() {
+		return this.evaluationCount;
+	}
+}
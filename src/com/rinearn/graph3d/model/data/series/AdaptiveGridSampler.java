@@ -0,0 +1,587 @@
+package com.rinearn.graph3d.model.data.series;
+
+import org.vcssl.nano.VnanoException;
+
+import java.util.Arrays;
+
+
+/**
+ * The class to sample a function of "z(x,y)" form on a non-uniform grid adaptively,
+ * which is dense around the sharp features of the function and sparse in its flat regions.
+ *
+ * The sampling starts from a coarse uniform grid, and then refines it recursively:
+ * for each interval between the adjacent grid lines, the function is evaluated at the midpoints of the interval,
+ * and the interval is divided into halves (by inserting a new grid line) if the error of the linear interpolation
+ * at the midpoints exceeds the tolerance. The refinement is repeated until all intervals are within the tolerance,
+ * or the number of the grid points reaches the limit.
+ *
+ * Because the sampled points compose a (non-uniform) grid, they can be plotted by the plotters in the same way as uniform grids.
+ * Note that a new grid line is inserted over the whole range, so a feature localized in both X and Y directions
+ * requires more points than a fully (quadtree-like) adaptive mesh, but the points in flat regions are still saved.
+ */
+public final class AdaptiveGridSampler {
+
+	/** The number of the intervals of the initial coarse grid, in each of X and Y directions. */
+	private static final int INITIAL_INTERVAL_COUNT = 16;
+
+	/** The maximum number of the refinement rounds (each round divides the intervals into halves). */
+	private static final int MAX_REFINEMENT_COUNT = 12;
+
+	/**
+	 * The interface of the function to be sampled, which evaluates the Z-values at multiple points at once.
+	 */
+	public interface Evaluator {
+
+		/**
+		 * Evaluates the Z-values at the specified points.
+		 *
+		 * @param x The X-coordinate values of the points.
+		 * @param y The Y-coordinate values of the points.
+		 * @return The Z-values at the points (NaN for the points at which the function is undefined).
+		 * @throws VnanoException Thrown when any error has been detected for evaluating the function.
+		 */
+		public double[] evaluate(double[] x, double[] y) throws VnanoException;
+	}
+
+	/** The minimum value of the X-range. */
+	private final double xMin;
+
+	/** The maximum value of the X-range. */
+	private final double xMax;
+
+	/** The minimum value of the Y-range. */
+	private final double yMin;
+
+	/** The maximum value of the Y-range. */
+	private final double yMax;
+
+	/** The maximum number of the grid points. */
+	private final int maxPointCount;
+
+	/** The tolerance of the interpolation error, relative to the span of the sampled Z-values. */
+	private final double tolerance;
+
+	/** The X-coordinate values of the grid lines. */
+	private double[] xGrid = new double[0];
+
+	/** The Y-coordinate values of the grid lines. */
+	private double[] yGrid = new double[0];
+
+	/** The Z-values at the grid points, in the form of [xIndex][yIndex]. */
+	private double[][] zValues = new double[0][0];
+
+	/** The number of the points at which the function has been evaluated. */
+	private long evaluationCount = 0;
+
+
+	/**
+	 * Creates a new instance sampling the function in the specified ranges.
+	 *
+	 * @param xMin The minimum value of the X-range.
+	 * @param xMax The maximum value of the X-range.
+	 * @param yMin The minimum value of the Y-range.
+	 * @param yMax The maximum value of the Y-range.
+	 * @param maxPointCount The maximum number of the grid points.
+	 * @param tolerance The tolerance of the interpolation error, relative to the span of the sampled Z-values.
+	 */
+	public AdaptiveGridSampler(double xMin, double xMax, double yMin, double yMax, int maxPointCount, double tolerance) {
+		if (maxPointCount < 4) {
+			throw new IllegalArgumentException("The maximum number of the points must be 4 or greater: " + maxPointCount);
+		}
+		if (!(0.0 <= tolerance)) {
+			throw new IllegalArgumentException("The tolerance must be a positive value or zero: " + tolerance);
+		}
+		this.xMin = xMin;
+		this.xMax = xMax;
+		this.yMin = yMin;
+		this.yMax = yMax;
+		this.maxPointCount = maxPointCount;
+		this.tolerance = tolerance;
+	}
+
+
+	/**
+	 * Samples the specified function.
+	 *
+	 * @param evaluator The function to be sampled.
+	 * @throws VnanoException Thrown when any error has been detected for evaluating the function.
+	 */
+	public void sample(Evaluator evaluator) throws VnanoException {
+		this.evaluationCount = 0;
+
+		// Sample the function on the initial coarse grid.
+		int initialLineCount = Math.max(2, Math.min(INITIAL_INTERVAL_COUNT + 1, (int)Math.sqrt(this.maxPointCount)));
+		double[] xGrid = discretize(this.xMin, this.xMax, initialLineCount);
+		double[] yGrid = discretize(this.yMin, this.yMax, initialLineCount);
+		double[][] zValues = this.evaluateGrid(evaluator, xGrid, yGrid);
+
+		// The flags representing that the intervals between the adjacent grid lines are within the tolerance,
+		// on the grid lines crossing them at the time when they have been checked.
+		boolean[] xConverged = new boolean[xGrid.length - 1];
+		boolean[] yConverged = new boolean[yGrid.length - 1];
+
+		// The flags representing that the grid lines have been inserted in the last refinement round.
+		boolean[] xLineInserted = new boolean[xGrid.length];
+		boolean[] yLineInserted = new boolean[yGrid.length];
+
+		for (int refinement=0; refinement<MAX_REFINEMENT_COUNT; refinement++) {
+			int nx = xGrid.length;
+			int ny = yGrid.length;
+
+			// Collect the intervals to be checked: the unconverged intervals are checked on all the grid lines crossing them,
+			// and the converged intervals are checked again only on the grid lines newly inserted across them.
+			int[] xCandidates = collectCandidateIntervals(xConverged, containsTrue(yLineInserted));
+			int[] yCandidates = collectCandidateIntervals(yConverged, containsTrue(xLineInserted));
+			if (xCandidates.length == 0 && yCandidates.length == 0) {
+				break;
+			}
+
+			// Evaluate the function at the midpoints of the intervals to be checked, on the grid lines crossing them to be checked.
+			// (The indices of the probed points are stored in xProbeIndices/yProbeIndices, or -1 for the points not probed.)
+			int[] xProbeIndices = new int[xCandidates.length * ny];
+			int[] yProbeIndices = new int[nx * yCandidates.length];
+			double[] probeX = new double[xProbeIndices.length + yProbeIndices.length];
+			double[] probeY = new double[xProbeIndices.length + yProbeIndices.length];
+			int probeCount = 0;
+			for (int icx=0; icx<xCandidates.length; icx++) {
+				int ic = xCandidates[icx];
+				double xMid = 0.5 * (xGrid[ic] + xGrid[ic + 1]);
+				for (int iy=0; iy<ny; iy++) {
+					if (xConverged[ic] && !yLineInserted[iy]) {
+						xProbeIndices[icx * ny + iy] = -1;
+						continue;
+					}
+					probeX[probeCount] = xMid;
+					probeY[probeCount] = yGrid[iy];
+					xProbeIndices[icx * ny + iy] = probeCount;
+					probeCount++;
+				}
+			}
+			for (int ix=0; ix<nx; ix++) {
+				for (int icy=0; icy<yCandidates.length; icy++) {
+					int ic = yCandidates[icy];
+					if (yConverged[ic] && !xLineInserted[ix]) {
+						yProbeIndices[ix * yCandidates.length + icy] = -1;
+						continue;
+					}
+					probeX[probeCount] = xGrid[ix];
+					probeY[probeCount] = 0.5 * (yGrid[ic] + yGrid[ic + 1]);
+					yProbeIndices[ix * yCandidates.length + icy] = probeCount;
+					probeCount++;
+				}
+			}
+			double[] probeZ = this.evaluate(evaluator, Arrays.copyOf(probeX, probeCount), Arrays.copyOf(probeY, probeCount));
+
+			// Compute the interpolation errors of the intervals.
+			double absoluteTolerance = this.tolerance * computeSpan(zValues, probeZ);
+			double[] xErrors = new double[xCandidates.length];
+			double[] yErrors = new double[yCandidates.length];
+			for (int icx=0; icx<xCandidates.length; icx++) {
+				int ic = xCandidates[icx];
+				for (int iy=0; iy<ny; iy++) {
+					int probeIndex = xProbeIndices[icx * ny + iy];
+					if (probeIndex != -1) {
+						double error = interpolationError(zValues[ic][iy], probeZ[probeIndex], zValues[ic + 1][iy]);
+						xErrors[icx] = Math.max(xErrors[icx], error);
+					}
+				}
+			}
+			for (int ix=0; ix<nx; ix++) {
+				for (int icy=0; icy<yCandidates.length; icy++) {
+					int ic = yCandidates[icy];
+					int probeIndex = yProbeIndices[ix * yCandidates.length + icy];
+					if (probeIndex != -1) {
+						double error = interpolationError(zValues[ix][ic], probeZ[probeIndex], zValues[ix][ic + 1]);
+						yErrors[icy] = Math.max(yErrors[icy], error);
+					}
+				}
+			}
+
+			// Select the intervals to be divided, in descending order of the errors, within the limit of the number of the points.
+			// (The intervals within the tolerance are marked as converged, and checked again only when new grid lines cross them.)
+			Integer[] order = new Integer[xCandidates.length + yCandidates.length];
+			for (int i=0; i<order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Double.compare(
+				b < xCandidates.length ? xErrors[b] : yErrors[b - xCandidates.length],
+				a < xCandidates.length ? xErrors[a] : yErrors[a - xCandidates.length]
+			));
+			boolean[] xDivided = new boolean[nx - 1];
+			boolean[] yDivided = new boolean[ny - 1];
+			int nxDivided = nx;
+			int nyDivided = ny;
+			boolean limitReached = false;
+			for (int candidate: order) {
+				boolean isX = candidate < xCandidates.length;
+				double error = isX ? xErrors[candidate] : yErrors[candidate - xCandidates.length];
+				int ic = isX ? xCandidates[candidate] : yCandidates[candidate - xCandidates.length];
+				if (!(absoluteTolerance < error)) {
+					if (isX) {
+						xConverged[ic] = true;
+					} else {
+						yConverged[ic] = true;
+					}
+					continue;
+				}
+				if (isX && (long)(nxDivided + 1) * nyDivided <= this.maxPointCount) {
+					xDivided[ic] = true;
+					nxDivided++;
+				} else if (!isX && (long)nxDivided * (nyDivided + 1) <= this.maxPointCount) {
+					yDivided[ic] = true;
+					nyDivided++;
+				} else {
+					limitReached = true;
+				}
+			}
+			if (nxDivided == nx && nyDivided == ny) {
+				break;
+			}
+
+			// Insert the new grid lines, and store the Z-values at the new grid points
+			// (the probed values are reused, and the function is evaluated only at the other points:
+			//  the crossing points of the new lines, and the points not probed on the new lines dividing the converged intervals).
+			int[] xSources = new int[nxDivided];
+			int[] ySources = new int[nyDivided];
+			double[] newXGrid = insertMidpoints(xGrid, xDivided, xSources);
+			double[] newYGrid = insertMidpoints(yGrid, yDivided, ySources);
+			int[] xCandidateIndices = indexCandidates(xCandidates, nx - 1);
+			int[] yCandidateIndices = indexCandidates(yCandidates, ny - 1);
+			double[][] newZValues = new double[nxDivided][nyDivided];
+			int[] unprobedPositions = new int[nxDivided * nyDivided - nx * ny];
+			int unprobedCount = 0;
+			for (int ix=0; ix<nxDivided; ix++) {
+				for (int iy=0; iy<nyDivided; iy++) {
+					boolean xNew = xSources[ix] < 0;
+					boolean yNew = ySources[iy] < 0;
+					int probeIndex = -1;
+					if (!xNew && !yNew) {
+						newZValues[ix][iy] = zValues[xSources[ix]][ySources[iy]];
+						continue;
+					} else if (xNew && !yNew) {
+						probeIndex = xProbeIndices[xCandidateIndices[-xSources[ix] - 1] * ny + ySources[iy]];
+					} else if (!xNew && yNew) {
+						probeIndex = yProbeIndices[xSources[ix] * yCandidates.length + yCandidateIndices[-ySources[iy] - 1]];
+					}
+					if (probeIndex != -1) {
+						newZValues[ix][iy] = probeZ[probeIndex];
+					} else {
+						unprobedPositions[unprobedCount] = ix * nyDivided + iy;
+						unprobedCount++;
+					}
+				}
+			}
+			if (unprobedCount != 0) {
+				double[] unprobedX = new double[unprobedCount];
+				double[] unprobedY = new double[unprobedCount];
+				for (int i=0; i<unprobedCount; i++) {
+					unprobedX[i] = newXGrid[unprobedPositions[i] / nyDivided];
+					unprobedY[i] = newYGrid[unprobedPositions[i] % nyDivided];
+				}
+				double[] unprobedZ = this.evaluate(evaluator, unprobedX, unprobedY);
+				for (int i=0; i<unprobedCount; i++) {
+					newZValues[unprobedPositions[i] / nyDivided][unprobedPositions[i] % nyDivided] = unprobedZ[i];
+				}
+			}
+
+			xConverged = divideFlags(xConverged, xDivided);
+			yConverged = divideFlags(yConverged, yDivided);
+			xLineInserted = markInsertedLines(xSources);
+			yLineInserted = markInsertedLines(ySources);
+			xGrid = newXGrid;
+			yGrid = newYGrid;
+			zValues = newZValues;
+			if (limitReached) {
+				break;
+			}
+		}
+
+		this.xGrid = xGrid;
+		this.yGrid = yGrid;
+		this.zValues = zValues;
+	}
+
+
+	/**
+	 * Evaluates the function at all the points of the specified grid.
+	 *
+	 * @param evaluator The function to be evaluated.
+	 * @param xGrid The X-coordinate values of the grid lines.
+	 * @param yGrid The Y-coordinate values of the grid lines.
+	 * @return The Z-values at the grid points, in the form of [xIndex][yIndex].
+	 * @throws VnanoException Thrown when any error has been detected for evaluating the function.
+	 */
+	private double[][] evaluateGrid(Evaluator evaluator, double[] xGrid, double[] yGrid) throws VnanoException {
+		int nx = xGrid.length;
+		int ny = yGrid.length;
+		double[] x = new double[nx * ny];
+		double[] y = new double[nx * ny];
+		for (int ix=0; ix<nx; ix++) {
+			for (int iy=0; iy<ny; iy++) {
+				x[ix * ny + iy] = xGrid[ix];
+				y[ix * ny + iy] = yGrid[iy];
+			}
+		}
+		double[] z = this.evaluate(evaluator, x, y);
+		double[][] zValues = new double[nx][ny];
+		for (int ix=0; ix<nx; ix++) {
+			System.arraycopy(z, ix * ny, zValues[ix], 0, ny);
+		}
+		return zValues;
+	}
+
+
+	/**
+	 * Evaluates the function at the specified points, and counts the number of the evaluations.
+	 *
+	 * @param evaluator The function to be evaluated.
+	 * @param x The X-coordinate values of the points.
+	 * @param y The Y-coordinate values of the points.
+	 * @return The Z-values at the points.
+	 * @throws VnanoException Thrown when any error has been detected for evaluating the function.
+	 */
+	private double[] evaluate(Evaluator evaluator, double[] x, double[] y) throws VnanoException {
+		if (x.length == 0) {
+			return new double[0];
+		}
+		this.evaluationCount += x.length;
+		return evaluator.evaluate(x, y);
+	}
+
+
+	/**
+	 * Discretizes the specified range into the specified number of the grid lines.
+	 *
+	 * @param min The minimum value of the range.
+	 * @param max The maximum value of the range.
+	 * @param n The number of the grid lines.
+	 * @return The coordinate values of the grid lines.
+	 */
+	private static double[] discretize(double min, double max, int n) {
+		double delta = (max - min) / (n - 1);
+		double[] grid = new double[n];
+		for (int i=0; i<n; i++) {
+			if (i == n - 1) { // Branching to avoid the degradation of max.
+				grid[i] = max;
+			} else {
+				grid[i] = min + delta * i;
+			}
+		}
+		return grid;
+	}
+
+
+	/**
+	 * Collects the indices of the intervals to be checked.
+	 *
+	 * @param converged The flags representing that the intervals are within the tolerance.
+	 * @param existsInsertedLine Specify true if new grid lines crossing the intervals have been inserted in the last refinement round.
+	 * @return The indices of the unconverged intervals (or of all the intervals, if existsInsertedLine is true).
+	 */
+	private static int[] collectCandidateIntervals(boolean[] converged, boolean existsInsertedLine) {
+		int[] indices = new int[converged.length];
+		int count = 0;
+		for (int i=0; i<converged.length; i++) {
+			if (!converged[i] || existsInsertedLine) {
+				indices[count] = i;
+				count++;
+			}
+		}
+		return Arrays.copyOf(indices, count);
+	}
+
+
+	/**
+	 * Checks whether the specified flags contain true.
+	 *
+	 * @param flags The flags to be checked.
+	 * @return Returns true if any of the flags is true.
+	 */
+	private static boolean containsTrue(boolean[] flags) {
+		for (boolean flag: flags) {
+			if (flag) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Creates the reverse lookup table of the candidate intervals: from the index of an interval to its index in the candidates.
+	 *
+	 * @param candidates The indices of the candidate intervals.
+	 * @param intervalCount The total number of the intervals.
+	 * @return The reverse lookup table (-1 for the intervals which are not candidates).
+	 */
+	private static int[] indexCandidates(int[] candidates, int intervalCount) {
+		int[] indices = new int[intervalCount];
+		Arrays.fill(indices, -1);
+		for (int i=0; i<candidates.length; i++) {
+			indices[candidates[i]] = i;
+		}
+		return indices;
+	}
+
+
+	/**
+	 * Inserts the midpoints of the specified intervals into the grid lines.
+	 *
+	 * @param grid The coordinate values of the grid lines.
+	 * @param divided The flags of the intervals to be divided.
+	 * @param sources The array to which the sources of the new grid lines are stored:
+	 *                the index of the original grid line, or (-1 - the index of the divided interval) for the inserted midpoints.
+	 * @return The coordinate values of the new grid lines.
+	 */
+	private static double[] insertMidpoints(double[] grid, boolean[] divided, int[] sources) {
+		double[] newGrid = new double[sources.length];
+		int newIndex = 0;
+		for (int i=0; i<grid.length; i++) {
+			newGrid[newIndex] = grid[i];
+			sources[newIndex] = i;
+			newIndex++;
+			if (i < divided.length && divided[i]) {
+				newGrid[newIndex] = 0.5 * (grid[i] + grid[i + 1]);
+				sources[newIndex] = -1 - i;
+				newIndex++;
+			}
+		}
+		return newGrid;
+	}
+
+
+	/**
+	 * Creates the flags representing that the grid lines have been inserted.
+	 *
+	 * @param sources The sources of the grid lines, stored by insertMidpoints method.
+	 * @return The flags representing that the grid lines have been inserted (true for the inserted midpoints).
+	 */
+	private static boolean[] markInsertedLines(int[] sources) {
+		boolean[] inserted = new boolean[sources.length];
+		for (int i=0; i<sources.length; i++) {
+			inserted[i] = sources[i] < 0;
+		}
+		return inserted;
+	}
+
+
+	/**
+	 * Creates the convergence flags of the intervals after dividing the specified intervals.
+	 *
+	 * @param converged The convergence flags of the intervals before the division.
+	 * @param divided The flags of the divided intervals.
+	 * @return The convergence flags of the intervals after the division (false for both halves of the divided intervals).
+	 */
+	private static boolean[] divideFlags(boolean[] converged, boolean[] divided) {
+		int dividedCount = 0;
+		for (boolean flag: divided) {
+			if (flag) {
+				dividedCount++;
+			}
+		}
+		boolean[] newConverged = new boolean[converged.length + dividedCount];
+		int newIndex = 0;
+		for (int i=0; i<converged.length; i++) {
+			if (divided[i]) {
+				newIndex += 2;
+			} else {
+				newConverged[newIndex] = converged[i];
+				newIndex++;
+			}
+		}
+		return newConverged;
+	}
+
+
+	/**
+	 * Computes the error of the linear interpolation at the midpoint of an interval.
+	 *
+	 * If only some of the values are undefined (NaN or infinite), the error is regarded as infinite,
+	 * to refine the boundary of the region where the function is defined.
+	 *
+	 * @param start The value at the start of the interval.
+	 * @param mid The value at the midpoint of the interval.
+	 * @param end The value at the end of the interval.
+	 * @return The interpolation error.
+	 */
+	private static double interpolationError(double start, double mid, double end) {
+		boolean startDefined = Double.isFinite(start);
+		boolean midDefined = Double.isFinite(mid);
+		boolean endDefined = Double.isFinite(end);
+		if (startDefined && midDefined && endDefined) {
+			return Math.abs(mid - 0.5 * (start + end));
+		}
+		if (!startDefined && !midDefined && !endDefined) {
+			return 0.0;
+		}
+		return Double.POSITIVE_INFINITY;
+	}
+
+
+	/**
+	 * Computes the span (the difference between the maximum and the minimum) of the defined values.
+	 *
+	 * @param gridValues The values at the grid points.
+	 * @param probeValues The values at the probed points.
+	 * @return The span of the values (0 if no value is defined).
+	 */
+	private static double computeSpan(double[][] gridValues, double[] probeValues) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double[] row: gridValues) {
+			for (double value: row) {
+				if (Double.isFinite(value)) {
+					min = Math.min(min, value);
+					max = Math.max(max, value);
+				}
+			}
+		}
+		for (double value: probeValues) {
+			if (Double.isFinite(value)) {
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+		return min <= max ? max - min : 0.0;
+	}
+
+
+	/**
+	 * Gets the X-coordinate values of the grid lines.
+	 *
+	 * @return The X-coordinate values of the grid lines.
+	 */
+	public double[] getXGrid() {
+		return this.xGrid;
+	}
+
+
+	/**
+	 * Gets the Y-coordinate values of the grid lines.
+	 *
+	 * @return The Y-coordinate values of the grid lines.
+	 */
+	public double[] getYGrid() {
+		return this.yGrid;
+	}
+
+
+	/**
+	 * Gets the Z-values at the grid points.
+	 *
+	 * @return The Z-values at the grid points, in the form of [xIndex][yIndex].
+	 */
+	public double[][] getZValues() {
+		return this.zValues;
+	}
+
+
+	/**
+	 * Gets the number of the points at which the function has been evaluated, including the probed midpoints.
+	 *
+	 * @return The number of the evaluations.
+	 */
+	public long getEvaluationCount() {
+		return this.evaluationCount;
+	}
+}
@@ -11,6 +11,8 @@ import java.math.BigDecimal;
       |
       +- ArrayDataSeries < This Class
       |
+      +- StreamDataSeries
+      |
       +- MathDataSeries
           |
           +- ZxyMathDataSeries
@@ -24,22 +26,16 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 	/** The containers of the attribute (meta information) of this series. */
 	private volatile SeriesAttribute seriesAttribute;
 
-	/** The X-coordinate values of the points of this data series. */
-	private volatile double[][] xCoordinates = null; // [irow][icol]
-
-	/** The Y-coordinate values of the points of this data series. */
-	private volatile double[][] yCoordinates = null; // [irow][icol]
-
-	/** The Z-coordinate values of the points of this data series. */
-	private volatile double[][] zCoordinates = null; // [irow][icol]
+	/**
+	 * The coordinates and the visibilities of the points of this data series, stored in the flat (contiguous) layout.
+	 * (The jagged arrays returned by getXCoordinates(), etc. are created from it, only for compatibility.)
+	 */
+	private volatile FlatPointStorage flatPointStorage = null;
 
 	/** The coordinate values of the extra dimensions. */
 	@SuppressWarnings("unused")
 	private volatile double[][][] extraCoordinates = null; // [idim][irow][icol]
 
-	/** The array storing visibilities of the points of this data series. */
-	private volatile boolean[][] visibilities; // [irow][icol]
-
 	/** Stores the maximum value of the X-coordinate values. */
 	private volatile BigDecimal xMin;
 
@@ -72,23 +68,31 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 	 * @param xCoordinates The X-coordinate values of the points of this data series ([irow][icol]).
 	 * @param yCoordinates The Y-coordinate values of the points of this data series ([irow][icol]).
 	 * @param zCoordinates The Z-coordinate values of the points of this data series ([irow][icol]).
+	 * @param visibilities The visibilities of the points of this data series ([irow][icol]).
 	 * @param legend The legend of this data series.
 	 */
 	public ArrayDataSeries(double[][] xCoordinates, double[][] yCoordinates, double[][] zCoordinates,
 			boolean[][] visibilities, String legend) {
 
-		this.xCoordinates = xCoordinates;
-		this.yCoordinates = yCoordinates;
-		this.zCoordinates = zCoordinates;
-		this.visibilities = visibilities;
+		this(FlatPointStorage.fromJaggedArrays(xCoordinates, yCoordinates, zCoordinates, visibilities), legend);
+	}
 
-		this.detectXRange();
-		this.detectYRange();
-		this.detectZRange();
 
-		this.seriesAttribute = new SeriesAttribute();
-		this.seriesAttribute.setUnmodifiedLegend(legend);
-		this.seriesAttribute.setModifiableLegend(legend);
+	/**
+	 * Creates a new array data series consisting of the specified single precision coordinates.
+	 *
+	 * The coordinate values are stored in the single precision, which requires the half memory of the double precision.
+	 *
+	 * @param xCoordinates The X-coordinate values of the points of this data series ([irow][icol]).
+	 * @param yCoordinates The Y-coordinate values of the points of this data series ([irow][icol]).
+	 * @param zCoordinates The Z-coordinate values of the points of this data series ([irow][icol]).
+	 * @param visibilities The visibilities of the points of this data series ([irow][icol]).
+	 * @param legend The legend of this data series.
+	 */
+	public ArrayDataSeries(float[][] xCoordinates, float[][] yCoordinates, float[][] zCoordinates,
+			boolean[][] visibilities, String legend) {
+
+		this(FlatPointStorage.fromJaggedArrays(xCoordinates, yCoordinates, zCoordinates, visibilities), legend);
 	}
 
 
@@ -99,16 +103,25 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 	 * @param yCoordinates The Y-coordinate values of the points of this data series ([irow][icol]).
 	 * @param zCoordinates The Z-coordinate values of the points of this data series ([irow][icol]).
 	 * @param extraCoordinates The coordinate values of the extra dimensions ([idim][irow][icol]).
+	 * @param visibilities The visibilities of the points of this data series ([irow][icol]).
 	 * @param legend The legend of this data series.
 	 */
 	public ArrayDataSeries(double[][] xCoordinates, double[][] yCoordinates, double[][] zCoordinates, double[][][] extraCoordinates,
 			boolean[][] visibilities, String legend) {
 
-		this.xCoordinates = xCoordinates;
-		this.yCoordinates = yCoordinates;
-		this.zCoordinates = zCoordinates;
+		this(FlatPointStorage.fromJaggedArrays(xCoordinates, yCoordinates, zCoordinates, visibilities), legend);
 		this.extraCoordinates = extraCoordinates;
-		this.visibilities = visibilities;
+	}
+
+
+	/**
+	 * Creates a new array data series consisting of the points stored in the flat (contiguous) layout.
+	 *
+	 * @param flatPointStorage The coordinates and the visibilities of the points of this data series.
+	 * @param legend The legend of this data series.
+	 */
+	public ArrayDataSeries(FlatPointStorage flatPointStorage, String legend) {
+		this.flatPointStorage = flatPointStorage;
 
 		this.detectXRange();
 		this.detectYRange();
@@ -120,6 +133,20 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 	}
 
 
+	/**
+	 * Creates a new array data series consisting of the points stored in the flat (contiguous) layout,
+	 * and the coordinates of the extra dimensions.
+	 *
+	 * @param flatPointStorage The coordinates and the visibilities of the points of this data series.
+	 * @param extraCoordinates The coordinate values of the extra dimensions ([idim][irow][icol]).
+	 * @param legend The legend of this data series.
+	 */
+	public ArrayDataSeries(FlatPointStorage flatPointStorage, double[][][] extraCoordinates, String legend) {
+		this(flatPointStorage, legend);
+		this.extraCoordinates = extraCoordinates;
+	}
+
+
 	/**
 	 * Gets the container of the attribute (meta information) of this series.
 	 *
@@ -144,71 +171,80 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 	/**
 	 * Sets the X-coordinate values of the points of this data series, in double-type.
 	 *
+	 * The shape of the specified array must be the same as the current one.
+	 * If the current values are stored in the single precision, the specified values are also stored in the single precision.
+	 *
 	 * @param xCoordinate The X-coordinate values.
 	 */
 	public synchronized void setXCoordinates(double[][] xCoordinates) {
-		this.xCoordinates = xCoordinates;
+		this.flatPointStorage = this.getInitializedFlatPointStorage().withXCoordinates(xCoordinates);
 		this.detectXRange();
 	}
 
 	/**
 	 * Gets the X-coordinate values of the points of this data series, in double-type.
 	 *
+	 * The returned array is newly created from the values stored in the flat layout, for each call.
+	 * For accessing the points efficiently, use {@link ArrayDataSeries#getFlatPointStorage()} instead.
+	 *
 	 * @return The X-coordinate values.
 	 */
 	@Override
 	public synchronized double[][] getXCoordinates() {
-		if (this.xCoordinates == null) {
-			throw new IllegalStateException("The X-coordinate values have not been initialized yet.");
-		}
-		return this.xCoordinates;
+		return this.getInitializedFlatPointStorage().toJaggedXCoordinates();
 	}
 
 
 	/**
 	 * Sets the Y-coordinate values of the points of this data series, in double-type.
 	 *
+	 * The shape of the specified array must be the same as the current one.
+	 * If the current values are stored in the single precision, the specified values are also stored in the single precision.
+	 *
 	 * @param yCoordinate The Y-coordinate values.
 	 */
 	public synchronized void setYCoordinates(double[][] yCoordinates) {
-		this.yCoordinates = yCoordinates;
+		this.flatPointStorage = this.getInitializedFlatPointStorage().withYCoordinates(yCoordinates);
 		this.detectYRange();
 	}
 
 	/**
 	 * Gets the Y-coordinate values of the points of this data series, in double-type.
 	 *
+	 * The returned array is newly created from the values stored in the flat layout, for each call.
+	 * For accessing the points efficiently, use {@link ArrayDataSeries#getFlatPointStorage()} instead.
+	 *
 	 * @return The Y-coordinate values.
 	 */
 	@Override
 	public synchronized double[][] getYCoordinates() {
-		if (this.yCoordinates == null) {
-			throw new IllegalStateException("The Y-coordinate values have not been initialized yet.");
-		}
-		return this.yCoordinates;
+		return this.getInitializedFlatPointStorage().toJaggedYCoordinates();
 	}
 
 	/**
 	 * Sets the Z-coordinate values of the points of this data series, in double-type.
 	 *
+	 * The shape of the specified array must be the same as the current one.
+	 * If the current values are stored in the single precision, the specified values are also stored in the single precision.
+	 *
 	 * @param zCoordinate The Z-coordinate values.
 	 */
 	public synchronized void setZCoordinates(double[][] zCoordinates) {
-		this.zCoordinates = zCoordinates;
+		this.flatPointStorage = this.getInitializedFlatPointStorage().withZCoordinates(zCoordinates);
 		this.detectZRange();
 	}
 
 	/**
 	 * Gets the Z-coordinate values of the points of this data series, in double-type.
 	 *
+	 * The returned array is newly created from the values stored in the flat layout, for each call.
+	 * For accessing the points efficiently, use {@link ArrayDataSeries#getFlatPointStorage()} instead.
+	 *
 	 * @return The Z-coordinate values.
 	 */
 	@Override
 	public synchronized double[][] getZCoordinates() {
-		if (this.zCoordinates == null) {
-			throw new IllegalStateException("The Z-coordinate values have not been initialized yet.");
-		}
-		return this.zCoordinates;
+		return this.getInitializedFlatPointStorage().toJaggedZCoordinates();
 	}
 
 
@@ -225,23 +261,62 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 	/**
 	 * Sets the visibilities of the points of this data series.
 	 *
+	 * The shape of the specified array must be the same as the current one.
+	 *
 	 * @param visibilities The array storing visibilities of the points of this data series.
 	 */
 	public synchronized void setVisibilities(boolean[][] visibilities) {
-		this.visibilities = visibilities;
+		this.flatPointStorage = this.getInitializedFlatPointStorage().withVisibilities(visibilities);
+		this.detectXRange();
+		this.detectYRange();
+		this.detectZRange();
 	}
 
 	/**
 	 * Gets the visibilities of the points of this data series.
 	 *
+	 * The returned array is newly created from the bitset stored in the flat layout, for each call.
+	 *
 	 * @return The array storing visibilities of the points of this data series.
 	 */
 	@Override
 	public synchronized boolean[][] getVisibilities() {
-		if(this.visibilities == null) {
-			throw new IllegalStateException("The visibilities have not been initialized yet.");
+		return this.getInitializedFlatPointStorage().toJaggedVisibilities();
+	}
+
+
+	/**
+	 * Sets the coordinates and the visibilities of the points of this data series, stored in the flat (contiguous) layout.
+	 *
+	 * @param flatPointStorage The coordinates and the visibilities of the points.
+	 */
+	public synchronized void setFlatPointStorage(FlatPointStorage flatPointStorage) {
+		this.flatPointStorage = flatPointStorage;
+		this.detectXRange();
+		this.detectYRange();
+		this.detectZRange();
+	}
+
+	/**
+	 * Gets the coordinates and the visibilities of the points of this data series, stored in the flat (contiguous) layout.
+	 *
+	 * @return The coordinates and the visibilities of the points.
+	 */
+	@Override
+	public synchronized FlatPointStorage getFlatPointStorage() {
+		return this.getInitializedFlatPointStorage();
+	}
+
+	/**
+	 * Gets the coordinates and the visibilities of the points, with checking that they have been initialized.
+	 *
+	 * @return The coordinates and the visibilities of the points.
+	 */
+	private FlatPointStorage getInitializedFlatPointStorage() {
+		if (this.flatPointStorage == null) {
+			throw new IllegalStateException("The coordinate values and the visibilities have not been initialized yet.");
 		}
-		return this.visibilities;
+		return this.flatPointStorage;
 	}
 
 
@@ -256,16 +331,16 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 		double xMaxTentative = Double.NEGATIVE_INFINITY;
 
 		// Find the minimum and maximum coordinates.
-		for (int ixL=0; ixL<this.xCoordinates.length; ixL++) {
-			for (int ixR=0; ixR<this.xCoordinates[ixL].length; ixR++) {
-				if (this.visibilities[ixL][ixR]) {
-					double x = this.xCoordinates[ixL][ixR];
-					if (x < xMinTentative) {
-						xMinTentative = x;
-					}
-					if (xMaxTentative < x) {
-						xMaxTentative = x;
-					}
+		FlatPointStorage storage = this.flatPointStorage;
+		int pointCount = storage.getPointCount();
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			if (storage.isVisible(ipoint)) {
+				double x = storage.getXCoordinate(ipoint);
+				if (x < xMinTentative) {
+					xMinTentative = x;
+				}
+				if (xMaxTentative < x) {
+					xMaxTentative = x;
 				}
 			}
 		}
@@ -333,16 +408,16 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 		double yMaxTentative = Double.NEGATIVE_INFINITY;
 
 		// Find the minimum and maximum coordinates.
-		for (int iyL=0; iyL<this.yCoordinates.length; iyL++) {
-			for (int iyR=0; iyR<this.yCoordinates[iyL].length; iyR++) {
-				if (this.visibilities[iyL][iyR]) {
-					double y = this.yCoordinates[iyL][iyR];
-					if (y < yMinTentative) {
-						yMinTentative = y;
-					}
-					if (yMaxTentative < y) {
-						yMaxTentative = y;
-					}
+		FlatPointStorage storage = this.flatPointStorage;
+		int pointCount = storage.getPointCount();
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			if (storage.isVisible(ipoint)) {
+				double y = storage.getYCoordinate(ipoint);
+				if (y < yMinTentative) {
+					yMinTentative = y;
+				}
+				if (yMaxTentative < y) {
+					yMaxTentative = y;
 				}
 			}
 		}
@@ -410,16 +485,16 @@ public final class ArrayDataSeries extends AbstractDataSeries {
 		double zMaxTentative = Double.NEGATIVE_INFINITY;
 
 		// Find the minimum and maximum coordinates.
-		for (int izL=0; izL<this.zCoordinates.length; izL++) {
-			for (int izR=0; izR<this.zCoordinates[izL].length; izR++) {
-				if (this.visibilities[izL][izR]) {
-					double z = this.zCoordinates[izL][izR];
-					if (z < zMinTentative) {
-						zMinTentative = z;
-					}
-					if (zMaxTentative < z) {
-						zMaxTentative = z;
-					}
+		FlatPointStorage storage = this.flatPointStorage;
+		int pointCount = storage.getPointCount();
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			if (storage.isVisible(ipoint)) {
+				double z = storage.getZCoordinate(ipoint);
+				if (z < zMinTentative) {
+					zMinTentative = z;
+				}
+				if (zMaxTentative < z) {
+					zMaxTentative = z;
 				}
 			}
 		}
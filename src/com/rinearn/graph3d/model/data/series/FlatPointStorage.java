@@ -0,0 +1,680 @@
+package com.rinearn.graph3d.model.data.series;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The container class storing the coordinates and the visibilities of the points of a data series,
+ * in the flat (contiguous) layout.
+ *
+ * The points are aligned in rows, as same as the [irow][icol] layout of the jagged arrays of data series.
+ * The coordinate values of all the rows are stored contiguously in a single array for each of X, Y, and Z,
+ * and the index of the first point of each row in the arrays is stored as the "row offset".
+ * The visibilities are stored as a bitset, in which the bit at the "point index" represents the visibility of the point.
+ *
+ * Compared to the jagged arrays, this layout requires no row objects, and 1 bit (instead of 1 byte) for each visibility flag.
+ * The instances of this class are immutable.
+ *
+ * The coordinate values can also be stored in the single precision (float) arrays, halving the memory usage for very large data.
+ * In the single precision mode, the values are converted into double only when they are read through the accessor methods.
+ */
+public final class FlatPointStorage {
+
+	/** The number of the bits of an element of the visibility bitset. */
+	private static final int VISIBILITY_BITS_PER_ELEMENT = 64;
+
+	/** The shift amount for converting a point index to the index of the element of the visibility bitset. */
+	private static final int VISIBILITY_ELEMENT_INDEX_SHIFT = 6;
+
+	/** The index of the first point of each row, with the total number of the points at the end ([irow], the length is rowCount+1). */
+	private final int[] rowOffsets;
+
+	/** The X-coordinate values of all the points ([pointIndex]), or null in the single precision mode. */
+	private final double[] xCoordinates;
+
+	/** The Y-coordinate values of all the points ([pointIndex]), or null in the single precision mode. */
+	private final double[] yCoordinates;
+
+	/** The Z-coordinate values of all the points ([pointIndex]), or null in the single precision mode. */
+	private final double[] zCoordinates;
+
+	/** The X-coordinate values of all the points ([pointIndex]) in the single precision mode, or null in the double precision mode. */
+	private final float[] xFloatCoordinates;
+
+	/** The Y-coordinate values of all the points ([pointIndex]) in the single precision mode, or null in the double precision mode. */
+	private final float[] yFloatCoordinates;
+
+	/** The Z-coordinate values of all the points ([pointIndex]) in the single precision mode, or null in the double precision mode. */
+	private final float[] zFloatCoordinates;
+
+	/** The flag representing whether the coordinate values are stored in the single precision (float) arrays. */
+	private final boolean singlePrecision;
+
+	/** The bitset of the visibilities of all the points ([pointIndex / 64], the bit (pointIndex % 64)). */
+	private final long[] visibilityBits;
+
+
+	/**
+	 * Creates a new instance storing the specified arrays.
+	 *
+	 * The specified arrays are not copied, so don't modify them after calling this constructor.
+	 *
+	 * @param rowOffsets The index of the first point of each row, with the total number of the points at the end.
+	 * @param xCoordinates The X-coordinate values of all the points.
+	 * @param yCoordinates The Y-coordinate values of all the points.
+	 * @param zCoordinates The Z-coordinate values of all the points.
+	 * @param visibilityBits The bitset of the visibilities of all the points (see: {@link FlatPointStorage#createVisibilityBits(int)}).
+	 */
+	public FlatPointStorage(int[] rowOffsets, double[] xCoordinates, double[] yCoordinates, double[] zCoordinates,
+			long[] visibilityBits) {
+
+		checkLayout(rowOffsets, xCoordinates.length, yCoordinates.length, zCoordinates.length, visibilityBits);
+		this.rowOffsets = rowOffsets;
+		this.xCoordinates = xCoordinates;
+		this.yCoordinates = yCoordinates;
+		this.zCoordinates = zCoordinates;
+		this.xFloatCoordinates = null;
+		this.yFloatCoordinates = null;
+		this.zFloatCoordinates = null;
+		this.visibilityBits = visibilityBits;
+		this.singlePrecision = false;
+	}
+
+
+	/**
+	 * Creates a new instance storing the specified single precision arrays.
+	 *
+	 * The specified arrays are not copied, so don't modify them after calling this constructor.
+	 *
+	 * @param rowOffsets The index of the first point of each row, with the total number of the points at the end.
+	 * @param xCoordinates The X-coordinate values of all the points.
+	 * @param yCoordinates The Y-coordinate values of all the points.
+	 * @param zCoordinates The Z-coordinate values of all the points.
+	 * @param visibilityBits The bitset of the visibilities of all the points (see: {@link FlatPointStorage#createVisibilityBits(int)}).
+	 */
+	public FlatPointStorage(int[] rowOffsets, float[] xCoordinates, float[] yCoordinates, float[] zCoordinates,
+			long[] visibilityBits) {
+
+		checkLayout(rowOffsets, xCoordinates.length, yCoordinates.length, zCoordinates.length, visibilityBits);
+		this.rowOffsets = rowOffsets;
+		this.xCoordinates = null;
+		this.yCoordinates = null;
+		this.zCoordinates = null;
+		this.xFloatCoordinates = xCoordinates;
+		this.yFloatCoordinates = yCoordinates;
+		this.zFloatCoordinates = zCoordinates;
+		this.visibilityBits = visibilityBits;
+		this.singlePrecision = true;
+	}
+
+
+	/**
+	 * Checks that the lengths of the arrays are consistent with the row offsets.
+	 *
+	 * @param rowOffsets The index of the first point of each row, with the total number of the points at the end.
+	 * @param xLength The length of the X-coordinate array.
+	 * @param yLength The length of the Y-coordinate array.
+	 * @param zLength The length of the Z-coordinate array.
+	 * @param visibilityBits The bitset of the visibilities of all the points.
+	 */
+	private static void checkLayout(int[] rowOffsets, int xLength, int yLength, int zLength, long[] visibilityBits) {
+		if (rowOffsets.length == 0 || rowOffsets[0] != 0) {
+			throw new IllegalArgumentException("The row offsets must start with 0.");
+		}
+		for (int irow=0; irow<rowOffsets.length-1; irow++) {
+			if (rowOffsets[irow + 1] < rowOffsets[irow]) {
+				throw new IllegalArgumentException("The row offsets must be in ascending order.");
+			}
+		}
+		int pointCount = rowOffsets[rowOffsets.length - 1];
+		if (xLength != pointCount || yLength != pointCount || zLength != pointCount) {
+			throw new IllegalArgumentException("The lengths of the coordinate arrays must be the same as the number of the points: " + pointCount);
+		}
+		if (visibilityBits.length != getVisibilityBitsLength(pointCount)) {
+			throw new IllegalArgumentException("The length of the visibility bitset is incorrect: " + visibilityBits.length);
+		}
+	}
+
+
+	/**
+	 * Creates a new instance storing the copies of the specified coordinates and the visibilities in the jagged arrays.
+	 *
+	 * @param xCoordinates The X-coordinate values of the points ([irow][icol]).
+	 * @param yCoordinates The Y-coordinate values of the points ([irow][icol]).
+	 * @param zCoordinates The Z-coordinate values of the points ([irow][icol]).
+	 * @param visibilities The visibilities of the points ([irow][icol]).
+	 * @return The created instance.
+	 */
+	public static FlatPointStorage fromJaggedArrays(double[][] xCoordinates, double[][] yCoordinates, double[][] zCoordinates,
+			boolean[][] visibilities) {
+
+		int rowCount = xCoordinates.length;
+		int[] rowOffsets = createRowOffsets(
+				rowCount, yCoordinates.length, zCoordinates.length, visibilities.length,
+				irow -> xCoordinates[irow].length, irow -> yCoordinates[irow].length, irow -> zCoordinates[irow].length,
+				irow -> visibilities[irow].length
+		);
+		return new FlatPointStorage(
+				rowOffsets, flatten(xCoordinates, rowOffsets), flatten(yCoordinates, rowOffsets), flatten(zCoordinates, rowOffsets),
+				createVisibilityBits(visibilities, rowOffsets)
+		);
+	}
+
+
+	/**
+	 * Creates a new instance storing the copies of the specified single precision coordinates and the visibilities in the jagged arrays.
+	 *
+	 * @param xCoordinates The X-coordinate values of the points ([irow][icol]).
+	 * @param yCoordinates The Y-coordinate values of the points ([irow][icol]).
+	 * @param zCoordinates The Z-coordinate values of the points ([irow][icol]).
+	 * @param visibilities The visibilities of the points ([irow][icol]).
+	 * @return The created instance (in the single precision mode).
+	 */
+	public static FlatPointStorage fromJaggedArrays(float[][] xCoordinates, float[][] yCoordinates, float[][] zCoordinates,
+			boolean[][] visibilities) {
+
+		int rowCount = xCoordinates.length;
+		int[] rowOffsets = createRowOffsets(
+				rowCount, yCoordinates.length, zCoordinates.length, visibilities.length,
+				irow -> xCoordinates[irow].length, irow -> yCoordinates[irow].length, irow -> zCoordinates[irow].length,
+				irow -> visibilities[irow].length
+		);
+		return new FlatPointStorage(
+				rowOffsets, flatten(xCoordinates, rowOffsets), flatten(yCoordinates, rowOffsets), flatten(zCoordinates, rowOffsets),
+				createVisibilityBits(visibilities, rowOffsets)
+		);
+	}
+
+
+	/**
+	 * Creates the row offsets from the numbers of the points in the rows, with checking that the shapes of the arrays are the same.
+	 *
+	 * @param xRowCount The number of the rows of the X-coordinate array.
+	 * @param yRowCount The number of the rows of the Y-coordinate array.
+	 * @param zRowCount The number of the rows of the Z-coordinate array.
+	 * @param visibilityRowCount The number of the rows of the visibility array.
+	 * @param xColumnCounter The function returning the number of the points in each row of the X-coordinate array.
+	 * @param yColumnCounter The function returning the number of the points in each row of the Y-coordinate array.
+	 * @param zColumnCounter The function returning the number of the points in each row of the Z-coordinate array.
+	 * @param visibilityColumnCounter The function returning the number of the points in each row of the visibility array.
+	 * @return The index of the first point of each row, with the total number of the points at the end.
+	 */
+	private static int[] createRowOffsets(int xRowCount, int yRowCount, int zRowCount, int visibilityRowCount,
+			IntUnaryOperator xColumnCounter, IntUnaryOperator yColumnCounter, IntUnaryOperator zColumnCounter,
+			IntUnaryOperator visibilityColumnCounter) {
+
+		if (yRowCount != xRowCount || zRowCount != xRowCount || visibilityRowCount != xRowCount) {
+			throw new IllegalArgumentException("The numbers of the rows of the coordinates and the visibilities are different.");
+		}
+		int[] rowOffsets = new int[xRowCount + 1];
+		for (int irow=0; irow<xRowCount; irow++) {
+			int columnCount = xColumnCounter.applyAsInt(irow);
+			if (yColumnCounter.applyAsInt(irow) != columnCount || zColumnCounter.applyAsInt(irow) != columnCount
+					|| visibilityColumnCounter.applyAsInt(irow) != columnCount) {
+				throw new IllegalArgumentException("The numbers of the points in the row " + irow + " are different.");
+			}
+			rowOffsets[irow + 1] = rowOffsets[irow] + columnCount;
+		}
+		return rowOffsets;
+	}
+
+
+	/**
+	 * Creates the visibility bitset from the visibilities in the jagged array.
+	 *
+	 * @param visibilities The visibilities of the points ([irow][icol]).
+	 * @param rowOffsets The index of the first point of each row, with the total number of the points at the end.
+	 * @return The created bitset.
+	 */
+	private static long[] createVisibilityBits(boolean[][] visibilities, int[] rowOffsets) {
+		long[] visibilityBits = createVisibilityBits(rowOffsets[rowOffsets.length - 1]);
+		for (int irow=0; irow<visibilities.length; irow++) {
+			int rowOffset = rowOffsets[irow];
+			for (int icol=0; icol<visibilities[irow].length; icol++) {
+				if (visibilities[irow][icol]) {
+					setVisibility(visibilityBits, rowOffset + icol, true);
+				}
+			}
+		}
+		return visibilityBits;
+	}
+
+
+	/**
+	 * Copies the values in the jagged array into a contiguous array.
+	 *
+	 * @param values The values to be copied ([irow][icol]).
+	 * @param rowOffsets The index of the first point of each row, with the total number of the points at the end.
+	 * @return The contiguous array storing the copied values.
+	 */
+	private static double[] flatten(double[][] values, int[] rowOffsets) {
+		double[] flatValues = new double[rowOffsets[rowOffsets.length - 1]];
+		for (int irow=0; irow<values.length; irow++) {
+			System.arraycopy(values[irow], 0, flatValues, rowOffsets[irow], values[irow].length);
+		}
+		return flatValues;
+	}
+
+
+	/**
+	 * Copies the values in the single precision jagged array into a contiguous array.
+	 *
+	 * @param values The values to be copied ([irow][icol]).
+	 * @param rowOffsets The index of the first point of each row, with the total number of the points at the end.
+	 * @return The contiguous array storing the copied values.
+	 */
+	private static float[] flatten(float[][] values, int[] rowOffsets) {
+		float[] flatValues = new float[rowOffsets[rowOffsets.length - 1]];
+		for (int irow=0; irow<values.length; irow++) {
+			System.arraycopy(values[irow], 0, flatValues, rowOffsets[irow], values[irow].length);
+		}
+		return flatValues;
+	}
+
+
+	/**
+	 * Creates a new visibility bitset for the specified number of the points, in which all the points are invisible.
+	 *
+	 * @param pointCount The number of the points.
+	 * @return The created bitset.
+	 */
+	public static long[] createVisibilityBits(int pointCount) {
+		return new long[getVisibilityBitsLength(pointCount)];
+	}
+
+
+	/**
+	 * Gets the length of the visibility bitset for the specified number of the points.
+	 *
+	 * @param pointCount The number of the points.
+	 * @return The length of the bitset.
+	 */
+	private static int getVisibilityBitsLength(int pointCount) {
+		return (pointCount + VISIBILITY_BITS_PER_ELEMENT - 1) >>> VISIBILITY_ELEMENT_INDEX_SHIFT;
+	}
+
+
+	/**
+	 * Sets the visibility of the point in the specified visibility bitset.
+	 *
+	 * @param visibilityBits The visibility bitset.
+	 * @param pointIndex The index of the point.
+	 * @param visible Specify true to make the point visible.
+	 */
+	public static void setVisibility(long[] visibilityBits, int pointIndex, boolean visible) {
+		if (visible) {
+			visibilityBits[pointIndex >>> VISIBILITY_ELEMENT_INDEX_SHIFT] |= (1L << pointIndex);
+		} else {
+			visibilityBits[pointIndex >>> VISIBILITY_ELEMENT_INDEX_SHIFT] &= ~(1L << pointIndex);
+		}
+	}
+
+
+	/**
+	 * Gets the number of the rows.
+	 *
+	 * @return The number of the rows.
+	 */
+	public int getRowCount() {
+		return this.rowOffsets.length - 1;
+	}
+
+
+	/**
+	 * Gets the number of the points in the specified row.
+	 *
+	 * @param irow The index of the row.
+	 * @return The number of the points in the row.
+	 */
+	public int getColumnCount(int irow) {
+		return this.rowOffsets[irow + 1] - this.rowOffsets[irow];
+	}
+
+
+	/**
+	 * Gets the index of the first point of the specified row.
+	 *
+	 * @param irow The index of the row.
+	 * @return The index of the first point of the row.
+	 */
+	public int getRowOffset(int irow) {
+		return this.rowOffsets[irow];
+	}
+
+
+	/**
+	 * Gets the index of the point at the specified row and column.
+	 *
+	 * @param irow The index of the row.
+	 * @param icol The index of the column.
+	 * @return The index of the point.
+	 */
+	public int getPointIndex(int irow, int icol) {
+		return this.rowOffsets[irow] + icol;
+	}
+
+
+	/**
+	 * Gets the total number of the points.
+	 *
+	 * @return The total number of the points.
+	 */
+	public int getPointCount() {
+		return this.rowOffsets[this.rowOffsets.length - 1];
+	}
+
+
+	/**
+	 * Gets the X-coordinate value of the specified point.
+	 *
+	 * @param pointIndex The index of the point.
+	 * @return The X-coordinate value.
+	 */
+	public double getXCoordinate(int pointIndex) {
+		return this.singlePrecision ? this.xFloatCoordinates[pointIndex] : this.xCoordinates[pointIndex];
+	}
+
+
+	/**
+	 * Gets the Y-coordinate value of the specified point.
+	 *
+	 * @param pointIndex The index of the point.
+	 * @return The Y-coordinate value.
+	 */
+	public double getYCoordinate(int pointIndex) {
+		return this.singlePrecision ? this.yFloatCoordinates[pointIndex] : this.yCoordinates[pointIndex];
+	}
+
+
+	/**
+	 * Gets the Z-coordinate value of the specified point.
+	 *
+	 * @param pointIndex The index of the point.
+	 * @return The Z-coordinate value.
+	 */
+	public double getZCoordinate(int pointIndex) {
+		return this.singlePrecision ? this.zFloatCoordinates[pointIndex] : this.zCoordinates[pointIndex];
+	}
+
+
+	/**
+	 * Checks whether the specified point is visible.
+	 *
+	 * @param pointIndex The index of the point.
+	 * @return Returns true if the point is visible.
+	 */
+	public boolean isVisible(int pointIndex) {
+		return (this.visibilityBits[pointIndex >>> VISIBILITY_ELEMENT_INDEX_SHIFT] & (1L << pointIndex)) != 0L;
+	}
+
+
+	/**
+	 * Copies the X-coordinate values of the specified range of the points into the specified array.
+	 *
+	 * @param beginPointIndex The index of the first point of the range.
+	 * @param destination The array to which the values are copied.
+	 * @param destinationIndex The index in the destination array, at which the first value is copied.
+	 * @param length The number of the points of the range.
+	 */
+	public void copyXCoordinates(int beginPointIndex, double[] destination, int destinationIndex, int length) {
+		copyValues(this.xCoordinates, this.xFloatCoordinates, beginPointIndex, destination, destinationIndex, length);
+	}
+
+
+	/**
+	 * Copies the Y-coordinate values of the specified range of the points into the specified array.
+	 *
+	 * @param beginPointIndex The index of the first point of the range.
+	 * @param destination The array to which the values are copied.
+	 * @param destinationIndex The index in the destination array, at which the first value is copied.
+	 * @param length The number of the points of the range.
+	 */
+	public void copyYCoordinates(int beginPointIndex, double[] destination, int destinationIndex, int length) {
+		copyValues(this.yCoordinates, this.yFloatCoordinates, beginPointIndex, destination, destinationIndex, length);
+	}
+
+
+	/**
+	 * Copies the Z-coordinate values of the specified range of the points into the specified array.
+	 *
+	 * @param beginPointIndex The index of the first point of the range.
+	 * @param destination The array to which the values are copied.
+	 * @param destinationIndex The index in the destination array, at which the first value is copied.
+	 * @param length The number of the points of the range.
+	 */
+	public void copyZCoordinates(int beginPointIndex, double[] destination, int destinationIndex, int length) {
+		copyValues(this.zCoordinates, this.zFloatCoordinates, beginPointIndex, destination, destinationIndex, length);
+	}
+
+
+	/**
+	 * Copies the values of the specified range of the points from the double or single precision array into the specified array.
+	 *
+	 * @param values The double precision values, or null in the single precision mode.
+	 * @param floatValues The single precision values, or null in the double precision mode.
+	 * @param beginPointIndex The index of the first point of the range.
+	 * @param destination The array to which the values are copied.
+	 * @param destinationIndex The index in the destination array, at which the first value is copied.
+	 * @param length The number of the points of the range.
+	 */
+	private static void copyValues(double[] values, float[] floatValues, int beginPointIndex,
+			double[] destination, int destinationIndex, int length) {
+
+		if (values != null) {
+			System.arraycopy(values, beginPointIndex, destination, destinationIndex, length);
+			return;
+		}
+		for (int ipoint=0; ipoint<length; ipoint++) {
+			destination[destinationIndex + ipoint] = floatValues[beginPointIndex + ipoint];
+		}
+	}
+
+
+	/**
+	 * Checks whether the coordinate values are stored in the single precision (float) arrays.
+	 *
+	 * @return Returns true in the single precision mode.
+	 */
+	public boolean isSinglePrecision() {
+		return this.singlePrecision;
+	}
+
+
+	/**
+	 * Creates a new instance storing the coordinate values of this instance in the single precision (float) arrays.
+	 *
+	 * If this instance is already in the single precision mode, this instance itself is returned.
+	 *
+	 * @return The instance in the single precision mode.
+	 */
+	public FlatPointStorage toSinglePrecision() {
+		if (this.singlePrecision) {
+			return this;
+		}
+		return new FlatPointStorage(
+				this.rowOffsets, toFloatArray(this.xCoordinates), toFloatArray(this.yCoordinates), toFloatArray(this.zCoordinates),
+				this.visibilityBits
+		);
+	}
+
+
+	/**
+	 * Converts the double precision values into the single precision values.
+	 *
+	 * @param values The values to be converted.
+	 * @return The converted values.
+	 */
+	private static float[] toFloatArray(double[] values) {
+		float[] floatValues = new float[values.length];
+		for (int ipoint=0; ipoint<values.length; ipoint++) {
+			floatValues[ipoint] = (float)values[ipoint];
+		}
+		return floatValues;
+	}
+
+
+	/**
+	 * Creates a new instance of which X-coordinate values are replaced with the specified values.
+	 *
+	 * @param xCoordinates The X-coordinate values of the points ([irow][icol]), in the same shape as the current values.
+	 * @return The created instance.
+	 */
+	public FlatPointStorage withXCoordinates(double[][] xCoordinates) {
+		double[] flatValues = this.flattenWithSameShape(xCoordinates);
+		if (this.singlePrecision) {
+			return new FlatPointStorage(
+					this.rowOffsets, toFloatArray(flatValues), this.yFloatCoordinates, this.zFloatCoordinates, this.visibilityBits
+			);
+		}
+		return new FlatPointStorage(this.rowOffsets, flatValues, this.yCoordinates, this.zCoordinates, this.visibilityBits);
+	}
+
+
+	/**
+	 * Creates a new instance of which Y-coordinate values are replaced with the specified values.
+	 *
+	 * @param yCoordinates The Y-coordinate values of the points ([irow][icol]), in the same shape as the current values.
+	 * @return The created instance.
+	 */
+	public FlatPointStorage withYCoordinates(double[][] yCoordinates) {
+		double[] flatValues = this.flattenWithSameShape(yCoordinates);
+		if (this.singlePrecision) {
+			return new FlatPointStorage(
+					this.rowOffsets, this.xFloatCoordinates, toFloatArray(flatValues), this.zFloatCoordinates, this.visibilityBits
+			);
+		}
+		return new FlatPointStorage(this.rowOffsets, this.xCoordinates, flatValues, this.zCoordinates, this.visibilityBits);
+	}
+
+
+	/**
+	 * Creates a new instance of which Z-coordinate values are replaced with the specified values.
+	 *
+	 * @param zCoordinates The Z-coordinate values of the points ([irow][icol]), in the same shape as the current values.
+	 * @return The created instance.
+	 */
+	public FlatPointStorage withZCoordinates(double[][] zCoordinates) {
+		double[] flatValues = this.flattenWithSameShape(zCoordinates);
+		if (this.singlePrecision) {
+			return new FlatPointStorage(
+					this.rowOffsets, this.xFloatCoordinates, this.yFloatCoordinates, toFloatArray(flatValues), this.visibilityBits
+			);
+		}
+		return new FlatPointStorage(this.rowOffsets, this.xCoordinates, this.yCoordinates, flatValues, this.visibilityBits);
+	}
+
+
+	/**
+	 * Creates a new instance of which visibilities are replaced with the specified values.
+	 *
+	 * @param visibilities The visibilities of the points ([irow][icol]), in the same shape as the current values.
+	 * @return The created instance.
+	 */
+	public FlatPointStorage withVisibilities(boolean[][] visibilities) {
+		this.checkShape(visibilities.length, irow -> visibilities[irow].length);
+		long[] visibilityBits = createVisibilityBits(visibilities, this.rowOffsets);
+		if (this.singlePrecision) {
+			return new FlatPointStorage(
+					this.rowOffsets, this.xFloatCoordinates, this.yFloatCoordinates, this.zFloatCoordinates, visibilityBits
+			);
+		}
+		return new FlatPointStorage(this.rowOffsets, this.xCoordinates, this.yCoordinates, this.zCoordinates, visibilityBits);
+	}
+
+
+	/**
+	 * Copies the values in the jagged array into a contiguous array, with checking that its shape is the same as this instance.
+	 *
+	 * @param values The values to be copied ([irow][icol]).
+	 * @return The contiguous array storing the copied values.
+	 */
+	private double[] flattenWithSameShape(double[][] values) {
+		this.checkShape(values.length, irow -> values[irow].length);
+		return flatten(values, this.rowOffsets);
+	}
+
+
+	/**
+	 * Checks that the shape of the jagged array is the same as this instance.
+	 *
+	 * @param rowCount The number of the rows of the jagged array.
+	 * @param columnCounter The function returning the number of the points in each row of the jagged array.
+	 */
+	private void checkShape(int rowCount, IntUnaryOperator columnCounter) {
+		if (rowCount != this.getRowCount()) {
+			throw new IllegalArgumentException("The number of the rows is different from the current one: " + rowCount);
+		}
+		for (int irow=0; irow<rowCount; irow++) {
+			if (columnCounter.applyAsInt(irow) != this.getColumnCount(irow)) {
+				throw new IllegalArgumentException("The number of the points in the row " + irow + " is different from the current one.");
+			}
+		}
+	}
+
+
+	/**
+	 * Creates the jagged array ([irow][icol]) storing the copies of the X-coordinate values.
+	 *
+	 * @return The created jagged array.
+	 */
+	public double[][] toJaggedXCoordinates() {
+		return this.toJaggedArray(this.xCoordinates, this.xFloatCoordinates);
+	}
+
+
+	/**
+	 * Creates the jagged array ([irow][icol]) storing the copies of the Y-coordinate values.
+	 *
+	 * @return The created jagged array.
+	 */
+	public double[][] toJaggedYCoordinates() {
+		return this.toJaggedArray(this.yCoordinates, this.yFloatCoordinates);
+	}
+
+
+	/**
+	 * Creates the jagged array ([irow][icol]) storing the copies of the Z-coordinate values.
+	 *
+	 * @return The created jagged array.
+	 */
+	public double[][] toJaggedZCoordinates() {
+		return this.toJaggedArray(this.zCoordinates, this.zFloatCoordinates);
+	}
+
+
+	/**
+	 * Creates the jagged array ([irow][icol]) storing the copies of the values in the double or single precision contiguous array.
+	 *
+	 * @param flatValues The double precision values ([pointIndex]), or null in the single precision mode.
+	 * @param flatFloatValues The single precision values ([pointIndex]), or null in the double precision mode.
+	 * @return The created jagged array.
+	 */
+	private double[][] toJaggedArray(double[] flatValues, float[] flatFloatValues) {
+		int rowCount = this.getRowCount();
+		double[][] values = new double[rowCount][];
+		for (int irow=0; irow<rowCount; irow++) {
+			values[irow] = new double[this.getColumnCount(irow)];
+			copyValues(flatValues, flatFloatValues, this.rowOffsets[irow], values[irow], 0, values[irow].length);
+		}
+		return values;
+	}
+
+
+	/**
+	 * Creates the jagged array ([irow][icol]) storing the visibilities.
+	 *
+	 * @return The created jagged array.
+	 */
+	public boolean[][] toJaggedVisibilities() {
+		int rowCount = this.getRowCount();
+		boolean[][] visibilities = new boolean[rowCount][];
+		for (int irow=0; irow<rowCount; irow++) {
+			int columnCount = this.getColumnCount(irow);
+			int rowOffset = this.rowOffsets[irow];
+			visibilities[irow] = new boolean[columnCount];
+			for (int icol=0; icol<columnCount; icol++) {
+				visibilities[irow][icol] = this.isVisible(rowOffset + icol);
+			}
+		}
+		return visibilities;
+	}
+}
@@ -9,6 +9,8 @@ import org.vcssl.nano.VnanoException;
       |
       +- ArrayDataSeries
       |
+      +- StreamDataSeries
+      |
       +- MathDataSeries < This Class
           |
           +- ZxyMathDataSeries
@@ -56,4 +58,21 @@ public abstract class MathDataSeries extends AbstractDataSeries {
 	 */
 	public abstract void computeCoordinates() throws VnanoException;
 
+
+	/**
+	 * Gets the number of the times the coordinate values have been actually computed.
+	 *
+	 * @return The number of the computations.
+	 */
+	public abstract long getComputationCount();
+
+
+	/**
+	 * Gets the number of the times the computation of the coordinate values has been skipped,
+	 * because the math expression(s) and the discretized coordinates were the same as the last computation.
+	 *
+	 * @return The number of the skipped computations.
+	 */
+	public abstract long getSkippedComputationCount();
+
 }
@@ -0,0 +1,571 @@
+package com.rinearn.graph3d.model.data.series;
+
+import com.rinearn.graph3d.config.data.SeriesAttribute;
+
+import java.math.BigDecimal;
+
+/*
+[Inheritance tree]
+
+    AbstractDataSeries
+      |
+      +- ArrayDataSeries
+      |
+      +- StreamDataSeries < This Class
+      |
+      +- MathDataSeries
+          |
+          +- ZxyMathDataSeries
+          |
+          +- XtYtZtMathDataSeries
+ */
+
+
+/**
+ * The data series storing the latest points of a real-time data stream (e.g. sensor data), as a line.
+ *
+ * The points are stored in a fixed-capacity ring buffer, so when the number of the appended points exceeds the capacity,
+ * the oldest points are discarded (sliding window).
+ * Appending a point does not allocate any memory,
+ * and the minimum/maximum coordinate values in the window are updated incrementally (in amortized constant time).
+ *
+ * The coordinate values and the min/max values returned by the getters are the ones at the time of the last takeSnapshot() call,
+ * which should be called before plotting.
+ * Hence, the points appended during plotting (from another thread) don't break the consistency of the plotted data.
+ */
+public final class StreamDataSeries extends AbstractDataSeries {
+
+	/** The container of the attribute (meta information) of this series. */
+	private volatile SeriesAttribute seriesAttribute;
+
+	/** The maximum number of the points stored in this data series. */
+	private final int capacity;
+
+	/** The ring buffer storing the X-coordinate values. */
+	private final double[] xRing;
+
+	/** The ring buffer storing the Y-coordinate values. */
+	private final double[] yRing;
+
+	/** The ring buffer storing the Z-coordinate values. */
+	private final double[] zRing;
+
+	/** The ring buffer storing the visibilities (false for the points containing NaN or infinity). */
+	private final boolean[] visibilityRing;
+
+	/** The total number of the appended points, which is also used as the sequence number of the next point. */
+	private long appendedCount = 0;
+
+	/** The number of the points currently stored in the ring buffer. */
+	private int size = 0;
+
+	/** The flag representing whether the ring buffer has been modified after the last snapshot. */
+	private boolean modifiedAfterSnapshot = true;
+
+	/** The trackers of the minimum values of the X/Y/Z-coordinate values in the window. */
+	private final ExtremumTracker[] minTrackers = new ExtremumTracker[3];
+
+	/** The trackers of the maximum values of the X/Y/Z-coordinate values in the window. */
+	private final ExtremumTracker[] maxTrackers = new ExtremumTracker[3];
+
+	/** The X-coordinate values at the time of the last snapshot. */
+	private volatile double[][] xCoordinates = new double[][] { new double[0] };
+
+	/** The Y-coordinate values at the time of the last snapshot. */
+	private volatile double[][] yCoordinates = new double[][] { new double[0] };
+
+	/** The Z-coordinate values at the time of the last snapshot. */
+	private volatile double[][] zCoordinates = new double[][] { new double[0] };
+
+	/** The visibilities at the time of the last snapshot. */
+	private volatile boolean[][] visibilities = new boolean[][] { new boolean[0] };
+
+	/** The minimum and maximum X/Y/Z-coordinate values at the time of the last snapshot (null if they don't exist). */
+	private volatile BigDecimal xMin, xMax, yMin, yMax, zMin, zMax;
+
+	/** The index representing X, in arrays of trackers. */
+	private static final int X = 0;
+
+	/** The index representing Y, in arrays of trackers. */
+	private static final int Y = 1;
+
+	/** The index representing Z, in arrays of trackers. */
+	private static final int Z = 2;
+
+
+	/**
+	 * Creates a new stream data series.
+	 *
+	 * @param capacity The maximum number of the points stored in this data series.
+	 * @param legend The legend of this data series.
+	 */
+	public StreamDataSeries(int capacity, String legend) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be a positive value: " + capacity);
+		}
+		this.capacity = capacity;
+		this.xRing = new double[capacity];
+		this.yRing = new double[capacity];
+		this.zRing = new double[capacity];
+		this.visibilityRing = new boolean[capacity];
+		for (int idim=X; idim<=Z; idim++) {
+			this.minTrackers[idim] = new ExtremumTracker(capacity, false);
+			this.maxTrackers[idim] = new ExtremumTracker(capacity, true);
+		}
+
+		this.seriesAttribute = new SeriesAttribute();
+		this.seriesAttribute.setUnmodifiedLegend(legend);
+		this.seriesAttribute.setModifiableLegend(legend);
+	}
+
+
+	/**
+	 * Gets the maximum number of the points stored in this data series.
+	 *
+	 * @return The capacity of this data series.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+
+	/**
+	 * Gets the number of the points currently stored in this data series.
+	 *
+	 * @return The number of the points.
+	 */
+	public synchronized int getSize() {
+		return this.size;
+	}
+
+
+	/**
+	 * Appends a point to this data series.
+	 * If the number of the stored points has reached to the capacity, the oldest point is discarded.
+	 *
+	 * The point containing NaN or infinity is stored as an invisible point.
+	 *
+	 * @param x The X-coordinate value of the point.
+	 * @param y The Y-coordinate value of the point.
+	 * @param z The Z-coordinate value of the point.
+	 */
+	public synchronized void append(double x, double y, double z) {
+		int ringIndex = (int)(this.appendedCount % this.capacity);
+		boolean visible = Double.isFinite(x) && Double.isFinite(y) && Double.isFinite(z);
+		this.xRing[ringIndex] = x;
+		this.yRing[ringIndex] = y;
+		this.zRing[ringIndex] = z;
+		this.visibilityRing[ringIndex] = visible;
+
+		long sequenceNumber = this.appendedCount;
+		this.appendedCount++;
+		if (this.size < this.capacity) {
+			this.size++;
+		}
+
+		// Update the min/max trackers: discard the points out of the window, and push the new point.
+		long oldestSequenceNumber = this.appendedCount - this.size;
+		for (int idim=X; idim<=Z; idim++) {
+			this.minTrackers[idim].discardOlderThan(oldestSequenceNumber);
+			this.maxTrackers[idim].discardOlderThan(oldestSequenceNumber);
+		}
+		if (visible) {
+			this.minTrackers[X].push(sequenceNumber, x);
+			this.maxTrackers[X].push(sequenceNumber, x);
+			this.minTrackers[Y].push(sequenceNumber, y);
+			this.maxTrackers[Y].push(sequenceNumber, y);
+			this.minTrackers[Z].push(sequenceNumber, z);
+			this.maxTrackers[Z].push(sequenceNumber, z);
+		}
+		this.modifiedAfterSnapshot = true;
+	}
+
+
+	/**
+	 * Appends multiple points to this data series.
+	 *
+	 * @param x The X-coordinate values of the points.
+	 * @param y The Y-coordinate values of the points.
+	 * @param z The Z-coordinate values of the points.
+	 */
+	public synchronized void append(double[] x, double[] y, double[] z) {
+		int pointCount = x.length;
+		if (y.length != pointCount || z.length != pointCount) {
+			throw new IllegalArgumentException("The lengths of the X/Y/Z coordinate arrays are different.");
+		}
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			this.append(x[ipoint], y[ipoint], z[ipoint]);
+		}
+	}
+
+
+	/**
+	 * Discards all the points stored in this data series.
+	 */
+	public synchronized void clear() {
+		this.appendedCount = 0;
+		this.size = 0;
+		for (int idim=X; idim<=Z; idim++) {
+			this.minTrackers[idim].clear();
+			this.maxTrackers[idim].clear();
+		}
+		this.modifiedAfterSnapshot = true;
+	}
+
+
+	/**
+	 * Checks whether any point has been appended (or discarded) after the last snapshot.
+	 *
+	 * @return Returns true if the content of the ring buffer differs from the last snapshot.
+	 */
+	public synchronized boolean isModifiedAfterSnapshot() {
+		return this.modifiedAfterSnapshot;
+	}
+
+
+	/**
+	 * Takes the snapshot of the currently stored points,
+	 * which will be returned by getXCoordinates(), getXMin(), etc. until the next call of this method.
+	 *
+	 * This method allocates new arrays for the snapshot only when the content has been modified after the last snapshot,
+	 * so the arrays returned by the getters before calling this method are never modified.
+	 */
+	public synchronized void takeSnapshot() {
+		if (!this.modifiedAfterSnapshot) {
+			return;
+		}
+
+		// Copy the points in the ring buffer into the arrays, in order from the oldest point.
+		int oldestRingIndex = (int)((this.appendedCount - this.size) % this.capacity);
+		int headLength = Math.min(this.size, this.capacity - oldestRingIndex);
+		int tailLength = this.size - headLength;
+		double[] xSnapshot = new double[this.size];
+		double[] ySnapshot = new double[this.size];
+		double[] zSnapshot = new double[this.size];
+		boolean[] visibilitySnapshot = new boolean[this.size];
+		System.arraycopy(this.xRing, oldestRingIndex, xSnapshot, 0, headLength);
+		System.arraycopy(this.yRing, oldestRingIndex, ySnapshot, 0, headLength);
+		System.arraycopy(this.zRing, oldestRingIndex, zSnapshot, 0, headLength);
+		System.arraycopy(this.visibilityRing, oldestRingIndex, visibilitySnapshot, 0, headLength);
+		System.arraycopy(this.xRing, 0, xSnapshot, headLength, tailLength);
+		System.arraycopy(this.yRing, 0, ySnapshot, headLength, tailLength);
+		System.arraycopy(this.zRing, 0, zSnapshot, headLength, tailLength);
+		System.arraycopy(this.visibilityRing, 0, visibilitySnapshot, headLength, tailLength);
+		this.xCoordinates = new double[][] { xSnapshot };
+		this.yCoordinates = new double[][] { ySnapshot };
+		this.zCoordinates = new double[][] { zSnapshot };
+		this.visibilities = new boolean[][] { visibilitySnapshot };
+
+		// Convert the min/max values into BigDecimal only here (not for every appended point).
+		this.xMin = toBigDecimal(this.minTrackers[X]);
+		this.xMax = toBigDecimal(this.maxTrackers[X]);
+		this.yMin = toBigDecimal(this.minTrackers[Y]);
+		this.yMax = toBigDecimal(this.maxTrackers[Y]);
+		this.zMin = toBigDecimal(this.minTrackers[Z]);
+		this.zMax = toBigDecimal(this.maxTrackers[Z]);
+
+		this.modifiedAfterSnapshot = false;
+	}
+
+
+	/**
+	 * Converts the current extremum value of the specified tracker into BigDecimal.
+	 *
+	 * @param tracker The min/max tracker.
+	 * @return The extremum value (null if the tracker is empty, or its value is not finite).
+	 */
+	private static BigDecimal toBigDecimal(ExtremumTracker tracker) {
+		if (tracker.isEmpty()) {
+			return null;
+		}
+		double value = tracker.peek();
+		return Double.isFinite(value) ? new BigDecimal(value) : null;
+	}
+
+
+	/**
+	 * Gets the container of the attribute (meta information) of this series.
+	 *
+	 * @return The container of the attribute of this series.
+	 */
+	@Override
+	public synchronized SeriesAttribute getSeriesAttribute() {
+		return this.seriesAttribute;
+	}
+
+	/**
+	 * Sets the container of the attribute (meta information) of this series.
+	 *
+	 * @param The container of the attribute of this series.
+	 */
+	@Override
+	public synchronized void setSeriesAttribute(SeriesAttribute seriesAttribute) {
+		this.seriesAttribute = seriesAttribute;
+	}
+
+
+	/**
+	 * Gets the X-coordinate values of the points at the time of the last snapshot.
+	 *
+	 * @return The X-coordinate values.
+	 */
+	@Override
+	public double[][] getXCoordinates() {
+		return this.xCoordinates;
+	}
+
+	/**
+	 * Gets the Y-coordinate values of the points at the time of the last snapshot.
+	 *
+	 * @return The Y-coordinate values.
+	 */
+	@Override
+	public double[][] getYCoordinates() {
+		return this.yCoordinates;
+	}
+
+	/**
+	 * Gets the Z-coordinate values of the points at the time of the last snapshot.
+	 *
+	 * @return The Z-coordinate values.
+	 */
+	@Override
+	public double[][] getZCoordinates() {
+		return this.zCoordinates;
+	}
+
+	/**
+	 * Gets the visibilities of the points at the time of the last snapshot.
+	 *
+	 * @return The array storing visibilities of the points.
+	 */
+	@Override
+	public boolean[][] getVisibilities() {
+		return this.visibilities;
+	}
+
+
+	/**
+	 * Checks whether the minimum value of the X-coordinate values exists.
+	 *
+	 * @return Returns true if the minimum value exists.
+	 */
+	@Override
+	public boolean hasXMin() {
+		return this.xMin != null;
+	}
+
+	/**
+	 * Gets the minimum value of the X-coordinate values.
+	 *
+	 * @return The minimum value of the X-coordinate values.
+	 */
+	@Override
+	public BigDecimal getXMin() {
+		return this.xMin;
+	}
+
+	/**
+	 * Checks whether the maximum value of the X-coordinate values exists.
+	 *
+	 * @return Returns true if the maximum value exists.
+	 */
+	@Override
+	public boolean hasXMax() {
+		return this.xMax != null;
+	}
+
+	/**
+	 * Gets the maximum value of the X-coordinate values.
+	 *
+	 * @return The maximum value of the X-coordinate values.
+	 */
+	@Override
+	public BigDecimal getXMax() {
+		return this.xMax;
+	}
+
+
+	/**
+	 * Checks whether the minimum value of the Y-coordinate values exists.
+	 *
+	 * @return Returns true if the minimum value exists.
+	 */
+	@Override
+	public boolean hasYMin() {
+		return this.yMin != null;
+	}
+
+	/**
+	 * Gets the minimum value of the Y-coordinate values.
+	 *
+	 * @return The minimum value of the Y-coordinate values.
+	 */
+	@Override
+	public BigDecimal getYMin() {
+		return this.yMin;
+	}
+
+	/**
+	 * Checks whether the maximum value of the Y-coordinate values exists.
+	 *
+	 * @return Returns true if the maximum value exists.
+	 */
+	@Override
+	public boolean hasYMax() {
+		return this.yMax != null;
+	}
+
+	/**
+	 * Gets the maximum value of the Y-coordinate values.
+	 *
+	 * @return The maximum value of the Y-coordinate values.
+	 */
+	@Override
+	public BigDecimal getYMax() {
+		return this.yMax;
+	}
+
+
+	/**
+	 * Checks whether the minimum value of the Z-coordinate values exists.
+	 *
+	 * @return Returns true if the minimum value exists.
+	 */
+	@Override
+	public boolean hasZMin() {
+		return this.zMin != null;
+	}
+
+	/**
+	 * Gets the minimum value of the Z-coordinate values.
+	 *
+	 * @return The minimum value of the Z-coordinate values.
+	 */
+	@Override
+	public BigDecimal getZMin() {
+		return this.zMin;
+	}
+
+	/**
+	 * Checks whether the maximum value of the Z-coordinate values exists.
+	 *
+	 * @return Returns true if the maximum value exists.
+	 */
+	@Override
+	public boolean hasZMax() {
+		return this.zMax != null;
+	}
+
+	/**
+	 * Gets the maximum value of the Z-coordinate values.
+	 *
+	 * @return The maximum value of the Z-coordinate values.
+	 */
+	@Override
+	public BigDecimal getZMax() {
+		return this.zMax;
+	}
+
+
+	/**
+	 * The class tracking the minimum (or maximum) value in the sliding window, by a so-called monotonic deque.
+	 *
+	 * The deque stores the candidates of the extremum in order of their sequence numbers,
+	 * and their values are monotonic (ascending for the minimum, descending for the maximum).
+	 * Hence, the extremum is always at the head of the deque.
+	 * Each point is pushed and removed at most once, so the cost is constant in amortized.
+	 */
+	private static final class ExtremumTracker {
+
+		/** The ring buffer storing the sequence numbers of the candidates. */
+		private final long[] sequenceNumbers;
+
+		/** The ring buffer storing the values of the candidates. */
+		private final double[] values;
+
+		/** The flag representing whether this instance tracks the maximum (true) or the minimum (false). */
+		private final boolean tracksMaximum;
+
+		/** The index of the head of the deque in the ring buffers. */
+		private int head = 0;
+
+		/** The number of the candidates stored in the deque. */
+		private int count = 0;
+
+		/**
+		 * Creates a new tracker.
+		 *
+		 * @param capacity The maximum number of the points in the window.
+		 * @param tracksMaximum Specify true for tracking the maximum value, false for tracking the minimum value.
+		 */
+		public ExtremumTracker(int capacity, boolean tracksMaximum) {
+			this.sequenceNumbers = new long[capacity];
+			this.values = new double[capacity];
+			this.tracksMaximum = tracksMaximum;
+		}
+
+		/**
+		 * Pushes the value of a newly appended point.
+		 *
+		 * @param sequenceNumber The sequence number of the point.
+		 * @param value The value to be pushed.
+		 */
+		public void push(long sequenceNumber, double value) {
+			int ringLength = this.values.length;
+
+			// Remove the candidates which can never be the extremum while the new point is in the window.
+			while (0 < this.count) {
+				double lastValue = this.values[(this.head + this.count - 1) % ringLength];
+				boolean dominated = this.tracksMaximum ? lastValue <= value : value <= lastValue;
+				if (!dominated) {
+					break;
+				}
+				this.count--;
+			}
+
+			int tailIndex = (this.head + this.count) % ringLength;
+			this.sequenceNumbers[tailIndex] = sequenceNumber;
+			this.values[tailIndex] = value;
+			this.count++;
+		}
+
+		/**
+		 * Removes the candidates out of the window.
+		 *
+		 * @param oldestSequenceNumber The sequence number of the oldest point in the window.
+		 */
+		public void discardOlderThan(long oldestSequenceNumber) {
+			while (0 < this.count && this.sequenceNumbers[this.head] < oldestSequenceNumber) {
+				this.head = (this.head + 1) % this.values.length;
+				this.count--;
+			}
+		}
+
+		/**
+		 * Removes all the candidates.
+		 */
+		public void clear() {
+			this.head = 0;
+			this.count = 0;
+		}
+
+		/**
+		 * Checks whether the deque is empty (no visible point exists in the window).
+		 *
+		 * @return Returns true if the deque is empty.
+		 */
+		public boolean isEmpty() {
+			return this.count == 0;
+		}
+
+		/**
+		 * Gets the extremum value in the window.
+		 *
+		 * @return The extremum value.
+		 */
+		public double peek() {
+			return this.values[this.head];
+		}
+	}
+}
@@ -5,6 +5,7 @@ import com.rinearn.graph3d.config.data.SeriesAttribute;
 import com.rinearn.graph3d.model.ScriptEngineMount;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 
 import org.vcssl.nano.VnanoException;
 
@@ -15,6 +16,8 @@ import org.vcssl.nano.VnanoException;
       |
       +- ArrayDataSeries
       |
+      +- StreamDataSeries
+      |
       +- MathDataSeries
           |
           +- ZxyMathDataSeries
@@ -25,13 +28,16 @@ import org.vcssl.nano.VnanoException;
 
 public final class XtYtZtMathDataSeries extends MathDataSeries {
 
+	/** The default tolerance of the chordal deviation in the adaptive sampling mode, relative to the span of the curve. */
+	public static final double DEFAULT_ADAPTIVE_SAMPLING_TOLERANCE = 1.0E-3;
+
 	/** The containers of the attribute (meta information) of this series. */
 	private volatile SeriesAttribute seriesAttribute;
 
 	/** The "engine-mount", provides a script engine for computing coordinates from math expressions. */
 	private final ScriptEngineMount scriptEngineMount;
 
-	/** The configuration container (for referring the range configuration). */
+	/** The configuration container (for referring the range configuration and the plotter configuration). */
 	@SuppressWarnings("unused")
 	private final RinearnGraph3DConfiguration config;
 
@@ -66,6 +72,39 @@ public final class XtYtZtMathDataSeries extends MathDataSeries {
 	/** The array storing visibilities of the points of this data series. */
 	protected volatile boolean[][] visibilities = null;
 
+	/** The flag representing whether the adaptive sampling mode is enabled. */
+	private volatile boolean adaptiveSamplingEnabled = false;
+
+	/** The tolerance of the chordal deviation in the adaptive sampling mode, relative to the span of the curve in each direction. */
+	private volatile double adaptiveSamplingTolerance = DEFAULT_ADAPTIVE_SAMPLING_TOLERANCE;
+
+	/** The math expressions of "x(t)", "y(t)" and "z(t)" of the last computation of the coordinate values. */
+	private volatile String[] lastMathExpressions = null;
+
+	/** The starting time of the last computation of the coordinate values. */
+	private volatile BigDecimal lastTimeMin = null;
+
+	/** The ending time of the last computation of the coordinate values. */
+	private volatile BigDecimal lastTimeMax = null;
+
+	/** The number of discretized time points of the last computation of the coordinate values. */
+	private volatile int lastTimeDiscretizationCount = -1;
+
+	/** The flag representing whether the adaptive sampling mode was enabled in the last computation of the coordinate values. */
+	private volatile boolean lastAdaptiveSamplingEnabled = false;
+
+	/** The tolerance of the adaptive sampling mode in the last computation of the coordinate values. */
+	private volatile double lastAdaptiveSamplingTolerance = Double.NaN;
+
+	/** The number of the time points at which the math expressions have been evaluated in the last computation. */
+	private volatile long lastEvaluationCount = 0;
+
+	/** The number of the times the coordinate values have been actually computed. */
+	private volatile long computationCount = 0;
+
+	/** The number of the times the computation of the coordinate values has been skipped. */
+	private volatile long skippedComputationCount = 0;
+
 	/** Stores the maximum value of the X-coordinates. */
 	private volatile BigDecimal xMin = null;
 
@@ -229,6 +268,54 @@ public final class XtYtZtMathDataSeries extends MathDataSeries {
 	}
 
 
+	/**
+	 * Enables/disables the adaptive sampling mode.
+	 *
+	 * In the adaptive sampling mode, the curve is sampled at non-uniform time points,
+	 * which are refined from coarse time points on the fast-moving or sharply-bending parts of the curve,
+	 * until the chordal deviation is within the tolerance.
+	 * The number of discretized time points is used as the limit: the number of the points never exceeds it.
+	 *
+	 * @param enabled Specify true to enable the adaptive sampling mode.
+	 */
+	public synchronized void setAdaptiveSamplingEnabled(boolean enabled) {
+		this.adaptiveSamplingEnabled = enabled;
+	}
+
+
+	/**
+	 * Gets whether the adaptive sampling mode is enabled.
+	 *
+	 * @return Returns true if the adaptive sampling mode is enabled.
+	 */
+	public synchronized boolean isAdaptiveSamplingEnabled() {
+		return this.adaptiveSamplingEnabled;
+	}
+
+
+	/**
+	 * Sets the tolerance of the chordal deviation in the adaptive sampling mode.
+	 *
+	 * @param tolerance The tolerance, relative to the span of the curve in each of X, Y and Z directions (e.g. 0.001 for 0.1%).
+	 */
+	public synchronized void setAdaptiveSamplingTolerance(double tolerance) {
+		if (!(0.0 <= tolerance)) {
+			throw new IllegalArgumentException("The tolerance must be a positive value or zero: " + tolerance);
+		}
+		this.adaptiveSamplingTolerance = tolerance;
+	}
+
+
+	/**
+	 * Gets the tolerance of the chordal deviation in the adaptive sampling mode.
+	 *
+	 * @return The tolerance, relative to the span of the curve in each direction.
+	 */
+	public synchronized double getAdaptiveSamplingTolerance() {
+		return this.adaptiveSamplingTolerance;
+	}
+
+
 	/**
 	 * Returns a single-line full name of this data series, to be displayed on UI.
 	 */
@@ -261,17 +348,30 @@ public final class XtYtZtMathDataSeries extends MathDataSeries {
 	 *
 	 * The computed coordinate values will be stored into the fields: xCoordinates, yCoordinates and zCoordinates.
 	 *
+	 * The coordinate values of x(t), y(t), z(t) don't depend on the ranges of the graph,
+	 * so the computation is skipped if the expressions and the time parameters are the same as the last computation
+	 * (and the last coordinate arrays are kept, so the plotters can reuse their cached geometries).
+	 *
 	 * @throws VnanoException Thrown when any (typically syntactic) error has been detected for calculating the math expressions.
 	 */
 	@Override
 	public synchronized void computeCoordinates() throws VnanoException {
 
-		// Allocate coordinate arrays.
+		// Skip the computation if its inputs are the same as the last computation.
 		int tN = this.timeDiscretizationCount;
-		this.xCoordinates = new double[1][tN];
-		this.yCoordinates = new double[1][tN];
-		this.zCoordinates = new double[1][tN];
-		this.visibilities = new boolean[1][tN];
+		String[] mathExpressions = { this.xtMathExpression, this.ytMathExpression, this.ztMathExpression };
+		boolean adaptive = this.adaptiveSamplingEnabled;
+		double tolerance = this.adaptiveSamplingTolerance;
+		if (this.xCoordinates != null
+				&& Arrays.equals(mathExpressions, this.lastMathExpressions)
+				&& this.timeMin.compareTo(this.lastTimeMin) == 0
+				&& this.timeMax.compareTo(this.lastTimeMax) == 0
+				&& tN == this.lastTimeDiscretizationCount
+				&& adaptive == this.lastAdaptiveSamplingEnabled
+				&& (!adaptive || tolerance == this.lastAdaptiveSamplingTolerance)) {
+			this.skippedComputationCount++;
+			return;
+		}
 
 		// Activate the script engine (initialization procedures of all connected plug-ins are invoked).
 		this.scriptEngineMount.activateMathExpressionEngine();
@@ -279,6 +379,7 @@ public final class XtYtZtMathDataSeries extends MathDataSeries {
 		double tMaxDouble = timeMax.doubleValue();
 		double tMinDouble = timeMin.doubleValue();
 		double tDelta = (tMaxDouble - tMinDouble) / (tN - 1);
+		boolean parallel = this.config.getPlotterConfiguration().isParallelPlottingEnabled();
 
 		// Stores temporary min/max values of x, y, and t for updating the range of the graph.
 		double xMinTentative = Double.POSITIVE_INFINITY;
@@ -288,28 +389,67 @@ public final class XtYtZtMathDataSeries extends MathDataSeries {
 		double zMinTentative = Double.POSITIVE_INFINITY;
 		double zMaxTentative = Double.NEGATIVE_INFINITY;
 
-		// Compute coordinate values, and store them into the above coordinate arrays.
-		for (int it=0; it<tN; it++) {
-			double t;
-			if (it == tN - 1) { // Branching to avoid the degradation of timeMax.
-				t = tMaxDouble;
-			} else {
-				t = tMinDouble + tDelta * it;
+		double[] xValues;
+		double[] yValues;
+		double[] zValues;
+		long evaluationCount;
+		if (adaptive) {
+
+			// In the adaptive sampling mode, sample the curve at non-uniform time points,
+			// refined adaptively within the limit of the number of the uniform time points.
+			// (The three expressions are evaluated alternately for each refinement,
+			//  and their compiled code are reused by the cache in the script engine.)
+			AdaptiveCurveSampler sampler = new AdaptiveCurveSampler(tMinDouble, tMaxDouble, tN, tolerance);
+			sampler.sample(t -> new double[][] {
+				this.scriptEngineMount.calculateMathExpression(mathExpressions[0], t, parallel),
+				this.scriptEngineMount.calculateMathExpression(mathExpressions[1], t, parallel),
+				this.scriptEngineMount.calculateMathExpression(mathExpressions[2], t, parallel)
+			});
+			xValues = sampler.getCoordinates()[0];
+			yValues = sampler.getCoordinates()[1];
+			zValues = sampler.getCoordinates()[2];
+			evaluationCount = sampler.getEvaluationCount();
+
+		} else {
+
+			// Compute the discretized time points.
+			double[] tValues = new double[tN];
+			for (int it=0; it<tN; it++) {
+				if (it == tN - 1) { // Branching to avoid the degradation of timeMax.
+					tValues[it] = tMaxDouble;
+				} else {
+					tValues[it] = tMinDouble + tDelta * it;
+				}
 			}
 
-			// Compute X/Y/Z coordinates.
-			double x = this.scriptEngineMount.calculateMathExpression(this.xtMathExpression, t);
-			double y = this.scriptEngineMount.calculateMathExpression(this.ytMathExpression, t);
-			double z = this.scriptEngineMount.calculateMathExpression(this.ztMathExpression, t);
+			// Compute X/Y/Z coordinates of all time points.
+			// (Each expression is evaluated in vector form by a single execution of the script engine, if possible.
+			//  Also, when the parallel plotting is enabled, the time points are divided into ranges and they are evaluated in parallel.)
+			xValues = this.scriptEngineMount.calculateMathExpression(this.xtMathExpression, tValues, parallel);
+			yValues = this.scriptEngineMount.calculateMathExpression(this.ytMathExpression, tValues, parallel);
+			zValues = this.scriptEngineMount.calculateMathExpression(this.ztMathExpression, tValues, parallel);
+			evaluationCount = tN;
+		}
 
-			// Store the computed coordinates.
-			this.xCoordinates[0][it] = x;
-			this.yCoordinates[0][it] = y;
-			this.zCoordinates[0][it] = z;
-			this.visibilities[0][it] = !Double.isNaN(x) && !Double.isNaN(y) && !Double.isNaN(z);
+		// Allocate coordinate arrays.
+		int pointCount = xValues.length;
+		double[][] xCoordinates = new double[1][pointCount];
+		double[][] yCoordinates = new double[1][pointCount];
+		double[][] zCoordinates = new double[1][pointCount];
+		boolean[][] visibilities = new boolean[1][pointCount];
+
+		// Store the computed coordinates into the above coordinate arrays.
+		for (int it=0; it<pointCount; it++) {
+			double x = xValues[it];
+			double y = yValues[it];
+			double z = zValues[it];
+			xCoordinates[0][it] = x;
+			yCoordinates[0][it] = y;
+			zCoordinates[0][it] = z;
+			visibilities[0][it] = !Double.isNaN(x) && !Double.isNaN(y) && !Double.isNaN(z);
 
 			// Update X range.
-			if (this.visibilities[0][it]) {
+			if (visibilities[0][it]) {
 				if (x < xMinTentative) {
 					xMinTentative = x;
 				}
@@ -331,6 +471,20 @@ public final class XtYtZtMathDataSeries extends MathDataSeries {
 			}
 		}
 
+		// Replace the coordinate arrays by the new ones, and store the inputs of this computation.
+		this.xCoordinates = xCoordinates;
+		this.yCoordinates = yCoordinates;
+		this.zCoordinates = zCoordinates;
+		this.visibilities = visibilities;
+		this.lastMathExpressions = mathExpressions;
+		this.lastTimeMin = this.timeMin;
+		this.lastTimeMax = this.timeMax;
+		this.lastTimeDiscretizationCount = tN;
+		this.lastAdaptiveSamplingEnabled = adaptive;
+		this.lastAdaptiveSamplingTolerance = tolerance;
+		this.lastEvaluationCount = evaluationCount;
+		this.computationCount++;
+
 		// Stores the minimum and maximum coordinates to the fields.
 		this.xMin = null;
 		if (xMinTentative != Double.POSITIVE_INFINITY) {
@@ -362,6 +516,42 @@ public final class XtYtZtMathDataSeries extends MathDataSeries {
 	}
 
 
+	/**
+	 * Gets the number of the times the coordinate values have been actually computed.
+	 *
+	 * @return The number of the computations.
+	 */
+	@Override
+	public synchronized long getComputationCount() {
+		return this.computationCount;
+	}
+
+
+	/**
+	 * Gets the number of the times the computation of the coordinate values has been skipped, because its inputs were unchanged.
+	 *
+	 * @return The number of the skipped computations.
+	 */
+	@Override
+	public synchronized long getSkippedComputationCount() {
+		return this.skippedComputationCount;
+	}
+
+
+	/**
+	 * Gets the number of the time points at which the math expressions have been evaluated in the last computation.
+	 *
+	 * It can be compared with the number of discretized time points of the uniform sampling,
+	 * to see the effect of the adaptive sampling mode.
+	 * In the adaptive sampling mode, the count includes the evaluations at the midpoints probed for estimating the deviations.
+	 *
+	 * @return The number of the evaluations in the last computation.
+	 */
+	public synchronized long getLastEvaluationCount() {
+		return this.lastEvaluationCount;
+	}
+
+
 	/**
 	 * Gets the X-coordinate values of the points of this data series, in double-type.
 	 *
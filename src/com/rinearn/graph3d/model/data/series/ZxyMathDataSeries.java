@@ -7,6 +7,7 @@ import com.rinearn.graph3d.model.ScriptEngineMount;
 import org.vcssl.nano.VnanoException;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 
 
 /*
@@ -16,6 +17,8 @@ import java.math.BigDecimal;
       |
       +- ArrayDataSeries
       |
+      +- StreamDataSeries
+      |
       +- MathDataSeries
           |
           +- ZxyMathDataSeries < This Class
@@ -44,13 +47,19 @@ import java.math.BigDecimal;
 
 public final class ZxyMathDataSeries extends MathDataSeries {
 
+	/** The tolerance for regarding grid lines as overlapping, relative to the grid spacing. */
+	private static final double GRID_OVERLAP_TOLERANCE = 1.0E-6;
+
+	/** The default tolerance of the interpolation error in the adaptive sampling mode, relative to the span of Z-values. */
+	public static final double DEFAULT_ADAPTIVE_SAMPLING_TOLERANCE = 1.0E-3;
+
 	/** The containers of the attribute (meta information) of this series. */
 	private volatile SeriesAttribute seriesAttribute;
 
 	/** The "engine-mount", provides a script engine for computing coordinates from math expressions. */
 	private final ScriptEngineMount scriptEngineMount;
 
-	/** The configuration container (for referring the range configuration). */
+	/** The configuration container (for referring the range configuration and the plotter configuration). */
 	private final RinearnGraph3DConfiguration config;
 
 	/** The math expression of "z(x,y)". */
@@ -74,6 +83,39 @@ public final class ZxyMathDataSeries extends MathDataSeries {
 	/** The array storing visibilities of the points of this data series. */
 	protected volatile boolean[][] visibilities = null;
 
+	/** The flag representing whether the adaptive sampling mode is enabled. */
+	private volatile boolean adaptiveSamplingEnabled = false;
+
+	/** The tolerance of the interpolation error in the adaptive sampling mode, relative to the span of Z-values. */
+	private volatile double adaptiveSamplingTolerance = DEFAULT_ADAPTIVE_SAMPLING_TOLERANCE;
+
+	/** The math expression of "z(x,y)" of the last computation of the coordinate values. */
+	private volatile String lastZMathExpression = null;
+
+	/** The coordinate values of the X-grid lines of the last computation of the coordinate values. */
+	private volatile double[] lastXGrid = null;
+
+	/** The coordinate values of the Y-grid lines of the last computation of the coordinate values. */
+	private volatile double[] lastYGrid = null;
+
+	/** The flag representing whether the adaptive sampling mode was enabled in the last computation of the coordinate values. */
+	private volatile boolean lastAdaptiveSamplingEnabled = false;
+
+	/** The tolerance of the adaptive sampling mode in the last computation of the coordinate values. */
+	private volatile double lastAdaptiveSamplingTolerance = Double.NaN;
+
+	/** The number of the points at which the math expression has been evaluated in the last computation of the coordinate values. */
+	private volatile long lastEvaluationCount = 0;
+
+	/** The number of the times the coordinate values have been actually computed. */
+	private volatile long computationCount = 0;
+
+	/** The number of the times the computation of the coordinate values has been skipped. */
+	private volatile long skippedComputationCount = 0;
+
+	/** The total number of the points reused from the last computation. */
+	private volatile long reusedPointCount = 0;
+
 	/** Stores the maximum value of the Z-coordinate values. */
 	private volatile BigDecimal zMin = null;
 
@@ -184,6 +226,53 @@ public final class ZxyMathDataSeries extends MathDataSeries {
 	}
 
 
+	/**
+	 * Enables/disables the adaptive sampling mode.
+	 *
+	 * In the adaptive sampling mode, the math expression is sampled on a non-uniform grid,
+	 * which is refined from a coarse grid around the sharp features of the surface, until the interpolation error is within the tolerance.
+	 * The numbers of discretized X/Y-coordinates are used as the limit: the number of the points never exceeds their product.
+	 *
+	 * @param enabled Specify true to enable the adaptive sampling mode.
+	 */
+	public synchronized void setAdaptiveSamplingEnabled(boolean enabled) {
+		this.adaptiveSamplingEnabled = enabled;
+	}
+
+
+	/**
+	 * Gets whether the adaptive sampling mode is enabled.
+	 *
+	 * @return Returns true if the adaptive sampling mode is enabled.
+	 */
+	public synchronized boolean isAdaptiveSamplingEnabled() {
+		return this.adaptiveSamplingEnabled;
+	}
+
+
+	/**
+	 * Sets the tolerance of the interpolation error in the adaptive sampling mode.
+	 *
+	 * @param tolerance The tolerance, relative to the span of the Z-values of the surface (e.g. 0.001 for 0.1%).
+	 */
+	public synchronized void setAdaptiveSamplingTolerance(double tolerance) {
+		if (!(0.0 <= tolerance)) {
+			throw new IllegalArgumentException("The tolerance must be a positive value or zero: " + tolerance);
+		}
+		this.adaptiveSamplingTolerance = tolerance;
+	}
+
+
+	/**
+	 * Gets the tolerance of the interpolation error in the adaptive sampling mode.
+	 *
+	 * @return The tolerance, relative to the span of the Z-values of the surface.
+	 */
+	public synchronized double getAdaptiveSamplingTolerance() {
+		return this.adaptiveSamplingTolerance;
+	}
+
+
 	/**
 	 * Returns a single-line full name of this data series, to be displayed on UI, etc.
 	 */
@@ -209,6 +298,10 @@ public final class ZxyMathDataSeries extends MathDataSeries {
 	 *
 	 * The computed coordinate values will be stored into the fields: xCoordinates, yCoordinates and zCoordinates.
 	 *
+	 * If the expression and the discretized X/Y coordinates are the same as the last computation,
+	 * the computation is skipped and the last coordinate arrays are kept (so the plotters can reuse their cached geometries).
+	 * Also, if the X/Y ranges have only been panned, the points on the grid lines overlapping with the last grid are reused.
+	 *
 	 * @throws VnanoException Thrown when any (typically syntactic) error has been detected for calculating the math expression.
 	 */
 	@Override
@@ -221,51 +314,173 @@ public final class ZxyMathDataSeries extends MathDataSeries {
 		double xMin = this.config.getRangeConfiguration().getXRangeConfiguration().getMinimumCoordinate().doubleValue();
 		double yMax = this.config.getRangeConfiguration().getYRangeConfiguration().getMaximumCoordinate().doubleValue();
 		double yMin = this.config.getRangeConfiguration().getYRangeConfiguration().getMinimumCoordinate().doubleValue();
-		double xDelta = (xMax - xMin) / (xN - 1);
-		double yDelta = (yMax - yMin) / (yN - 1);
+		double[] xGrid = discretize(xMin, xMax, xN);
+		double[] yGrid = discretize(yMin, yMax, yN);
 		double zMinTentative = Double.POSITIVE_INFINITY;
 		double zMaxTentative = Double.NEGATIVE_INFINITY;
 
+		// Skip the computation if its inputs are the same as the last computation.
+		boolean adaptive = this.adaptiveSamplingEnabled;
+		double tolerance = this.adaptiveSamplingTolerance;
+		boolean lastCoordinatesReusable = this.zCoordinates != null
+				&& this.zMathExpression.equals(this.lastZMathExpression)
+				&& adaptive == this.lastAdaptiveSamplingEnabled
+				&& (!adaptive || tolerance == this.lastAdaptiveSamplingTolerance);
+		if (lastCoordinatesReusable && Arrays.equals(xGrid, this.lastXGrid) && Arrays.equals(yGrid, this.lastYGrid)) {
+			this.skippedComputationCount++;
+			return;
+		}
+
+		// In the adaptive sampling mode, sample the expression on a non-uniform grid.
+		// (The uniform grid lines are used only for detecting the changes of the inputs.)
+		if (adaptive) {
+			this.computeCoordinatesAdaptively(xGrid, yGrid, tolerance);
+			return;
+		}
+
+		// Find the grid lines of the last computation at which the new grid lines are overlapping, for reusing the computed points.
+		int[] lastXGridIndices = new int[xN];
+		int[] lastYGridIndices = new int[yN];
+		Arrays.fill(lastXGridIndices, -1);
+		Arrays.fill(lastYGridIndices, -1);
+		if (lastCoordinatesReusable) { // Always in the uniform sampling mode here.
+			findOverlappingGridLines(xGrid, this.lastXGrid, lastXGridIndices);
+			findOverlappingGridLines(yGrid, this.lastYGrid, lastYGridIndices);
+		}
+
 		// Allocate coordinate arrays.
-		this.xCoordinates = new double[xN][yN];
-		this.yCoordinates = new double[xN][yN];
-		this.zCoordinates = new double[xN][yN];
-		this.visibilities = new boolean[xN][yN];
+		double[][] xCoordinates = new double[xN][yN];
+		double[][] yCoordinates = new double[xN][yN];
+		double[][] zCoordinates = new double[xN][yN];
+		boolean[][] visibilities = new boolean[xN][yN];
 
 		// Activate the script engine (initialization procedures of all connected plug-ins are invoked).
 		this.scriptEngineMount.activateMathExpressionEngine();
 
-		// Compute coordinate values, and store them into the above coordinate arrays.
+		// Store X and Y coordinate values into the above coordinate arrays,
+		// and also into the flattened arrays for computing Z-coordinate values of all the not-reused points at once.
+		// (The reused points are copied from the last coordinate arrays.)
+		double[] flatXCoordinates = new double[xN * yN];
+		double[] flatYCoordinates = new double[xN * yN];
+		int computedPointCount = 0;
 		for (int ix=0; ix<xN; ix++) {
 			for (int iy=0; iy<yN; iy++) {
-
-				// Compute X-coordinate.
-				double x;
-				if (ix == xN - 1) { // Branching to avoid the degradation of xMax.
-					x = xMax;
+				int lastIx = lastXGridIndices[ix];
+				int lastIy = lastYGridIndices[iy];
+				if (lastIx != -1 && lastIy != -1) {
+					xCoordinates[ix][iy] = this.xCoordinates[lastIx][lastIy];
+					yCoordinates[ix][iy] = this.yCoordinates[lastIx][lastIy];
+					zCoordinates[ix][iy] = this.zCoordinates[lastIx][lastIy];
+					visibilities[ix][iy] = this.visibilities[lastIx][lastIy];
 				} else {
-					x = xMin + xDelta * ix;
+					xCoordinates[ix][iy] = xGrid[ix];
+					yCoordinates[ix][iy] = yGrid[iy];
+					flatXCoordinates[computedPointCount] = xGrid[ix];
+					flatYCoordinates[computedPointCount] = yGrid[iy];
+					computedPointCount++;
 				}
+			}
+		}
+		if (computedPointCount != xN * yN) {
+			flatXCoordinates = Arrays.copyOf(flatXCoordinates, computedPointCount);
+			flatYCoordinates = Arrays.copyOf(flatYCoordinates, computedPointCount);
+		}
 
-				// Compute Y-coordinate.
-				double y;
-				if (iy == yN - 1) { // Branching to avoid the degradation of yMax.
-					y = yMax;
-				} else {
-					y = yMin + yDelta * iy;
+		// Compute Z-coordinate values of all the not-reused points.
+		// (The expression is evaluated in vector form by a single execution of the script engine, if possible.
+		//  Also, when the parallel plotting is enabled, the points are divided into ranges and they are evaluated in parallel.)
+		boolean parallel = this.config.getPlotterConfiguration().isParallelPlottingEnabled();
+		double[] flatZCoordinates = new double[0];
+		if (computedPointCount != 0) {
+			flatZCoordinates = this.scriptEngineMount.calculateMathExpression(
+				this.zMathExpression, flatXCoordinates, flatYCoordinates, parallel
+			);
+		}
+
+		// Store the computed Z-coordinates, and update Z range.
+		int computedPointIndex = 0;
+		for (int ix=0; ix<xN; ix++) {
+			for (int iy=0; iy<yN; iy++) {
+				if (lastXGridIndices[ix] == -1 || lastYGridIndices[iy] == -1) {
+					double z = flatZCoordinates[computedPointIndex];
+					zCoordinates[ix][iy] = z;
+					visibilities[ix][iy] = !Double.isNaN(z);
+					computedPointIndex++;
+				}
+				if (visibilities[ix][iy]) {
+					double z = zCoordinates[ix][iy];
+					if (z < zMinTentative) {
+						zMinTentative = z;
+					}
+					if (zMaxTentative < z) {
+						zMaxTentative = z;
+					}
 				}
+			}
+		}
+
+		// Replace the coordinate arrays by the new ones, and store the inputs of this computation.
+		this.xCoordinates = xCoordinates;
+		this.yCoordinates = yCoordinates;
+		this.zCoordinates = zCoordinates;
+		this.visibilities = visibilities;
+		this.lastZMathExpression = this.zMathExpression;
+		this.lastXGrid = xGrid;
+		this.lastYGrid = yGrid;
+		this.lastAdaptiveSamplingEnabled = false;
+		this.lastAdaptiveSamplingTolerance = Double.NaN;
+		this.lastEvaluationCount = computedPointCount;
+		this.computationCount++;
+		this.reusedPointCount += xN * yN - computedPointCount;
+
+		// Stores the minimum and maximum Z-coordinates to the fields.
+		this.storeZRange(zMinTentative, zMaxTentative);
 
-				// Compute Z-coordinate.
-				double z = this.scriptEngineMount.calculateMathExpression(this.zMathExpression, x, y);
+		// Deactivate the script engine (finalization procedures of all connected plug-ins are invoked).
+		this.scriptEngineMount.deactivateMathExpressionEngine();
+	}
 
-				// Store the computed coordinates.
-				this.xCoordinates[ix][iy] = x;
-				this.yCoordinates[ix][iy] = y;
-				this.zCoordinates[ix][iy] = z;
-				this.visibilities[ix][iy] = !Double.isNaN(z);
 
-				// Update Z range.
-				if (this.visibilities[ix][iy]) {
+	/**
+	 * Computes coordinate values from the math expression of this data series, in the adaptive sampling mode.
+	 *
+	 * @param xGrid The coordinate values of the uniform X-grid lines, which determine the X-range and the limit of the points.
+	 * @param yGrid The coordinate values of the uniform Y-grid lines, which determine the Y-range and the limit of the points.
+	 * @param tolerance The tolerance of the interpolation error, relative to the span of Z-values.
+	 * @throws VnanoException Thrown when any (typically syntactic) error has been detected for calculating the math expression.
+	 */
+	private void computeCoordinatesAdaptively(double[] xGrid, double[] yGrid, double tolerance) throws VnanoException {
+		int xN = xGrid.length;
+		int yN = yGrid.length;
+		String zMathExpression = this.zMathExpression;
+		boolean parallel = this.config.getPlotterConfiguration().isParallelPlottingEnabled();
+
+		// Sample the expression on a non-uniform grid, refined adaptively within the limit of the number of the uniform grid points.
+		AdaptiveGridSampler sampler = new AdaptiveGridSampler(
+			xGrid[0], xGrid[xN - 1], yGrid[0], yGrid[yN - 1], xN * yN, tolerance
+		);
+		this.scriptEngineMount.activateMathExpressionEngine();
+		sampler.sample((x, y) -> this.scriptEngineMount.calculateMathExpression(zMathExpression, x, y, parallel));
+		this.scriptEngineMount.deactivateMathExpressionEngine();
+
+		// Store the sampled points into the coordinate arrays, and update Z range.
+		double[] sampledXGrid = sampler.getXGrid();
+		double[] sampledYGrid = sampler.getYGrid();
+		double[][] zCoordinates = sampler.getZValues();
+		int sampledXN = sampledXGrid.length;
+		int sampledYN = sampledYGrid.length;
+		double[][] xCoordinates = new double[sampledXN][sampledYN];
+		double[][] yCoordinates = new double[sampledXN][sampledYN];
+		boolean[][] visibilities = new boolean[sampledXN][sampledYN];
+		double zMinTentative = Double.POSITIVE_INFINITY;
+		double zMaxTentative = Double.NEGATIVE_INFINITY;
+		for (int ix=0; ix<sampledXN; ix++) {
+			for (int iy=0; iy<sampledYN; iy++) {
+				double z = zCoordinates[ix][iy];
+				xCoordinates[ix][iy] = sampledXGrid[ix];
+				yCoordinates[ix][iy] = sampledYGrid[iy];
+				visibilities[ix][iy] = !Double.isNaN(z);
+				if (visibilities[ix][iy]) {
 					if (z < zMinTentative) {
 						zMinTentative = z;
 					}
@@ -276,7 +491,31 @@ public final class ZxyMathDataSeries extends MathDataSeries {
 			}
 		}
 
+		// Replace the coordinate arrays by the new ones, and store the inputs of this computation.
+		this.xCoordinates = xCoordinates;
+		this.yCoordinates = yCoordinates;
+		this.zCoordinates = zCoordinates;
+		this.visibilities = visibilities;
+		this.lastZMathExpression = zMathExpression;
+		this.lastXGrid = xGrid;
+		this.lastYGrid = yGrid;
+		this.lastAdaptiveSamplingEnabled = true;
+		this.lastAdaptiveSamplingTolerance = tolerance;
+		this.lastEvaluationCount = sampler.getEvaluationCount();
+		this.computationCount++;
+
 		// Stores the minimum and maximum Z-coordinates to the fields.
+		this.storeZRange(zMinTentative, zMaxTentative);
+	}
+
+
+	/**
+	 * Stores the minimum and maximum Z-coordinates to the fields.
+	 *
+	 * @param zMinTentative The minimum Z-coordinate (POSITIVE_INFINITY if there is no visible point).
+	 * @param zMaxTentative The maximum Z-coordinate (NEGATIVE_INFINITY if there is no visible point).
+	 */
+	private void storeZRange(double zMinTentative, double zMaxTentative) {
 		this.zMin = null;
 		if (zMinTentative != Double.POSITIVE_INFINITY) {
 			this.zMin = new BigDecimal(zMinTentative);
@@ -285,9 +524,106 @@ public final class ZxyMathDataSeries extends MathDataSeries {
 		if (zMaxTentative != Double.NEGATIVE_INFINITY) {
 			this.zMax = new BigDecimal(zMaxTentative);
 		}
+	}
 
-		// Deactivate the script engine (finalization procedures of all connected plug-ins are invoked).
-		this.scriptEngineMount.deactivateMathExpressionEngine();
+
+	/**
+	 * Discretizes the specified range into the specified number of the grid lines.
+	 *
+	 * @param min The minimum value of the range.
+	 * @param max The maximum value of the range.
+	 * @param n The number of the grid lines.
+	 * @return The coordinate values of the grid lines.
+	 */
+	private static double[] discretize(double min, double max, int n) {
+		double delta = (max - min) / (n - 1);
+		double[] grid = new double[n];
+		for (int i=0; i<n; i++) {
+			if (i == n - 1) { // Branching to avoid the degradation of max.
+				grid[i] = max;
+			} else {
+				grid[i] = min + delta * i;
+			}
+		}
+		return grid;
+	}
+
+
+	/**
+	 * Finds the grid lines of the last computation, at which the new grid lines are overlapping.
+	 *
+	 * The grid lines are regarded as overlapping if the difference between them is within the tiny tolerance
+	 * (GRID_OVERLAP_TOLERANCE times the grid spacing), because the panned ranges generally cause rounding errors.
+	 * Note that, when the grid spacing has changed (e.g. by zooming), the grid lines are not regarded as overlapping.
+	 *
+	 * @param grid The coordinate values of the new grid lines.
+	 * @param lastGrid The coordinate values of the last grid lines.
+	 * @param lastGridIndices The array to which the indices of the overlapping last grid lines (or -1 if not exist) are stored.
+	 */
+	private static void findOverlappingGridLines(double[] grid, double[] lastGrid, int[] lastGridIndices) {
+		int n = grid.length;
+		if (n < 2 || lastGrid.length != n || !(grid[0] < grid[n - 1]) || !(lastGrid[0] < lastGrid[n - 1])) {
+			return;
+		}
+		double spacing = (grid[n - 1] - grid[0]) / (n - 1);
+		double lastSpacing = (lastGrid[n - 1] - lastGrid[0]) / (n - 1);
+		double tolerance = spacing * GRID_OVERLAP_TOLERANCE;
+		if (!(Math.abs(spacing - lastSpacing) <= tolerance / n)) {
+			return;
+		}
+		for (int i=0; i<n; i++) {
+			long nearestLastIndex = Math.round((grid[i] - lastGrid[0]) / lastSpacing);
+			if (0 <= nearestLastIndex && nearestLastIndex < n
+					&& Math.abs(lastGrid[(int)nearestLastIndex] - grid[i]) <= tolerance) {
+				lastGridIndices[i] = (int)nearestLastIndex;
+			}
+		}
+	}
+
+
+	/**
+	 * Gets the number of the times the coordinate values have been actually computed.
+	 *
+	 * @return The number of the computations.
+	 */
+	@Override
+	public synchronized long getComputationCount() {
+		return this.computationCount;
+	}
+
+
+	/**
+	 * Gets the number of the times the computation of the coordinate values has been skipped, because its inputs were unchanged.
+	 *
+	 * @return The number of the skipped computations.
+	 */
+	@Override
+	public synchronized long getSkippedComputationCount() {
+		return this.skippedComputationCount;
+	}
+
+
+	/**
+	 * Gets the number of the points at which the math expression has been evaluated in the last computation.
+	 *
+	 * It can be compared with the number of the points of the uniform sampling
+	 * (the product of the numbers of discretized X/Y-coordinates), to see the effect of the adaptive sampling mode.
+	 * In the adaptive sampling mode, the count includes the evaluations at the midpoints probed for estimating the errors.
+	 *
+	 * @return The number of the evaluations in the last computation.
+	 */
+	public synchronized long getLastEvaluationCount() {
+		return this.lastEvaluationCount;
+	}
+
+
+	/**
+	 * Gets the total number of the points reused from the last computation, when the X/Y ranges were panned.
+	 *
+	 * @return The total number of the reused points.
+	 */
+	public synchronized long getReusedPointCount() {
+		return this.reusedPointCount;
 	}
 
 
@@ -18,6 +18,28 @@ import java.io.StringReader;
  */
 public final class DataFileIO {
 
+	/** The flag representing whether the coordinate values are stored in the single precision (float). */
+	private final boolean singlePrecisionEnabled;
+
+
+	/**
+	 * Creates a new instance.
+	 */
+	public DataFileIO() {
+		this(false);
+	}
+
+
+	/**
+	 * Creates a new instance, which stores the coordinate values of the loaded data in the single precision if specified.
+	 *
+	 * @param singlePrecisionEnabled Specify true to store the coordinate values in the single precision (float).
+	 */
+	public DataFileIO(boolean singlePrecisionEnabled) {
+		this.singlePrecisionEnabled = singlePrecisionEnabled;
+	}
+
+
 	/**
 	 * Loads the data file.
 	 *
@@ -113,11 +135,13 @@ public final class DataFileIO {
 			}
 			case MATRIX_CSV :
 			case MATRIX_STSV : {
-				DataSeriesGroup<ArrayDataSeries> dataSeriesGroup = new MatrixDataParser().parse(bufferedReaderToLoad, format, legend);
+				MatrixDataParser matrixDataParser = new MatrixDataParser(this.singlePrecisionEnabled);
+				DataSeriesGroup<ArrayDataSeries> dataSeriesGroup = matrixDataParser.parse(bufferedReaderToLoad, format, legend);
 				return dataSeriesGroup;
 			}
 			default : {
-				DataSeriesGroup<ArrayDataSeries> dataSeriesGroup = new ColumnDataParser().parse(bufferedReaderToLoad, format, legend);
+				ColumnDataParser columnDataParser = new ColumnDataParser(this.singlePrecisionEnabled);
+				DataSeriesGroup<ArrayDataSeries> dataSeriesGroup = columnDataParser.parse(bufferedReaderToLoad, format, legend);
 				return dataSeriesGroup;
 			}
 		}
@@ -2,6 +2,7 @@ package com.rinearn.graph3d.model.io.parser;
 
 import com.rinearn.graph3d.model.data.series.ArrayDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
 import com.rinearn.graph3d.model.io.DataFileFormatException;
 import com.rinearn.graph3d.def.ErrorType;
 import com.rinearn.graph3d.RinearnGraph3DDataFileFormat;
@@ -63,10 +64,25 @@ public final class ColumnDataParser {
 	}
 
 
+	/** The flag representing whether the coordinate values are parsed and stored in the single precision (float). */
+	private final boolean singlePrecisionEnabled;
+
+
 	/**
 	 * Creates a new parser.
 	 */
 	public ColumnDataParser() {
+		this(false);
+	}
+
+
+	/**
+	 * Creates a new parser, which parses and stores the coordinate values in the single precision if specified.
+	 *
+	 * @param singlePrecisionEnabled Specify true to store the coordinate values in the single precision (float).
+	 */
+	public ColumnDataParser(boolean singlePrecisionEnabled) {
+		this.singlePrecisionEnabled = singlePrecisionEnabled;
 	}
 
 
@@ -201,59 +217,84 @@ public final class ColumnDataParser {
 
 		int subSeriesCount = subDataSeriesList.size();
 		int columnCount = subDataSeriesList.get(0).columnsList.get(0).length;
-		double[][][] coords = new double[columnCount][subSeriesCount][]; // [icolumn][isub][ivertex]
-		boolean[][] visibilities = new boolean[subSeriesCount][];
+		int extraDimCount = columnCount - 3;
+
+		// Compute the index of the first point of each sub series, in the flat (contiguous) coordinate arrays.
+		int[] rowOffsets = new int[subSeriesCount + 1];
+		for (int isub=0; isub<subSeriesCount; isub++) {
+			rowOffsets[isub + 1] = rowOffsets[isub] + subDataSeriesList.get(isub).columnsList.size();
+		}
+		int pointCount = rowOffsets[subSeriesCount];
+
+		// The coordinates of X, Y, and Z dimensions are stored directly into the flat arrays
+		// (of float-type in the single precision mode, or double-type otherwise),
+		// and the coordinates of extra dimensions are stored into the jagged arrays.
+		boolean singlePrecision = this.singlePrecisionEnabled;
+		double[] xCoords = singlePrecision ? null : new double[pointCount];
+		double[] yCoords = singlePrecision ? null : new double[pointCount];
+		double[] zCoords = singlePrecision ? null : new double[pointCount];
+		float[] xFloatCoords = singlePrecision ? new float[pointCount] : null;
+		float[] yFloatCoords = singlePrecision ? new float[pointCount] : null;
+		float[] zFloatCoords = singlePrecision ? new float[pointCount] : null;
+		long[] visibilityBits = FlatPointStorage.createVisibilityBits(pointCount);
+		double[][][] extraCoords = new double[extraDimCount][subSeriesCount][]; // [iexdim][isub][ivertex]
 
 		// Parse all sub series.
 		for (int isub=0; isub<subSeriesCount; isub++) {
 			SubDataSeries subSeries = subDataSeriesList.get(isub);
 
 			int vertexCount = subSeries.columnsList.size();
-			for (int icolumn=0; icolumn<columnCount; icolumn++) {
-				coords[icolumn][isub] = new double[vertexCount];
-				visibilities[isub] = new boolean[vertexCount];
+			for (int iexdim=0; iexdim<extraDimCount; iexdim++) {
+				extraCoords[iexdim][isub] = new double[vertexCount];
 			}
 
 			// Parse all the vertex coordinates.
 			for (int ivertex=0; ivertex<vertexCount; ivertex++) {
 				String[] columns = subSeries.columnsList.get(ivertex);
-				visibilities[isub][ivertex] = true;
+				int pointIndex = rowOffsets[isub] + ivertex;
+				boolean visible = true;
 
 				// Parse each column's coordinate value of this vertex.
 				for (int icolumn=0; icolumn<columnCount; icolumn++) {
 					try {
+						if (singlePrecision && icolumn < 3) {
+							float value = Float.parseFloat(columns[icolumn]);
+							switch (icolumn) {
+								case 0:  xFloatCoords[pointIndex] = value; break;
+								case 1:  yFloatCoords[pointIndex] = value; break;
+								default: zFloatCoords[pointIndex] = value; break;
+							}
+							visible &= !Float.isNaN(value);
+							continue;
+						}
 						double value = Double.parseDouble(columns[icolumn]);
-						coords[icolumn][isub][ivertex] = value;
-						visibilities[isub][ivertex] &= !Double.isNaN(value);
+						switch (icolumn) {
+							case 0:  xCoords[pointIndex] = value; break;
+							case 1:  yCoords[pointIndex] = value; break;
+							case 2:  zCoords[pointIndex] = value; break;
+							default: extraCoords[icolumn - 3][isub][ivertex] = value; break;
+						}
+						visible &= !Double.isNaN(value);
+						// NOTE: Should we make invisible this point if its extra coordinate is NaN? Or not?
+						//       -> Probably it should be decided in plotter-side, because it depends on how this dimension is visualized.
 
 					} catch (NumberFormatException nfe) {
 						throw new DataFileFormatException(ErrorType.FAILED_TO_PARSE_NUMBER_IN_DATA_FILE, columns[0]);
 					}
 				}
+				FlatPointStorage.setVisibility(visibilityBits, pointIndex, visible);
 			}
 		}
 
-		// The first three dimensions of "coords" array represent X, Y, and Z dimensions.
-		// So rename them as:
-		double[][] xCoords = coords[0];
-		double[][] yCoords = coords[1];
-		double[][] zCoords = coords[2];
-
-		// Pack coords of extra dimensions into an array.
-		int extraDimCount = columnCount - 3;
-		double[][][] extraCoords = new double[extraDimCount][][];
-		for (int iexdim=0; iexdim<extraDimCount; iexdim++) {
-			extraCoords[iexdim] = coords[iexdim + 3];
-			// NOTE: Should we make invisible this point if its extraCoords[iexdim] is NaN? Or not?
-			//       -> Probably it should be decided in plotter-side, because it depends on how this dimension is visualized.
-		}
-
 		// Pack the parsed result into an ArrayDataSeries instance.
+		FlatPointStorage points = singlePrecision
+				? new FlatPointStorage(rowOffsets, xFloatCoords, yFloatCoords, zFloatCoords, visibilityBits)
+				: new FlatPointStorage(rowOffsets, xCoords, yCoords, zCoords, visibilityBits);
 		ArrayDataSeries dataSeries;
 		if (columnCount == 3) {
-			dataSeries = new ArrayDataSeries(xCoords, yCoords, zCoords, visibilities, legend);
+			dataSeries = new ArrayDataSeries(points, legend);
 		} else {
-			dataSeries = new ArrayDataSeries(xCoords, yCoords, zCoords, extraCoords, visibilities, legend);
+			dataSeries = new ArrayDataSeries(points, extraCoords, legend);
 		}
 		return dataSeries;
 	}
@@ -2,6 +2,7 @@ package com.rinearn.graph3d.model.io.parser;
 
 import com.rinearn.graph3d.model.data.series.ArrayDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
 import com.rinearn.graph3d.model.io.DataFileFormatException;
 import com.rinearn.graph3d.def.ErrorType;
 import com.rinearn.graph3d.RinearnGraph3DDataFileFormat;
@@ -98,10 +99,25 @@ public final class MatrixDataParser {
 	}
 
 
+	/** The flag representing whether the coordinate values are stored in the single precision (float). */
+	private final boolean singlePrecisionEnabled;
+
+
 	/**
 	 * Creates a new parser.
 	 */
 	public MatrixDataParser() {
+		this(false);
+	}
+
+
+	/**
+	 * Creates a new parser, which stores the coordinate values in the single precision if specified.
+	 *
+	 * @param singlePrecisionEnabled Specify true to store the coordinate values in the single precision (float).
+	 */
+	public MatrixDataParser(boolean singlePrecisionEnabled) {
+		this.singlePrecisionEnabled = singlePrecisionEnabled;
 	}
 
 
@@ -486,7 +502,13 @@ public final class MatrixDataParser {
 			}
 		}
 
-		ArrayDataSeries arrayDataSeries = new ArrayDataSeries(xArray, yArray, zArray, visibilities, legend);
+		// In the single precision mode, convert the parsed values into float-type before storing them into the data series.
+		// (The double-type arrays above are temporary, and their size is limited by the size of a matrix, which is a grid.)
+		FlatPointStorage points = FlatPointStorage.fromJaggedArrays(xArray, yArray, zArray, visibilities);
+		if (this.singlePrecisionEnabled) {
+			points = points.toSinglePrecision();
+		}
+		ArrayDataSeries arrayDataSeries = new ArrayDataSeries(points, legend);
 		return arrayDataSeries;
 	}
 
@@ -0,0 +1,143 @@
+package com.rinearn.graph3d.presenter;
+
+import com.rinearn.graph3d.model.Model;
+import com.rinearn.graph3d.model.data.series.ArrayDataSeries;
+import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+
+/**
+ * The class which updates the data to be plotted asynchronously on an independent (background) thread,
+ * for the asynchronous data APIs, e.g.: setDataAsync(...), openDataFileAsync(...), etc.
+ *
+ * The requested updates are processed one by one in the requested order.
+ * For each update, the data series are created (including the generation of visibilities and the detection of ranges)
+ * or loaded from files on the background thread, registered to the Model, and then plotted, on the same thread.
+ * Hence the thread requesting the updates is never blocked by the event-dispatcher thread or by the plotting.
+ *
+ * If a new "set" update (replacing all the data) is requested before the previously requested updates are processed,
+ * they are skipped (the latest update wins), because their results will be discarded by the new update anyway.
+ * The futures of the skipped updates are completed normally, without performing them.
+ */
+public final class AsynchronousDataUpdater {
+
+	/** The front-end class of "Model" layer, which provides internal logic procedures and so on. */
+	private final Model model;
+
+	/** The front-end class of "Presenter" layer, which invokes Model's procedures triggered by user's action on GUI. */
+	private final Presenter presenter;
+
+	/** The executor processing the requested updates on an independent thread. */
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "RinearnGraph3D-AsynchronousDataUpdater");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/** The number of the requested updates, used as the serial number of the updates. */
+	private long requestCount = 0;
+
+	/** The serial number of the lastly requested "set" update. */
+	private volatile long latestSettingRequestNumber = 0;
+
+	/** The flag representing that this instance has been disposed. */
+	private volatile boolean disposed = false;
+
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param model The front-end class of "Model" layer, which provides internal logic procedures and so on.
+	 * @param presenter The front-end class of "Presenter" layer, which handles events occurred on GUI, and API requests.
+	 */
+	public AsynchronousDataUpdater(Model model, Presenter presenter) {
+		this.model = model;
+		this.presenter = presenter;
+	}
+
+
+	/**
+	 * Disposes the resources.
+	 *
+	 * The futures of the updates which have not been processed yet are canceled.
+	 */
+	public synchronized void dispose() {
+		this.disposed = true;
+		this.executor.shutdown();
+	}
+
+
+	/**
+	 * Requests an update of the data, which is processed asynchronously.
+	 *
+	 * @param dataSeriesSupplier The task creating/loading the data series, performed on the background thread.
+	 * @param appending Specify true to append the data series to the currently registered ones, or false to replace them.
+	 * @return The future completed when the update has been processed (or skipped), or has failed.
+	 */
+	public synchronized CompletableFuture<Void> requestUpdate(
+			Callable<DataSeriesGroup<ArrayDataSeries>> dataSeriesSupplier, boolean appending) {
+
+		this.requestCount++;
+		long requestNumber = this.requestCount;
+		if (!appending) {
+			this.latestSettingRequestNumber = requestNumber;
+		}
+
+		CompletableFuture<Void> future = new CompletableFuture<Void>();
+		try {
+			this.executor.execute(() -> this.update(requestNumber, dataSeriesSupplier, appending, future));
+		} catch (RejectedExecutionException ree) {
+			future.cancel(false);
+		}
+		return future;
+	}
+
+
+	/**
+	 * Processes the requested update, on the background thread.
+	 *
+	 * @param requestNumber The serial number of the update.
+	 * @param dataSeriesSupplier The task creating/loading the data series.
+	 * @param appending Specify true to append the data series to the currently registered ones, or false to replace them.
+	 * @param future The future to be completed when the update has been processed.
+	 */
+	private void update(long requestNumber, Callable<DataSeriesGroup<ArrayDataSeries>> dataSeriesSupplier,
+			boolean appending, CompletableFuture<Void> future) {
+
+		if (this.disposed) {
+			future.cancel(false);
+			return;
+		}
+		try {
+
+			// Skip the update if a newer "set" update has been requested, before and after creating/loading the data series.
+			if (requestNumber < this.latestSettingRequestNumber) {
+				future.complete(null);
+				return;
+			}
+			DataSeriesGroup<ArrayDataSeries> dataSeriesGroup = dataSeriesSupplier.call();
+			if (requestNumber < this.latestSettingRequestNumber) {
+				future.complete(null);
+				return;
+			}
+
+			// Register the data series to the Model, and plot them.
+			if (appending) {
+				this.model.dataStore.addArrayDataSeriesGroup(dataSeriesGroup);
+				this.presenter.plotAppendedDataSeries();
+			} else {
+				this.model.dataStore.setArrayDataSeriesGroup(dataSeriesGroup);
+				this.presenter.plot();
+			}
+			future.complete(null);
+
+		} catch (Exception e) {
+			future.completeExceptionally(e);
+		}
+	}
+}
@@ -0,0 +1,266 @@
+package com.rinearn.graph3d.presenter;
+
+import com.rinearn.graph3d.RinearnGraph3DPickedPoint;
+import com.rinearn.graph3d.model.Model;
+import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
+import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
+import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
+
+import java.awt.Image;
+import java.util.Arrays;
+
+
+/**
+ * The class to identify the data point nearest to the specified position on the screen (e.g.: clicked/hovered position).
+ *
+ * For picking a point from a large number of points (e.g. millions) at interactive rates,
+ * this class projects all the data points on the screen, and indexes their projected positions by a uniform grid of cells.
+ * Then, a picking request is processed by scanning only the cells around the specified position.
+ *
+ * The index is invalidated when the graph is re-rendered (because the projected positions may change),
+ * and re-built lazily when the next picking is requested.
+ * Hence, rendering frames without picking requests (e.g. while rotating the graph) don't require any additional cost.
+ */
+public final class PointPicker {
+
+	/** The width and the height (in pixels) of a cell of the grid indexing the projected positions. */
+	private static final int CELL_SIZE = 8;
+
+	/** The front-end class of "Model" layer, which provides internal logic procedures and so on. */
+	private final Model model;
+
+	/** The rendering engine of 3D graphs. */
+	private final RinearnGraph3DRenderer renderer;
+
+	/** The flag representing whether the index is consistent with the currently rendered graph. */
+	private volatile boolean indexValid = false;
+
+	/** The points of the data series at the time when they are indexed (the coordinates of the picked point are read from them). */
+	private FlatPointStorage[] indexedSeriesPoints = new FlatPointStorage[0];
+
+	/** The offset of the ID of the first point of each data series (the last element is the total number of points). */
+	private int[] seriesOffsets = new int[] { 0 };
+
+	/** The offset of the ID of the first point of each row (left-side index) in each data series, from seriesOffsets[i]. */
+	private int[][] rowOffsets = new int[0][];
+
+	/** The projected X coordinates of all points, indexed by their IDs. */
+	private int[] projectedXCoords = new int[0];
+
+	/** The projected Y coordinates of all points, indexed by their IDs. */
+	private int[] projectedYCoords = new int[0];
+
+	/** The number of the columns of the cells of the grid. */
+	private int cellColumnCount = 0;
+
+	/** The number of the rows of the cells of the grid. */
+	private int cellRowCount = 0;
+
+	/** The offset of the first entry of each cell in cellEntries (the last element is the total number of entries). */
+	private int[] cellStarts = new int[] { 0 };
+
+	/** The IDs of the points projected in the cells, sorted in the order of the cells. */
+	private int[] cellEntries = new int[0];
+
+
+	/**
+	 * Creates a new instance for picking points drawn by the specified renderer.
+	 *
+	 * @param model The front-end class of "Model" layer, which provides internal logic procedures and so on.
+	 * @param renderer The rendering engine of 3D graphs.
+	 */
+	public PointPicker(Model model, RinearnGraph3DRenderer renderer) {
+		this.model = model;
+		this.renderer = renderer;
+	}
+
+
+	/**
+	 * Invalidates the index of the projected positions.
+	 *
+	 * This method should be called when the graph is re-rendered or re-plotted.
+	 * The index will be re-built when the next picking is requested.
+	 */
+	public void invalidate() {
+		this.indexValid = false;
+	}
+
+
+	/**
+	 * Picks the data point nearest to the specified position on the screen.
+	 *
+	 * @param screenX The X coordinate (in pixels, from the left edge) on the screen.
+	 * @param screenY The Y coordinate (in pixels, from the top edge) on the screen.
+	 * @param radius The maximum distance (in pixels) between the specified position and the point to be picked.
+	 * @return The information of the picked point (null if no point exists within the radius).
+	 */
+	public synchronized RinearnGraph3DPickedPoint pick(int screenX, int screenY, int radius) {
+		if (radius < 0) {
+			throw new IllegalArgumentException("The radius is negative: " + radius);
+		}
+		if (!this.indexValid) {
+			this.indexValid = true;
+			this.rebuildIndex();
+		}
+
+		// Determine the range of the cells to be scanned, clipped by the boundaries of the grid.
+		int minCellX = Math.max(Math.floorDiv(screenX - radius, CELL_SIZE), 0);
+		int maxCellX = Math.min(Math.floorDiv(screenX + radius, CELL_SIZE), this.cellColumnCount - 1);
+		int minCellY = Math.max(Math.floorDiv(screenY - radius, CELL_SIZE), 0);
+		int maxCellY = Math.min(Math.floorDiv(screenY + radius, CELL_SIZE), this.cellRowCount - 1);
+
+		// Find the nearest point from the points in the cells.
+		long minDistanceSquared = (long)radius * (long)radius;
+		int nearestId = -1;
+		for (int cellY=minCellY; cellY<=maxCellY; cellY++) {
+			for (int cellX=minCellX; cellX<=maxCellX; cellX++) {
+				int cellIndex = cellY * this.cellColumnCount + cellX;
+				int entryEnd = this.cellStarts[cellIndex + 1];
+				for (int ientry=this.cellStarts[cellIndex]; ientry<entryEnd; ientry++) {
+					int id = this.cellEntries[ientry];
+					long dx = this.projectedXCoords[id] - screenX;
+					long dy = this.projectedYCoords[id] - screenY;
+					long distanceSquared = dx * dx + dy * dy;
+					if (distanceSquared <= minDistanceSquared && (nearestId == -1 || distanceSquared < minDistanceSquared)) {
+						minDistanceSquared = distanceSquared;
+						nearestId = id;
+					}
+				}
+			}
+		}
+		if (nearestId == -1) {
+			return null;
+		}
+
+		// Decode the ID into the series index and the grid indices, by binary searches on the offset arrays.
+		int seriesIndex = this.findSegment(this.seriesOffsets, nearestId);
+		int rowLocalId = nearestId - this.seriesOffsets[seriesIndex];
+		int leftIndex = this.findSegment(this.rowOffsets[seriesIndex], rowLocalId);
+		int rightIndex = rowLocalId - this.rowOffsets[seriesIndex][leftIndex];
+
+		FlatPointStorage points = this.indexedSeriesPoints[seriesIndex];
+		return new RinearnGraph3DPickedPoint(
+				seriesIndex, leftIndex, rightIndex,
+				points.getXCoordinate(rowLocalId),
+				points.getYCoordinate(rowLocalId),
+				points.getZCoordinate(rowLocalId),
+				this.projectedXCoords[nearestId], this.projectedYCoords[nearestId]
+		);
+	}
+
+
+	/**
+	 * Finds the index of the segment containing the specified value, from the array of the segment offsets.
+	 *
+	 * If there are some empty segments at the same offset, the last one (which is not empty) is returned.
+	 *
+	 * @param offsets The ascending-ordered array of the offsets of segments (the last element is the end of the last segment).
+	 * @param value The value to be searched.
+	 * @return The index of the segment containing the value.
+	 */
+	private int findSegment(int[] offsets, int value) {
+		int low = 0;
+		int high = offsets.length - 2;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (offsets[mid] <= value) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+
+	/**
+	 * Projects all the visible data points on the screen, and re-builds the index of their projected positions.
+	 */
+	private void rebuildIndex() {
+		DataSeriesGroup<AbstractDataSeries> dataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
+		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
+
+		// Assign the sequential IDs to all grid points of all data series.
+		FlatPointStorage[] seriesPoints = new FlatPointStorage[dataSeriesCount];
+		int[] seriesOffsets = new int[dataSeriesCount + 1];
+		int[][] rowOffsets = new int[dataSeriesCount][];
+		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			FlatPointStorage points = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex).getFlatPointStorage();
+			int leftDimLength = points.getRowCount();
+			rowOffsets[dataSeriesIndex] = new int[leftDimLength + 1];
+			for (int iL=0; iL<=leftDimLength; iL++) {
+				rowOffsets[dataSeriesIndex][iL] = iL < leftDimLength ? points.getRowOffset(iL) : points.getPointCount();
+			}
+			seriesOffsets[dataSeriesIndex + 1] = seriesOffsets[dataSeriesIndex] + points.getPointCount();
+			seriesPoints[dataSeriesIndex] = points;
+		}
+		int pointCount = seriesOffsets[dataSeriesCount];
+
+		// Flatten the coordinate values of all points, and project them on the screen at once.
+		double[] xCoords = new double[pointCount];
+		double[] yCoords = new double[pointCount];
+		double[] zCoords = new double[pointCount];
+		boolean[] visibilities = new boolean[pointCount];
+		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			FlatPointStorage points = seriesPoints[dataSeriesIndex];
+			int offset = seriesOffsets[dataSeriesIndex];
+			int seriesPointCount = points.getPointCount();
+			points.copyXCoordinates(0, xCoords, offset, seriesPointCount);
+			points.copyYCoordinates(0, yCoords, offset, seriesPointCount);
+			points.copyZCoordinates(0, zCoords, offset, seriesPointCount);
+			for (int ipoint=0; ipoint<seriesPointCount; ipoint++) {
+				visibilities[offset + ipoint] = points.isVisible(ipoint);
+			}
+		}
+		int[] projectedXCoords = new int[pointCount];
+		int[] projectedYCoords = new int[pointCount];
+		boolean[] projected = this.renderer.projectToScreen(xCoords, yCoords, zCoords, projectedXCoords, projectedYCoords);
+
+		// Prepare the grid of cells covering the screen.
+		Image screenImage = this.renderer.getScreenImage();
+		int screenWidth = Math.max(screenImage.getWidth(null), 1);
+		int screenHeight = Math.max(screenImage.getHeight(null), 1);
+		int cellColumnCount = (screenWidth + CELL_SIZE - 1) / CELL_SIZE;
+		int cellRowCount = (screenHeight + CELL_SIZE - 1) / CELL_SIZE;
+		int cellCount = cellColumnCount * cellRowCount;
+
+		// Count the points in each cell, and compute the offset of the entries of each cell (counting sort).
+		int[] pointCells = new int[pointCount];
+		int[] cellStarts = new int[cellCount + 1];
+		for (int id=0; id<pointCount; id++) {
+			if (!visibilities[id] || !projected[id]) {
+				pointCells[id] = -1;
+				continue;
+			}
+			int cellX = Math.min(projectedXCoords[id] / CELL_SIZE, cellColumnCount - 1);
+			int cellY = Math.min(projectedYCoords[id] / CELL_SIZE, cellRowCount - 1);
+			int cellIndex = cellY * cellColumnCount + cellX;
+			pointCells[id] = cellIndex;
+			cellStarts[cellIndex + 1]++;
+		}
+		for (int cellIndex=0; cellIndex<cellCount; cellIndex++) {
+			cellStarts[cellIndex + 1] += cellStarts[cellIndex];
+		}
+
+		// Store the IDs of the points into the entries of the cells.
+		int[] cellEntries = new int[cellStarts[cellCount]];
+		int[] cellCursors = Arrays.copyOf(cellStarts, cellCount);
+		for (int id=0; id<pointCount; id++) {
+			int cellIndex = pointCells[id];
+			if (cellIndex != -1) {
+				cellEntries[cellCursors[cellIndex]++] = id;
+			}
+		}
+
+		this.indexedSeriesPoints = seriesPoints;
+		this.seriesOffsets = seriesOffsets;
+		this.rowOffsets = rowOffsets;
+		this.projectedXCoords = projectedXCoords;
+		this.projectedYCoords = projectedYCoords;
+		this.cellColumnCount = cellColumnCount;
+		this.cellRowCount = cellRowCount;
+		this.cellStarts = cellStarts;
+		this.cellEntries = cellEntries;
+	}
+}
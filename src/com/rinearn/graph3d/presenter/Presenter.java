@@ -13,6 +13,7 @@ import com.rinearn.graph3d.config.range.AxisRangeConfiguration;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
 import com.rinearn.graph3d.model.data.series.MathDataSeries;
+import com.rinearn.graph3d.model.data.series.StreamDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
 import com.rinearn.graph3d.view.View;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -37,6 +38,7 @@ import com.rinearn.graph3d.presenter.handler.XtYtZtMathHandler;
 import com.rinearn.graph3d.presenter.handler.DataFileIOHandler;
 import com.rinearn.graph3d.presenter.handler.DataTextIOHandler;
 import com.rinearn.graph3d.presenter.handler.DataArrayIOHandler;
+import com.rinearn.graph3d.presenter.handler.DataStreamIOHandler;
 import com.rinearn.graph3d.presenter.handler.ImageIOHandler;
 import com.rinearn.graph3d.presenter.handler.PointOptionHandler;
 import com.rinearn.graph3d.presenter.handler.LineOptionHandler;
@@ -51,8 +53,10 @@ import com.rinearn.graph3d.presenter.plotter.ContourPlotter;
 
 import org.vcssl.nano.VnanoException;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import java.lang.reflect.InvocationTargetException;
@@ -148,6 +152,9 @@ public final class Presenter {
 	/** The loop which performs rendering and updates the screen, on an independent thread. */
 	public final RenderingLoop renderingLoop;
 
+	/** The updater which updates the data asynchronously on an independent thread, for the asynchronous data APIs. */
+	public final AsynchronousDataUpdater asynchronousDataUpdater;
+
 	/** The handler of events of (the frame of) the main window. */
 	public final MainWindowFrameHandler mainWindowFrameHandler;
 
@@ -170,6 +177,9 @@ public final class Presenter {
 	/** The handler of API requests for plotting data stored in arrays. */
 	public final DataArrayIOHandler dataArrayIOHandler;
 
+	/** The handler of API requests for plotting real-time data streams. */
+	public final DataStreamIOHandler dataStreamIOHandler;
+
 	/** The handler of events and API requests related to image file I/O. */
 	public final ImageIOHandler imageIOHandler;
 
@@ -242,6 +252,15 @@ public final class Presenter {
 	/** The plotter to plot contours. */
 	public final ContourPlotter contourPlotter;
 
+	/** The picker to identify the data point at the clicked/hovered position on the screen. */
+	public final PointPicker pointPicker;
+
+	/** The number of the plotting event listeners registered by this Presenter layer itself (the built-in plotters). */
+	private final int builtInPlotterCount;
+
+	/** The group of the data series plotted by the last plotting (null if they may be inconsistent with the plotted contents). */
+	private DataSeriesGroup<AbstractDataSeries> lastPlottedDataSeriesGroup = null;
+
 
 	/**
 	 * Creates new Presenter layer of RINEARN Graph 3D.
@@ -259,10 +278,17 @@ public final class Presenter {
 		this.renderer = renderer;
 		this.plottingEventDispatcher = plottingEventDispatcher;
 
+		// Create the picker to identify the data point at the specified position on the screen.
+		// (It is referenced from the rendering loop, so create it before starting the loop.)
+		this.pointPicker = new PointPicker(model, renderer);
+
 		// Create a rendering loop/thread, and start it.
 		this.renderingLoop = new RenderingLoop(model, view, this, renderer);
 		this.renderingLoop.start();
 
+		// Create the updater to update the data asynchronously, for the asynchronous data APIs.
+		this.asynchronousDataUpdater = new AsynchronousDataUpdater(model, this);
+
 		// Create a handler of events of the frame of the main window.
 		this.mainWindowFrameHandler = new MainWindowFrameHandler(model, view, this);
 
@@ -291,6 +317,7 @@ public final class Presenter {
 		this.dataFileIOHandler = new DataFileIOHandler(model, view, this);
 		this.dataTextIOHandler = new DataTextIOHandler(model, view, this);
 		this.dataArrayIOHandler = new DataArrayIOHandler(model, view, this);
+		this.dataStreamIOHandler = new DataStreamIOHandler(model, view, this);
 		this.imageIOHandler = new ImageIOHandler(model, view, this);
 
 		this.pointOptionHandler = new PointOptionHandler(model, view, this);
@@ -310,6 +337,7 @@ public final class Presenter {
 		this.plottingEventDispatcher.addPlottingListener(this.surfacePlotter);
 		this.contourPlotter = new ContourPlotter(model, view, this, renderer);
 		this.plottingEventDispatcher.addPlottingListener(this.contourPlotter);
+		this.builtInPlotterCount = this.plottingEventDispatcher.getPlottingListenerCount();
 	}
 
 
@@ -343,6 +371,7 @@ public final class Presenter {
 		this.dataFileIOHandler.setEventHandlingEnabled(enabled);
 		this.dataTextIOHandler.setEventHandlingEnabled(enabled);
 		this.dataArrayIOHandler.setEventHandlingEnabled(enabled);
+		this.dataStreamIOHandler.setEventHandlingEnabled(enabled);
 		this.imageIOHandler.setEventHandlingEnabled(enabled);
 
 		this.pointOptionHandler.setEventHandlingEnabled(enabled);
@@ -397,6 +426,13 @@ public final class Presenter {
 	 */
 	public synchronized void plot() {
 
+		// Get the data series to be plotted (referenced at the end of this method).
+		DataSeriesGroup<AbstractDataSeries> plottedDataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
+
+		// Take snapshots of the points of stream data series,
+		// to plot them consistently even if points are appended from another thread during this plotting.
+		this.updateStreamDataSeriesSnapshots();
+
 		// Update coordinate values of XY-bounded math data series, e.g.: x(t),y(t),z(t).
 		// This type of expressions have their own ranges for all the X, Y, and Z axes.
 		this.updateXYBoundedMathDataSeriesCoordinates();
@@ -433,6 +469,10 @@ public final class Presenter {
 		// Future: Draw other elements here
 		// -----
 
+		// If the parallel plotting is enabled, start generating the geometries of the built-in plotters concurrently.
+		// They are drawn by the plotters when "plottingRequested" methods are called, in the same order as the sequential plotting.
+		this.prepareGeometriesInParallel(0);
+
 		// Call "plottingRequested" methods of the registered event listeners of RinearnGraph3DPlottingEvent.
 		this.plottingEventDispatcher.firePlottingRequested();
 
@@ -487,6 +527,152 @@ public final class Presenter {
 
 		// Render the re-plotted contents on the screen.
 		this.renderer.render();
+		this.pointPicker.invalidate();
+
+		// Store the plotted data series, for plotting data series appended later incrementally.
+		// (If the data series have been changed during the plotting, we can't determine which of them have been plotted.)
+		DataSeriesGroup<AbstractDataSeries> currentDataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
+		boolean dataSeriesChanged = currentDataSeriesGroup.getDataSeriesCount() != plottedDataSeriesGroup.getDataSeriesCount()
+				|| !this.startsWithSameDataSeries(currentDataSeriesGroup, plottedDataSeriesGroup);
+		this.lastPlottedDataSeriesGroup = dataSeriesChanged ? null : plottedDataSeriesGroup;
+	}
+
+
+	/**
+	 * Plots the data series appended after the last plotting, without clearing and re-plotting the already plotted contents.
+	 *
+	 * When the incremental plotting is not available,
+	 * e.g.: when the auto-ranging feature changes the range of some axis, or the already plotted data series have been changed,
+	 * this method performs the full re-plotting by plot() method instead.
+	 */
+	public synchronized void plotAppendedDataSeries() {
+		DataSeriesGroup<AbstractDataSeries> dataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
+		if (!this.isIncrementalPlottingAvailable(dataSeriesGroup)) {
+			this.plot();
+			return;
+		}
+		int firstAppendedSeriesIndex = this.lastPlottedDataSeriesGroup.getDataSeriesCount();
+
+		// Update the data configuration and the legends, and propagate them.
+		// The ranges of the axes are not changed, so the already plotted contents are still valid.
+		this.updateDataConfiguration();
+		this.updateLegends();
+		this.propagateConfiguration();
+
+		// Plot only the appended data series, onto the already plotted contents.
+		this.prepareGeometriesInParallel(firstAppendedSeriesIndex);
+		this.pointPlotter.plotAppendedDataSeries(firstAppendedSeriesIndex);
+		this.linePlotter.plotAppendedDataSeries(firstAppendedSeriesIndex);
+		this.meshPlotter.plotAppendedDataSeries(firstAppendedSeriesIndex);
+		this.surfacePlotter.plotAppendedDataSeries(firstAppendedSeriesIndex);
+		this.contourPlotter.plotAppendedDataSeries(firstAppendedSeriesIndex);
+
+		// Render the plotted contents on the screen.
+		this.renderer.render();
+		this.pointPicker.invalidate();
+		this.lastPlottedDataSeriesGroup = dataSeriesGroup;
+	}
+
+
+	/**
+	 * Starts generating the geometries of the built-in plotters concurrently, if the parallel plotting is enabled.
+	 *
+	 * The geometries of all the data series of all the built-in plotters are generated at the same time
+	 * on the common fork-join pool, and then drawn to the renderer by each plotter in the deterministic order
+	 * when the plotter is requested to plot.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 */
+	private void prepareGeometriesInParallel(int firstSeriesIndex) {
+		if (!this.model.config.getPlotterConfiguration().isParallelPlottingEnabled()) {
+			return;
+		}
+		ForkJoinPool executor = ForkJoinPool.commonPool();
+		this.pointPlotter.prepareGeometries(firstSeriesIndex, executor);
+		this.linePlotter.prepareGeometries(firstSeriesIndex, executor);
+		this.meshPlotter.prepareGeometries(firstSeriesIndex, executor);
+		this.surfacePlotter.prepareGeometries(firstSeriesIndex, executor);
+		this.contourPlotter.prepareGeometries(firstSeriesIndex, executor);
+	}
+
+
+	/**
+	 * Determines whether the data series appended after the last plotting can be plotted incrementally.
+	 *
+	 * @param dataSeriesGroup The group of all the currently registered data series.
+	 * @return Returns true if the incremental plotting is available.
+	 */
+	private boolean isIncrementalPlottingAvailable(DataSeriesGroup<AbstractDataSeries> dataSeriesGroup) {
+
+		// If any plotting event listener has been registered from outside,
+		// it may expect that the graph is cleared and re-plotted on every plotting, so the incremental plotting is unavailable.
+		if (this.plottingEventDispatcher.getPlottingListenerCount() != this.builtInPlotterCount) {
+			return false;
+		}
+
+		// The already plotted data series must be kept as they are, and some data series must be appended after them.
+		// (Note that array data series are stored before math data series,
+		//  so if any math data series exists, appending array data series changes the indices of the math data series.)
+		if (this.lastPlottedDataSeriesGroup == null) {
+			return false;
+		}
+		if (dataSeriesGroup.getDataSeriesCount() <= this.lastPlottedDataSeriesGroup.getDataSeriesCount()) {
+			return false;
+		}
+		if (!this.startsWithSameDataSeries(dataSeriesGroup, this.lastPlottedDataSeriesGroup)) {
+			return false;
+		}
+
+		// The ranges of the axes must not be changed by the auto-ranging feature,
+		// because the already plotted contents have been scaled by the current ranges.
+		RangeConfiguration rangeConfig = this.model.config.getRangeConfiguration();
+		if (this.isAutoRangeChanged(rangeConfig.getXRangeConfiguration(), dataSeriesGroup.getXMin(), dataSeriesGroup.getXMax())
+				|| this.isAutoRangeChanged(rangeConfig.getYRangeConfiguration(), dataSeriesGroup.getYMin(), dataSeriesGroup.getYMax())
+				|| this.isAutoRangeChanged(rangeConfig.getZRangeConfiguration(), dataSeriesGroup.getZMin(), dataSeriesGroup.getZMax())) {
+			return false;
+		}
+		return true;
+	}
+
+
+	/**
+	 * Checks whether the leading data series of the specified group are the same instances as the data series of the prefix group.
+	 *
+	 * @param dataSeriesGroup The group to be checked.
+	 * @param prefixDataSeriesGroup The group of the data series expected to be stored at the head of dataSeriesGroup.
+	 * @return Returns true if dataSeriesGroup starts with all the data series of prefixDataSeriesGroup.
+	 */
+	private boolean startsWithSameDataSeries(DataSeriesGroup<AbstractDataSeries> dataSeriesGroup,
+			DataSeriesGroup<AbstractDataSeries> prefixDataSeriesGroup) {
+
+		int prefixCount = prefixDataSeriesGroup.getDataSeriesCount();
+		if (dataSeriesGroup.getDataSeriesCount() < prefixCount) {
+			return false;
+		}
+		for (int iseries=0; iseries<prefixCount; iseries++) {
+			if (dataSeriesGroup.getDataSeriesAt(iseries) != prefixDataSeriesGroup.getDataSeriesAt(iseries)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Checks whether the range of the axis will be changed by the auto-ranging feature, for the specified min/max values of the data.
+	 *
+	 * @param axisRangeConfig The configuration of the range of the axis.
+	 * @param dataMin The minimum coordinate value of the data (null if it does not exist).
+	 * @param dataMax The maximum coordinate value of the data (null if it does not exist).
+	 * @return Returns true if the range will be changed.
+	 */
+	private boolean isAutoRangeChanged(AxisRangeConfiguration axisRangeConfig, BigDecimal dataMin, BigDecimal dataMax) {
+		if (!axisRangeConfig.isAutoRangeEnabled()) {
+			return false;
+		}
+		boolean minChanged = dataMin != null && dataMin.compareTo(axisRangeConfig.getMinimumCoordinate()) != 0;
+		boolean maxChanged = dataMax != null && dataMax.compareTo(axisRangeConfig.getMaximumCoordinate()) != 0;
+		return minChanged || maxChanged;
 	}
 
 
@@ -533,6 +719,17 @@ public final class Presenter {
 	}
 
 
+	/**
+	 * Takes snapshots of the currently stored points of all the stream data series.
+	 */
+	private void updateStreamDataSeriesSnapshots() {
+		DataSeriesGroup<StreamDataSeries> streamDataSeriesGroup = this.model.dataStore.getStreamDataSeriesGroup();
+		for (StreamDataSeries streamDataSeries: streamDataSeriesGroup) {
+			streamDataSeries.takeSnapshot();
+		}
+	}
+
+
 	/**
 	 * Updates the data configuration from the currently registered data.
 	 */
@@ -803,6 +1000,9 @@ public final class Presenter {
 		@Override
 		public void run() {
 
+			// Stop accepting the asynchronous data updates.
+			asynchronousDataUpdater.dispose();
+
 			// Terminate the rendering loop.
 			try {
 				renderingLoop.exit();
@@ -44,6 +44,9 @@ public final class RenderingLoop implements Runnable {
 	/** The flag representing that invoking plot() on the loop thread has been requested. */
 	private volatile boolean plottingRequested = false;
 
+	/** The flag representing that invoking plotAppendedDataSeries() on the loop thread has been requested. */
+	private volatile boolean appendedDataPlottingRequested = false;
+
 
 	/**
 	 * Creates new rendering loop.
@@ -120,6 +123,17 @@ public final class RenderingLoop implements Runnable {
 	}
 
 
+	/**
+	 * Requests invoking plotAppendedDataSeries() method of the Presenter on the thread of this rendering loop.
+	 *
+	 * If plot() is also requested before the requested plotting is performed,
+	 * only plot() is performed, because it also plots the appended data series.
+	 */
+	public synchronized void requestAppendedDataPlotting() {
+		this.appendedDataPlottingRequested = true;
+	}
+
+
 	/**
 	 * Gets the screen image (to be displayed on the window, may vary in real-time).
 	 *
@@ -160,6 +174,18 @@ public final class RenderingLoop implements Runnable {
 	}
 
 
+	/**
+	 * Copies the current screen image to the specified buffer if it is reusable, otherwise to a newly allocated buffer.
+	 *
+	 * @param buffer The buffer to be reused (may be null).
+	 * @param bufferedImageType The type of the BufferedImage to be returned (e.g.: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, etc.)
+	 * @return The buffer storing the copy of the current screen image (the specified one if reused).
+	 */
+	public synchronized BufferedImage copyScreenImage(BufferedImage buffer, int bufferedImageType) {
+		return this.renderer.copyScreenImage(buffer, bufferedImageType);
+	}
+
+
 	/**
 	 * The procedures of the rendering loop, which runs on an independent thread.
 	 */
@@ -170,7 +196,11 @@ public final class RenderingLoop implements Runnable {
 			synchronized (this) {
 				if (this.plottingRequested) {
 					this.plottingRequested = false;
+					this.appendedDataPlottingRequested = false;
 					this.presenter.plot();
+				} else if (this.appendedDataPlottingRequested) {
+					this.appendedDataPlottingRequested = false;
+					this.presenter.plotAppendedDataSeries();
 				}
 			}
 
@@ -178,6 +208,7 @@ public final class RenderingLoop implements Runnable {
 				if (this.renderingRequested) {
 					this.renderingRequested = false;
 					this.renderer.render();
+					this.presenter.pointPicker.invalidate();
 				}
 			}
 
@@ -1,12 +1,14 @@
 package com.rinearn.graph3d.presenter.handler;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.SwingUtilities;
 
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.ArrayDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.view.View;
 
@@ -32,6 +34,12 @@ public class DataArrayIOHandler {
 	 */
 	private volatile boolean asynchronousPlottingEnabled = false;
 
+	/**
+	 * The flag to store the coordinate values specified by setData(double[] x, ...), etc. in the single precision (float).
+	 * (The coordinate values specified by setData(float[] x, ...), etc. are always stored in the single precision.)
+	 */
+	private volatile boolean singlePrecisionStorageEnabled = false;
+
 
 	/**
 	 * Create a new instance handling events and API requests using the specified resources.
@@ -73,6 +81,17 @@ public class DataArrayIOHandler {
 	}
 
 
+	/**
+	 * Enables/disables the feature to store the coordinate values specified as double-type arrays in the single precision (float),
+	 * which requires the half memory of the double precision.
+	 *
+	 * @param enabled Specify true to enable, false to disable.
+	 */
+	public synchronized void setSinglePrecisionStorageEnabled(boolean enabled) {
+		this.singlePrecisionStorageEnabled = enabled;
+	}
+
+
 	// ================================================================================
 	//
 	// - API Listeners -
@@ -269,6 +288,339 @@ public class DataArrayIOHandler {
 	}
 
 
+	/**
+	 * Sets the data composing a line to be plotted, in the single precision.
+	 *
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendData(...) instead.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param y
+	 *     The array storing the Y-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param z
+	 *     The array storing the Z-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 */
+	public void setData(float[] x, float[] y, float[] z) {
+
+		// Handle the API request on the event-dispatcher thread.
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+
+	/**
+	 * Sets the data composing a mesh to be plotted, in the single precision.
+	 *
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendData(...) instead.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 */
+	public void setData(float[][] x, float[][] y, float[][] z) {
+
+		// Handle the API request on the event-dispatcher thread.
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+
+	/**
+	 * Sets the multiple data series (composing multiple meshes or lines) to be plotted, in the single precision.
+	 *
+	 * Please note that, the currently registered data series are cleared.
+	 * If you don't want to clear them, use appendData(...) instead.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 */
+	public void setData(float[][][] x, float[][][] y, float[][][] z) {
+
+		// Handle the API request on the event-dispatcher thread.
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+
+	/**
+	 * Appends the data composing a line, to the currently plotted data, in the single precision.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param y
+	 *     The array storing the Y-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param z
+	 *     The array storing the Z-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 */
+	public void appendData(float[] x, float[] y, float[] z) {
+
+		// Handle the API request on the event-dispatcher thread.
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+
+	/**
+	 * Appends the data composing a mesh, to the currently plotted data, in the single precision.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 */
+	public void appendData(float[][] x, float[][] y, float[][] z) {
+
+		// Handle the API request on the event-dispatcher thread.
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+
+	/**
+	 * Appends the multiple data series (composing multiple meshes or lines), to the currently plotted data, in the single precision.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 */
+	public void appendData(float[][][] x, float[][][] y, float[][][] z) {
+
+		// Handle the API request on the event-dispatcher thread.
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+
+	/**
+	 * Sets the data composing a line to be plotted, asynchronously.
+	 *
+	 * The data series are created (including the generation of visibilities and the detection of ranges) and plotted
+	 * on a background thread, and this method returns immediately without waiting for the event-dispatcher thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param y
+	 *     The array storing the Y-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param z
+	 *     The array storing the Z-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @return The future completed when the data has been plotted (or skipped by a newer setDataAsync request).
+	 */
+	public CompletableFuture<Void> setDataAsync(double[] x, double[] y, double[] z) {
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::createDataSeriesGroup, false);
+	}
+
+
+	/**
+	 * Sets the data composing a mesh to be plotted, asynchronously.
+	 *
+	 * The data series are created (including the generation of visibilities and the detection of ranges) and plotted
+	 * on a background thread, and this method returns immediately without waiting for the event-dispatcher thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @return The future completed when the data has been plotted (or skipped by a newer setDataAsync request).
+	 */
+	public CompletableFuture<Void> setDataAsync(double[][] x, double[][] y, double[][] z) {
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::createDataSeriesGroup, false);
+	}
+
+
+	/**
+	 * Sets the multiple data series (composing multiple meshes or lines) to be plotted, asynchronously.
+	 *
+	 * The data series are created (including the generation of visibilities and the detection of ranges) and plotted
+	 * on a background thread, and this method returns immediately without waiting for the event-dispatcher thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @return The future completed when the data has been plotted (or skipped by a newer setDataAsync request).
+	 */
+	public CompletableFuture<Void> setDataAsync(double[][][] x, double[][][] y, double[][][] z) {
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::createDataSeriesGroup, false);
+	}
+
+
+	/**
+	 * Appends the data composing a line, to the currently plotted data, asynchronously.
+	 *
+	 * The data series are created (including the generation of visibilities and the detection of ranges) and plotted
+	 * on a background thread, and this method returns immediately without waiting for the event-dispatcher thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param y
+	 *     The array storing the Y-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @param z
+	 *     The array storing the Z-coordinates of the node points of the line to be plotted,
+	 *     where its index is [nodeIndex].
+	 * @return The future completed when the data has been plotted (or skipped by a newer setDataAsync request).
+	 */
+	public CompletableFuture<Void> appendDataAsync(double[] x, double[] y, double[] z) {
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::createDataSeriesGroup, true);
+	}
+
+
+	/**
+	 * Appends the data composing a mesh, to the currently plotted data, asynchronously.
+	 *
+	 * The data series are created (including the generation of visibilities and the detection of ranges) and plotted
+	 * on a background thread, and this method returns immediately without waiting for the event-dispatcher thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid points of the mesh to be plotted,
+	 *     where its indices are [gridIndexA][gridIndexB].
+	 * @return The future completed when the data has been plotted (or skipped by a newer setDataAsync request).
+	 */
+	public CompletableFuture<Void> appendDataAsync(double[][] x, double[][] y, double[][] z) {
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::createDataSeriesGroup, true);
+	}
+
+
+	/**
+	 * Appends the multiple data series (composing multiple meshes or lines), to the currently plotted data, asynchronously.
+	 *
+	 * The data series are created (including the generation of visibilities and the detection of ranges) and plotted
+	 * on a background thread, and this method returns immediately without waiting for the event-dispatcher thread.
+	 * Don't modify the contents of the specified arrays after calling this method.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid/node points of the multiple data series to be plotted,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @return The future completed when the data has been plotted (or skipped by a newer setDataAsync request).
+	 */
+	public CompletableFuture<Void> appendDataAsync(double[][][] x, double[][][] y, double[][][] z) {
+		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::createDataSeriesGroup, true);
+	}
+
+
 	/**
 	 * The enum for specifying the mode of DataAPIListener.
 	 */
@@ -306,6 +658,24 @@ public class DataArrayIOHandler {
 		 */
 		private final double[][][] z;
 
+		/**
+		 * The array storing the single precision X-coordinates of the grid/node points of the multiple data series,
+		 * where its indices are [dataSeriesIndex][gridIndexA][gridIndexB] (null if the double precision coordinates are specified).
+		 */
+		private final float[][][] xFloat;
+
+		/**
+		 * The array storing the single precision Y-coordinates of the grid/node points of the multiple data series,
+		 * where its indices are [dataSeriesIndex][gridIndexA][gridIndexB] (null if the double precision coordinates are specified).
+		 */
+		private final float[][][] yFloat;
+
+		/**
+		 * The array storing the single precision Z-coordinates of the grid/node points of the multiple data series,
+		 * where its indices are [dataSeriesIndex][gridIndexA][gridIndexB] (null if the double precision coordinates are specified).
+		 */
+		private final float[][][] zFloat;
+
 		/**
 		 * The mode of this listener,
 		 * specifying the API handled by this listener from setData(x,y,z) and appendData(x,y,z).
@@ -332,6 +702,9 @@ public class DataArrayIOHandler {
 			this.x = new double[][][] { new double[][] { x } };
 			this.y = new double[][][] { new double[][] { y } };
 			this.z = new double[][][] { new double[][] { z } };
+			this.xFloat = null;
+			this.yFloat = null;
+			this.zFloat = null;
 			this.mode = mode;
 		}
 
@@ -355,6 +728,9 @@ public class DataArrayIOHandler {
 			this.x = new double[][][] { x };
 			this.y = new double[][][] { y };
 			this.z = new double[][][] { z };
+			this.xFloat = null;
+			this.yFloat = null;
+			this.zFloat = null;
 			this.mode = mode;
 		}
 
@@ -378,6 +754,87 @@ public class DataArrayIOHandler {
 			this.x = x;
 			this.y = y;
 			this.z = z;
+			this.xFloat = null;
+			this.yFloat = null;
+			this.zFloat = null;
+			this.mode = mode;
+		}
+
+		/**
+		 * Create an instance handling setData(float[] x, ...) or appendData(float[] x, ...)
+		 * API request with the specified argument.
+		 *
+		 * @param x
+		 *     The array storing the X-coordinates of the node points of a line,
+		 *     where its index is [nodeIndex].
+		 * @param y
+		 *     The array storing the Y-coordinates of the node points of a line,
+		 *     where its index is [nodeIndex].
+		 * @param z
+		 *     The array storing the Z-coordinates of the node points of a line,
+		 *     where its index is [nodeIndex].
+		 * @param mode
+		 *     Specify SET for handling setData(x,y,z) API, or APPEND for handling appendData(x,y,z) API.
+		 */
+		public DataAPIListener(float[] x, float[] y, float[] z, DataAPIListenerMode mode) {
+			this.x = null;
+			this.y = null;
+			this.z = null;
+			this.xFloat = new float[][][] { new float[][] { x } };
+			this.yFloat = new float[][][] { new float[][] { y } };
+			this.zFloat = new float[][][] { new float[][] { z } };
+			this.mode = mode;
+		}
+
+		/**
+		 * Create an instance handling setData(float[][] x, ...) or appendData(float[][] x, ...)
+		 * API request with the specified argument.
+		 *
+		 * @param x
+		 *     The array storing the X-coordinates of the grid points of a mesh,
+		 *     where its indices are [gridIndexA][gridIndexB].
+		 * @param y
+		 *     The array storing the Y-coordinates of the grid points of a mesh,
+		 *     where its indices are [gridIndexA][gridIndexB].
+		 * @param z
+		 *     The array storing the Z-coordinates of the grid points of a mesh,
+		 *     where its indices are [gridIndexA][gridIndexB].
+		 * @param mode
+		 *     Specify SET for handling setData(x,y,z) API, or APPEND for handling appendData(x,y,z) API.
+		 */
+		public DataAPIListener(float[][] x, float[][] y, float[][] z, DataAPIListenerMode mode) {
+			this.x = null;
+			this.y = null;
+			this.z = null;
+			this.xFloat = new float[][][] { x };
+			this.yFloat = new float[][][] { y };
+			this.zFloat = new float[][][] { z };
+			this.mode = mode;
+		}
+
+		/**
+		 * Create an instance handling setData(float[][][] x, ...) or appendData(float[][][] x, ...)
+		 * API request with the specified argument.
+		 *
+		 * @param x
+		 *     The array storing the X-coordinates of the grid/node points of the multiple data series,
+		 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+		 * @param y
+		 *     The array storing the Y-coordinates of the grid/node points of the multiple data series,
+		 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+		 * @param z
+		 *     The array storing the Z-coordinates of the grid/node points of the multiple data series,
+		 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+		 * @param mode
+		 *     Specify SET for handling setData(x,y,z) API, or APPEND for handling appendData(x,y,z) API.
+		 */
+		public DataAPIListener(float[][][] x, float[][][] y, float[][][] z, DataAPIListenerMode mode) {
+			this.x = null;
+			this.y = null;
+			this.z = null;
+			this.xFloat = x;
+			this.yFloat = y;
+			this.zFloat = z;
 			this.mode = mode;
 		}
 
@@ -389,17 +846,18 @@ public class DataArrayIOHandler {
 		 * @return The created visibility array.
 		 */
 		private boolean[][] generateVisibilities(int dataSeriesIndex) {
-			int nLeft = this.x[dataSeriesIndex].length;
+			boolean isFloat = this.xFloat != null;
+			int nLeft = isFloat ? this.xFloat[dataSeriesIndex].length : this.x[dataSeriesIndex].length;
 			boolean[][] visibilities = new boolean[nLeft][];
 
 			for (int iLeft=0; iLeft<nLeft; iLeft++) {
-					int nRight = this.x[dataSeriesIndex][iLeft].length;
+					int nRight = isFloat ? this.xFloat[dataSeriesIndex][iLeft].length : this.x[dataSeriesIndex][iLeft].length;
 					visibilities[iLeft] = new boolean[nRight];
 
 					for (int iRight=0; iRight<nRight; iRight++) {
-						double xOfThisPoint = this.x[dataSeriesIndex][iLeft][iRight];
-						double yOfThisPoint = this.y[dataSeriesIndex][iLeft][iRight];
-						double zOfThisPoint = this.z[dataSeriesIndex][iLeft][iRight];
+						double xOfThisPoint = isFloat ? this.xFloat[dataSeriesIndex][iLeft][iRight] : this.x[dataSeriesIndex][iLeft][iRight];
+						double yOfThisPoint = isFloat ? this.yFloat[dataSeriesIndex][iLeft][iRight] : this.y[dataSeriesIndex][iLeft][iRight];
+						double zOfThisPoint = isFloat ? this.zFloat[dataSeriesIndex][iLeft][iRight] : this.z[dataSeriesIndex][iLeft][iRight];
 						boolean containsNaN = Double.isNaN(xOfThisPoint) || Double.isNaN(yOfThisPoint) || Double.isNaN(zOfThisPoint);
 						visibilities[iLeft][iRight] = !containsNaN;
 					}
@@ -408,18 +866,38 @@ public class DataArrayIOHandler {
 		}
 
 
-		@Override
-		public void run() {
+		/**
+		 * Creates the data series from the specified coordinates, with generating their visibilities and detecting their ranges.
+		 *
+		 * This method can be called on any thread, e.g. the background thread for asynchronous APIs.
+		 *
+		 * @return The group of the created data series.
+		 */
+		public DataSeriesGroup<ArrayDataSeries> createDataSeriesGroup() {
 
 			// Stores the specified (multiple) data series into an array.
-			int dataSeriesCount = x.length;
+			// (The coordinates specified as float-type arrays are stored in the single precision as they are,
+			//  and the ones specified as double-type arrays are converted into the single precision if the feature is enabled.)
+			boolean isFloat = this.xFloat != null;
+			int dataSeriesCount = isFloat ? this.xFloat.length : this.x.length;
 			DataSeriesGroup<ArrayDataSeries> dataSeriesGroup = new DataSeriesGroup<ArrayDataSeries>();
 			for (int iseries=0; iseries<dataSeriesCount; iseries++) {
 
 				String legend = "No Name";
-				ArrayDataSeries arrayDataSeries = new ArrayDataSeries(
-						this.x[iseries], this.y[iseries], this.z[iseries], this.generateVisibilities(iseries), legend
-				);
+				FlatPointStorage points = null;
+				if (isFloat) {
+					points = FlatPointStorage.fromJaggedArrays(
+							this.xFloat[iseries], this.yFloat[iseries], this.zFloat[iseries], this.generateVisibilities(iseries)
+					);
+				} else {
+					points = FlatPointStorage.fromJaggedArrays(
+							this.x[iseries], this.y[iseries], this.z[iseries], this.generateVisibilities(iseries)
+					);
+					if (singlePrecisionStorageEnabled) {
+						points = points.toSinglePrecision();
+					}
+				}
+				ArrayDataSeries arrayDataSeries = new ArrayDataSeries(points, legend);
 				dataSeriesGroup.addDataSeries(arrayDataSeries);
 
 				// Don't do the following. We must register the multiple data series by an "atomic operation".
@@ -427,6 +905,13 @@ public class DataArrayIOHandler {
 				// ---
 				// model.addArrayDataSeries(arrayDataSeries);
 			}
+			return dataSeriesGroup;
+		}
+
+
+		@Override
+		public void run() {
+			DataSeriesGroup<ArrayDataSeries> dataSeriesGroup = this.createDataSeriesGroup();
 
 			// Set/add the above (multiple) data series to the Model layer.
 			switch (this.mode) {
@@ -444,10 +929,20 @@ public class DataArrayIOHandler {
 			}
 
 			// Re-plot the graph.
+			// For APPEND mode, plot only the appended data series if possible (without clearing already plotted contents).
+			boolean appended = this.mode == DataAPIListenerMode.APPEND;
 			if (asynchronousPlottingEnabled) {
-				presenter.renderingLoop.requestPlotting();
+				if (appended) {
+					presenter.renderingLoop.requestAppendedDataPlotting();
+				} else {
+					presenter.renderingLoop.requestPlotting();
+				}
 			} else {
-				presenter.plot();
+				if (appended) {
+					presenter.plotAppendedDataSeries();
+				} else {
+					presenter.plot();
+				}
 			}
 		}
 	}
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.FileNotFoundException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.SwingUtilities;
 
@@ -50,6 +51,9 @@ public final class DataFileIOHandler {
 	/** The flag for turning on/off the event handling feature of this instance. */
 	private volatile boolean eventHandlingEnabled = true;
 
+	/** The flag representing whether the coordinate values of the loaded data are stored in the single precision (float). */
+	private volatile boolean singlePrecisionStorageEnabled = false;
+
 
 	/**
 	 * Create a new instance handling events and API requests using the specified resources.
@@ -99,6 +103,17 @@ public final class DataFileIOHandler {
 	}
 
 
+	/**
+	 * Enables/disables the feature to store the coordinate values of the loaded data in the single precision (float),
+	 * which requires the half memory of the double precision.
+	 *
+	 * @param enabled Specify true to enable, false to disable.
+	 */
+	public synchronized void setSinglePrecisionStorageEnabled(boolean enabled) {
+		this.singlePrecisionStorageEnabled = enabled;
+	}
+
+
 
 
 
@@ -500,6 +515,64 @@ public final class DataFileIOHandler {
 	}
 
 
+	/**
+	 * Opens and plots the data file asynchronously, by inferring the data file format from the file content.
+	 *
+	 * The file is loaded and plotted on a background thread, and this method returns immediately.
+	 *
+	 * @param file The data file to be plotted.
+	 * @return The future completed when the data has been plotted (or skipped by a newer request), or has failed to be loaded.
+	 */
+	public CompletableFuture<Void> openDataFileAsync(File file) {
+		DataFileAPIListener apiListener = new DataFileAPIListener(file);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::loadDataFiles, false);
+	}
+
+
+	/**
+	 * Opens and plots the data file asynchronously, by the specified data file format.
+	 *
+	 * The file is loaded and plotted on a background thread, and this method returns immediately.
+	 *
+	 * @param file The data file to be plotted.
+	 * @param format The format of the data file.
+	 * @return The future completed when the data has been plotted (or skipped by a newer request), or has failed to be loaded.
+	 */
+	public CompletableFuture<Void> openDataFileAsync(File file, RinearnGraph3DDataFileFormat format) {
+		DataFileAPIListener apiListener = new DataFileAPIListener(file, format);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::loadDataFiles, false);
+	}
+
+
+	/**
+	 * Opens and plots the multiple data files asynchronously, by inferring the data file formats from the file contents.
+	 *
+	 * The files are loaded and plotted on a background thread, and this method returns immediately.
+	 *
+	 * @param files The data files to be plotted.
+	 * @return The future completed when the data has been plotted (or skipped by a newer request), or has failed to be loaded.
+	 */
+	public CompletableFuture<Void> openDataFilesAsync(File[] files) {
+		DataFileAPIListener apiListener = new DataFileAPIListener(files);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::loadDataFiles, false);
+	}
+
+
+	/**
+	 * Opens and plots the multiple data files asynchronously, by the specified data file formats.
+	 *
+	 * The files are loaded and plotted on a background thread, and this method returns immediately.
+	 *
+	 * @param files The data files to be plotted.
+	 * @param formats The formats of the data files.
+	 * @return The future completed when the data has been plotted (or skipped by a newer request), or has failed to be loaded.
+	 */
+	public CompletableFuture<Void> openDataFilesAsync(File[] files, RinearnGraph3DDataFileFormat[] formats) {
+		DataFileAPIListener apiListener = new DataFileAPIListener(files, formats);
+		return presenter.asynchronousDataUpdater.requestUpdate(apiListener::loadDataFiles, false);
+	}
+
+
 	/**
 	 * The class handling API requests from openDataFile(...) and openDataFiles(...) methods,
 	 * on event-dispatcher thread.
@@ -583,22 +656,23 @@ public final class DataFileIOHandler {
 		}
 
 		/**
-		 * Loads the data file.
+		 * Loads the data files, and returns the loaded data series.
+		 *
+		 * This method can be called on any thread, e.g. the background thread for asynchronous APIs.
+		 *
+		 * @return The data series loaded from all the data files.
+		 * @throws FileNotFoundException Thrown if any data file does not exist.
+		 * @throws IOException Thrown if it failed to load any data file, due to I/O errors, syntax errors, etc.
 		 */
-		@Override
-		public synchronized void run() {
-			DataFileIO dataFileIO = new DataFileIO();
+		public DataSeriesGroup<ArrayDataSeries> loadDataFiles() throws IOException {
+			DataFileIO dataFileIO = new DataFileIO(singlePrecisionStorageEnabled);
 			int dataFileCount = this.dataFiles.length;
 
-			// Clear the error info.
-			this.occurredException = null;
-
 			// Check that the data files exist.
 			for (File file: this.dataFiles) {
 				if (!file.exists()) {
 					String errorMessage = ErrorMessage.generateErrorMessage(ErrorType.DATA_FILE_NOT_FOUND, file.getName());
-					this.occurredException = new FileNotFoundException(errorMessage);
-					return;
+					throw new FileNotFoundException(errorMessage);
 				}
 			}
 
@@ -617,15 +691,33 @@ public final class DataFileIOHandler {
 
 				} catch (IOException ioe) {
 					String errorMessage = ErrorMessage.generateErrorMessage(ErrorType.FAILED_TO_LOAD_DATA_FILE, this.dataFiles[ifile].getPath());
-					this.occurredException = new IOException(errorMessage, ioe);
-					return;
+					throw new IOException(errorMessage, ioe);
 
 				} catch (DataFileFormatException dffe) {
 					String errorMessage = ErrorMessage.generateErrorMessage(ErrorType.FAILED_TO_LOAD_DATA_FILE, this.dataFiles[ifile].getPath());
-					this.occurredException = new IOException(errorMessage, dffe);
-					return;
+					throw new IOException(errorMessage, dffe);
 				}
 			}
+			return allDataSeriesGroup;
+		}
+
+		/**
+		 * Loads the data file.
+		 */
+		@Override
+		public synchronized void run() {
+
+			// Clear the error info.
+			this.occurredException = null;
+
+			// Load the data files.
+			DataSeriesGroup<ArrayDataSeries> allDataSeriesGroup = null;
+			try {
+				allDataSeriesGroup = this.loadDataFiles();
+			} catch (IOException ioe) {
+				this.occurredException = ioe;
+				return;
+			}
 
 			// Set the loaded data to Model.
 			model.dataStore.setArrayDataSeriesGroup(allDataSeriesGroup);
@@ -0,0 +1,232 @@
+package com.rinearn.graph3d.presenter.handler;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.SwingUtilities;
+
+import com.rinearn.graph3d.RinearnGraph3DDataStream;
+import com.rinearn.graph3d.model.Model;
+import com.rinearn.graph3d.model.data.series.StreamDataSeries;
+import com.rinearn.graph3d.presenter.Presenter;
+import com.rinearn.graph3d.view.View;
+
+/**
+ * The class handling API requests for plotting real-time data streams.
+ */
+public class DataStreamIOHandler {
+
+	/** The front-end class of "Model" layer, which provides internal logic procedures and so on. */
+	private final Model model;
+
+	/** The front-end class of "View" layer, which provides visible part of GUI without event handling. */
+	@SuppressWarnings("unused")
+	private final View view;
+
+	/** The front-end class of "Presenter" layer, which invokes Model's procedures triggered by user's action on GUI. */
+	private final Presenter presenter;
+
+
+	/**
+	 * Create a new instance handling events and API requests using the specified resources.
+	 *
+	 * @param model The front-end class of "Model" layer, which provides internal logic procedures and so on.
+	 * @param view The front-end class of "View" layer, which provides visible part of GUI without event handling.
+	 * @param presenter The front-end class of "Presenter" layer, which handles events occurred on GUI, and API requests.
+	 */
+	public DataStreamIOHandler(Model model, View view, Presenter presenter) {
+		this.model = model;
+		this.view = view;
+		this.presenter = presenter;
+	}
+
+
+	/**
+	 * Turns on/off the event handling feature of this instance.
+	 *
+	 * @param enabled Specify false for turning off the event handling feature (enabled by default).
+	 */
+	public synchronized void setEventHandlingEnabled(boolean enabled) {
+		// This class does not provide event listeners, so do nothing.
+	}
+
+
+	// ================================================================================
+	//
+	// - API Request Handlings -
+	//
+	// ================================================================================
+
+
+	/**
+	 * Creates a new data stream, and registers it as a data series to be plotted.
+	 *
+	 * @param capacity The maximum number of the points stored in the data stream.
+	 * @return The created data stream.
+	 */
+	public RinearnGraph3DDataStream createDataStream(int capacity) {
+		DataStream dataStream = new DataStream(new StreamDataSeries(capacity, "No Name"));
+
+		// Handle the API request on the event-dispatcher thread.
+		DataStreamAPIListener apiListener = new DataStreamAPIListener(dataStream, DataStreamAPIListenerMode.CREATE);
+		this.invokeOnEventDispatchThread(apiListener);
+		return dataStream;
+	}
+
+
+	/**
+	 * Removes the specified data stream, from the data series to be plotted.
+	 *
+	 * @param dataStream The data stream to be removed (created by createDataStream(int)).
+	 */
+	public void removeDataStream(RinearnGraph3DDataStream dataStream) {
+		if (!(dataStream instanceof DataStream)) {
+			throw new IllegalArgumentException("The specified data stream has not been created by this application.");
+		}
+
+		// Handle the API request on the event-dispatcher thread.
+		DataStreamAPIListener apiListener = new DataStreamAPIListener((DataStream)dataStream, DataStreamAPIListenerMode.REMOVE);
+		this.invokeOnEventDispatchThread(apiListener);
+	}
+
+
+	/**
+	 * Runs the specified API listener on the event-dispatcher thread, and waits for its completion.
+	 *
+	 * @param apiListener The API listener to be run.
+	 */
+	private void invokeOnEventDispatchThread(Runnable apiListener) {
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+
+	// ================================================================================
+	//
+	// - Data Stream Implementation -
+	//
+	// ================================================================================
+
+
+	/**
+	 * The implementation of the data stream, which appends points to the stream data series in the Model layer.
+	 *
+	 * Appending points is performed directly on the caller's thread (not on the event-dispatcher thread),
+	 * because it may be called at high frequency (e.g. 100 Hz).
+	 * The re-plotting is requested to the rendering loop, which coalesces multiple requests into a single plotting.
+	 */
+	private final class DataStream implements RinearnGraph3DDataStream {
+
+		/** The data series storing the points of this stream. */
+		private final StreamDataSeries streamDataSeries;
+
+		/**
+		 * Creates a new data stream appending points to the specified data series.
+		 *
+		 * @param streamDataSeries The data series storing the points of this stream.
+		 */
+		public DataStream(StreamDataSeries streamDataSeries) {
+			this.streamDataSeries = streamDataSeries;
+		}
+
+		@Override
+		public void append(double x, double y, double z) {
+			this.streamDataSeries.append(x, y, z);
+			presenter.renderingLoop.requestPlotting();
+		}
+
+		@Override
+		public void append(double[] x, double[] y, double[] z) {
+			this.streamDataSeries.append(x, y, z);
+			presenter.renderingLoop.requestPlotting();
+		}
+
+		@Override
+		public void clear() {
+			this.streamDataSeries.clear();
+			presenter.renderingLoop.requestPlotting();
+		}
+
+		@Override
+		public int getCapacity() {
+			return this.streamDataSeries.getCapacity();
+		}
+
+		@Override
+		public int getSize() {
+			return this.streamDataSeries.getSize();
+		}
+	}
+
+
+	// ================================================================================
+	//
+	// - API Listeners -
+	//
+	// ================================================================================
+
+
+	/**
+	 * The enum for specifying the mode of DataStreamAPIListener.
+	 */
+	private enum DataStreamAPIListenerMode {
+
+		/** The mode for handling createDataStream(capacity) API. */
+		CREATE,
+
+		/** The mode for handling removeDataStream(dataStream) API. */
+		REMOVE;
+	}
+
+
+	/**
+	 * The class handling API requests from createDataStream(capacity) and removeDataStream(dataStream) methods,
+	 * on event-dispatcher thread.
+	 */
+	private final class DataStreamAPIListener implements Runnable {
+
+		/** The data stream to be registered/removed. */
+		private final DataStream dataStream;
+
+		/** The mode of this listener, specifying the API handled by this listener. */
+		private final DataStreamAPIListenerMode mode;
+
+		/**
+		 * Create an instance handling createDataStream(capacity) or removeDataStream(dataStream) API request.
+		 *
+		 * @param dataStream The data stream to be registered/removed.
+		 * @param mode Specify CREATE for handling createDataStream API, or REMOVE for handling removeDataStream API.
+		 */
+		public DataStreamAPIListener(DataStream dataStream, DataStreamAPIListenerMode mode) {
+			this.dataStream = dataStream;
+			this.mode = mode;
+		}
+
+		@Override
+		public void run() {
+			switch (this.mode) {
+				case CREATE : {
+					model.dataStore.addStreamDataSeries(this.dataStream.streamDataSeries);
+					break;
+				}
+				case REMOVE : {
+					model.dataStore.removeStreamDataSeries(this.dataStream.streamDataSeries);
+					break;
+				}
+				default : {
+					throw new IllegalStateException("Unexpected mode: " + this.mode);
+				}
+			}
+
+			// Re-plot the graph asynchronously, in the same way as appending points.
+			presenter.renderingLoop.requestPlotting();
+		}
+	}
+}
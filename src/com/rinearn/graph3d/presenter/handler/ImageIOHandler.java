@@ -61,6 +61,9 @@ public final class ImageIOHandler {
 	/** The path of the last selected directory to save the image file. */
 	private volatile String lastDirectoryPath = ".";
 
+	/** The buffer reused for copying the screen image when exporting image files (null until the first export). */
+	private volatile BufferedImage exportImageBuffer = null;
+
 
 	/**
 	 * Create a new instance handling events and API requests using the specified resources.
@@ -343,7 +346,7 @@ public final class ImageIOHandler {
 	public BufferedImage copyImage(int bufferedImageType, boolean transfersToClipboard) throws IOException {
 
 		// Copy and transfer the screen image on the event-dispatcher thread.
-		CopyImageAPIListener apiListener = new CopyImageAPIListener(bufferedImageType, transfersToClipboard);
+		CopyImageAPIListener apiListener = new CopyImageAPIListener(null, bufferedImageType, transfersToClipboard);
 		if (SwingUtilities.isEventDispatchThread()) {
 			apiListener.run();
 		} else {
@@ -363,6 +366,35 @@ public final class ImageIOHandler {
 	}
 
 
+	/**
+	 * Copies the current screen image to the specified buffer if it is reusable, otherwise to a newly allocated buffer.
+	 *
+	 * The specified buffer is reused when its width/height are the same as the screen and its type is "bufferedImageType".
+	 * By passing the returned buffer to the next call, the screen image can be copied repeatedly (e.g. for streaming frames)
+	 * without allocating large buffers for each copy.
+	 *
+	 * @param buffer The buffer to be reused (may be null).
+	 * @param bufferedImageType The type of the buffered image to be returned by the API (e.g.: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, etc.)
+	 * @return The buffer storing the copy of the current screen image (the specified one if reused).
+	 */
+	public BufferedImage copyImage(BufferedImage buffer, int bufferedImageType) {
+
+		// Copy the screen image on the event-dispatcher thread.
+		CopyImageAPIListener apiListener = new CopyImageAPIListener(buffer, bufferedImageType, false);
+		if (SwingUtilities.isEventDispatchThread()) {
+			apiListener.run();
+		} else {
+			try {
+				SwingUtilities.invokeAndWait(apiListener);
+			} catch (InvocationTargetException | InterruptedException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+		return apiListener.getCopiedImage();
+	}
+
+
 	/**
 	 * The class handling API requests from copyImage(boolean) method,
 	 * on the event-dispatcher thread.
@@ -391,10 +423,12 @@ public final class ImageIOHandler {
 		/**
 		 * Create a new instance to copy/transfer the screen image.
 		 *
+		 * @param reusableBuffer The buffer to be reused for copying the screen image if possible (may be null).
 		 * @param bufferedImageType The type of the buffered image to be returned by the API (e.g.: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, etc.)
 		 * @param transfersToClipboard Specify true for transferring the copied image to the clipboard.
 		 */
-		public CopyImageAPIListener(int bufferedImageType, boolean transfersToClipboard) {
+		public CopyImageAPIListener(BufferedImage reusableBuffer, int bufferedImageType, boolean transfersToClipboard) {
+			this.copiedImage = reusableBuffer;
 			this.bufferedImageType = bufferedImageType;
 			this.transfersToClipboard = transfersToClipboard;
 		}
@@ -435,8 +469,8 @@ public final class ImageIOHandler {
 		@Override
 		public synchronized void run() {
 
-			// Copy the current screen image.
-			this.copiedImage = presenter.renderingLoop.copyScreenImage(this.bufferedImageType);
+			// Copy the current screen image (to the reusable buffer, if it has been specified and its size/type match).
+			this.copiedImage = presenter.renderingLoop.copyScreenImage(this.copiedImage, this.bufferedImageType);
 
 			// If required, transfer the copied image to the clipboard.
 			if (this.transfersToClipboard) {
@@ -590,7 +624,9 @@ public final class ImageIOHandler {
 			}
 
 			// Copy the current image of the graph screen.
-			BufferedImage screenImage = presenter.renderingLoop.copyScreenImage(bufferedImageType);
+			// (The buffer is reused between exports, because the copied image is no longer referenced after it has been saved.)
+			BufferedImage screenImage = presenter.renderingLoop.copyScreenImage(exportImageBuffer, bufferedImageType);
+			exportImageBuffer = screenImage;
 
 			// Save the above image as the specified image file.
 			ImageFileIO imageFileIO = new ImageFileIO();
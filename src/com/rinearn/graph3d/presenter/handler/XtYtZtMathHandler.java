@@ -1,5 +1,6 @@
 package com.rinearn.graph3d.presenter.handler;
 
+import com.rinearn.graph3d.config.data.DataConfiguration;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.XtYtZtMathDataSeries;
 import com.rinearn.graph3d.presenter.Presenter;
@@ -176,6 +177,18 @@ public class XtYtZtMathHandler {
 	}
 
 
+	/**
+	 * Applies the configuration of the adaptive sampling mode to the specified math data series.
+	 *
+	 * @param mathDataSeries The math data series to which the configuration is applied.
+	 */
+	private void applyAdaptiveSamplingConfiguration(XtYtZtMathDataSeries mathDataSeries) {
+		DataConfiguration dataConfig = this.model.config.getDataConfiguration();
+		mathDataSeries.setAdaptiveSamplingEnabled(dataConfig.isMathAdaptiveSamplingEnabled());
+		mathDataSeries.setAdaptiveSamplingTolerance(dataConfig.getMathAdaptiveSamplingTolerance());
+	}
+
+
 	/**
 	 * The event listener handling the event that PLOT/UPDATE button is pressed.
 	 */
@@ -239,6 +252,7 @@ public class XtYtZtMathHandler {
 							xtMathExpression, ytMathExpression, ztMathExpression, timeMin, timeMax, timeDiscretizationCount,
 							model.scriptEngineMount, model.config
 					);
+					applyAdaptiveSamplingConfiguration(mathDataSeries);
 					model.dataStore.addMathDataSeries(mathDataSeries);
 
 					// Switches to UPDATE mode to update the above data series.
@@ -249,6 +263,7 @@ public class XtYtZtMathHandler {
 
 				// Update the math expression of the existing data series.
 				case UPDATE: {
+					applyAdaptiveSamplingConfiguration(updateTargetMathDataSeries);
 					updateTargetMathDataSeries.update(xtMathExpression, ytMathExpression, ztMathExpression, timeMin, timeMax, timeDiscretizationCount);
 					break;
 				}
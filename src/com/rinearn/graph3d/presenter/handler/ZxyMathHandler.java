@@ -1,5 +1,6 @@
 package com.rinearn.graph3d.presenter.handler;
 
+import com.rinearn.graph3d.config.data.DataConfiguration;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.ZxyMathDataSeries;
 import com.rinearn.graph3d.presenter.Presenter;
@@ -150,6 +151,18 @@ public class ZxyMathHandler {
 	}
 
 
+	/**
+	 * Applies the configuration of the adaptive sampling mode to the specified math data series.
+	 *
+	 * @param mathDataSeries The math data series to which the configuration is applied.
+	 */
+	private void applyAdaptiveSamplingConfiguration(ZxyMathDataSeries mathDataSeries) {
+		DataConfiguration dataConfig = this.model.config.getDataConfiguration();
+		mathDataSeries.setAdaptiveSamplingEnabled(dataConfig.isMathAdaptiveSamplingEnabled());
+		mathDataSeries.setAdaptiveSamplingTolerance(dataConfig.getMathAdaptiveSamplingTolerance());
+	}
+
+
 	/**
 	 * The event listener handling the event that PLOT/UPDATE button is pressed.
 	 */
@@ -200,6 +213,7 @@ public class ZxyMathHandler {
 							zMathExpression, xDiscretizationCount, yDiscretizationCount,
 							model.scriptEngineMount, model.config
 					);
+					applyAdaptiveSamplingConfiguration(mathDataSeries);
 					model.dataStore.addMathDataSeries(mathDataSeries);
 
 					// Switches to UPDATE mode to update the above data series.
@@ -210,6 +224,7 @@ public class ZxyMathHandler {
 
 				// Update the math expression of the existing data series.
 				case UPDATE: {
+					applyAdaptiveSamplingConfiguration(updateTargetMathDataSeries);
 					updateTargetMathDataSeries.update(zMathExpression, xDiscretizationCount, yDiscretizationCount);
 					break;
 				}
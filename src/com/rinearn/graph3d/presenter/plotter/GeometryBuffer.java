@@ -0,0 +1,403 @@
+package com.rinearn.graph3d.presenter.plotter;
+
+import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
+import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
+
+import java.util.Arrays;
+
+
+/**
+ * The buffer to which plotters draw the geometries of data series, instead of drawing them to the renderer directly.
+ *
+ * A buffer records the drawing operations, and draws them to the renderer later when drawTo(renderer) is called.
+ * The geometries of multiple data series can be generated concurrently into separate buffers in this way,
+ * and then drawn to the renderer in the deterministic order.
+ * Also, a buffer can be drawn repeatedly, so the geometries of unchanged data series can be cached and reused.
+ *
+ * The operations are recorded in the primitive arrays (not as objects for each operation),
+ * because a data series may consist of a large number of points or lines.
+ */
+public final class GeometryBuffer {
+
+	/** The operation code of drawPoint. */
+	private static final byte POINT = 0;
+
+	/** The operation code of drawLine. */
+	private static final byte LINE = 1;
+
+	/** The operation code of drawTriangle. */
+	private static final byte TRIANGLE = 2;
+
+	/** The operation code of drawQuadrangle. */
+	private static final byte QUADRANGLE = 3;
+
+	/** The operation code of drawIndexedLines. */
+	private static final byte INDEXED_LINES = 4;
+
+	/** The operation code of drawIndexedQuadrangles. */
+	private static final byte INDEXED_QUADRANGLES = 5;
+
+	/** The operation code for setting the depth offset amounts of a drawing parameter. */
+	private static final byte DEPTH_OFFSETS = 6;
+
+	/** The operation code of drawIndexedTriangles. */
+	private static final byte INDEXED_TRIANGLES = 7;
+
+	/** The initial capacity of the arrays storing the recorded operations. */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** The codes of the recorded operations. */
+	private byte[] operationCodes;
+
+	/** The number of the recorded operations. */
+	private int operationCount = 0;
+
+	/** The numerical operands (coordinates, radii, widths, etc.) of the recorded operations. */
+	private double[] numericOperands;
+
+	/** The number of the stored numerical operands. */
+	private int numericOperandCount = 0;
+
+	/** The object operands (drawing parameters, vertex arrays, etc.) of the recorded operations. */
+	private Object[] objectOperands;
+
+	/** The number of the stored object operands. */
+	private int objectOperandCount = 0;
+
+	/** The drawing parameter of which depth offset amounts have been recorded lastly. */
+	private RinearnGraph3DDrawingParameter lastOffsetParameter = null;
+
+	/** The depth offset amounts recorded lastly. */
+	private double[] lastOffsetAmounts = null;
+
+
+	/**
+	 * Creates a new buffer recording the drawing operations, to draw them later by drawTo(renderer) method.
+	 */
+	public GeometryBuffer() {
+		this.operationCodes = new byte[INITIAL_CAPACITY];
+		this.numericOperands = new double[INITIAL_CAPACITY * 8];
+		this.objectOperands = new Object[INITIAL_CAPACITY];
+	}
+
+
+	/**
+	 * Draws a point.
+	 *
+	 * @param x The X coordinate value of the point.
+	 * @param y The Y coordinate value of the point.
+	 * @param z The Z coordinate value of the point.
+	 * @param radius The radius (in pixels) of the point.
+	 * @param parameter The drawing parameter.
+	 */
+	public void drawPoint(double x, double y, double z, double radius, RinearnGraph3DDrawingParameter parameter) {
+		this.recordDepthOffsets(parameter);
+		this.recordOperation(POINT, 4, 1);
+		this.numericOperands[this.numericOperandCount++] = x;
+		this.numericOperands[this.numericOperandCount++] = y;
+		this.numericOperands[this.numericOperandCount++] = z;
+		this.numericOperands[this.numericOperandCount++] = radius;
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Draws a line.
+	 *
+	 * @param aX The X coordinate value of the edge point A.
+	 * @param aY The Y coordinate value of the edge point A.
+	 * @param aZ The Z coordinate value of the edge point A.
+	 * @param bX The X coordinate value of the edge point B.
+	 * @param bY The Y coordinate value of the edge point B.
+	 * @param bZ The Z coordinate value of the edge point B.
+	 * @param width The width (in pixels) of the line.
+	 * @param parameter The drawing parameter.
+	 */
+	public void drawLine(double aX, double aY, double aZ, double bX, double bY, double bZ,
+			double width, RinearnGraph3DDrawingParameter parameter) {
+
+		this.recordDepthOffsets(parameter);
+		this.recordOperation(LINE, 7, 1);
+		this.recordCoordinates(aX, aY, aZ);
+		this.recordCoordinates(bX, bY, bZ);
+		this.numericOperands[this.numericOperandCount++] = width;
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Draws a triangle.
+	 *
+	 * @param aX The X coordinate value of the vertex A.
+	 * @param aY The Y coordinate value of the vertex A.
+	 * @param aZ The Z coordinate value of the vertex A.
+	 * @param bX The X coordinate value of the vertex B.
+	 * @param bY The Y coordinate value of the vertex B.
+	 * @param bZ The Z coordinate value of the vertex B.
+	 * @param cX The X coordinate value of the vertex C.
+	 * @param cY The Y coordinate value of the vertex C.
+	 * @param cZ The Z coordinate value of the vertex C.
+	 * @param parameter The drawing parameter.
+	 */
+	public void drawTriangle(double aX, double aY, double aZ, double bX, double bY, double bZ,
+			double cX, double cY, double cZ, RinearnGraph3DDrawingParameter parameter) {
+
+		this.recordDepthOffsets(parameter);
+		this.recordOperation(TRIANGLE, 9, 1);
+		this.recordCoordinates(aX, aY, aZ);
+		this.recordCoordinates(bX, bY, bZ);
+		this.recordCoordinates(cX, cY, cZ);
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Draws a quadrangle.
+	 *
+	 * @param aX The X coordinate value of the vertex A.
+	 * @param aY The Y coordinate value of the vertex A.
+	 * @param aZ The Z coordinate value of the vertex A.
+	 * @param bX The X coordinate value of the vertex B.
+	 * @param bY The Y coordinate value of the vertex B.
+	 * @param bZ The Z coordinate value of the vertex B.
+	 * @param cX The X coordinate value of the vertex C.
+	 * @param cY The Y coordinate value of the vertex C.
+	 * @param cZ The Z coordinate value of the vertex C.
+	 * @param dX The X coordinate value of the vertex D.
+	 * @param dY The Y coordinate value of the vertex D.
+	 * @param dZ The Z coordinate value of the vertex D.
+	 * @param parameter The drawing parameter.
+	 */
+	public void drawQuadrangle(double aX, double aY, double aZ, double bX, double bY, double bZ,
+			double cX, double cY, double cZ, double dX, double dY, double dZ, RinearnGraph3DDrawingParameter parameter) {
+
+		this.recordDepthOffsets(parameter);
+		this.recordOperation(QUADRANGLE, 12, 1);
+		this.recordCoordinates(aX, aY, aZ);
+		this.recordCoordinates(bX, bY, bZ);
+		this.recordCoordinates(cX, cY, cZ);
+		this.recordCoordinates(dX, dY, dZ);
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Draws multiple lines sharing the vertices.
+	 *
+	 * Note that the specified arrays are stored without copying them, so don't modify them after calling this method.
+	 *
+	 * @param xCoords The X coordinate values of the vertices.
+	 * @param yCoords The Y coordinate values of the vertices.
+	 * @param zCoords The Z coordinate values of the vertices.
+	 * @param vertexIndices The indices of the edge points of the lines, in the order [a0, b0, a1, b1, ...].
+	 * @param width The width (in pixels) of the lines.
+	 * @param parameter The drawing parameter.
+	 */
+	public void drawIndexedLines(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, double width, RinearnGraph3DDrawingParameter parameter) {
+
+		this.recordDepthOffsets(parameter);
+		this.recordOperation(INDEXED_LINES, 1, 5);
+		this.numericOperands[this.numericOperandCount++] = width;
+		this.objectOperands[this.objectOperandCount++] = xCoords;
+		this.objectOperands[this.objectOperandCount++] = yCoords;
+		this.objectOperands[this.objectOperandCount++] = zCoords;
+		this.objectOperands[this.objectOperandCount++] = vertexIndices;
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Draws multiple triangles sharing the vertices.
+	 *
+	 * Note that the specified arrays are stored without copying them, so don't modify them after calling this method.
+	 *
+	 * @param xCoords The X coordinate values of the vertices.
+	 * @param yCoords The Y coordinate values of the vertices.
+	 * @param zCoords The Z coordinate values of the vertices.
+	 * @param vertexIndices The indices of the vertices of the triangles, in the order [a0, b0, c0, a1, b1, c1, ...].
+	 * @param parameter The drawing parameter.
+	 */
+	public void drawIndexedTriangles(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, RinearnGraph3DDrawingParameter parameter) {
+
+		this.recordDepthOffsets(parameter);
+		this.recordOperation(INDEXED_TRIANGLES, 0, 5);
+		this.objectOperands[this.objectOperandCount++] = xCoords;
+		this.objectOperands[this.objectOperandCount++] = yCoords;
+		this.objectOperands[this.objectOperandCount++] = zCoords;
+		this.objectOperands[this.objectOperandCount++] = vertexIndices;
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Draws multiple quadrangles sharing the vertices.
+	 *
+	 * Note that the specified arrays are stored without copying them, so don't modify them after calling this method.
+	 *
+	 * @param xCoords The X coordinate values of the vertices.
+	 * @param yCoords The Y coordinate values of the vertices.
+	 * @param zCoords The Z coordinate values of the vertices.
+	 * @param vertexIndices The indices of the vertices of the quadrangles, in the order [a0, b0, c0, d0, a1, b1, c1, d1, ...].
+	 * @param parameter The drawing parameter.
+	 */
+	public void drawIndexedQuadrangles(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, RinearnGraph3DDrawingParameter parameter) {
+
+		this.recordDepthOffsets(parameter);
+		this.recordOperation(INDEXED_QUADRANGLES, 0, 5);
+		this.objectOperands[this.objectOperandCount++] = xCoords;
+		this.objectOperands[this.objectOperandCount++] = yCoords;
+		this.objectOperands[this.objectOperandCount++] = zCoords;
+		this.objectOperands[this.objectOperandCount++] = vertexIndices;
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Draws all the recorded operations to the specified renderer, in the recorded order.
+	 *
+	 * This method can be called multiple times, e.g. for drawing the cached geometry again after the renderer is cleared.
+	 *
+	 * @param renderer The renderer to which the recorded operations are drawn.
+	 */
+	public void drawTo(RinearnGraph3DRenderer renderer) {
+
+		// Short aliases of the operand arrays.
+		double[] n = this.numericOperands;
+		Object[] o = this.objectOperands;
+
+		int ni = 0;
+		int oi = 0;
+		for (int iop=0; iop<this.operationCount; iop++) {
+			switch (this.operationCodes[iop]) {
+				case POINT : {
+					renderer.drawPoint(n[ni], n[ni+1], n[ni+2], n[ni+3], (RinearnGraph3DDrawingParameter)o[oi]);
+					ni += 4;
+					oi += 1;
+					break;
+				}
+				case LINE : {
+					renderer.drawLine(
+							n[ni], n[ni+1], n[ni+2], n[ni+3], n[ni+4], n[ni+5], n[ni+6],
+							(RinearnGraph3DDrawingParameter)o[oi]
+					);
+					ni += 7;
+					oi += 1;
+					break;
+				}
+				case TRIANGLE : {
+					renderer.drawTriangle(
+							n[ni], n[ni+1], n[ni+2], n[ni+3], n[ni+4], n[ni+5], n[ni+6], n[ni+7], n[ni+8],
+							(RinearnGraph3DDrawingParameter)o[oi]
+					);
+					ni += 9;
+					oi += 1;
+					break;
+				}
+				case QUADRANGLE : {
+					renderer.drawQuadrangle(
+							n[ni], n[ni+1], n[ni+2], n[ni+3], n[ni+4], n[ni+5],
+							n[ni+6], n[ni+7], n[ni+8], n[ni+9], n[ni+10], n[ni+11],
+							(RinearnGraph3DDrawingParameter)o[oi]
+					);
+					ni += 12;
+					oi += 1;
+					break;
+				}
+				case INDEXED_LINES : {
+					renderer.drawIndexedLines(
+							(double[])o[oi], (double[])o[oi+1], (double[])o[oi+2], (int[])o[oi+3], n[ni],
+							(RinearnGraph3DDrawingParameter)o[oi+4]
+					);
+					ni += 1;
+					oi += 5;
+					break;
+				}
+				case INDEXED_TRIANGLES : {
+					renderer.drawIndexedTriangles(
+							(double[])o[oi], (double[])o[oi+1], (double[])o[oi+2], (int[])o[oi+3],
+							(RinearnGraph3DDrawingParameter)o[oi+4]
+					);
+					oi += 5;
+					break;
+				}
+				case INDEXED_QUADRANGLES : {
+					renderer.drawIndexedQuadrangles(
+							(double[])o[oi], (double[])o[oi+1], (double[])o[oi+2], (int[])o[oi+3],
+							(RinearnGraph3DDrawingParameter)o[oi+4]
+					);
+					oi += 5;
+					break;
+				}
+				case DEPTH_OFFSETS : {
+					((RinearnGraph3DDrawingParameter)o[oi]).setDepthOffsetAmounts(n[ni], n[ni+1], n[ni+2]);
+					ni += 3;
+					oi += 1;
+					break;
+				}
+				default : {
+					throw new IllegalStateException("Unexpected operation code: " + this.operationCodes[iop]);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Records the depth offset amounts of the specified drawing parameter, if they have been changed from the last recorded ones.
+	 *
+	 * Some plotters draw the geometries while changing the depth offset amounts of a drawing parameter,
+	 * so they are recorded as operations, and restored to the parameter when the recorded operations are drawn.
+	 *
+	 * @param parameter The drawing parameter of the operation to be recorded.
+	 */
+	private void recordDepthOffsets(RinearnGraph3DDrawingParameter parameter) {
+		double[] offsetAmounts = parameter.getDepthOffsetAmounts();
+		if (parameter == this.lastOffsetParameter && Arrays.equals(offsetAmounts, this.lastOffsetAmounts)) {
+			return;
+		}
+		this.lastOffsetParameter = parameter;
+		this.lastOffsetAmounts = offsetAmounts;
+
+		this.recordOperation(DEPTH_OFFSETS, 3, 1);
+		this.recordCoordinates(offsetAmounts[0], offsetAmounts[1], offsetAmounts[2]);
+		this.objectOperands[this.objectOperandCount++] = parameter;
+	}
+
+
+	/**
+	 * Records the code of an operation, and ensures the capacities of the operand arrays.
+	 *
+	 * @param operationCode The code of the operation.
+	 * @param numericOperandCount The number of the numerical operands of the operation.
+	 * @param objectOperandCount The number of the object operands of the operation.
+	 */
+	private void recordOperation(byte operationCode, int numericOperandCount, int objectOperandCount) {
+		if (this.operationCount == this.operationCodes.length) {
+			this.operationCodes = Arrays.copyOf(this.operationCodes, this.operationCodes.length * 2);
+		}
+		if (this.numericOperands.length < this.numericOperandCount + numericOperandCount) {
+			this.numericOperands = Arrays.copyOf(this.numericOperands, this.numericOperands.length * 2);
+		}
+		if (this.objectOperands.length < this.objectOperandCount + objectOperandCount) {
+			this.objectOperands = Arrays.copyOf(this.objectOperands, this.objectOperands.length * 2);
+		}
+		this.operationCodes[this.operationCount++] = operationCode;
+	}
+
+
+	/**
+	 * Appends the specified coordinate values to the numerical operands.
+	 *
+	 * @param x The X coordinate value.
+	 * @param y The Y coordinate value.
+	 * @param z The Z coordinate value.
+	 */
+	private void recordCoordinates(double x, double y, double z) {
+		this.numericOperands[this.numericOperandCount++] = x;
+		this.numericOperands[this.numericOperandCount++] = y;
+		this.numericOperands[this.numericOperandCount++] = z;
+	}
+}
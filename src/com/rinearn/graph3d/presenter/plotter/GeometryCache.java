@@ -0,0 +1,153 @@
+package com.rinearn.graph3d.presenter.plotter;
+
+import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
+import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The cache of the geometries of data series generated by a plotter,
+ * for skipping the re-generation of the geometries of unchanged data series at re-plotting.
+ *
+ * A cached geometry is reused only while the following conditions are satisfied:
+ *
+ *   1. The FlatPointStorage instance of the data series is the same instance as the one from which the geometry was generated.
+ *      (Data series replace their point storages by new ones when their data are changed,
+ *       e.g. math data series re-compute their coordinates, or stream data series take new snapshots.)
+ *      The plotter should get the point storage only once before generating the geometry,
+ *      and use the same instance for the generation and for the arguments of get(...) and put(...),
+ *      because the point storage of the data series may be replaced (e.g. by another thread) during the generation.
+ *
+ *   2. The "key" is equal to the one at the generation time.
+ *      The key is a list of all the values affecting the generated geometry other than the data,
+ *      e.g. the index of the data series, and the configuration values referred by the plotter.
+ *
+ * Note that the geometries are recorded in the data coordinates, and scaled by the renderer when they are drawn,
+ * so changes of the axis ranges/scales don't require re-generation of them,
+ * unless the plotter refers the ranges to generate the geometries (in which case they should be contained in the key).
+ */
+public final class GeometryCache {
+
+	/** The cached entries, of which keys are data series (compared by their identities). */
+	private final Map<AbstractDataSeries, Entry> entries = new IdentityHashMap<AbstractDataSeries, Entry>();
+
+
+	/**
+	 * Creates a new empty cache.
+	 */
+	public GeometryCache() {
+	}
+
+
+	/**
+	 * Gets the cached geometry of the specified data series, if it is still valid.
+	 *
+	 * @param dataSeries The data series of which geometry is requested.
+	 * @param points The current point storage of the data series.
+	 * @param key The list of the values, other than the data, affecting the geometry.
+	 * @return The cached geometry (null if it is not cached or is invalid).
+	 */
+	public synchronized GeometryBuffer get(AbstractDataSeries dataSeries, FlatPointStorage points, List<Object> key) {
+		Entry entry = this.entries.get(dataSeries);
+		if (entry == null || !entry.isValid(points, key)) {
+			return null;
+		}
+		return entry.geometry;
+	}
+
+
+	/**
+	 * Stores the generated geometry of the specified data series.
+	 *
+	 * @param dataSeries The data series of which geometry has been generated.
+	 * @param points The point storage from which the geometry has been generated.
+	 * @param key The list of the values, other than the data, affecting the geometry.
+	 * @param geometry The generated geometry.
+	 */
+	public synchronized void put(AbstractDataSeries dataSeries, FlatPointStorage points, List<Object> key, GeometryBuffer geometry) {
+		this.entries.put(dataSeries, new Entry(points, key, geometry));
+	}
+
+
+	/**
+	 * Removes the cached geometry of the specified data series, e.g. when its geometry is too large to be cached.
+	 *
+	 * @param dataSeries The data series of which geometry is removed.
+	 */
+	public synchronized void remove(AbstractDataSeries dataSeries) {
+		this.entries.remove(dataSeries);
+	}
+
+
+	/**
+	 * Removes the cached geometries of the data series which are not contained in the specified group.
+	 *
+	 * @param dataSeriesGroup The group of the data series to be retained.
+	 */
+	public synchronized void retain(DataSeriesGroup<AbstractDataSeries> dataSeriesGroup) {
+		Map<AbstractDataSeries, Entry> retainedEntries = new IdentityHashMap<AbstractDataSeries, Entry>();
+		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
+		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			AbstractDataSeries dataSeries = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex);
+			Entry entry = this.entries.get(dataSeries);
+			if (entry != null) {
+				retainedEntries.put(dataSeries, entry);
+			}
+		}
+		this.entries.clear();
+		this.entries.putAll(retainedEntries);
+	}
+
+
+	/**
+	 * Removes all the cached geometries.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+	}
+
+
+	/**
+	 * The class of an entry of this cache.
+	 */
+	private static final class Entry {
+
+		/** The point storage from which the geometry has been generated. */
+		private final FlatPointStorage points;
+
+		/** The list of the values, other than the data, affecting the geometry. */
+		private final List<Object> key;
+
+		/** The generated geometry. */
+		private final GeometryBuffer geometry;
+
+		/**
+		 * Creates a new entry storing the geometry generated from the specified point storage.
+		 *
+		 * @param points The point storage from which the geometry has been generated.
+		 * @param key The list of the values, other than the data, affecting the geometry.
+		 * @param geometry The generated geometry.
+		 */
+		public Entry(FlatPointStorage points, List<Object> key, GeometryBuffer geometry) {
+			this.points = points;
+			this.key = key;
+			this.geometry = geometry;
+		}
+
+		/**
+		 * Checks whether the stored geometry is still valid for the specified point storage.
+		 *
+		 * @param points The current point storage of the data series.
+		 * @param key The list of the values, other than the data, affecting the geometry.
+		 * @return Returns true if the stored geometry is valid.
+		 */
+		public boolean isValid(FlatPointStorage points, List<Object> key) {
+			return this.points == points
+					&& this.key.equals(key);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.rinearn.graph3d.presenter.plotter;
+
+import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+
+/**
+ * The queue of the tasks generating the geometries of data series, used by plotters.
+ *
+ * If an executor is specified, the submitted tasks are performed concurrently on it,
+ * and each task generates the geometry into its own GeometryBuffer.
+ * The generated geometries are drawn to the renderer in the submitted order when drawTo(renderer) is called,
+ * so the result is the same as the sequential plotting, regardless of the order in which the tasks complete.
+ *
+ * If no executor is specified, the submitted tasks are performed immediately on the caller's thread.
+ *
+ * In addition, already generated (e.g. cached) geometries can be submitted,
+ * and they are drawn in the submitted order together with the generated ones.
+ */
+public final class GeometryGenerationQueue {
+
+	/** The executor performing the submitted tasks concurrently (null for performing them immediately). */
+	private final Executor executor;
+
+	/** The geometries being generated by the submitted tasks, in the submitted order. */
+	private final List<CompletableFuture<GeometryBuffer>> geometries = new ArrayList<CompletableFuture<GeometryBuffer>>();
+
+
+	/**
+	 * Creates a new queue performing the submitted tasks immediately on the caller's thread.
+	 */
+	public GeometryGenerationQueue() {
+		this.executor = null;
+	}
+
+
+	/**
+	 * Creates a new queue performing the submitted tasks concurrently on the specified executor.
+	 *
+	 * @param executor The executor performing the submitted tasks.
+	 */
+	public GeometryGenerationQueue(Executor executor) {
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Submits a task generating the geometry of a data series.
+	 *
+	 * The task must not access the renderer nor modify any shared state,
+	 * because it may be performed concurrently with other tasks.
+	 *
+	 * @param task The task drawing the geometry to the given buffer.
+	 */
+	public void submit(Consumer<GeometryBuffer> task) {
+		if (this.executor == null) {
+			GeometryBuffer buffer = new GeometryBuffer();
+			task.accept(buffer);
+			this.geometries.add(CompletableFuture.completedFuture(buffer));
+			return;
+		}
+		this.geometries.add(CompletableFuture.supplyAsync(() -> {
+			GeometryBuffer buffer = new GeometryBuffer();
+			task.accept(buffer);
+			return buffer;
+		}, this.executor));
+	}
+
+
+	/**
+	 * Submits an already generated geometry, e.g. the cached geometry of an unchanged data series.
+	 *
+	 * @param geometry The generated geometry.
+	 */
+	public void submit(GeometryBuffer geometry) {
+		this.geometries.add(CompletableFuture.completedFuture(geometry));
+	}
+
+
+	/**
+	 * Waits for the completion of all the submitted tasks,
+	 * and draws the generated geometries to the specified renderer in the submitted order.
+	 *
+	 * @param renderer The renderer to which the geometries are drawn.
+	 */
+	public void drawTo(RinearnGraph3DRenderer renderer) {
+		for (CompletableFuture<GeometryBuffer> geometry: this.geometries) {
+			geometry.join().drawTo(renderer);
+		}
+		this.geometries.clear();
+	}
+}
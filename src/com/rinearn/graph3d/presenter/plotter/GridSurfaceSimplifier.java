@@ -0,0 +1,511 @@
+package com.rinearn.graph3d.presenter.plotter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+
+/**
+ * The class to simplify a grid surface, by merging near-planar regions of cells into larger quadrangles.
+ *
+ * The grid is subdivided recursively in the quadtree manner, from the whole grid to single cells.
+ * A region is represented by a single quadrangle connecting its corners, if the following conditions are satisfied:
+ *
+ *   1. All the grid points in the region (including its borders) are visible.
+ *
+ *   2. The coordinates of all the grid points in the region are within the maximum errors
+ *      from the bilinear interpolation of the corners, in each of X, Y, and Z directions.
+ *
+ * Otherwise, the region is divided into (at most) four sub-regions, until it becomes a single cell,
+ * which is drawn if all of its corners are visible, in the same way as the non-simplified surface.
+ *
+ * On the border between adjacent regions of different sizes, the corners of the smaller regions lie on the edge of the larger region
+ * (so-called T-junctions), which would leave small gaps on the surface.
+ * To close them, such a larger region is drawn as a fan of triangles,
+ * whose outline passes through all the corners of the adjacent regions lying on its edges.
+ *
+ * Only rectangular grids (of which rows have the same length) can be simplified.
+ */
+public final class GridSurfaceSimplifier {
+
+	/** The X coordinate values of the grid points. */
+	private final double[][] xCoords;
+
+	/** The Y coordinate values of the grid points. */
+	private final double[][] yCoords;
+
+	/** The Z coordinate values of the grid points. */
+	private final double[][] zCoords;
+
+	/** The visibilities of the grid points. */
+	private final boolean[][] visibilities;
+
+	/** The maximum error allowed for merging regions, in X direction. */
+	private final double maxXError;
+
+	/** The maximum error allowed for merging regions, in Y direction. */
+	private final double maxYError;
+
+	/** The maximum error allowed for merging regions, in Z direction. */
+	private final double maxZError;
+
+	/** The length of the rows of the grid. */
+	private final int rowLength;
+
+	/** The indices (iL * rowLength + iR) of the grid points at the vertices A, B, C, and D of the simplified quadrangles. */
+	private int[] quadrangleCorners = new int[256];
+
+	/** The number of the stored elements in quadrangleCorners. */
+	private int quadrangleCornerCount = 0;
+
+	/** The indices (iL * rowLength + iR) of the grid points at the vertices of the triangles, split from the regions having T-junctions. */
+	private int[] triangleCorners = new int[256];
+
+	/** The number of the stored elements in triangleCorners. */
+	private int triangleCornerCount = 0;
+
+	/** The X coordinate values of the vertices of the simplified surface. */
+	private double[] vertexXCoords = new double[0];
+
+	/** The Y coordinate values of the vertices of the simplified surface. */
+	private double[] vertexYCoords = new double[0];
+
+	/** The Z coordinate values of the vertices of the simplified surface. */
+	private double[] vertexZCoords = new double[0];
+
+	/** The indices of the vertices of the simplified quadrangles, in the order [a0, b0, c0, d0, a1, b1, c1, d1, ...]. */
+	private int[] quadrangleVertexIndices = new int[0];
+
+	/** The indices of the vertices of the triangles (split from the regions having T-junctions), in the order [a0, b0, c0, a1, b1, c1, ...]. */
+	private int[] triangleVertexIndices = new int[0];
+
+	/** The number of the quadrangles (cells having visible corners) before the simplification. */
+	private long originalQuadrangleCount = 0;
+
+
+	/**
+	 * Creates a new instance simplifying the specified grid.
+	 *
+	 * @param xCoords The X coordinate values of the grid points.
+	 * @param yCoords The Y coordinate values of the grid points.
+	 * @param zCoords The Z coordinate values of the grid points.
+	 * @param visibilities The visibilities of the grid points.
+	 * @param maxXError The maximum error allowed for merging regions, in X direction.
+	 * @param maxYError The maximum error allowed for merging regions, in Y direction.
+	 * @param maxZError The maximum error allowed for merging regions, in Z direction.
+	 */
+	public GridSurfaceSimplifier(double[][] xCoords, double[][] yCoords, double[][] zCoords, boolean[][] visibilities,
+			double maxXError, double maxYError, double maxZError) {
+
+		if (!isRectangular(xCoords)) {
+			throw new IllegalArgumentException("The grid is not rectangular.");
+		}
+		if (!(0.0 <= maxXError) || !(0.0 <= maxYError) || !(0.0 <= maxZError)) {
+			throw new IllegalArgumentException(
+					"The maximum errors must be positive values or zero: " + maxXError + ", " + maxYError + ", " + maxZError
+			);
+		}
+		this.xCoords = xCoords;
+		this.yCoords = yCoords;
+		this.zCoords = zCoords;
+		this.visibilities = visibilities;
+		this.maxXError = maxXError;
+		this.maxYError = maxYError;
+		this.maxZError = maxZError;
+		this.rowLength = xCoords.length == 0 ? 0 : xCoords[0].length;
+	}
+
+
+	/**
+	 * Checks whether all the rows of the specified grid have the same length.
+	 *
+	 * @param coords The coordinate values of the grid points.
+	 * @return Returns true if the grid is rectangular.
+	 */
+	public static boolean isRectangular(double[][] coords) {
+		for (int iL=1; iL<coords.length; iL++) {
+			if (coords[iL].length != coords[0].length) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Simplifies the grid surface.
+	 */
+	public void simplify() {
+		this.quadrangleCornerCount = 0;
+		this.triangleCornerCount = 0;
+		this.originalQuadrangleCount = 0;
+		int leftDimLength = this.xCoords.length;
+		if (2 <= leftDimLength && 2 <= this.rowLength) {
+			this.simplifyRegion(0, leftDimLength - 1, 0, this.rowLength - 1);
+		}
+		this.closeTJunctions();
+		this.compactVertices();
+	}
+
+
+	/**
+	 * Simplifies the specified region of the grid recursively.
+	 *
+	 * @param firstL The left-side grid index of the first corner of the region.
+	 * @param lastL The left-side grid index of the last corner of the region.
+	 * @param firstR The right-side grid index of the first corner of the region.
+	 * @param lastR The right-side grid index of the last corner of the region.
+	 */
+	private void simplifyRegion(int firstL, int lastL, int firstR, int lastR) {
+		boolean isSingleCell = lastL - firstL == 1 && lastR - firstR == 1;
+
+		// Represent the region by a single quadrangle, if it is near-planar (or is a single cell) and visible.
+		if (isSingleCell ? this.isCellVisible(firstL, firstR) : this.isRegionMergeable(firstL, lastL, firstR, lastR)) {
+			this.addQuadrangle(firstL, lastL, firstR, lastR);
+			this.originalQuadrangleCount += isSingleCell ? 1 : (long)(lastL - firstL) * (lastR - firstR);
+			return;
+		}
+		if (isSingleCell) {
+			return;
+		}
+
+		// Otherwise, divide the region into (at most) four sub-regions.
+		int middleL = lastL - firstL == 1 ? -1 : (firstL + lastL) >>> 1;
+		int middleR = lastR - firstR == 1 ? -1 : (firstR + lastR) >>> 1;
+		if (middleL == -1) {
+			this.simplifyRegion(firstL, lastL, firstR, middleR);
+			this.simplifyRegion(firstL, lastL, middleR, lastR);
+		} else if (middleR == -1) {
+			this.simplifyRegion(firstL, middleL, firstR, lastR);
+			this.simplifyRegion(middleL, lastL, firstR, lastR);
+		} else {
+			this.simplifyRegion(firstL, middleL, firstR, middleR);
+			this.simplifyRegion(firstL, middleL, middleR, lastR);
+			this.simplifyRegion(middleL, lastL, firstR, middleR);
+			this.simplifyRegion(middleL, lastL, middleR, lastR);
+		}
+	}
+
+
+	/**
+	 * Checks whether all the corners of the specified cell are visible.
+	 *
+	 * @param iL The left-side grid index of the vertex A of the cell.
+	 * @param iR The right-side grid index of the vertex A of the cell.
+	 * @return Returns true if all the corners are visible.
+	 */
+	private boolean isCellVisible(int iL, int iR) {
+		boolean[][] v = this.visibilities;
+		return v[iL][iR] && v[iL + 1][iR] && v[iL + 1][iR + 1] && v[iL][iR + 1];
+	}
+
+
+	/**
+	 * Checks whether the specified region can be represented by a single quadrangle connecting its corners.
+	 *
+	 * @param firstL The left-side grid index of the first corner of the region.
+	 * @param lastL The left-side grid index of the last corner of the region.
+	 * @param firstR The right-side grid index of the first corner of the region.
+	 * @param lastR The right-side grid index of the last corner of the region.
+	 * @return Returns true if all the points in the region are visible, and are within the maximum errors from the quadrangle.
+	 */
+	private boolean isRegionMergeable(int firstL, int lastL, int firstR, int lastR) {
+		double lengthL = lastL - firstL;
+		double lengthR = lastR - firstR;
+		for (int iL=firstL; iL<=lastL; iL++) {
+			double u = (iL - firstL) / lengthL;
+			for (int iR=firstR; iR<=lastR; iR++) {
+				if (!this.visibilities[iL][iR]) {
+					return false;
+				}
+				double v = (iR - firstR) / lengthR;
+				if (!isWithinError(this.xCoords, this.maxXError, iL, iR, firstL, lastL, firstR, lastR, u, v)
+						|| !isWithinError(this.yCoords, this.maxYError, iL, iR, firstL, lastL, firstR, lastR, u, v)
+						|| !isWithinError(this.zCoords, this.maxZError, iL, iR, firstL, lastL, firstR, lastR, u, v)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Checks whether the coordinate value of the specified grid point is within the maximum error
+	 * from the bilinear interpolation of the corners of the region.
+	 *
+	 * @param coords The coordinate values (of X, Y, or Z) of the grid points.
+	 * @param maxError The maximum error allowed in the direction of the coordinate values.
+	 * @param iL The left-side grid index of the point.
+	 * @param iR The right-side grid index of the point.
+	 * @param firstL The left-side grid index of the first corner of the region.
+	 * @param lastL The left-side grid index of the last corner of the region.
+	 * @param firstR The right-side grid index of the first corner of the region.
+	 * @param lastR The right-side grid index of the last corner of the region.
+	 * @param u The position of the point in the left-side direction in the region, from 0.0 to 1.0.
+	 * @param v The position of the point in the right-side direction in the region, from 0.0 to 1.0.
+	 * @return Returns true if the coordinate value is within the maximum error (false if it is NaN).
+	 */
+	private static boolean isWithinError(double[][] coords, double maxError, int iL, int iR, int firstL, int lastL, int firstR, int lastR, double u, double v) {
+		double interpolated = (1.0 - u) * ((1.0 - v) * coords[firstL][firstR] + v * coords[firstL][lastR])
+		                    +        u  * ((1.0 - v) * coords[lastL ][firstR] + v * coords[lastL ][lastR]);
+		return Math.abs(coords[iL][iR] - interpolated) <= maxError;
+	}
+
+
+	/**
+	 * Appends the quadrangle connecting the corners of the specified region.
+	 *
+	 * @param firstL The left-side grid index of the first corner of the region.
+	 * @param lastL The left-side grid index of the last corner of the region.
+	 * @param firstR The right-side grid index of the first corner of the region.
+	 * @param lastR The right-side grid index of the last corner of the region.
+	 */
+	private void addQuadrangle(int firstL, int lastL, int firstR, int lastR) {
+		if (this.quadrangleCornerCount == this.quadrangleCorners.length) {
+			this.quadrangleCorners = Arrays.copyOf(this.quadrangleCorners, this.quadrangleCornerCount * 2);
+		}
+		this.quadrangleCorners[this.quadrangleCornerCount++] = firstL * this.rowLength + firstR; // A
+		this.quadrangleCorners[this.quadrangleCornerCount++] = lastL  * this.rowLength + firstR; // B
+		this.quadrangleCorners[this.quadrangleCornerCount++] = lastL  * this.rowLength + lastR;  // C
+		this.quadrangleCorners[this.quadrangleCornerCount++] = firstL * this.rowLength + lastR;  // D
+	}
+
+
+	/**
+	 * Replaces the quadrangles having T-junctions (the corners of the adjacent smaller regions lying on their edges)
+	 * with fans of triangles, whose outlines pass through such corners.
+	 */
+	private void closeTJunctions() {
+
+		// Mark the grid points used as the corners of the quadrangles.
+		BitSet cornerPoints = new BitSet();
+		for (int icorner=0; icorner<this.quadrangleCornerCount; icorner++) {
+			cornerPoints.set(this.quadrangleCorners[icorner]);
+		}
+
+		// Keep the quadrangles having no corners of other quadrangles on their edges, and split the others into triangles.
+		int[] outline = new int[16];
+		int keptCornerCount = 0;
+		for (int icorner=0; icorner<this.quadrangleCornerCount; icorner+=4) {
+			int firstL = this.quadrangleCorners[icorner] / this.rowLength;
+			int firstR = this.quadrangleCorners[icorner] % this.rowLength;
+			int lastL = this.quadrangleCorners[icorner + 2] / this.rowLength;
+			int lastR = this.quadrangleCorners[icorner + 2] % this.rowLength;
+
+			// Trace the outline of the quadrangle in the order of A, (A-B edge), B, (B-C edge), C, (C-D edge), D, (D-A edge),
+			// picking up the corners of the adjacent quadrangles on the edges.
+			int perimeter = 2 * (lastL - firstL + lastR - firstR);
+			if (outline.length < perimeter) {
+				outline = new int[perimeter];
+			}
+			int outlineLength = 0;
+			for (int iL=firstL; iL<lastL; iL++) {
+				outlineLength = appendOutlinePoint(outline, outlineLength, iL * this.rowLength + firstR, cornerPoints, iL == firstL);
+			}
+			for (int iR=firstR; iR<lastR; iR++) {
+				outlineLength = appendOutlinePoint(outline, outlineLength, lastL * this.rowLength + iR, cornerPoints, iR == firstR);
+			}
+			for (int iL=lastL; firstL<iL; iL--) {
+				outlineLength = appendOutlinePoint(outline, outlineLength, iL * this.rowLength + lastR, cornerPoints, iL == lastL);
+			}
+			for (int iR=lastR; firstR<iR; iR--) {
+				outlineLength = appendOutlinePoint(outline, outlineLength, firstL * this.rowLength + iR, cornerPoints, iR == lastR);
+			}
+			if (outlineLength == 4) {
+				System.arraycopy(this.quadrangleCorners, icorner, this.quadrangleCorners, keptCornerCount, 4);
+				keptCornerCount += 4;
+				continue;
+			}
+
+			// Split the quadrangle into a fan of triangles around the center grid point of the region, if it exists.
+			// Otherwise (if the region is only one cell wide), split it around the corner A.
+			// (The center point is within the maximum errors from the quadrangle, as all the points in the region are.)
+			if (2 <= lastL - firstL && 2 <= lastR - firstR) {
+				int center = ((firstL + lastL) >>> 1) * this.rowLength + ((firstR + lastR) >>> 1);
+				for (int ioutline=0; ioutline<outlineLength; ioutline++) {
+					this.addTriangle(center, outline[ioutline], outline[(ioutline + 1) % outlineLength]);
+				}
+			} else {
+				for (int ioutline=1; ioutline<outlineLength - 1; ioutline++) {
+					this.addTriangle(outline[0], outline[ioutline], outline[ioutline + 1]);
+				}
+			}
+		}
+		this.quadrangleCornerCount = keptCornerCount;
+	}
+
+
+	/**
+	 * Appends the specified grid point to the outline of a quadrangle, if it is a corner of the quadrangle or of another quadrangle.
+	 *
+	 * @param outline The array storing the grid point indices of the outline.
+	 * @param outlineLength The number of the grid points stored in the outline.
+	 * @param point The index (iL * rowLength + iR) of the grid point.
+	 * @param cornerPoints The bit set in which the grid points used as the corners of the quadrangles are marked.
+	 * @param isOwnCorner Specify true if the grid point is a corner of the quadrangle of which outline is traced.
+	 * @return The number of the grid points stored in the outline after appending.
+	 */
+	private static int appendOutlinePoint(int[] outline, int outlineLength, int point, BitSet cornerPoints, boolean isOwnCorner) {
+		if (isOwnCorner || cornerPoints.get(point)) {
+			outline[outlineLength++] = point;
+		}
+		return outlineLength;
+	}
+
+
+	/**
+	 * Appends the triangle connecting the specified grid points.
+	 *
+	 * @param a The index (iL * rowLength + iR) of the grid point at the vertex A of the triangle.
+	 * @param b The index (iL * rowLength + iR) of the grid point at the vertex B of the triangle.
+	 * @param c The index (iL * rowLength + iR) of the grid point at the vertex C of the triangle.
+	 */
+	private void addTriangle(int a, int b, int c) {
+		if (this.triangleCorners.length < this.triangleCornerCount + 3) {
+			this.triangleCorners = Arrays.copyOf(this.triangleCorners, this.triangleCorners.length * 2);
+		}
+		this.triangleCorners[this.triangleCornerCount++] = a;
+		this.triangleCorners[this.triangleCornerCount++] = b;
+		this.triangleCorners[this.triangleCornerCount++] = c;
+	}
+
+
+	/**
+	 * Extracts the grid points used as the corners of the simplified quadrangles and triangles into the vertex arrays,
+	 * and converts the corners of the quadrangles and triangles to the indices in the vertex arrays.
+	 */
+	private void compactVertices() {
+
+		// Mark the used grid points.
+		BitSet usedPoints = new BitSet();
+		for (int icorner=0; icorner<this.quadrangleCornerCount; icorner++) {
+			usedPoints.set(this.quadrangleCorners[icorner]);
+		}
+		for (int icorner=0; icorner<this.triangleCornerCount; icorner++) {
+			usedPoints.set(this.triangleCorners[icorner]);
+		}
+
+		// Extract the used grid points in ascending order, into the vertex arrays.
+		int vertexCount = usedPoints.cardinality();
+		double[] xVertices = new double[vertexCount];
+		double[] yVertices = new double[vertexCount];
+		double[] zVertices = new double[vertexCount];
+		int ivertex = 0;
+		for (int point=usedPoints.nextSetBit(0); point != -1; point=usedPoints.nextSetBit(point + 1)) {
+			int iL = point / this.rowLength;
+			int iR = point % this.rowLength;
+			xVertices[ivertex] = this.xCoords[iL][iR];
+			yVertices[ivertex] = this.yCoords[iL][iR];
+			zVertices[ivertex] = this.zCoords[iL][iR];
+			ivertex++;
+		}
+
+		// Convert the grid point indices of the corners to the vertex indices,
+		// which are the numbers of the used points preceding them (counted for each 64-bit word of the bit set).
+		long[] usedWords = usedPoints.toLongArray();
+		int[] wordRanks = new int[usedWords.length + 1];
+		for (int iword=0; iword<usedWords.length; iword++) {
+			wordRanks[iword + 1] = wordRanks[iword] + Long.bitCount(usedWords[iword]);
+		}
+		this.vertexXCoords = xVertices;
+		this.vertexYCoords = yVertices;
+		this.vertexZCoords = zVertices;
+		this.quadrangleVertexIndices = toVertexIndices(this.quadrangleCorners, this.quadrangleCornerCount, usedWords, wordRanks);
+		this.triangleVertexIndices = toVertexIndices(this.triangleCorners, this.triangleCornerCount, usedWords, wordRanks);
+		this.quadrangleCorners = new int[256];
+		this.quadrangleCornerCount = 0;
+		this.triangleCorners = new int[256];
+		this.triangleCornerCount = 0;
+	}
+
+
+	/**
+	 * Converts the grid point indices of the corners to the vertex indices.
+	 *
+	 * @param corners The grid point indices of the corners.
+	 * @param cornerCount The number of the stored elements in corners.
+	 * @param usedWords The 64-bit words of the bit set in which the used grid points are marked.
+	 * @param wordRanks The numbers of the used grid points preceding each word.
+	 * @return The vertex indices of the corners.
+	 */
+	private static int[] toVertexIndices(int[] corners, int cornerCount, long[] usedWords, int[] wordRanks) {
+		int[] vertexIndices = new int[cornerCount];
+		for (int icorner=0; icorner<cornerCount; icorner++) {
+			int point = corners[icorner];
+			int iword = point >>> 6;
+			vertexIndices[icorner] = wordRanks[iword] + Long.bitCount(usedWords[iword] & ((1L << (point & 63)) - 1L));
+		}
+		return vertexIndices;
+	}
+
+
+	/**
+	 * Gets the X coordinate values of the vertices of the simplified surface.
+	 *
+	 * @return The X coordinate values of the vertices.
+	 */
+	public double[] getVertexXCoordinates() {
+		return this.vertexXCoords;
+	}
+
+
+	/**
+	 * Gets the Y coordinate values of the vertices of the simplified surface.
+	 *
+	 * @return The Y coordinate values of the vertices.
+	 */
+	public double[] getVertexYCoordinates() {
+		return this.vertexYCoords;
+	}
+
+
+	/**
+	 * Gets the Z coordinate values of the vertices of the simplified surface.
+	 *
+	 * @return The Z coordinate values of the vertices.
+	 */
+	public double[] getVertexZCoordinates() {
+		return this.vertexZCoords;
+	}
+
+
+	/**
+	 * Gets the indices of the vertices of the simplified quadrangles, in the order [a0, b0, c0, d0, a1, b1, c1, d1, ...].
+	 *
+	 * @return The indices of the vertices of the quadrangles.
+	 */
+	public int[] getQuadrangleVertexIndices() {
+		return this.quadrangleVertexIndices;
+	}
+
+
+	/**
+	 * Gets the indices of the vertices of the triangles split from the regions having T-junctions,
+	 * in the order [a0, b0, c0, a1, b1, c1, ...].
+	 *
+	 * @return The indices of the vertices of the triangles.
+	 */
+	public int[] getTriangleVertexIndices() {
+		return this.triangleVertexIndices;
+	}
+
+
+	/**
+	 * Gets the number of the quadrangles (the cells of which corners are visible) before the simplification.
+	 *
+	 * @return The number of the quadrangles before the simplification.
+	 */
+	public long getOriginalQuadrangleCount() {
+		return this.originalQuadrangleCount;
+	}
+
+
+	/**
+	 * Gets the number of the polygons (quadrangles and triangles) after the simplification.
+	 *
+	 * @return The number of the polygons after the simplification.
+	 */
+	public long getSimplifiedPolygonCount() {
+		return this.quadrangleVertexIndices.length / 4 + this.triangleVertexIndices.length / 3;
+	}
+}
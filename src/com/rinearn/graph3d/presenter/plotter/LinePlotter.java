@@ -3,6 +3,7 @@ package com.rinearn.graph3d.presenter.plotter;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -14,8 +15,16 @@ import com.rinearn.graph3d.config.data.SeriesFilter;
 import com.rinearn.graph3d.config.data.SeriesFilterMode;
 import com.rinearn.graph3d.config.plotter.PlotterConfiguration;
 import com.rinearn.graph3d.config.plotter.LinePlotterConfiguration;
+import com.rinearn.graph3d.config.range.AxisRangeConfiguration;
+import com.rinearn.graph3d.config.range.RangeConfiguration;
 import com.rinearn.graph3d.config.data.SeriesAttribute;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
 
 /**
  * The "plotter" to plot lines connecting coordinate points of data.
@@ -40,6 +49,22 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 	/** The rendering engine of 3D graphs. */
 	private final RinearnGraph3DRenderer renderer;
 
+	/** The geometries being generated in parallel in advance, to be drawn at the next plotting (null if not prepared). */
+	private GeometryGenerationQueue preparedGeometries = null;
+
+	/** The cache of the generated geometries of the data series, for skipping re-generation of unchanged ones. */
+	private final GeometryCache geometryCache = new GeometryCache();
+
+	/**
+	 * The maximum number of the points of a data series of which geometry is cached.
+	 * (The geometry of more points is re-generated at every plotting instead of being kept, because it is large but cheap to generate.)
+	 */
+	private static final int MAX_CACHED_POINT_COUNT = 100000;
+
+	/** The numbers of the lines of the simplified data series, before [0] and after [1] the simplification. */
+	private final Map<AbstractDataSeries, long[]> simplifiedLineCounts =
+			Collections.synchronizedMap(new IdentityHashMap<AbstractDataSeries, long[]>());
+
 
 	/**
 	 * Create a new instance performing plottings using the specified resources.
@@ -64,6 +89,62 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingRequested(RinearnGraph3DPlottingEvent event) {
+		this.plotDataSeries(0);
+	}
+
+
+	/**
+	 * Plots only the data series appended after the last plotting,
+	 * without clearing and re-plotting the already plotted data series.
+	 *
+	 * @param firstSeriesIndex The index of the first appended data series.
+	 */
+	public synchronized void plotAppendedDataSeries(int firstSeriesIndex) {
+		this.plotDataSeries(firstSeriesIndex);
+	}
+
+
+	/**
+	 * Starts generating the geometries of the data series concurrently on the specified executor,
+	 * to draw them at the next plotting (requested by plottingRequested or plotAppendedDataSeries).
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted at the next plotting.
+	 * @param executor The executor generating the geometries.
+	 */
+	public synchronized void prepareGeometries(int firstSeriesIndex, Executor executor) {
+		this.preparedGeometries = new GeometryGenerationQueue(executor);
+		this.generateGeometries(firstSeriesIndex, this.preparedGeometries);
+	}
+
+
+	/**
+	 * Plots the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 */
+	private void plotDataSeries(int firstSeriesIndex) {
+
+		// If the geometries have been generated in parallel in advance, draw them in the order of the data series.
+		// Otherwise, generate and draw them here.
+		if (this.preparedGeometries != null) {
+			GeometryGenerationQueue preparedGeometries = this.preparedGeometries;
+			this.preparedGeometries = null;
+			preparedGeometries.drawTo(this.renderer);
+		} else {
+			GeometryGenerationQueue queue = new GeometryGenerationQueue();
+			this.generateGeometries(firstSeriesIndex, queue);
+			queue.drawTo(this.renderer);
+		}
+	}
+
+
+	/**
+	 * Generates the geometries of the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 * @param queue The queue to which the tasks generating the geometries of the data series are submitted.
+	 */
+	private void generateGeometries(int firstSeriesIndex, GeometryGenerationQueue queue) {
 
 		// Get the configuration of "With Lines" option.
 		RinearnGraph3DConfiguration config = this.model.config;
@@ -74,6 +155,8 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 
 		// This plotter do nothing if "With Lines" option is not selected.
 		if(!isLineOptionEnabled) {
+			this.geometryCache.clear();
+			this.simplifiedLineCounts.clear();
 			return;
 		}
 
@@ -81,10 +164,20 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 		boolean existsSeriesFilter = linePlotterConfig.getSeriesFilterMode() != SeriesFilterMode.NONE;
 		SeriesFilter seriesFilter = existsSeriesFilter ? linePlotterConfig.getSeriesFilter() : null;
 
-		// Plots all data series.
+		// Get the maximum errors for simplifying the lines in X, Y, and Z directions (0.0 if the simplification is disabled),
+		// by scaling the configured error (relative to the lengths of the axes) by the ranges of the axes.
+		double maxSimplificationError = linePlotterConfig.getMaximumSimplificationError();
+		RangeConfiguration rangeConfig = config.getRangeConfiguration();
+		double[] maxSimplificationErrors = {
+				maxSimplificationError * getRangeLength(rangeConfig.getXRangeConfiguration()),
+				maxSimplificationError * getRangeLength(rangeConfig.getYRangeConfiguration()),
+				maxSimplificationError * getRangeLength(rangeConfig.getZRangeConfiguration())
+		};
+
+		// Plots the data series, from the specified index to the last.
 		DataSeriesGroup<AbstractDataSeries> dataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
 		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
-		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+		for (int dataSeriesIndex=firstSeriesIndex; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
 
 			// Filter the data series.
 			SeriesAttribute seriesAttribute = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex).getSeriesAttribute();
@@ -92,10 +185,82 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 				continue;
 			}
 
-			// Plot.
+			// Reuse the cached geometry if the data series and the values affecting its geometry have not been changed.
+			// (Get the point storage only once, and generate the geometry from it, because it may be replaced during the generation.)
 			AbstractDataSeries dataSeries = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex);
-			this.plotLines(dataSeries, dataSeriesIndex, lineWidth);
+			FlatPointStorage points = dataSeries.getFlatPointStorage();
+			int seriesIndex = dataSeriesIndex;
+			List<Object> geometryKey = List.of(
+					seriesIndex, lineWidth, maxSimplificationErrors[0], maxSimplificationErrors[1], maxSimplificationErrors[2]
+			);
+			GeometryBuffer cachedGeometry = this.geometryCache.get(dataSeries, points, geometryKey);
+			if (cachedGeometry != null) {
+				queue.submit(cachedGeometry);
+				continue;
+			}
+
+			// Plot (or submit the task generating the geometry, which may be performed in parallel), and cache the geometry unless it is too large.
+			queue.submit(buffer -> {
+				this.plotLines(dataSeries, points, seriesIndex, lineWidth, maxSimplificationErrors, buffer);
+				if (points.getPointCount() <= MAX_CACHED_POINT_COUNT) {
+					this.geometryCache.put(dataSeries, points, geometryKey, buffer);
+				} else {
+					this.geometryCache.remove(dataSeries);
+				}
+			});
+		}
+
+		// Discard the cached geometries (and the simplification results) of the data series which have been removed.
+		this.geometryCache.retain(dataSeriesGroup);
+		synchronized (this.simplifiedLineCounts) {
+			this.simplifiedLineCounts.keySet().removeIf(dataSeries -> !this.containsDataSeries(dataSeriesGroup, dataSeries));
+		}
+	}
+
+
+	/**
+	 * Gets the length of the range of the specified axis.
+	 *
+	 * @param axisRangeConfig The range configuration of the axis.
+	 * @return The length of the range.
+	 */
+	private static double getRangeLength(AxisRangeConfiguration axisRangeConfig) {
+		return axisRangeConfig.getMaximumCoordinate().subtract(axisRangeConfig.getMinimumCoordinate()).abs().doubleValue();
+	}
+
+
+	/**
+	 * Checks whether the specified group contains the specified data series.
+	 *
+	 * @param dataSeriesGroup The group of the data series.
+	 * @param dataSeries The data series to be checked.
+	 * @return Returns true if the group contains the data series.
+	 */
+	private boolean containsDataSeries(DataSeriesGroup<AbstractDataSeries> dataSeriesGroup, AbstractDataSeries dataSeries) {
+		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
+		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			if (dataSeriesGroup.getDataSeriesAt(dataSeriesIndex) == dataSeries) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Gets the number of the lines removed by the simplification,
+	 * over all the data series simplified at the last plotting.
+	 *
+	 * @return The number of the removed lines (0 if no data series has been simplified).
+	 */
+	public synchronized long getSimplificationRemovedLineCount() {
+		long removedCount = 0;
+		synchronized (this.simplifiedLineCounts) {
+			for (long[] counts: this.simplifiedLineCounts.values()) {
+				removedCount += counts[0] - counts[1];
+			}
 		}
+		return removedCount;
 	}
 
 
@@ -103,45 +268,67 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 	 * Plots lines connecting coordinate points of the specified data series.
 	 *
 	 * @param dataSeries The data series to be plotted.
+	 * @param points The point storage of the data series.
 	 * @param seriesIndex The index of the data series.
 	 * @param lineWidth The width (in pixels) of lines.
+	 * @param maxSimplificationErrors The maximum errors for simplifying the lines in X, Y, and Z directions (0.0 for disabling the simplification).
+	 * @param buffer The buffer to which the geometry is drawn.
 	 */
-	private void plotLines(AbstractDataSeries dataSeries, int seriesIndex, double lineWidth) {
+	private void plotLines(AbstractDataSeries dataSeries, FlatPointStorage points, int seriesIndex, double lineWidth, double[] maxSimplificationErrors,
+			GeometryBuffer buffer) {
+
 		RinearnGraph3DDrawingParameter drawingParameter = new RinearnGraph3DDrawingParameter();
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
+		// If the simplification is enabled, remove nearly collinear points, and draw the lines connecting the remaining points.
+		boolean isSimplificationEnabled = 0.0 < maxSimplificationErrors[0] || 0.0 < maxSimplificationErrors[1] || 0.0 < maxSimplificationErrors[2];
+		if (isSimplificationEnabled) {
+			PolylineSimplifier simplifier = new PolylineSimplifier(
+					points, maxSimplificationErrors[0], maxSimplificationErrors[1], maxSimplificationErrors[2]
+			);
+			simplifier.simplify();
+			if (simplifier.getLineVertexIndices().length != 0) {
+				buffer.drawIndexedLines(
+						simplifier.getVertexXCoordinates(), simplifier.getVertexYCoordinates(), simplifier.getVertexZCoordinates(),
+						simplifier.getLineVertexIndices(), lineWidth, drawingParameter
+				);
+			}
+			this.simplifiedLineCounts.put(
+					dataSeries, new long[] { simplifier.getOriginalLineCount(), simplifier.getSimplifiedLineCount() }
+			);
+			return;
+		}
+		this.simplifiedLineCounts.remove(dataSeries);
 
-		// Draw a line between each pair of adjacent points in the above.
-		int leftDimLength = xCoords.length;
+		// Draw a line between each pair of adjacent points.
+		int leftDimLength = points.getRowCount();
 		for (int iL=0; iL<leftDimLength; iL++) {
 
-			int rightDimLength = xCoords[iL].length;
+			int rightDimLength = points.getColumnCount(iL);
+			int rowOffset = points.getRowOffset(iL);
 			for (int iR=0; iR<rightDimLength - 1; iR++) {
+				int pointA = rowOffset + iR;
+				int pointB = pointA + 1;
 
 				// Draw a line only when both of its edge points are set to visible.
-				boolean isLineVisible = visibilities[iL][iR] && visibilities[iL][iR + 1];
+				boolean isLineVisible = points.isVisible(pointA) && points.isVisible(pointB);
 				if (!isLineVisible) {
 					continue;
 				}
 
 				// The coordinates of the edge point A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
+				double xA = points.getXCoordinate(pointA);
+				double yA = points.getYCoordinate(pointA);
+				double zA = points.getZCoordinate(pointA);
 
 				// The coordinates of the edge point B:
-				double xB = xCoords[iL][iR + 1];
-				double yB = yCoords[iL][iR + 1];
-				double zB = zCoords[iL][iR + 1];
+				double xB = points.getXCoordinate(pointB);
+				double yB = points.getYCoordinate(pointB);
+				double zB = points.getZCoordinate(pointB);
 
 				// Draw a line connecting the points A and B, on the 3D graph.
-				this.renderer.drawLine(
+				buffer.drawLine(
 						xA, yA, zA,
 						xB, yB, zB,
 						lineWidth, drawingParameter
@@ -158,6 +345,9 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingCanceled(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 
 
@@ -168,5 +358,8 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingFinished(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 }
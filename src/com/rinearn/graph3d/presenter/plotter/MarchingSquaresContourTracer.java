@@ -0,0 +1,814 @@
+package com.rinearn.graph3d.presenter.plotter;
+
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+
+/**
+ * The class to trace contour lines of a grid of points, by the marching squares algorithm.
+ *
+ * The tracing is performed in the following steps:
+ *
+ *   1. For each cell (quadrangle) of the grid, determine the range of the contour levels crossing the cell
+ *      directly from the minimum/maximum Z values of its corners (without scanning all the levels),
+ *      and generate the contour segments of the levels, by the marching squares algorithm.
+ *      This step can be performed in parallel for bands of rows.
+ *
+ *   2. For each level, stitch the segments sharing the same crossing points on the grid edges into polylines.
+ *      Each crossing point is computed only once, and shared by the adjacent segments in the generated vertex arrays.
+ *      This step can be performed in parallel for levels.
+ *
+ * The results are stored in the vertex arrays and the index arrays of the lines,
+ * which can be drawn by RinearnGraph3DRenderer.drawIndexedLines(...) directly.
+ * In addition, the cells of which 3 or 4 corners are exactly on a level are stored as filled triangles/quadrangles,
+ * because no contour line can represent such flat parts.
+ *
+ * The index arrays are divided into "depth offset groups", by the sizes of the cells in which the lines/polygons are.
+ * The contours must be shifted to the front of the surfaces by the amount depending on the size of each cell,
+ * so the lines/polygons in each group should be drawn with the depth offset of the group.
+ * The size of a cell is quantized to a power of 2 (not less than the actual size), for reducing the number of the groups.
+ * In each group, the lines of a polyline are stored successively, in the order of the levels.
+ */
+public final class MarchingSquaresContourTracer {
+
+	/** The number of the rows of cells processed in a task, in the step generating contour segments. */
+	private static final int BAND_ROW_COUNT = 32;
+
+	/** The grid points (the cells having invisible corners are skipped). */
+	private final FlatPointStorage points;
+
+	/** The length of the longest row of the grid, used for computing IDs of cells and edges. */
+	private final int rowStride;
+
+	/** The minimum contour level. */
+	private double minLevel;
+
+	/** The maximum contour level. */
+	private double maxLevel;
+
+	/** The number of the divisions between the minimum and maximum levels. */
+	private int divisionCount;
+
+	/** The X coordinate values of the vertices of the traced contours. */
+	private double[] vertexXCoords = new double[0];
+
+	/** The Y coordinate values of the vertices of the traced contours. */
+	private double[] vertexYCoords = new double[0];
+
+	/** The Z coordinate values of the vertices of the traced contours. */
+	private double[] vertexZCoords = new double[0];
+
+	/** The quantized edge lengths of the cells, of each depth offset group. */
+	private double[] groupEdgeLengths = new double[0];
+
+	/** The indices of the edge points of the contour lines, of each depth offset group. */
+	private int[][] lineVertexIndices = new int[0][];
+
+	/** The indices of the vertices of the filled flat triangles, of each depth offset group. */
+	private int[][] flatTriangleVertexIndices = new int[0][];
+
+	/** The indices of the vertices of the filled flat quadrangles, of each depth offset group. */
+	private int[][] flatQuadrangleVertexIndices = new int[0][];
+
+	/** The number of the possible binary exponents of the quantized edge lengths, including the one for zero. */
+	private static final int EDGE_LENGTH_EXPONENT_COUNT = Double.MAX_EXPONENT - Double.MIN_EXPONENT + 2;
+
+
+	/**
+	 * Creates a new instance tracing the contours of the specified grid.
+	 *
+	 * @param points The grid points (the cells having invisible corners are skipped).
+	 */
+	public MarchingSquaresContourTracer(FlatPointStorage points) {
+		this.points = points;
+
+		int rowStride = 0;
+		for (int iL=0; iL<points.getRowCount(); iL++) {
+			rowStride = Math.max(rowStride, points.getColumnCount(iL));
+		}
+		this.rowStride = rowStride;
+	}
+
+
+	/**
+	 * Traces the contours of the levels, dividing the range from the minimum to the maximum level equally.
+	 *
+	 * The level of the k-th contour (k = 0, 1, ..., divisionCount) is: minLevel + (maxLevel - minLevel) * k / divisionCount.
+	 *
+	 * @param minLevel The minimum contour level.
+	 * @param maxLevel The maximum contour level.
+	 * @param divisionCount The number of the divisions between the minimum and maximum levels.
+	 * @param parallel Specify true to trace the contours in parallel.
+	 */
+	public void trace(double minLevel, double maxLevel, int divisionCount, boolean parallel) {
+		if (divisionCount <= 0) {
+			throw new IllegalArgumentException("The division count must be a positive value: " + divisionCount);
+		}
+		this.minLevel = minLevel;
+		this.maxLevel = maxLevel;
+		this.divisionCount = divisionCount;
+
+		// Generate the contour segments in the cells, for each band of rows.
+		int cellRowCount = Math.max(this.points.getRowCount() - 1, 0);
+		int bandCount = (cellRowCount + BAND_ROW_COUNT - 1) / BAND_ROW_COUNT;
+		SegmentList[] bandSegments = new SegmentList[bandCount];
+		IntStream bandIndices = IntStream.range(0, bandCount);
+		(parallel ? bandIndices.parallel() : bandIndices).forEach(iband -> {
+			int firstRow = iband * BAND_ROW_COUNT;
+			int endRow = Math.min(firstRow + BAND_ROW_COUNT, cellRowCount);
+			bandSegments[iband] = this.generateSegments(firstRow, endRow);
+		});
+
+		// Sort the segments of all bands by their levels (counting sort, keeping the order in each level).
+		int levelCount = divisionCount + 1;
+		int[] levelStarts = new int[levelCount + 1];
+		for (SegmentList segments: bandSegments) {
+			for (int isegment=0; isegment<segments.count; isegment++) {
+				levelStarts[segments.levels[isegment] + 1]++;
+			}
+		}
+		for (int ilevel=0; ilevel<levelCount; ilevel++) {
+			levelStarts[ilevel + 1] += levelStarts[ilevel];
+		}
+		int segmentCount = levelStarts[levelCount];
+		int[] sortedCells = new int[segmentCount];
+		byte[] sortedEdgePairs = new byte[segmentCount];
+		int[] sortedEdgeLengthExponents = new int[segmentCount];
+		int[] cursors = Arrays.copyOf(levelStarts, levelCount);
+		for (SegmentList segments: bandSegments) {
+			for (int isegment=0; isegment<segments.count; isegment++) {
+				int cursor = cursors[segments.levels[isegment]]++;
+				sortedCells[cursor] = segments.cells[isegment];
+				sortedEdgePairs[cursor] = segments.edgePairs[isegment];
+				sortedEdgeLengthExponents[cursor] = segments.edgeLengthExponents[isegment];
+			}
+		}
+
+		// Stitch the segments into polylines, for each level.
+		LevelPolylines[] levelPolylines = new LevelPolylines[levelCount];
+		IntStream levelIndices = IntStream.range(0, levelCount);
+		(parallel ? levelIndices.parallel() : levelIndices).forEach(ilevel -> {
+			levelPolylines[ilevel] = this.stitchSegments(
+					ilevel, sortedCells, sortedEdgePairs, sortedEdgeLengthExponents, levelStarts[ilevel], levelStarts[ilevel + 1]
+			);
+		});
+
+		// Concatenate the polylines of all levels, and the filled flat cells of all bands.
+		this.storeResults(levelPolylines, bandSegments);
+	}
+
+
+	/**
+	 * Gets the contour level of the specified index.
+	 *
+	 * @param levelIndex The index of the level.
+	 * @return The contour level.
+	 */
+	private double getLevel(int levelIndex) {
+		return this.minLevel + (this.maxLevel - this.minLevel) * levelIndex / (double)this.divisionCount;
+	}
+
+
+	/**
+	 * Generates the contour segments in the cells of the specified rows.
+	 *
+	 * @param firstRow The index of the first row of the cells.
+	 * @param endRow The index next to the last row of the cells.
+	 * @return The generated segments.
+	 */
+	private SegmentList generateSegments(int firstRow, int endRow) {
+		SegmentList segments = new SegmentList();
+		double levelStep = (this.maxLevel - this.minLevel) / this.divisionCount;
+
+		// A short alias of the grid points.
+		FlatPointStorage p = this.points;
+
+		for (int iL=firstRow; iL<endRow; iL++) {
+			int cellColumnCount = Math.min(p.getColumnCount(iL), p.getColumnCount(iL + 1)) - 1;
+			int currentRowOffset = p.getRowOffset(iL);
+			int nextRowOffset = p.getRowOffset(iL + 1);
+			for (int iR=0; iR<cellColumnCount; iR++) {
+
+				// The indices of the corners A, B, C, and D of the cell in the point storage.
+				int pointA = currentRowOffset + iR;
+				int pointB = currentRowOffset + iR + 1;
+				int pointC = nextRowOffset    + iR + 1;
+				int pointD = nextRowOffset    + iR;
+
+				// Skip the cells of which some corners are invisible.
+				if (!p.isVisible(pointA) || !p.isVisible(pointB) || !p.isVisible(pointC) || !p.isVisible(pointD)) {
+					continue;
+				}
+
+				// The Z values of the corners A, B, C, and D of the cell.
+				double zA = p.getZCoordinate(pointA);
+				double zB = p.getZCoordinate(pointB);
+				double zC = p.getZCoordinate(pointC);
+				double zD = p.getZCoordinate(pointD);
+				double cellMin = Math.min(Math.min(zA, zB), Math.min(zC, zD));
+				double cellMax = Math.max(Math.max(zA, zB), Math.max(zC, zD));
+				if (!(cellMin <= cellMax)) { // NaN
+					continue;
+				}
+
+				// Determine the range of the levels crossing this cell, with a margin for rounding errors.
+				int firstLevel = 0;
+				int lastLevel = this.divisionCount;
+				if (0.0 < levelStep) {
+					firstLevel = (int)Math.max(Math.ceil((cellMin - this.minLevel) / levelStep) - 1.0, 0.0);
+					lastLevel = (int)Math.min(Math.floor((cellMax - this.minLevel) / levelStep) + 1.0, this.divisionCount);
+				}
+
+				int cell = iL * this.rowStride + iR;
+				int edgeLengthExponent = Integer.MIN_VALUE; // Computed when the cell is crossed by a level at first.
+				for (int ilevel=firstLevel; ilevel<=lastLevel; ilevel++) {
+					double level = this.getLevel(ilevel);
+					if (level < cellMin || cellMax < level) {
+						continue;
+					}
+
+					// Quantize the maximum length (in X, Y, or Z direction) of the edges of the cell,
+					// which determines the depth offset of the contours in the cell.
+					if (edgeLengthExponent == Integer.MIN_VALUE) {
+						double edgeLength = cellMax - cellMin;
+						edgeLength = Math.max(edgeLength, Math.abs(p.getXCoordinate(pointB) - p.getXCoordinate(pointA)));
+						edgeLength = Math.max(edgeLength, Math.abs(p.getYCoordinate(pointB) - p.getYCoordinate(pointA)));
+						edgeLength = Math.max(edgeLength, Math.abs(p.getXCoordinate(pointD) - p.getXCoordinate(pointA)));
+						edgeLength = Math.max(edgeLength, Math.abs(p.getYCoordinate(pointD) - p.getYCoordinate(pointA)));
+						edgeLengthExponent = Math.min(Math.getExponent(edgeLength), Double.MAX_EXPONENT);
+					}
+
+					// The cells of which 3 or 4 corners are exactly on the level are filled as flat planes.
+					int flatMask = (zA == level ? 1 : 0) | (zB == level ? 2 : 0) | (zC == level ? 4 : 0) | (zD == level ? 8 : 0);
+					int flatCount = Integer.bitCount(flatMask);
+					if (3 <= flatCount) {
+						segments.addFlatCell(cell, ilevel, (byte)flatMask, edgeLengthExponent);
+						continue;
+					}
+
+					// Classify the corners: above (or on) the level, or below it.
+					int aboveMask = (zA >= level ? 1 : 0) | (zB >= level ? 2 : 0) | (zC >= level ? 4 : 0) | (zD >= level ? 8 : 0);
+					switch (aboveMask) {
+						case 0 :
+						case 15 : {
+							break;
+						}
+
+						// Saddle cells: connect or separate the above corners, depending on the average value at the center.
+						case 5 :
+						case 10 : {
+							boolean centerAbove = (zA + zB + zC + zD) * 0.25 >= level;
+							boolean cutOffAC = (aboveMask == 5) != centerAbove; // Whether the corners A and C are cut off.
+							if (cutOffAC) {
+								segments.addSegment(cell, ilevel, EDGE_DA, EDGE_AB, edgeLengthExponent);
+								segments.addSegment(cell, ilevel, EDGE_BC, EDGE_CD, edgeLengthExponent);
+							} else {
+								segments.addSegment(cell, ilevel, EDGE_AB, EDGE_BC, edgeLengthExponent);
+								segments.addSegment(cell, ilevel, EDGE_CD, EDGE_DA, edgeLengthExponent);
+							}
+							break;
+						}
+
+						// The other cells: the contour crosses exactly 2 edges.
+						default : {
+							int firstEdge = -1;
+							int secondEdge = -1;
+							for (int iedge=0; iedge<4; iedge++) {
+								boolean startAbove = ((aboveMask >> iedge) & 1) != 0;
+								boolean endAbove = ((aboveMask >> ((iedge + 1) & 3)) & 1) != 0;
+								if (startAbove != endAbove) {
+									if (firstEdge == -1) {
+										firstEdge = iedge;
+									} else {
+										secondEdge = iedge;
+									}
+								}
+							}
+							segments.addSegment(cell, ilevel, firstEdge, secondEdge, edgeLengthExponent);
+							break;
+						}
+					}
+				}
+			}
+		}
+		return segments;
+	}
+
+
+	/** The local index of the edge from the corner A to B of a cell. */
+	private static final int EDGE_AB = 0;
+
+	/** The local index of the edge from the corner B to C of a cell. */
+	private static final int EDGE_BC = 1;
+
+	/** The local index of the edge from the corner C to D of a cell. */
+	private static final int EDGE_CD = 2;
+
+	/** The local index of the edge from the corner D to A of a cell. */
+	private static final int EDGE_DA = 3;
+
+
+	/**
+	 * Gets the global ID of the edge of the specified cell.
+	 *
+	 * The edges shared by adjacent cells have the same ID.
+	 * The ID of the edge from the grid point [iL][iR] to [iL][iR+1] is (iL*rowStride + iR)*2,
+	 * and the ID of the edge from the grid point [iL][iR] to [iL+1][iR] is (iL*rowStride + iR)*2 + 1.
+	 *
+	 * @param cell The ID of the cell (iL*rowStride + iR).
+	 * @param localEdge The local index of the edge in the cell.
+	 * @return The global ID of the edge.
+	 */
+	private long getEdgeId(int cell, int localEdge) {
+		long cornerA = cell;
+		switch (localEdge) {
+			case EDGE_AB : return cornerA * 2;
+			case EDGE_BC : return (cornerA + 1) * 2 + 1;
+			case EDGE_CD : return (cornerA + this.rowStride) * 2;
+			case EDGE_DA : return cornerA * 2 + 1;
+			default : throw new IllegalArgumentException("Unexpected edge index: " + localEdge);
+		}
+	}
+
+
+	/**
+	 * Stitches the contour segments of a level into polylines.
+	 *
+	 * @param levelIndex The index of the level.
+	 * @param cells The IDs of the cells of the segments, sorted by the levels.
+	 * @param edgePairs The pairs of the local edge indices of the segments, sorted by the levels.
+	 * @param edgeLengthExponents The binary exponents of the quantized edge lengths of the cells of the segments, sorted by the levels.
+	 * @param start The index of the first segment of the level.
+	 * @param end The index next to the last segment of the level.
+	 * @return The stitched polylines.
+	 */
+	private LevelPolylines stitchSegments(int levelIndex, int[] cells, byte[] edgePairs, int[] edgeLengthExponents,
+			int start, int end) {
+		double level = this.getLevel(levelIndex);
+		int segmentCount = end - start;
+
+		// Assign the sequential IDs to the crossing points (edges) shared by the segments, using a hash table.
+		int tableCapacity = Integer.highestOneBit(Math.max(segmentCount * 4, 16) - 1) << 1;
+		long[] tableKeys = new long[tableCapacity];
+		int[] tableValues = new int[tableCapacity];
+		Arrays.fill(tableKeys, -1L);
+		long[] pointEdges = new long[segmentCount * 2];
+		int pointCount = 0;
+		int[] segmentPoints = new int[segmentCount * 2];
+		for (int isegment=0; isegment<segmentCount; isegment++) {
+			int cell = cells[start + isegment];
+			int edgePair = edgePairs[start + isegment];
+			for (int iend=0; iend<2; iend++) {
+				long edgeId = this.getEdgeId(cell, iend == 0 ? (edgePair >> 2) : (edgePair & 3));
+				int slot = (int)((edgeId * 0x9E3779B97F4A7C15L) >>> 40) & (tableCapacity - 1);
+				while (tableKeys[slot] != -1L && tableKeys[slot] != edgeId) {
+					slot = (slot + 1) & (tableCapacity - 1);
+				}
+				if (tableKeys[slot] == -1L) {
+					tableKeys[slot] = edgeId;
+					tableValues[slot] = pointCount;
+					pointEdges[pointCount++] = edgeId;
+				}
+				segmentPoints[isegment * 2 + iend] = tableValues[slot];
+			}
+		}
+
+		// Register the (at most 2) segments connected to each point.
+		int[] pointSegments = new int[pointCount * 2];
+		Arrays.fill(pointSegments, -1);
+		for (int isegment=0; isegment<segmentCount; isegment++) {
+			for (int iend=0; iend<2; iend++) {
+				int point = segmentPoints[isegment * 2 + iend];
+				pointSegments[point * 2 + (pointSegments[point * 2] == -1 ? 0 : 1)] = isegment;
+			}
+		}
+
+		// Walk along the segments to compose polylines: first from the end points of open polylines, and then closed ones.
+		LevelPolylines polylines = new LevelPolylines(pointCount, segmentCount);
+		int[] outputIndices = new int[pointCount];
+		Arrays.fill(outputIndices, -1);
+		boolean[] segmentVisited = new boolean[segmentCount];
+		for (int pass=0; pass<2; pass++) {
+			for (int startPoint=0; startPoint<pointCount; startPoint++) {
+				boolean isEndPoint = pointSegments[startPoint * 2 + 1] == -1;
+				if (pass == 0 && !isEndPoint) {
+					continue;
+				}
+				int point = startPoint;
+				while (true) {
+					int segment = pointSegments[point * 2];
+					if (segment == -1 || segmentVisited[segment]) {
+						segment = pointSegments[point * 2 + 1];
+					}
+					if (segment == -1 || segmentVisited[segment]) {
+						break;
+					}
+					segmentVisited[segment] = true;
+					int nextPoint = segmentPoints[segment * 2] == point ? segmentPoints[segment * 2 + 1] : segmentPoints[segment * 2];
+					polylines.addLine(
+							this.getOutputIndex(point, pointEdges, outputIndices, polylines, level),
+							this.getOutputIndex(nextPoint, pointEdges, outputIndices, polylines, level),
+							edgeLengthExponents[start + segment]
+					);
+					point = nextPoint;
+				}
+			}
+		}
+		return polylines;
+	}
+
+
+	/**
+	 * Gets the index of the specified crossing point in the output vertex arrays of the level,
+	 * with computing its coordinates and appending it to the arrays when it is referred for the first time.
+	 *
+	 * @param point The ID of the crossing point.
+	 * @param pointEdges The IDs of the edges of the crossing points.
+	 * @param outputIndices The indices of the crossing points in the output vertex arrays (-1 for not appended yet).
+	 * @param polylines The output polylines of the level.
+	 * @param level The contour level.
+	 * @return The index of the point in the output vertex arrays of the level.
+	 */
+	private int getOutputIndex(int point, long[] pointEdges, int[] outputIndices, LevelPolylines polylines, double level) {
+		if (outputIndices[point] != -1) {
+			return outputIndices[point];
+		}
+
+		// Decode the edge ID into the grid indices of its end points.
+		long edgeId = pointEdges[point];
+		long corner = edgeId >> 1;
+		int iL0 = (int)(corner / this.rowStride);
+		int iR0 = (int)(corner % this.rowStride);
+		int iL1 = (edgeId & 1) == 0 ? iL0 : iL0 + 1;
+		int iR1 = (edgeId & 1) == 0 ? iR0 + 1 : iR0;
+
+		// Interpolate the coordinates of the point at which the level crosses the edge.
+		// (The ratio is computed from the edge itself, so the adjacent cells share exactly the same point.)
+		int point0 = this.points.getRowOffset(iL0) + iR0;
+		int point1 = this.points.getRowOffset(iL1) + iR1;
+		double z0 = this.points.getZCoordinate(point0);
+		double z1 = this.points.getZCoordinate(point1);
+		double ratio = (level - z0) / (z1 - z0);
+		double x0 = this.points.getXCoordinate(point0);
+		double y0 = this.points.getYCoordinate(point0);
+		double x = x0 + (this.points.getXCoordinate(point1) - x0) * ratio;
+		double y = y0 + (this.points.getYCoordinate(point1) - y0) * ratio;
+		outputIndices[point] = polylines.addVertex(x, y, level);
+		return outputIndices[point];
+	}
+
+
+	/**
+	 * Concatenates the polylines of all levels and the filled flat cells of all bands,
+	 * and stores them as the results, dividing them into the depth offset groups.
+	 *
+	 * @param levelPolylines The polylines of each level.
+	 * @param bandSegments The segments (including the filled flat cells) of each band.
+	 */
+	private void storeResults(LevelPolylines[] levelPolylines, SegmentList[] bandSegments) {
+
+		// Count the vertices, and the lines/polygons in each depth offset group (indexed by the binary exponent).
+		int vertexCount = 0;
+		int[] lineCounts = new int[EDGE_LENGTH_EXPONENT_COUNT];
+		int[] triangleCounts = new int[EDGE_LENGTH_EXPONENT_COUNT];
+		int[] quadrangleCounts = new int[EDGE_LENGTH_EXPONENT_COUNT];
+		for (LevelPolylines polylines: levelPolylines) {
+			vertexCount += polylines.vertexCount;
+			for (int iline=0; iline<polylines.indexCount/2; iline++) {
+				lineCounts[polylines.edgeLengthExponents[iline] - Double.MIN_EXPONENT + 1]++;
+			}
+		}
+		for (SegmentList segments: bandSegments) {
+			for (int iflat=0; iflat<segments.flatCount; iflat++) {
+				int exponentIndex = segments.flatEdgeLengthExponents[iflat] - Double.MIN_EXPONENT + 1;
+				if (Integer.bitCount(segments.flatMasks[iflat]) == 3) {
+					triangleCounts[exponentIndex]++;
+					vertexCount += 3;
+				} else {
+					quadrangleCounts[exponentIndex]++;
+					vertexCount += 4;
+				}
+			}
+		}
+
+		// Allocate the index arrays of the groups, and map the binary exponents to the indices of the groups.
+		int groupCount = 0;
+		int[] groupIndices = new int[EDGE_LENGTH_EXPONENT_COUNT];
+		for (int iexponent=0; iexponent<EDGE_LENGTH_EXPONENT_COUNT; iexponent++) {
+			if (lineCounts[iexponent] != 0 || triangleCounts[iexponent] != 0 || quadrangleCounts[iexponent] != 0) {
+				groupIndices[iexponent] = groupCount++;
+			}
+		}
+		double[] groupEdgeLengths = new double[groupCount];
+		int[][] lineIndices = new int[groupCount][];
+		int[][] triangleIndices = new int[groupCount][];
+		int[][] quadrangleIndices = new int[groupCount][];
+		for (int iexponent=0; iexponent<EDGE_LENGTH_EXPONENT_COUNT; iexponent++) {
+			if (lineCounts[iexponent] != 0 || triangleCounts[iexponent] != 0 || quadrangleCounts[iexponent] != 0) {
+				int igroup = groupIndices[iexponent];
+				groupEdgeLengths[igroup] = Math.scalb(1.0, iexponent + Double.MIN_EXPONENT); // = 2^(exponent + 1)
+				lineIndices[igroup] = new int[lineCounts[iexponent] * 2];
+				triangleIndices[igroup] = new int[triangleCounts[iexponent] * 3];
+				quadrangleIndices[igroup] = new int[quadrangleCounts[iexponent] * 4];
+			}
+		}
+		int[] lineIndexCursors = new int[groupCount];
+		int[] triangleIndexCursors = new int[groupCount];
+		int[] quadrangleIndexCursors = new int[groupCount];
+
+		double[] xVertices = new double[vertexCount];
+		double[] yVertices = new double[vertexCount];
+		double[] zVertices = new double[vertexCount];
+
+		// Concatenate the polylines, shifting their vertex indices.
+		int vertexCursor = 0;
+		for (LevelPolylines polylines: levelPolylines) {
+			System.arraycopy(polylines.xVertices, 0, xVertices, vertexCursor, polylines.vertexCount);
+			System.arraycopy(polylines.yVertices, 0, yVertices, vertexCursor, polylines.vertexCount);
+			System.arraycopy(polylines.zVertices, 0, zVertices, vertexCursor, polylines.vertexCount);
+			for (int iline=0; iline<polylines.indexCount/2; iline++) {
+				int igroup = groupIndices[polylines.edgeLengthExponents[iline] - Double.MIN_EXPONENT + 1];
+				int[] groupLineIndices = lineIndices[igroup];
+				groupLineIndices[lineIndexCursors[igroup]++] = polylines.indices[iline * 2    ] + vertexCursor;
+				groupLineIndices[lineIndexCursors[igroup]++] = polylines.indices[iline * 2 + 1] + vertexCursor;
+			}
+			vertexCursor += polylines.vertexCount;
+		}
+
+		// Append the corners of the filled flat cells, and their indices.
+		for (SegmentList segments: bandSegments) {
+			for (int iflat=0; iflat<segments.flatCount; iflat++) {
+				int cell = segments.flatCells[iflat];
+				int flatMask = segments.flatMasks[iflat];
+				int igroup = groupIndices[segments.flatEdgeLengthExponents[iflat] - Double.MIN_EXPONENT + 1];
+				int iL = cell / this.rowStride;
+				int iR = cell % this.rowStride;
+				boolean isTriangle = Integer.bitCount(flatMask) == 3;
+				for (int icorner=0; icorner<4; icorner++) {
+					if ((flatMask & (1 << icorner)) == 0) {
+						continue;
+					}
+					int cornerL = (icorner == 2 || icorner == 3) ? iL + 1 : iL;
+					int cornerR = (icorner == 1 || icorner == 2) ? iR + 1 : iR;
+					int cornerPoint = this.points.getRowOffset(cornerL) + cornerR;
+					xVertices[vertexCursor] = this.points.getXCoordinate(cornerPoint);
+					yVertices[vertexCursor] = this.points.getYCoordinate(cornerPoint);
+					zVertices[vertexCursor] = this.points.getZCoordinate(cornerPoint);
+					if (isTriangle) {
+						triangleIndices[igroup][triangleIndexCursors[igroup]++] = vertexCursor;
+					} else {
+						quadrangleIndices[igroup][quadrangleIndexCursors[igroup]++] = vertexCursor;
+					}
+					vertexCursor++;
+				}
+			}
+		}
+
+		this.vertexXCoords = xVertices;
+		this.vertexYCoords = yVertices;
+		this.vertexZCoords = zVertices;
+		this.groupEdgeLengths = groupEdgeLengths;
+		this.lineVertexIndices = lineIndices;
+		this.flatTriangleVertexIndices = triangleIndices;
+		this.flatQuadrangleVertexIndices = quadrangleIndices;
+	}
+
+
+	/**
+	 * Gets the X coordinate values of the vertices of the traced contours.
+	 *
+	 * @return The X coordinate values of the vertices.
+	 */
+	public double[] getVertexXCoordinates() {
+		return this.vertexXCoords;
+	}
+
+
+	/**
+	 * Gets the Y coordinate values of the vertices of the traced contours.
+	 *
+	 * @return The Y coordinate values of the vertices.
+	 */
+	public double[] getVertexYCoordinates() {
+		return this.vertexYCoords;
+	}
+
+
+	/**
+	 * Gets the Z coordinate values of the vertices of the traced contours.
+	 *
+	 * @return The Z coordinate values of the vertices.
+	 */
+	public double[] getVertexZCoordinates() {
+		return this.vertexZCoords;
+	}
+
+
+	/**
+	 * Gets the number of the depth offset groups.
+	 *
+	 * @return The number of the depth offset groups.
+	 */
+	public int getDepthOffsetGroupCount() {
+		return this.groupEdgeLengths.length;
+	}
+
+
+	/**
+	 * Gets the edge length of the cells of the specified depth offset group,
+	 * which is the maximum length (in X, Y, or Z direction) of the edges of the cells, rounded up to a power of 2.
+	 *
+	 * @param groupIndex The index of the depth offset group.
+	 * @return The quantized edge length of the cells of the group.
+	 */
+	public double getDepthOffsetGroupEdgeLength(int groupIndex) {
+		return this.groupEdgeLengths[groupIndex];
+	}
+
+
+	/**
+	 * Gets the indices of the edge points of the contour lines of the specified depth offset group,
+	 * in the order [a0, b0, a1, b1, ...].
+	 *
+	 * @param groupIndex The index of the depth offset group.
+	 * @return The indices of the edge points of the lines.
+	 */
+	public int[] getLineVertexIndices(int groupIndex) {
+		return this.lineVertexIndices[groupIndex];
+	}
+
+
+	/**
+	 * Gets the indices of the vertices of the filled flat triangles of the specified depth offset group,
+	 * in the order [a0, b0, c0, a1, b1, c1, ...].
+	 *
+	 * @param groupIndex The index of the depth offset group.
+	 * @return The indices of the vertices of the triangles.
+	 */
+	public int[] getFlatTriangleVertexIndices(int groupIndex) {
+		return this.flatTriangleVertexIndices[groupIndex];
+	}
+
+
+	/**
+	 * Gets the indices of the vertices of the filled flat quadrangles of the specified depth offset group,
+	 * in the order [a0, b0, c0, d0, a1, b1, c1, d1, ...].
+	 *
+	 * @param groupIndex The index of the depth offset group.
+	 * @return The indices of the vertices of the quadrangles.
+	 */
+	public int[] getFlatQuadrangleVertexIndices(int groupIndex) {
+		return this.flatQuadrangleVertexIndices[groupIndex];
+	}
+
+
+	/**
+	 * The growable list of the contour segments (and the filled flat cells) generated in a band of rows.
+	 */
+	private static final class SegmentList {
+
+		/** The IDs of the cells of the segments. */
+		private int[] cells = new int[64];
+
+		/** The indices of the levels of the segments. */
+		private int[] levels = new int[64];
+
+		/** The pairs of the local edge indices of the segments (first * 4 + second). */
+		private byte[] edgePairs = new byte[64];
+
+		/** The binary exponents of the quantized edge lengths of the cells of the segments. */
+		private int[] edgeLengthExponents = new int[64];
+
+		/** The number of the segments. */
+		private int count = 0;
+
+		/** The IDs of the filled flat cells. */
+		private int[] flatCells = new int[0];
+
+		/** The masks of the corners on the level, of the filled flat cells. */
+		private byte[] flatMasks = new byte[0];
+
+		/** The binary exponents of the quantized edge lengths of the filled flat cells. */
+		private int[] flatEdgeLengthExponents = new int[0];
+
+		/** The number of the filled flat cells. */
+		private int flatCount = 0;
+
+		/**
+		 * Appends a segment.
+		 *
+		 * @param cell The ID of the cell.
+		 * @param level The index of the level.
+		 * @param firstEdge The local index of the edge on which the first end point is.
+		 * @param secondEdge The local index of the edge on which the second end point is.
+		 * @param edgeLengthExponent The binary exponent of the quantized edge length of the cell.
+		 */
+		public void addSegment(int cell, int level, int firstEdge, int secondEdge, int edgeLengthExponent) {
+			if (this.count == this.cells.length) {
+				int capacity = this.count * 2;
+				this.cells = Arrays.copyOf(this.cells, capacity);
+				this.levels = Arrays.copyOf(this.levels, capacity);
+				this.edgePairs = Arrays.copyOf(this.edgePairs, capacity);
+				this.edgeLengthExponents = Arrays.copyOf(this.edgeLengthExponents, capacity);
+			}
+			this.cells[this.count] = cell;
+			this.levels[this.count] = level;
+			this.edgePairs[this.count] = (byte)(firstEdge * 4 + secondEdge);
+			this.edgeLengthExponents[this.count] = edgeLengthExponent;
+			this.count++;
+		}
+
+		/**
+		 * Appends a filled flat cell.
+		 *
+		 * @param cell The ID of the cell.
+		 * @param level The index of the level.
+		 * @param flatMask The mask of the corners on the level.
+		 * @param edgeLengthExponent The binary exponent of the quantized edge length of the cell.
+		 */
+		public void addFlatCell(int cell, int level, byte flatMask, int edgeLengthExponent) {
+			if (this.flatCount == this.flatCells.length) {
+				int capacity = Math.max(this.flatCount * 2, 16);
+				this.flatCells = Arrays.copyOf(this.flatCells, capacity);
+				this.flatMasks = Arrays.copyOf(this.flatMasks, capacity);
+				this.flatEdgeLengthExponents = Arrays.copyOf(this.flatEdgeLengthExponents, capacity);
+			}
+			this.flatCells[this.flatCount] = cell;
+			this.flatMasks[this.flatCount] = flatMask;
+			this.flatEdgeLengthExponents[this.flatCount] = edgeLengthExponent;
+			this.flatCount++;
+		}
+	}
+
+
+	/**
+	 * The polylines (stored as the vertex arrays and the indices of lines) of a level.
+	 */
+	private static final class LevelPolylines {
+
+		/** The X coordinate values of the vertices. */
+		private final double[] xVertices;
+
+		/** The Y coordinate values of the vertices. */
+		private final double[] yVertices;
+
+		/** The Z coordinate values of the vertices. */
+		private final double[] zVertices;
+
+		/** The number of the vertices. */
+		private int vertexCount = 0;
+
+		/** The indices of the edge points of the lines. */
+		private final int[] indices;
+
+		/** The number of the indices. */
+		private int indexCount = 0;
+
+		/** The binary exponents of the quantized edge lengths of the cells of the lines. */
+		private final int[] edgeLengthExponents;
+
+		/**
+		 * Creates a new instance having the specified capacities.
+		 *
+		 * @param vertexCapacity The maximum number of the vertices.
+		 * @param lineCapacity The maximum number of the lines.
+		 */
+		public LevelPolylines(int vertexCapacity, int lineCapacity) {
+			this.xVertices = new double[vertexCapacity];
+			this.yVertices = new double[vertexCapacity];
+			this.zVertices = new double[vertexCapacity];
+			this.indices = new int[lineCapacity * 2];
+			this.edgeLengthExponents = new int[lineCapacity];
+		}
+
+		/**
+		 * Appends a vertex.
+		 *
+		 * @param x The X coordinate value of the vertex.
+		 * @param y The Y coordinate value of the vertex.
+		 * @param z The Z coordinate value of the vertex.
+		 * @return The index of the appended vertex.
+		 */
+		public int addVertex(double x, double y, double z) {
+			this.xVertices[this.vertexCount] = x;
+			this.yVertices[this.vertexCount] = y;
+			this.zVertices[this.vertexCount] = z;
+			return this.vertexCount++;
+		}
+
+		/**
+		 * Appends a line.
+		 *
+		 * @param a The index of the edge point A of the line.
+		 * @param b The index of the edge point B of the line.
+		 * @param edgeLengthExponent The binary exponent of the quantized edge length of the cell of the line.
+		 */
+		public void addLine(int a, int b, int edgeLengthExponent) {
+			this.edgeLengthExponents[this.indexCount / 2] = edgeLengthExponent;
+			this.indices[this.indexCount++] = a;
+			this.indices[this.indexCount++] = b;
+		}
+	}
+}
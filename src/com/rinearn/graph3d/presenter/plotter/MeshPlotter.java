@@ -3,6 +3,7 @@ package com.rinearn.graph3d.presenter.plotter;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -16,6 +17,11 @@ import com.rinearn.graph3d.config.data.SeriesFilterMode;
 import com.rinearn.graph3d.config.plotter.PlotterConfiguration;
 import com.rinearn.graph3d.config.plotter.MeshPlotterConfiguration;
 
+import java.util.Arrays;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
 
 /**
  * The "plotter" to plot each data series as meshes.
@@ -40,6 +46,12 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 	/** The rendering engine of 3D graphs. */
 	private final RinearnGraph3DRenderer renderer;
 
+	/** The geometries being generated in parallel in advance, to be drawn at the next plotting (null if not prepared). */
+	private GeometryGenerationQueue preparedGeometries = null;
+
+	/** The cache of the generated geometries of the data series, for skipping re-generation of unchanged ones. */
+	private final GeometryCache geometryCache = new GeometryCache();
+
 
 	/**
 	 * Create a new instance performing plottings using the specified resources.
@@ -64,6 +76,62 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingRequested(RinearnGraph3DPlottingEvent event) {
+		this.plotDataSeries(0);
+	}
+
+
+	/**
+	 * Plots only the data series appended after the last plotting,
+	 * without clearing and re-plotting the already plotted data series.
+	 *
+	 * @param firstSeriesIndex The index of the first appended data series.
+	 */
+	public synchronized void plotAppendedDataSeries(int firstSeriesIndex) {
+		this.plotDataSeries(firstSeriesIndex);
+	}
+
+
+	/**
+	 * Starts generating the geometries of the data series concurrently on the specified executor,
+	 * to draw them at the next plotting (requested by plottingRequested or plotAppendedDataSeries).
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted at the next plotting.
+	 * @param executor The executor generating the geometries.
+	 */
+	public synchronized void prepareGeometries(int firstSeriesIndex, Executor executor) {
+		this.preparedGeometries = new GeometryGenerationQueue(executor);
+		this.generateGeometries(firstSeriesIndex, this.preparedGeometries);
+	}
+
+
+	/**
+	 * Plots the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 */
+	private void plotDataSeries(int firstSeriesIndex) {
+
+		// If the geometries have been generated in parallel in advance, draw them in the order of the data series.
+		// Otherwise, generate and draw them here.
+		if (this.preparedGeometries != null) {
+			GeometryGenerationQueue preparedGeometries = this.preparedGeometries;
+			this.preparedGeometries = null;
+			preparedGeometries.drawTo(this.renderer);
+		} else {
+			GeometryGenerationQueue queue = new GeometryGenerationQueue();
+			this.generateGeometries(firstSeriesIndex, queue);
+			queue.drawTo(this.renderer);
+		}
+	}
+
+
+	/**
+	 * Generates the geometries of the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 * @param queue The queue to which the tasks generating the geometries of the data series are submitted.
+	 */
+	private void generateGeometries(int firstSeriesIndex, GeometryGenerationQueue queue) {
 
 		// Get the configuration of "With Meshes" option.
 		RinearnGraph3DConfiguration config = this.model.config;
@@ -75,6 +143,7 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 		// Plots all data series.
 		// This plotter do nothing if "With Meshes" option is not selected.
 		if(!isMeshOptionEnabled) {
+			this.geometryCache.clear();
 			return;
 		}
 
@@ -82,10 +151,10 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 		boolean existsSeriesFilter = meshPlotterConfig.getSeriesFilterMode() != SeriesFilterMode.NONE;
 		SeriesFilter seriesFilter = existsSeriesFilter ? meshPlotterConfig.getSeriesFilter() : null;
 
-		// Plots all data series.
+		// Plots the data series, from the specified index to the last.
 		DataSeriesGroup<AbstractDataSeries> dataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
 		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
-		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+		for (int dataSeriesIndex=firstSeriesIndex; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
 
 			// Filter the data series.
 			SeriesAttribute seriesAttribute = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex).getSeriesAttribute();
@@ -93,94 +162,101 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 				continue;
 			}
 
-			// Plot.
+			// Reuse the cached geometry if the data series and the values affecting its geometry have not been changed.
+			// (Get the point storage only once, and generate the geometry from it, because it may be replaced during the generation.)
 			AbstractDataSeries dataSeries = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex);
-			this.plotMesh(dataSeries, dataSeriesIndex, lineWidth);
+			FlatPointStorage points = dataSeries.getFlatPointStorage();
+			int seriesIndex = dataSeriesIndex;
+			List<Object> geometryKey = List.of(seriesIndex, lineWidth);
+			GeometryBuffer cachedGeometry = this.geometryCache.get(dataSeries, points, geometryKey);
+			if (cachedGeometry != null) {
+				queue.submit(cachedGeometry);
+				continue;
+			}
+
+			// Plot (or submit the task generating the geometry, which may be performed in parallel), and cache the geometry.
+			queue.submit(buffer -> {
+				this.plotMesh(points, seriesIndex, lineWidth, buffer);
+				this.geometryCache.put(dataSeries, points, geometryKey, buffer);
+			});
 		}
+
+		// Discard the cached geometries of the data series which have been removed.
+		this.geometryCache.retain(dataSeriesGroup);
 	}
 
 
 	/**
 	 * Plots the specified data series as a mesh.
 	 *
-	 * @param dataSeries The data series to be plotted.
+	 * @param points The point storage of the data series to be plotted.
 	 * @param seriesIndex The index of the data series.
 	 * @param lineWidth The width (in pixels) of lines composing a mesh.
+	 * @param buffer The buffer to which the geometry is drawn.
 	 */
-	private void plotMesh(AbstractDataSeries dataSeries, int seriesIndex, double lineWidth) {
+	private void plotMesh(FlatPointStorage points, int seriesIndex, double lineWidth, GeometryBuffer buffer) {
 		RinearnGraph3DDrawingParameter drawingParameter = new RinearnGraph3DDrawingParameter();
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
+		int leftDimLength = points.getRowCount();
+
+		// Copy the coordinate values of all grid points (stored contiguously) into the vertex arrays,
+		// to share each grid point with (at most) four adjacent lines.
+		int vertexCount = points.getPointCount();
+		double[] xVertices = new double[vertexCount];
+		double[] yVertices = new double[vertexCount];
+		double[] zVertices = new double[vertexCount];
+		points.copyXCoordinates(0, xVertices, 0, vertexCount);
+		points.copyYCoordinates(0, yVertices, 0, vertexCount);
+		points.copyZCoordinates(0, zVertices, 0, vertexCount);
 
-		// Draw lines for the direction of the right-side dimension.
-		int leftDimLength = xCoords.length;
+		// Allocate the index array for the maximum number of lines (the number of actually visible lines may be less).
+		int maxLineCount = 2 * vertexCount;
+		int[] vertexIndices = new int[maxLineCount * 2];
+		int indexCursor = 0;
+
+		// Store the indices of the lines for the direction of the right-side dimension.
 		for (int iL=0; iL<leftDimLength; iL++) {
 
-			int rightDimLength = xCoords[iL].length;
+			int rightDimLength = points.getColumnCount(iL);
+			int rowOffset = points.getRowOffset(iL);
 			for (int iR=0; iR<rightDimLength - 1; iR++) {
 
 				// Draw a line only when both of its edge points are set to visible.
-				boolean isLineVisible = visibilities[iL][iR] && visibilities[iL][iR + 1];
+				boolean isLineVisible = points.isVisible(rowOffset + iR) && points.isVisible(rowOffset + iR + 1);
 				if (!isLineVisible) {
 					continue;
 				}
-
-				// The coordinates of the edge point A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
-
-				// The coordinates of the edge point B:
-				double xB = xCoords[iL][iR + 1];
-				double yB = yCoords[iL][iR + 1];
-				double zB = zCoords[iL][iR + 1];
-
-				// Draw a line connecting the points A and B, on the 3D graph.
-				this.renderer.drawLine(
-						xA, yA, zA,
-						xB, yB, zB,
-						lineWidth, drawingParameter
-				);
+				vertexIndices[indexCursor++] = rowOffset + iR;     // A
+				vertexIndices[indexCursor++] = rowOffset + iR + 1; // B
 			}
 		}
 
-		// Draw lines for the direction of the left-side dimension.
+		// Store the indices of the lines for the direction of the left-side dimension.
 		for (int iL=0; iL<leftDimLength - 1; iL++) {
 
-			int currentRightDimLength = xCoords[iL].length;
-			int nextRightDimLength = xCoords[iL + 1].length;
+			int currentRightDimLength = points.getColumnCount(iL);
+			int nextRightDimLength = points.getColumnCount(iL + 1);
+			int currentRowOffset = points.getRowOffset(iL);
+			int nextRowOffset = points.getRowOffset(iL + 1);
 			for (int iR=0; iR<currentRightDimLength && iR<nextRightDimLength; iR++) {
 
 				// Draw a line only when both of its edge points are set to visible.
-				boolean isLineVisible = visibilities[iL][iR] && visibilities[iL + 1][iR];
+				boolean isLineVisible = points.isVisible(currentRowOffset + iR) && points.isVisible(nextRowOffset + iR);
 				if (!isLineVisible) {
 					continue;
 				}
-
-				// The coordinates of the edge point A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
-
-				// The coordinates of the edge point B:
-				double xB = xCoords[iL + 1][iR];
-				double yB = yCoords[iL + 1][iR];
-				double zB = zCoords[iL + 1][iR];
-
-				// Draw a line connecting the points A and B, on the 3D graph.
-				this.renderer.drawLine(
-						xA, yA, zA,
-						xB, yB, zB,
-						lineWidth, drawingParameter
-				);
+				vertexIndices[indexCursor++] = currentRowOffset + iR; // A
+				vertexIndices[indexCursor++] = nextRowOffset + iR;    // B
 			}
 		}
+
+		// Draw all the lines on the 3D graph, sharing the edge points between adjacent lines.
+		if (indexCursor != vertexIndices.length) {
+			vertexIndices = Arrays.copyOf(vertexIndices, indexCursor);
+		}
+		buffer.drawIndexedLines(xVertices, yVertices, zVertices, vertexIndices, lineWidth, drawingParameter);
 	}
 
 
@@ -191,6 +267,9 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingCanceled(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 
 
@@ -201,5 +280,8 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingFinished(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 }
@@ -0,0 +1,228 @@
+package com.rinearn.graph3d.presenter.plotter;
+
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+
+/**
+ * The class to aggregate a large number of points into voxels (3D bins) dividing the X/Y/Z ranges of the graph,
+ * for plotting one representative point for each voxel instead of all the points.
+ *
+ * The representative point of a voxel is placed at the centroid of the points in the voxel,
+ * and has the number of the points in the voxel as its density.
+ *
+ * The voxels are defined in the data coordinates (not in the screen coordinates),
+ * so the result doesn't depend on the angle/magnification of the camera, and is not required to be updated when the camera moves.
+ */
+public final class PointDensityAggregator {
+
+	/** The maximum number of the voxels in each direction (up to 2^10, for packing the 3D indices of a voxel into 30 bits). */
+	public static final int MAX_RESOLUTION = 1024;
+
+	/** The number of the bits of a packed key, used for storing the index of a point. */
+	private static final int POINT_INDEX_BITS = 34;
+
+	/** The key representing the invisible/out-of-range points, which are sorted to the end. */
+	private static final long EXCLUDED_KEY = Long.MAX_VALUE;
+
+	/** The minimum values of the X, Y, and Z ranges. */
+	private final double[] minCoords;
+
+	/** The maximum values of the X, Y, and Z ranges. */
+	private final double[] maxCoords;
+
+	/** The number of the voxels in each of X, Y, and Z directions. */
+	private final int resolution;
+
+	/** The X coordinate values of the representative points. */
+	private double[] representativeXCoords = new double[0];
+
+	/** The Y coordinate values of the representative points. */
+	private double[] representativeYCoords = new double[0];
+
+	/** The Z coordinate values of the representative points. */
+	private double[] representativeZCoords = new double[0];
+
+	/** The densities (the numbers of the aggregated points) of the representative points. */
+	private int[] densities = new int[0];
+
+
+	/**
+	 * Creates a new instance aggregating points into voxels, dividing the specified ranges.
+	 *
+	 * @param minCoords The minimum values of the X, Y, and Z ranges.
+	 * @param maxCoords The maximum values of the X, Y, and Z ranges.
+	 * @param resolution The number of the voxels in each of X, Y, and Z directions.
+	 */
+	public PointDensityAggregator(double[] minCoords, double[] maxCoords, int resolution) {
+		if (resolution < 1 || MAX_RESOLUTION < resolution) {
+			throw new IllegalArgumentException("The resolution must be in the range from 1 to " + MAX_RESOLUTION + ": " + resolution);
+		}
+		this.minCoords = minCoords.clone();
+		this.maxCoords = maxCoords.clone();
+		this.resolution = resolution;
+	}
+
+
+	/**
+	 * Aggregates the specified points.
+	 *
+	 * The invisible points and the points out of the ranges are ignored.
+	 * The results are in the ascending order of the indices of the voxels, regardless of whether they are computed in parallel.
+	 *
+	 * @param points The coordinates and the visibilities of the points.
+	 * @param parallel Specify true to aggregate the points in parallel.
+	 */
+	public void aggregate(FlatPointStorage points, boolean parallel) {
+		int pointCount = points.getPointCount();
+		if ((1L << POINT_INDEX_BITS) <= pointCount) {
+			throw new IllegalArgumentException("Too many points to be aggregated: " + pointCount);
+		}
+
+		// Compute the packed keys (the voxel index in the upper bits, and the point index in the lower bits) of all points.
+		long[] keys = new long[pointCount];
+		IntStream pointIndices = IntStream.range(0, pointCount);
+		(parallel ? pointIndices.parallel() : pointIndices).forEach(point -> {
+			long voxel = points.isVisible(point)
+					? this.getVoxelIndex(points.getXCoordinate(point), points.getYCoordinate(point), points.getZCoordinate(point))
+					: -1L;
+			keys[point] = voxel == -1L ? EXCLUDED_KEY : (voxel << POINT_INDEX_BITS) | point;
+		});
+
+		// Sort the keys, to arrange the points in the same voxel successively.
+		if (parallel) {
+			Arrays.parallelSort(keys);
+		} else {
+			Arrays.sort(keys);
+		}
+
+		// Count the voxels containing points.
+		int voxelCount = 0;
+		long lastVoxel = -1L;
+		for (long key: keys) {
+			if (key == EXCLUDED_KEY) {
+				break;
+			}
+			long voxel = key >>> POINT_INDEX_BITS;
+			if (voxel != lastVoxel) {
+				voxelCount++;
+				lastVoxel = voxel;
+			}
+		}
+
+		// Accumulate the coordinates of the points in each voxel, and compute their centroids.
+		double[] xRepresentatives = new double[voxelCount];
+		double[] yRepresentatives = new double[voxelCount];
+		double[] zRepresentatives = new double[voxelCount];
+		int[] voxelDensities = new int[voxelCount];
+		int ivoxel = -1;
+		lastVoxel = -1L;
+		for (long key: keys) {
+			if (key == EXCLUDED_KEY) {
+				break;
+			}
+			long voxel = key >>> POINT_INDEX_BITS;
+			if (voxel != lastVoxel) {
+				ivoxel++;
+				lastVoxel = voxel;
+			}
+			int point = (int)(key & ((1L << POINT_INDEX_BITS) - 1L));
+			xRepresentatives[ivoxel] += points.getXCoordinate(point);
+			yRepresentatives[ivoxel] += points.getYCoordinate(point);
+			zRepresentatives[ivoxel] += points.getZCoordinate(point);
+			voxelDensities[ivoxel]++;
+		}
+		for (ivoxel=0; ivoxel<voxelCount; ivoxel++) {
+			xRepresentatives[ivoxel] /= voxelDensities[ivoxel];
+			yRepresentatives[ivoxel] /= voxelDensities[ivoxel];
+			zRepresentatives[ivoxel] /= voxelDensities[ivoxel];
+		}
+
+		this.representativeXCoords = xRepresentatives;
+		this.representativeYCoords = yRepresentatives;
+		this.representativeZCoords = zRepresentatives;
+		this.densities = voxelDensities;
+	}
+
+
+	/**
+	 * Gets the index of the voxel containing the specified point.
+	 *
+	 * @param x The X coordinate value of the point.
+	 * @param y The Y coordinate value of the point.
+	 * @param z The Z coordinate value of the point.
+	 * @return The index of the voxel (-1 if the point is out of the ranges).
+	 */
+	private long getVoxelIndex(double x, double y, double z) {
+		int ix = this.getVoxelIndex(x, 0);
+		int iy = this.getVoxelIndex(y, 1);
+		int iz = this.getVoxelIndex(z, 2);
+		if (ix == -1 || iy == -1 || iz == -1) {
+			return -1L;
+		}
+		return ((long)ix * this.resolution + iy) * this.resolution + iz;
+	}
+
+
+	/**
+	 * Gets the index of the voxel containing the specified coordinate value, in the specified direction.
+	 *
+	 * @param coord The coordinate value.
+	 * @param dimension The index of the direction (0 for X, 1 for Y, 2 for Z).
+	 * @return The index of the voxel in the direction (-1 if the coordinate is out of the range).
+	 */
+	private int getVoxelIndex(double coord, int dimension) {
+		double min = this.minCoords[dimension];
+		double max = this.maxCoords[dimension];
+		if (!(min <= coord && coord <= max)) {
+			return -1;
+		}
+		if (max == min) {
+			return 0;
+		}
+		int index = (int)((coord - min) / (max - min) * this.resolution);
+		return Math.min(index, this.resolution - 1);
+	}
+
+
+	/**
+	 * Gets the X coordinate values of the representative points.
+	 *
+	 * @return The X coordinate values of the representative points.
+	 */
+	public double[] getRepresentativeXCoordinates() {
+		return this.representativeXCoords;
+	}
+
+
+	/**
+	 * Gets the Y coordinate values of the representative points.
+	 *
+	 * @return The Y coordinate values of the representative points.
+	 */
+	public double[] getRepresentativeYCoordinates() {
+		return this.representativeYCoords;
+	}
+
+
+	/**
+	 * Gets the Z coordinate values of the representative points.
+	 *
+	 * @return The Z coordinate values of the representative points.
+	 */
+	public double[] getRepresentativeZCoordinates() {
+		return this.representativeZCoords;
+	}
+
+
+	/**
+	 * Gets the densities (the numbers of the aggregated points) of the representative points.
+	 *
+	 * @return The densities of the representative points.
+	 */
+	public int[] getDensities() {
+		return this.densities;
+	}
+}
@@ -3,6 +3,7 @@ package com.rinearn.graph3d.presenter.plotter;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -15,6 +16,11 @@ import com.rinearn.graph3d.config.data.SeriesFilter;
 import com.rinearn.graph3d.config.data.SeriesFilterMode;
 import com.rinearn.graph3d.config.plotter.PlotterConfiguration;
 import com.rinearn.graph3d.config.plotter.PointPlotterConfiguration;
+import com.rinearn.graph3d.config.range.RangeConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -40,6 +46,18 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 	/** The rendering engine of 3D graphs. */
 	private final RinearnGraph3DRenderer renderer;
 
+	/** The geometries being generated in parallel in advance, to be drawn at the next plotting (null if not prepared). */
+	private GeometryGenerationQueue preparedGeometries = null;
+
+	/** The cache of the generated geometries of the data series, for skipping re-generation of unchanged ones. */
+	private final GeometryCache geometryCache = new GeometryCache();
+
+	/**
+	 * The maximum number of the points of a data series, of which geometry is cached when it is drawn without the aggregation.
+	 * (The geometry of more points is re-generated at every plotting instead of being kept, because it is large but cheap to generate.)
+	 */
+	private static final int MAX_CACHED_POINT_COUNT = 100000;
+
 
 	/**
 	 * Create a new instance performing plottings using the specified resources.
@@ -64,6 +82,62 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingRequested(RinearnGraph3DPlottingEvent event) {
+		this.plotDataSeries(0);
+	}
+
+
+	/**
+	 * Plots only the data series appended after the last plotting,
+	 * without clearing and re-plotting the already plotted data series.
+	 *
+	 * @param firstSeriesIndex The index of the first appended data series.
+	 */
+	public synchronized void plotAppendedDataSeries(int firstSeriesIndex) {
+		this.plotDataSeries(firstSeriesIndex);
+	}
+
+
+	/**
+	 * Starts generating the geometries of the data series concurrently on the specified executor,
+	 * to draw them at the next plotting (requested by plottingRequested or plotAppendedDataSeries).
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted at the next plotting.
+	 * @param executor The executor generating the geometries.
+	 */
+	public synchronized void prepareGeometries(int firstSeriesIndex, Executor executor) {
+		this.preparedGeometries = new GeometryGenerationQueue(executor);
+		this.generateGeometries(firstSeriesIndex, this.preparedGeometries);
+	}
+
+
+	/**
+	 * Plots the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 */
+	private void plotDataSeries(int firstSeriesIndex) {
+
+		// If the geometries have been generated in parallel in advance, draw them in the order of the data series.
+		// Otherwise, generate and draw them here.
+		if (this.preparedGeometries != null) {
+			GeometryGenerationQueue preparedGeometries = this.preparedGeometries;
+			this.preparedGeometries = null;
+			preparedGeometries.drawTo(this.renderer);
+		} else {
+			GeometryGenerationQueue queue = new GeometryGenerationQueue();
+			this.generateGeometries(firstSeriesIndex, queue);
+			queue.drawTo(this.renderer);
+		}
+	}
+
+
+	/**
+	 * Generates the geometries of the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 * @param queue The queue to which the tasks generating the geometries of the data series are submitted.
+	 */
+	private void generateGeometries(int firstSeriesIndex, GeometryGenerationQueue queue) {
 
 		// Get the configuration of "With Points" option.
 		RinearnGraph3DConfiguration config = this.model.config;
@@ -74,6 +148,7 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 
 		// This plotter do nothing if "With Points" option is not selected.
 		if(!isPointOptionEnabled) {
+			this.geometryCache.clear();
 			return;
 		}
 
@@ -81,10 +156,21 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 		boolean existsSeriesFilter = pointPlotterConfig.getSeriesFilterMode() != SeriesFilterMode.NONE;
 		SeriesFilter seriesFilter = existsSeriesFilter ? pointPlotterConfig.getSeriesFilter() : null;
 
-		// Plots all data series.
+		// Get the settings of the density aggregation, and the X/Y/Z ranges dividing into the voxels for the aggregation.
+		boolean isDensityAggregationEnabled = pointPlotterConfig.isDensityAggregationEnabled();
+		int densityAggregationResolution = pointPlotterConfig.getDensityAggregationResolution();
+		RangeConfiguration rangeConfig = config.getRangeConfiguration();
+		List<BigDecimal> ranges = List.of(
+				rangeConfig.getXRangeConfiguration().getMinimumCoordinate(), rangeConfig.getXRangeConfiguration().getMaximumCoordinate(),
+				rangeConfig.getYRangeConfiguration().getMinimumCoordinate(), rangeConfig.getYRangeConfiguration().getMaximumCoordinate(),
+				rangeConfig.getZRangeConfiguration().getMinimumCoordinate(), rangeConfig.getZRangeConfiguration().getMaximumCoordinate()
+		);
+		boolean parallel = plotterConfig.isParallelPlottingEnabled();
+
+		// Plots the data series, from the specified index to the last.
 		DataSeriesGroup<AbstractDataSeries> dataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
 		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
-		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+		for (int dataSeriesIndex=firstSeriesIndex; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
 
 			// Filter the data series.
 			SeriesAttribute seriesAttribute = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex).getSeriesAttribute();
@@ -92,50 +178,109 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 				continue;
 			}
 
-			// Plot.
+			// Reuse the cached geometry if the data series and the values affecting its geometry have not been changed.
+			// (Get the point storage only once, and generate the geometry from it, because it may be replaced during the generation.)
 			AbstractDataSeries dataSeries = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex);
-			this.plotPoints(dataSeries, dataSeriesIndex, pointRadius);
+			FlatPointStorage points = dataSeries.getFlatPointStorage();
+			int seriesIndex = dataSeriesIndex;
+			List<Object> geometryKey = isDensityAggregationEnabled
+					? List.of(seriesIndex, pointRadius, densityAggregationResolution, ranges)
+					: List.of(seriesIndex, pointRadius);
+			GeometryBuffer cachedGeometry = this.geometryCache.get(dataSeries, points, geometryKey);
+			if (cachedGeometry != null) {
+				queue.submit(cachedGeometry);
+				continue;
+			}
+
+			// Plot (or submit the task generating the geometry, which may be performed in parallel), and cache the geometry unless it is too large.
+			queue.submit(buffer -> {
+				if (isDensityAggregationEnabled) {
+					this.plotAggregatedPoints(points, seriesIndex, pointRadius, densityAggregationResolution, ranges, parallel, buffer);
+				} else {
+					this.plotPoints(points, seriesIndex, pointRadius, buffer);
+				}
+				if (isDensityAggregationEnabled || points.getPointCount() <= MAX_CACHED_POINT_COUNT) {
+					this.geometryCache.put(dataSeries, points, geometryKey, buffer);
+				} else {
+					this.geometryCache.remove(dataSeries);
+				}
+			});
 		}
+
+		// Discard the cached geometries of the data series which have been removed.
+		this.geometryCache.retain(dataSeriesGroup);
 	}
 
 
 	/**
 	 * Plots points on each coordinate point of the specified data series.
 	 *
-	 * @param dataSeries The data series to be plotted.
+	 * @param points The point storage of the data series to be plotted.
 	 * @param seriesIndex The index of the data series.
 	 * @param pointRadius The radius (in pixels) of points.
+	 * @param buffer The buffer to which the geometry is drawn.
 	 */
-	private void plotPoints(AbstractDataSeries dataSeries, int seriesIndex, double pointRadius) {
+	private void plotPoints(FlatPointStorage points, int seriesIndex, double pointRadius, GeometryBuffer buffer) {
 		RinearnGraph3DDrawingParameter drawingParameter = new RinearnGraph3DDrawingParameter();
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
+		// Draw a point on each coordinate point.
+		int pointCount = points.getPointCount();
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			if (!points.isVisible(ipoint)) {
+				continue;
+			}
 
-		// Draw a point on each coordinate point in the above.
-		int leftDimLength = xCoords.length;
-		for (int iL=0; iL<leftDimLength; iL++) {
+			double x = points.getXCoordinate(ipoint);
+			double y = points.getYCoordinate(ipoint);
+			double z = points.getZCoordinate(ipoint);
 
-			int rightDimLength = xCoords[iL].length;
-			for (int iR=0; iR<rightDimLength; iR++) {
-				if (!visibilities[iL][iR]) {
-					continue;
-				}
+			// Draw a point on the 3D graph.
+			buffer.drawPoint(
+					x, y, z, pointRadius, drawingParameter
+			);
+		}
+	}
 
-				double x = xCoords[iL][iR];
-				double y = yCoords[iL][iR];
-				double z = zCoords[iL][iR];
 
-				// Draw a point on the 3D graph.
-				this.renderer.drawPoint(
-						x, y, z, pointRadius, drawingParameter
-				);
-			}
+	/**
+	 * Plots the points of the specified data series, aggregated into voxels dividing the X/Y/Z ranges.
+	 *
+	 * A point is drawn at the centroid of the points in each voxel,
+	 * with the radius: pointRadius * (1 + log10(the number of the points in the voxel)).
+	 *
+	 * @param points The point storage of the data series to be plotted.
+	 * @param seriesIndex The index of the data series.
+	 * @param pointRadius The radius (in pixels) of the points representing single points.
+	 * @param resolution The number of the voxels in each of X, Y, and Z directions.
+	 * @param ranges The minimum/maximum values of the X, Y, and Z ranges, in the order [xMin, xMax, yMin, yMax, zMin, zMax].
+	 * @param parallel Specify true to aggregate the points in parallel.
+	 * @param buffer The buffer to which the geometry is drawn.
+	 */
+	private void plotAggregatedPoints(FlatPointStorage points, int seriesIndex, double pointRadius,
+			int resolution, List<BigDecimal> ranges, boolean parallel, GeometryBuffer buffer) {
+
+		RinearnGraph3DDrawingParameter drawingParameter = new RinearnGraph3DDrawingParameter();
+		drawingParameter.setSeriesIndex(seriesIndex);
+		drawingParameter.setAutoColoringEnabled(true);
+
+		// Aggregate the points into the voxels.
+		double[] minCoords = { ranges.get(0).doubleValue(), ranges.get(2).doubleValue(), ranges.get(4).doubleValue() };
+		double[] maxCoords = { ranges.get(1).doubleValue(), ranges.get(3).doubleValue(), ranges.get(5).doubleValue() };
+		PointDensityAggregator aggregator = new PointDensityAggregator(minCoords, maxCoords, resolution);
+		aggregator.aggregate(points, parallel);
+
+		// Draw a point representing each voxel, of which radius grows with the density.
+		double[] xCoords = aggregator.getRepresentativeXCoordinates();
+		double[] yCoords = aggregator.getRepresentativeYCoordinates();
+		double[] zCoords = aggregator.getRepresentativeZCoordinates();
+		int[] densities = aggregator.getDensities();
+		for (int ivoxel=0; ivoxel<densities.length; ivoxel++) {
+			double radius = pointRadius * (1.0 + Math.log10(densities[ivoxel]));
+			buffer.drawPoint(
+					xCoords[ivoxel], yCoords[ivoxel], zCoords[ivoxel], radius, drawingParameter
+			);
 		}
 	}
 
@@ -147,6 +292,9 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingCanceled(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 
 
@@ -157,5 +305,8 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingFinished(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 }
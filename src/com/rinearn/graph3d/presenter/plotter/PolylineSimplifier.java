@@ -0,0 +1,288 @@
+package com.rinearn.graph3d.presenter.plotter;
+
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
+
+import java.util.Arrays;
+
+
+/**
+ * The class to simplify the polylines connecting the points of each row of a data series,
+ * by removing nearly collinear points with the Douglas-Peucker algorithm in 3D.
+ *
+ * Each row is divided into the runs of successive visible points (lines are not drawn between invisible points),
+ * and each run is simplified independently, keeping its first and last points.
+ * A point is removed only if its distance from the simplified polyline is within the maximum errors,
+ * i.e.: all the X, Y, and Z components of the vector from the point to the closest point on the simplified segment
+ * are within the maximum errors in X, Y, and Z directions respectively.
+ */
+public final class PolylineSimplifier {
+
+	/** The coordinates and the visibilities of the points. */
+	private final FlatPointStorage points;
+
+	/** The reciprocal of the maximum error allowed for removing points, in X direction. */
+	private final double maxXErrorRecip;
+
+	/** The reciprocal of the maximum error allowed for removing points, in Y direction. */
+	private final double maxYErrorRecip;
+
+	/** The reciprocal of the maximum error allowed for removing points, in Z direction. */
+	private final double maxZErrorRecip;
+
+	/** The X coordinate values of the vertices of the simplified polylines. */
+	private double[] vertexXCoords = new double[0];
+
+	/** The Y coordinate values of the vertices of the simplified polylines. */
+	private double[] vertexYCoords = new double[0];
+
+	/** The Z coordinate values of the vertices of the simplified polylines. */
+	private double[] vertexZCoords = new double[0];
+
+	/** The indices of the edge points of the simplified lines, in the order [a0, b0, a1, b1, ...]. */
+	private int[] lineVertexIndices = new int[0];
+
+	/** The number of the lines before the simplification. */
+	private long originalLineCount = 0;
+
+
+	/**
+	 * Creates a new instance simplifying the polylines of the specified points.
+	 *
+	 * @param points The coordinates and the visibilities of the points.
+	 * @param maxXError The maximum error allowed for removing points, in X direction.
+	 * @param maxYError The maximum error allowed for removing points, in Y direction.
+	 * @param maxZError The maximum error allowed for removing points, in Z direction.
+	 */
+	public PolylineSimplifier(FlatPointStorage points, double maxXError, double maxYError, double maxZError) {
+		if (!(0.0 <= maxXError) || !(0.0 <= maxYError) || !(0.0 <= maxZError)) {
+			throw new IllegalArgumentException(
+					"The maximum errors must be positive values or zero: " + maxXError + ", " + maxYError + ", " + maxZError
+			);
+		}
+		this.points = points;
+
+		// Store the reciprocals of the errors, to measure the distances relative to them.
+		// (For the zero error, use the largest finite value instead of infinity, so that no NaN is produced by 0 * infinity.)
+		this.maxXErrorRecip = maxXError == 0.0 ? Double.MAX_VALUE : 1.0 / maxXError;
+		this.maxYErrorRecip = maxYError == 0.0 ? Double.MAX_VALUE : 1.0 / maxYError;
+		this.maxZErrorRecip = maxZError == 0.0 ? Double.MAX_VALUE : 1.0 / maxZError;
+	}
+
+
+	/**
+	 * Simplifies the polylines.
+	 */
+	public void simplify() {
+
+		// Determine the points to be kept, for each row.
+		FlatPointStorage points = this.points;
+		int leftDimLength = points.getRowCount();
+		boolean[][] keptFlags = new boolean[leftDimLength][];
+		int[] stack = new int[64];
+		long originalLineCount = 0;
+		int keptPointCount = 0;
+		int keptLineCount = 0;
+		for (int iL=0; iL<leftDimLength; iL++) {
+			int rightDimLength = points.getColumnCount(iL);
+			int rowOffset = points.getRowOffset(iL);
+			boolean[] kept = new boolean[rightDimLength];
+			keptFlags[iL] = kept;
+
+			// Find the runs of the successive visible points, and simplify each of them.
+			int runStart = 0;
+			while (runStart < rightDimLength) {
+				if (!points.isVisible(rowOffset + runStart)) {
+					runStart++;
+					continue;
+				}
+				int runEnd = runStart;
+				while (runEnd + 1 < rightDimLength && points.isVisible(rowOffset + runEnd + 1)) {
+					runEnd++;
+				}
+				originalLineCount += runEnd - runStart;
+				if (runStart < runEnd) {
+					stack = this.simplifyRun(rowOffset + runStart, rowOffset + runEnd, rowOffset, kept, stack);
+					for (int iR=runStart; iR<=runEnd; iR++) {
+						if (kept[iR]) {
+							keptPointCount++;
+							keptLineCount++;
+						}
+					}
+					keptLineCount--;
+				}
+				runStart = runEnd + 1;
+			}
+		}
+
+		// Store the kept points into the vertex arrays, and connect the successive ones by lines.
+		double[] xVertices = new double[keptPointCount];
+		double[] yVertices = new double[keptPointCount];
+		double[] zVertices = new double[keptPointCount];
+		int[] lineIndices = new int[keptLineCount * 2];
+		int vertexCursor = 0;
+		int indexCursor = 0;
+		for (int iL=0; iL<leftDimLength; iL++) {
+			boolean[] kept = keptFlags[iL];
+			int rightDimLength = kept.length;
+			int rowOffset = points.getRowOffset(iL);
+			for (int iR=0; iR<rightDimLength; iR++) {
+				if (!kept[iR]) {
+					continue;
+				}
+
+				// Connect to the previous kept point, unless this point is the first one of a run.
+				boolean isRunStart = iR == 0 || !points.isVisible(rowOffset + iR - 1);
+				if (!isRunStart) {
+					lineIndices[indexCursor++] = vertexCursor - 1;
+					lineIndices[indexCursor++] = vertexCursor;
+				}
+				xVertices[vertexCursor] = points.getXCoordinate(rowOffset + iR);
+				yVertices[vertexCursor] = points.getYCoordinate(rowOffset + iR);
+				zVertices[vertexCursor] = points.getZCoordinate(rowOffset + iR);
+				vertexCursor++;
+			}
+		}
+
+		this.vertexXCoords = xVertices;
+		this.vertexYCoords = yVertices;
+		this.vertexZCoords = zVertices;
+		this.lineVertexIndices = lineIndices;
+		this.originalLineCount = originalLineCount;
+	}
+
+
+	/**
+	 * Simplifies the specified run of successive visible points, by the Douglas-Peucker algorithm.
+	 *
+	 * The recursion of the algorithm is performed by using an explicit stack,
+	 * because a run may consist of millions of points.
+	 *
+	 * @param runStart The index of the first point of the run.
+	 * @param runEnd The index of the last point of the run.
+	 * @param rowOffset The index of the first point of the row containing the run.
+	 * @param kept The flags of the points in the row to be kept, to which the results are stored.
+	 * @param stack The stack of the ranges to be processed (may be re-allocated in this method).
+	 * @return The stack, which should be reused in the next call.
+	 */
+	private int[] simplifyRun(int runStart, int runEnd, int rowOffset, boolean[] kept, int[] stack) {
+		FlatPointStorage points = this.points;
+
+		kept[runStart - rowOffset] = true;
+		kept[runEnd - rowOffset] = true;
+		int stackSize = 0;
+		stack[stackSize++] = runStart;
+		stack[stackSize++] = runEnd;
+		while (stackSize != 0) {
+			int end = stack[--stackSize];
+			int start = stack[--stackSize];
+
+			// Find the farthest point from the segment connecting the both ends of the range.
+			double startX = points.getXCoordinate(start);
+			double startY = points.getYCoordinate(start);
+			double startZ = points.getZCoordinate(start);
+			double segmentX = points.getXCoordinate(end) - startX;
+			double segmentY = points.getYCoordinate(end) - startY;
+			double segmentZ = points.getZCoordinate(end) - startZ;
+			double segmentLengthSquared = segmentX * segmentX + segmentY * segmentY + segmentZ * segmentZ;
+			double farthestDistance = -1.0;
+			int farthestIndex = -1;
+			for (int ipoint=start + 1; ipoint<end; ipoint++) {
+				double pointX = points.getXCoordinate(ipoint) - startX;
+				double pointY = points.getYCoordinate(ipoint) - startY;
+				double pointZ = points.getZCoordinate(ipoint) - startZ;
+
+				// Compute the vector from the closest point on the segment,
+				// and the largest ratio of its X, Y, and Z components to the maximum errors in the directions.
+				double t = 0.0;
+				if (0.0 < segmentLengthSquared) {
+					t = (pointX * segmentX + pointY * segmentY + pointZ * segmentZ) / segmentLengthSquared;
+					t = Math.max(0.0, Math.min(1.0, t));
+				}
+				double distance = Math.max(
+						Math.abs(pointX - segmentX * t) * this.maxXErrorRecip,
+						Math.max(Math.abs(pointY - segmentY * t) * this.maxYErrorRecip, Math.abs(pointZ - segmentZ * t) * this.maxZErrorRecip)
+				);
+				if (Double.isNaN(distance)) {
+					distance = Double.POSITIVE_INFINITY;
+				}
+				if (farthestDistance < distance) {
+					farthestDistance = distance;
+					farthestIndex = ipoint;
+				}
+			}
+
+			// Keep the farthest point and process the both sides of it, if it is out of the errors.
+			if (1.0 < farthestDistance) {
+				kept[farthestIndex - rowOffset] = true;
+				if (stack.length < stackSize + 4) {
+					stack = Arrays.copyOf(stack, stack.length * 2);
+				}
+				stack[stackSize++] = start;
+				stack[stackSize++] = farthestIndex;
+				stack[stackSize++] = farthestIndex;
+				stack[stackSize++] = end;
+			}
+		}
+		return stack;
+	}
+
+
+	/**
+	 * Gets the X coordinate values of the vertices of the simplified polylines.
+	 *
+	 * @return The X coordinate values of the vertices.
+	 */
+	public double[] getVertexXCoordinates() {
+		return this.vertexXCoords;
+	}
+
+
+	/**
+	 * Gets the Y coordinate values of the vertices of the simplified polylines.
+	 *
+	 * @return The Y coordinate values of the vertices.
+	 */
+	public double[] getVertexYCoordinates() {
+		return this.vertexYCoords;
+	}
+
+
+	/**
+	 * Gets the Z coordinate values of the vertices of the simplified polylines.
+	 *
+	 * @return The Z coordinate values of the vertices.
+	 */
+	public double[] getVertexZCoordinates() {
+		return this.vertexZCoords;
+	}
+
+
+	/**
+	 * Gets the indices of the edge points of the simplified lines, in the order [a0, b0, a1, b1, ...].
+	 *
+	 * @return The indices of the edge points of the lines.
+	 */
+	public int[] getLineVertexIndices() {
+		return this.lineVertexIndices;
+	}
+
+
+	/**
+	 * Gets the number of the lines before the simplification.
+	 *
+	 * @return The number of the lines before the simplification.
+	 */
+	public long getOriginalLineCount() {
+		return this.originalLineCount;
+	}
+
+
+	/**
+	 * Gets the number of the lines after the simplification.
+	 *
+	 * @return The number of the lines after the simplification.
+	 */
+	public long getSimplifiedLineCount() {
+		return this.lineVertexIndices.length / 2;
+	}
+}
@@ -3,6 +3,7 @@ package com.rinearn.graph3d.presenter.plotter;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.data.series.AbstractDataSeries;
 import com.rinearn.graph3d.model.data.series.DataSeriesGroup;
+import com.rinearn.graph3d.model.data.series.FlatPointStorage;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -15,6 +16,14 @@ import com.rinearn.graph3d.config.data.SeriesFilter;
 import com.rinearn.graph3d.config.data.SeriesFilterMode;
 import com.rinearn.graph3d.config.plotter.PlotterConfiguration;
 import com.rinearn.graph3d.config.plotter.SurfacePlotterConfiguration;
+import com.rinearn.graph3d.config.range.AxisRangeConfiguration;
+import com.rinearn.graph3d.config.range.RangeConfiguration;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -40,6 +49,16 @@ public class SurfacePlotter implements RinearnGraph3DPlottingListener {
 	/** The rendering engine of 3D graphs. */
 	private final RinearnGraph3DRenderer renderer;
 
+	/** The geometries being generated in parallel in advance, to be drawn at the next plotting (null if not prepared). */
+	private GeometryGenerationQueue preparedGeometries = null;
+
+	/** The cache of the generated geometries of the data series, for skipping re-generation of unchanged ones. */
+	private final GeometryCache geometryCache = new GeometryCache();
+
+	/** The numbers of the polygons of the simplified data series, before [0] and after [1] the simplification. */
+	private final Map<AbstractDataSeries, long[]> simplifiedQuadrangleCounts =
+			Collections.synchronizedMap(new IdentityHashMap<AbstractDataSeries, long[]>());
+
 
 	/**
 	 * Create a new instance performing plottings using the specified resources.
@@ -64,6 +83,62 @@ public class SurfacePlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingRequested(RinearnGraph3DPlottingEvent event) {
+		this.plotDataSeries(0);
+	}
+
+
+	/**
+	 * Plots only the data series appended after the last plotting,
+	 * without clearing and re-plotting the already plotted data series.
+	 *
+	 * @param firstSeriesIndex The index of the first appended data series.
+	 */
+	public synchronized void plotAppendedDataSeries(int firstSeriesIndex) {
+		this.plotDataSeries(firstSeriesIndex);
+	}
+
+
+	/**
+	 * Starts generating the geometries of the data series concurrently on the specified executor,
+	 * to draw them at the next plotting (requested by plottingRequested or plotAppendedDataSeries).
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted at the next plotting.
+	 * @param executor The executor generating the geometries.
+	 */
+	public synchronized void prepareGeometries(int firstSeriesIndex, Executor executor) {
+		this.preparedGeometries = new GeometryGenerationQueue(executor);
+		this.generateGeometries(firstSeriesIndex, this.preparedGeometries);
+	}
+
+
+	/**
+	 * Plots the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 */
+	private void plotDataSeries(int firstSeriesIndex) {
+
+		// If the geometries have been generated in parallel in advance, draw them in the order of the data series.
+		// Otherwise, generate and draw them here.
+		if (this.preparedGeometries != null) {
+			GeometryGenerationQueue preparedGeometries = this.preparedGeometries;
+			this.preparedGeometries = null;
+			preparedGeometries.drawTo(this.renderer);
+		} else {
+			GeometryGenerationQueue queue = new GeometryGenerationQueue();
+			this.generateGeometries(firstSeriesIndex, queue);
+			queue.drawTo(this.renderer);
+		}
+	}
+
+
+	/**
+	 * Generates the geometries of the data series of which indices are greater than or equal to the specified index.
+	 *
+	 * @param firstSeriesIndex The index of the first data series to be plotted.
+	 * @param queue The queue to which the tasks generating the geometries of the data series are submitted.
+	 */
+	private void generateGeometries(int firstSeriesIndex, GeometryGenerationQueue queue) {
 
 		// Get the configuration of "With Membranes" option.
 		RinearnGraph3DConfiguration config = this.model.config;
@@ -73,6 +148,8 @@ public class SurfacePlotter implements RinearnGraph3DPlottingListener {
 
 		// This plotter do nothing if "With Surfaces" option is not selected.
 		if(!isSurfaceOptionEnabled) {
+			this.geometryCache.clear();
+			this.simplifiedQuadrangleCounts.clear();
 			return;
 		}
 
@@ -80,10 +157,20 @@ public class SurfacePlotter implements RinearnGraph3DPlottingListener {
 		boolean existsSeriesFilter = surfacePlotterConfig.getSeriesFilterMode() != SeriesFilterMode.NONE;
 		SeriesFilter seriesFilter = existsSeriesFilter ? surfacePlotterConfig.getSeriesFilter() : null;
 
-		// Plots all data series.
+		// Get the maximum errors for simplifying the surfaces in X, Y, and Z directions (0.0 if the simplification is disabled),
+		// by scaling the configured error (relative to the lengths of the axes) by the ranges of the axes.
+		double maxSimplificationError = surfacePlotterConfig.getMaximumSimplificationError();
+		RangeConfiguration rangeConfig = config.getRangeConfiguration();
+		double[] maxSimplificationErrors = {
+				maxSimplificationError * getRangeLength(rangeConfig.getXRangeConfiguration()),
+				maxSimplificationError * getRangeLength(rangeConfig.getYRangeConfiguration()),
+				maxSimplificationError * getRangeLength(rangeConfig.getZRangeConfiguration())
+		};
+
+		// Plots the data series, from the specified index to the last.
 		DataSeriesGroup<AbstractDataSeries> dataSeriesGroup = this.model.dataStore.getCombinedDataSeriesGroup();
 		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
-		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+		for (int dataSeriesIndex=firstSeriesIndex; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
 
 			// Filter the data series.
 			SeriesAttribute seriesAttribute = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex).getSeriesAttribute();
@@ -91,78 +178,204 @@ public class SurfacePlotter implements RinearnGraph3DPlottingListener {
 				continue;
 			}
 
-			// Plot.
+			// Reuse the cached geometry if the data series and the values affecting its geometry have not been changed.
+			// (Get the point storage only once, and generate the geometry from it, because it may be replaced during the generation.)
 			AbstractDataSeries dataSeries = dataSeriesGroup.getDataSeriesAt(dataSeriesIndex);
-			this.plotSurface(dataSeries, dataSeriesIndex);
+			FlatPointStorage points = dataSeries.getFlatPointStorage();
+			int seriesIndex = dataSeriesIndex;
+			List<Object> geometryKey = List.of(
+					seriesIndex, maxSimplificationErrors[0], maxSimplificationErrors[1], maxSimplificationErrors[2]
+			);
+			GeometryBuffer cachedGeometry = this.geometryCache.get(dataSeries, points, geometryKey);
+			if (cachedGeometry != null) {
+				queue.submit(cachedGeometry);
+				continue;
+			}
+
+			// Plot (or submit the task generating the geometry, which may be performed in parallel), and cache the geometry.
+			queue.submit(buffer -> {
+				this.plotSurface(dataSeries, points, seriesIndex, maxSimplificationErrors, buffer);
+				this.geometryCache.put(dataSeries, points, geometryKey, buffer);
+			});
+		}
+
+		// Discard the cached geometries (and the simplification results) of the data series which have been removed.
+		this.geometryCache.retain(dataSeriesGroup);
+		synchronized (this.simplifiedQuadrangleCounts) {
+			this.simplifiedQuadrangleCounts.keySet().removeIf(dataSeries -> !this.containsDataSeries(dataSeriesGroup, dataSeries));
 		}
 	}
 
 
+	/**
+	 * Gets the length of the range of the specified axis.
+	 *
+	 * @param axisRangeConfig The configuration of the range of the axis.
+	 * @return The length of the range of the axis.
+	 */
+	private static double getRangeLength(AxisRangeConfiguration axisRangeConfig) {
+		return axisRangeConfig.getMaximumCoordinate().subtract(axisRangeConfig.getMinimumCoordinate()).abs().doubleValue();
+	}
+
+
+	/**
+	 * Checks whether the specified group contains the specified data series.
+	 *
+	 * @param dataSeriesGroup The group of the data series.
+	 * @param dataSeries The data series to be checked.
+	 * @return Returns true if the group contains the data series.
+	 */
+	private boolean containsDataSeries(DataSeriesGroup<AbstractDataSeries> dataSeriesGroup, AbstractDataSeries dataSeries) {
+		int dataSeriesCount = dataSeriesGroup.getDataSeriesCount();
+		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			if (dataSeriesGroup.getDataSeriesAt(dataSeriesIndex) == dataSeries) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Gets the reduction ratio of the number of the polygons by the simplification of the surfaces,
+	 * i.e.: (the number of the drawn polygons) / (the number of the quadrangles before the simplification),
+	 * over all the data series simplified at the last plotting.
+	 *
+	 * @return The reduction ratio (1.0 if no data series has been simplified).
+	 */
+	public synchronized double getSimplificationReductionRatio() {
+		long originalCount = 0;
+		long simplifiedCount = 0;
+		synchronized (this.simplifiedQuadrangleCounts) {
+			for (long[] counts: this.simplifiedQuadrangleCounts.values()) {
+				originalCount += counts[0];
+				simplifiedCount += counts[1];
+			}
+		}
+		return originalCount == 0 ? 1.0 : (double)simplifiedCount / originalCount;
+	}
+
+
 	/**
 	 * Plots the specified data series as a membrane.
 	 *
 	 * @param dataSeries The data series to be plotted.
+	 * @param points The point storage of the data series.
 	 * @param seriesIndex The index of the data series.
+	 * @param maxSimplificationErrors The maximum errors in X, Y, and Z directions for simplifying the surface (0.0 for disabling the simplification).
+	 * @param buffer The buffer to which the geometry is drawn.
 	 */
-	private void plotSurface(AbstractDataSeries dataSeries, int seriesIndex) {
+	private void plotSurface(AbstractDataSeries dataSeries, FlatPointStorage points, int seriesIndex, double[] maxSimplificationErrors, GeometryBuffer buffer) {
 		RinearnGraph3DDrawingParameter drawingParameter = new RinearnGraph3DDrawingParameter();
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
-
-		// Draw a quadrangle for each adjacent coordinate points in the above.
-		int leftDimLength = xCoords.length;
+		// If the simplification is enabled, merge near-planar regions of the grid into larger quadrangles, and draw them
+		// (with the triangles split from the quadrangles for closing the gaps between the regions of different sizes).
+		// (The simplifier works on the grid in the form of jagged arrays, so convert the points into them only in this case.)
+		boolean isSimplificationEnabled = 0.0 < maxSimplificationErrors[0] || 0.0 < maxSimplificationErrors[1] || 0.0 < maxSimplificationErrors[2];
+		if (isSimplificationEnabled && isRectangular(points)) {
+			GridSurfaceSimplifier simplifier = new GridSurfaceSimplifier(
+					points.toJaggedXCoordinates(), points.toJaggedYCoordinates(), points.toJaggedZCoordinates(), points.toJaggedVisibilities(),
+					maxSimplificationErrors[0], maxSimplificationErrors[1], maxSimplificationErrors[2]
+			);
+			simplifier.simplify();
+			buffer.drawIndexedQuadrangles(
+					simplifier.getVertexXCoordinates(), simplifier.getVertexYCoordinates(), simplifier.getVertexZCoordinates(),
+					simplifier.getQuadrangleVertexIndices(), drawingParameter
+			);
+			buffer.drawIndexedTriangles(
+					simplifier.getVertexXCoordinates(), simplifier.getVertexYCoordinates(), simplifier.getVertexZCoordinates(),
+					simplifier.getTriangleVertexIndices(), drawingParameter
+			);
+			this.simplifiedQuadrangleCounts.put(
+					dataSeries, new long[] { simplifier.getOriginalQuadrangleCount(), simplifier.getSimplifiedPolygonCount() }
+			);
+			return;
+		}
+		this.simplifiedQuadrangleCounts.remove(dataSeries);
+
+		// Copy the coordinate values of all grid points (stored contiguously) into the vertex arrays,
+		// to share each grid point with (at most) four adjacent quadrangles.
+		int leftDimLength = points.getRowCount();
+		int vertexCount = points.getPointCount();
+		double[] xVertices = new double[vertexCount];
+		double[] yVertices = new double[vertexCount];
+		double[] zVertices = new double[vertexCount];
+		points.copyXCoordinates(0, xVertices, 0, vertexCount);
+		points.copyYCoordinates(0, yVertices, 0, vertexCount);
+		points.copyZCoordinates(0, zVertices, 0, vertexCount);
+
+		// Count the visible quadrangles, for allocating the index array.
+		int quadrangleCount = 0;
 		for (int iL=0; iL<leftDimLength - 1; iL++) {
+			int currentRightDimLength = points.getColumnCount(iL);
+			int nextRightDimLength = points.getColumnCount(iL + 1);
+			for (int iR=0; iR < currentRightDimLength - 1 && iR < nextRightDimLength - 1; iR++) {
+				if (isQuadrangleVisible(points, iL, iR)) {
+					quadrangleCount++;
+				}
+			}
+		}
 
-			int currentRightDimLength = xCoords[iL].length;
-			int nextRightDimLength = xCoords[iL + 1].length;
+		// Store the indices of the vertices A, B, C, and D of each visible quadrangle into the index array.
+		int[] vertexIndices = new int[quadrangleCount * 4];
+		int indexCursor = 0;
+		for (int iL=0; iL<leftDimLength - 1; iL++) {
+			int currentRightDimLength = points.getColumnCount(iL);
+			int nextRightDimLength = points.getColumnCount(iL + 1);
+			int currentRowOffset = points.getRowOffset(iL);
+			int nextRowOffset = points.getRowOffset(iL + 1);
 			for (int iR=0; iR < currentRightDimLength - 1 && iR < nextRightDimLength - 1; iR++) {
 
 				// Draw a quadrangle only when all of its vertices are set to visible.
-				boolean isQuadrangleVisible =
-						visibilities[iL    ][iR    ] &&
-						visibilities[iL + 1][iR    ] &&
-						visibilities[iL + 1][iR + 1] &&
-						visibilities[iL    ][iR + 1];
-				if (!isQuadrangleVisible) {
+				if (!isQuadrangleVisible(points, iL, iR)) {
 					continue;
 				}
+				vertexIndices[indexCursor++] = currentRowOffset + iR;     // A
+				vertexIndices[indexCursor++] = nextRowOffset    + iR;     // B
+				vertexIndices[indexCursor++] = nextRowOffset    + iR + 1; // C
+				vertexIndices[indexCursor++] = currentRowOffset + iR + 1; // D
+			}
+		}
+
+		// Draw all the quadrangles on the 3D graph, sharing the vertices between adjacent quadrangles.
+		buffer.drawIndexedQuadrangles(xVertices, yVertices, zVertices, vertexIndices, drawingParameter);
+	}
+
+
+	/**
+	 * Checks whether all the vertices of the quadrangle at the specified grid indices are set to visible.
+	 *
+	 * @param points The grid points.
+	 * @param iL The left-side grid index of the vertex A of the quadrangle.
+	 * @param iR The right-side grid index of the vertex A of the quadrangle.
+	 * @return Returns true if all the vertices are visible.
+	 */
+	private static boolean isQuadrangleVisible(FlatPointStorage points, int iL, int iR) {
+		int currentRowOffset = points.getRowOffset(iL);
+		int nextRowOffset = points.getRowOffset(iL + 1);
+		return points.isVisible(currentRowOffset + iR    ) &&
+		       points.isVisible(nextRowOffset    + iR    ) &&
+		       points.isVisible(nextRowOffset    + iR + 1) &&
+		       points.isVisible(currentRowOffset + iR + 1);
+	}
+
 
-				// Coords of the vertex A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
-
-				// Coords of the vertex B:
-				double xB = xCoords[iL + 1][iR];
-				double yB = yCoords[iL + 1][iR];
-				double zB = zCoords[iL + 1][iR];
-
-				// Coords of the vertex C:
-				double xC = xCoords[iL + 1][iR + 1];
-				double yC = yCoords[iL + 1][iR + 1];
-				double zC = zCoords[iL + 1][iR + 1];
-
-				// Coords of the vertex D:
-				double xD = xCoords[iL][iR + 1];
-				double yD = yCoords[iL][iR + 1];
-				double zD = zCoords[iL][iR + 1];
-
-				// Draw a quadrangle on the 3D graph.
-				this.renderer.drawQuadrangle(
-						xA, yA, zA,
-						xB, yB, zB,
-						xC, yC, zC,
-						xD, yD, zD,
-						drawingParameter
-				);
+	/**
+	 * Checks whether all the rows of the grid points have the same length.
+	 *
+	 * @param points The grid points.
+	 * @return Returns true if the grid is rectangular.
+	 */
+	private static boolean isRectangular(FlatPointStorage points) {
+		int rowCount = points.getRowCount();
+		for (int iL=1; iL<rowCount; iL++) {
+			if (points.getColumnCount(iL) != points.getColumnCount(0)) {
+				return false;
 			}
 		}
+		return true;
 	}
 
 
@@ -173,6 +386,9 @@ public class SurfacePlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingCanceled(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 
 
@@ -183,5 +399,8 @@ public class SurfacePlotter implements RinearnGraph3DPlottingListener {
 	 */
 	@Override
 	public synchronized void plottingFinished(RinearnGraph3DPlottingEvent event) {
+
+		// Discard the prepared geometries if they have not been drawn, e.g. when an error occurred during the plotting.
+		this.preparedGeometries = null;
 	}
 }
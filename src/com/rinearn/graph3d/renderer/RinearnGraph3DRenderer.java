@@ -4,7 +4,9 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
 import java.awt.Graphics2D;
+import java.util.function.Consumer;
 
 import com.rinearn.graph3d.config.RinearnGraph3DConfiguration;
 
@@ -244,6 +246,159 @@ public interface RinearnGraph3DRenderer {
 	public void copyScreenImage(BufferedImage buffer, Graphics2D graphics);
 
 
+	/**
+	 * <span class="lang-en">
+	 * Copies the content of the current image of the graph screen to the specified buffer, if it is reusable,
+	 * otherwise allocates a new buffer and copies the content to it
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定された画像バッファが再利用可能であれば, そこに現在のグラフ画面の内容をコピーし,
+	 * そうでなければ新しいバッファを確保して, そこにコピーします
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The specified buffer is reused when its width/height are the same as the graph screen and its type is "bufferedImageType".
+	 * Otherwise (including the case that null is specified), a new buffer is allocated in the same way as copyScreenImage(int).
+	 * In both cases, the buffer storing the copied image is returned, so the caller-side can copy the screen repeatedly
+	 * without allocating large buffers for each copy, by passing the returned buffer to the next call of this method,
+	 * e.g.: "buffer = renderer.copyScreenImage(buffer, BufferedImage.TYPE_INT_RGB);".
+	 * Unlike copyScreenImage(BufferedImage, Graphics2D), the reused buffer is cleared before copying the image.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたバッファは, その縦横サイズがグラフ画面と等しく, かつタイプが "bufferedImageType" である場合に再利用されます.
+	 * そうでない場合（ null が指定された場合を含む）は, copyScreenImage(int) と同様に新しいバッファが確保されます.
+	 * いずれの場合も, コピー結果を格納しているバッファが返されるため, 戻り値を次回の呼び出し時に渡す事で,
+	 * コピーの度に大きなバッファを確保する事なく, 繰り返しグラフ画面をコピーできます.
+	 * （例: "buffer = renderer.copyScreenImage(buffer, BufferedImage.TYPE_INT_RGB);" ）
+	 * なお, copyScreenImage(BufferedImage, Graphics2D) とは異なり, 再利用されるバッファはコピー前にクリアされます.
+	 * </span>
+	 *
+	 * @param buffer
+	 *   <span class="lang-en">The buffer to be reused (may be null)</span>
+	 *   <span class="lang-ja">再利用するバッファ（ null も可）</span>
+	 *
+	 * @param bufferedImageType
+	 *   <span class="lang-en">The type of the BufferedImage to be returned (e.g.: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, etc.)</span>
+	 *   <span class="lang-ja">BufferedImage のタイプ (例: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, 等々)</span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The buffer storing the copy of the current image of the graph screen (the specified one if reused)</span>
+	 *   <span class="lang-ja">現在のグラフ画面の内容のコピーを格納しているバッファ（再利用された場合は, 指定されたバッファ）</span>
+	 */
+	public default BufferedImage copyScreenImage(BufferedImage buffer, int bufferedImageType) {
+		Image screenImage = this.getScreenImage();
+		int screenWidth = screenImage.getWidth(null);
+		int screenHeight = screenImage.getHeight(null);
+
+		// If the buffer is not reusable, allocate a new one.
+		boolean isReusable = buffer != null
+				&& buffer.getType() == bufferedImageType
+				&& buffer.getWidth() == screenWidth
+				&& buffer.getHeight() == screenHeight;
+		if (!isReusable) {
+			return this.copyScreenImage(bufferedImageType);
+		}
+
+		// Clear the buffer, and copy the image to it.
+		Graphics2D graphics = buffer.createGraphics();
+		graphics.setBackground(new Color(0, 0, 0, 0));
+		graphics.clearRect(0, 0, screenWidth, screenHeight);
+		this.copyScreenImage(buffer, graphics);
+		graphics.dispose();
+		return buffer;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Passes the read-only view of the current image of the graph screen to the specified reader, without copying it
+	 * </span>
+	 * <span class="lang-ja">
+	 * 現在のグラフ画面の内容を, コピーせずに, 読み込み専用のビューとして指定されたリーダーに渡します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The reader is called while the renderer is blocking other operations (drawing, rendering, etc.),
+	 * so the passed Raster always stores the last completed frame, and its content does not change during the reader is running.
+	 * Hence, the reader should read the required pixels and return immediately.
+	 * Also, don't modify the content of the passed Raster, and don't refer it after the reader returns.
+	 * Depending on the implementation of the renderer, the screen image may be copied to create the Raster.
+	 * </span>
+	 * <span class="lang-ja">
+	 * リーダーは, レンダラーが他の操作（描画やレンダリング等）をブロックしている間に呼び出されるため,
+	 * 渡される Raster は常に直近の完成したフレームの内容を保持しており, リーダーの実行中にその内容が変化する事はありません.
+	 * 従って, リーダー内では必要なピクセルを読み込んだら, すぐに処理を返すようにしてください.
+	 * また, 渡された Raster の内容を変更したり, リーダーから処理が戻った後に参照したりしないでください.
+	 * なお, レンダラーの実装によっては, Raster の生成のために画面内容がコピーされる場合があります.
+	 * </span>
+	 *
+	 * @param reader
+	 *   <span class="lang-en">The reader to which the read-only view of the screen image is passed</span>
+	 *   <span class="lang-ja">画面内容の読み込み専用ビューが渡されるリーダー</span>
+	 */
+	public default void readScreenImage(Consumer<Raster> reader) {
+		reader.accept(this.copyScreenImage(BufferedImage.TYPE_INT_ARGB).getRaster());
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Computes the projected positions of the specified points on the graph screen, under the current camera angle, ranges, etc
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定された点群の, グラフ画面上での投影位置を, 現在のカメラアングルや範囲などの下で計算します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The projected positions are the same as the positions at which the points are drawn by the last rendering,
+	 * if the camera angle, the ranges, and the screen size have not been changed after it.
+	 * This method is mainly used for identifying the data point at the clicked/hovered position on the screen.
+	 * The points out of the ranges, behind the camera, or out of the screen are marked as not projected,
+	 * and the corresponding elements of "screenXCoords" and "screenYCoords" are left unspecified.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 投影位置は, 直近のレンダリング以降にカメラアングルや範囲, スクリーンサイズが変更されていなければ,
+	 * そのレンダリングにおいて各点が描画された位置と一致します.
+	 * このメソッドは, 主に, 画面上でクリック/ホバーされた位置にあるデータ点を特定するために使用されます.
+	 * 範囲外の点, カメラの背後にある点, およびスクリーン外に投影される点は, 投影されなかったものと見なされ,
+	 * "screenXCoords" および "screenYCoords" の対応する要素の値は不定となります.
+	 * </span>
+	 *
+	 * @param xCoords
+	 *   <span class="lang-en">The X coordinate values of the points</span>
+	 *   <span class="lang-ja">各点の X 座標値</span>
+	 *
+	 * @param yCoords
+	 *   <span class="lang-en">The Y coordinate values of the points</span>
+	 *   <span class="lang-ja">各点の Y 座標値</span>
+	 *
+	 * @param zCoords
+	 *   <span class="lang-en">The Z coordinate values of the points</span>
+	 *   <span class="lang-ja">各点の Z 座標値</span>
+	 *
+	 * @param screenXCoords
+	 *   <span class="lang-en">The array to which the projected X coordinates (in pixels, from the left edge of the screen) are stored</span>
+	 *   <span class="lang-ja">投影された X 座標（スクリーン左端からのピクセル数）が格納される配列</span>
+	 *
+	 * @param screenYCoords
+	 *   <span class="lang-en">The array to which the projected Y coordinates (in pixels, from the top edge of the screen) are stored</span>
+	 *   <span class="lang-ja">投影された Y 座標（スクリーン上端からのピクセル数）が格納される配列</span>
+	 *
+	 * @return
+	 *   <span class="lang-en">The array storing true for the points projected on the screen</span>
+	 *   <span class="lang-ja">スクリーン上に投影された点に対応する要素が true となっている配列</span>
+	 *
+	 * @throws UnsupportedOperationException
+	 *   <span class="lang-en">Thrown if this renderer does not support the projection of arbitrary points</span>
+	 *   <span class="lang-ja">このレンダラーが任意の点の投影をサポートしていない場合にスローされます</span>
+	 */
+	public default boolean[] projectToScreen(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] screenXCoords, int[] screenYCoords) {
+
+		throw new UnsupportedOperationException("This renderer does not support the projection of arbitrary points.");
+	}
+
+
 	/**
 	 * <span class="lang-en">
 	 * References the value of the flag representing whether the content of the graph screen has been updated,
@@ -897,6 +1052,267 @@ public interface RinearnGraph3DRenderer {
 	public void drawQuadrangle(double aX, double aY, double aZ, double bX, double bY, double bZ, double cX, double cY, double cZ, double dX, double dY, double dZ, RinearnGraph3DDrawingParameter parameter);
 
 
+	/**
+	 * <span class="lang-en">
+	 * Draws multiple quadrangle polygons sharing their vertices, specified by a vertex array and an index array
+	 * </span>
+	 * <span class="lang-ja">
+	 * 頂点を共有する複数の四角形ポリゴンを, 頂点座標の配列とインデックスの配列によって指定して描画します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The vertex indices of each quadrangle are stored in "vertexIndices" in the order of A, B, C, D,
+	 * so the length of "vertexIndices" must be (the number of quadrangles) * 4.
+	 * For polygons composing a grid (e.g. a surface), this method is more efficient than calling drawQuadrangle(...) for each polygon,
+	 * because the renderer can process each shared vertex only once.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 各四角形の頂点インデックスは, "vertexIndices" に A, B, C, D の順に格納します.
+	 * 従って "vertexIndices" の長さは (四角形の個数) * 4 である必要があります.
+	 * 格子状に並ぶポリゴン（曲面など）の描画では, 共有されている頂点の処理が1回で済むため,
+	 * 各ポリゴンに対して drawQuadrangle(...) を呼び出すよりも効率的です.
+	 * </span>
+	 *
+	 * @param xCoords
+	 *   <span class="lang-en">The X coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のX座標</span>
+	 * @param yCoords
+	 *   <span class="lang-en">The Y coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のY座標</span>
+	 * @param zCoords
+	 *   <span class="lang-en">The Z coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のZ座標</span>
+	 * @param vertexIndices
+	 *   <span class="lang-en">The indices of the vertices of the quadrangles, in the order [a0, b0, c0, d0, a1, b1, c1, d1, ...]</span>
+	 *   <span class="lang-ja">各四角形の頂点のインデックス（ [a0, b0, c0, d0, a1, b1, c1, d1, ...] の順）</span>
+	 * @param parameter
+	 *   <span class="lang-en">The object storing the drawing parameters</span>
+	 *   <span class="lang-ja">描画パラメーターを格納しているオブジェクト</span>
+	 */
+	public default void drawIndexedQuadrangles(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, RinearnGraph3DDrawingParameter parameter) {
+
+		int quadrangleCount = vertexIndices.length / 4;
+		for (int iquad=0; iquad<quadrangleCount; iquad++) {
+			int a = vertexIndices[iquad * 4    ];
+			int b = vertexIndices[iquad * 4 + 1];
+			int c = vertexIndices[iquad * 4 + 2];
+			int d = vertexIndices[iquad * 4 + 3];
+			this.drawQuadrangle(
+					xCoords[a], yCoords[a], zCoords[a],
+					xCoords[b], yCoords[b], zCoords[b],
+					xCoords[c], yCoords[c], zCoords[c],
+					xCoords[d], yCoords[d], zCoords[d],
+					parameter
+			);
+		}
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Draws multiple triangle polygons sharing their vertices, specified by a vertex array and an index array
+	 * </span>
+	 * <span class="lang-ja">
+	 * 頂点を共有する複数の三角形ポリゴンを, 頂点座標の配列とインデックスの配列によって指定して描画します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The vertex indices of each triangle are stored in "vertexIndices" in the order of A, B, C (so-called "triangle list"),
+	 * so the length of "vertexIndices" must be (the number of triangles) * 3.
+	 * Triangles having no area (degenerate triangles, e.g. having the same vertex twice or more) are not drawn.
+	 * For polygons sharing their vertices, this method is more efficient than calling drawTriangle(...) for each polygon,
+	 * because the renderer can process each shared vertex only once.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 各三角形の頂点インデックスは, "vertexIndices" に A, B, C の順に格納します（いわゆる "トライアングルリスト" ）.
+	 * 従って "vertexIndices" の長さは (三角形の個数) * 3 である必要があります.
+	 * 同じ頂点を2つ以上含む三角形など, 面積を持たない三角形（縮退した三角形）は描画されません.
+	 * 頂点を共有するポリゴンの描画では, 共有されている頂点の処理が1回で済むため,
+	 * 各ポリゴンに対して drawTriangle(...) を呼び出すよりも効率的です.
+	 * </span>
+	 *
+	 * @param xCoords
+	 *   <span class="lang-en">The X coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のX座標</span>
+	 * @param yCoords
+	 *   <span class="lang-en">The Y coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のY座標</span>
+	 * @param zCoords
+	 *   <span class="lang-en">The Z coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のZ座標</span>
+	 * @param vertexIndices
+	 *   <span class="lang-en">The indices of the vertices of the triangles, in the order [a0, b0, c0, a1, b1, c1, ...]</span>
+	 *   <span class="lang-ja">各三角形の頂点のインデックス（ [a0, b0, c0, a1, b1, c1, ...] の順）</span>
+	 * @param parameter
+	 *   <span class="lang-en">The object storing the drawing parameters</span>
+	 *   <span class="lang-ja">描画パラメーターを格納しているオブジェクト</span>
+	 */
+	public default void drawIndexedTriangles(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, RinearnGraph3DDrawingParameter parameter) {
+
+		int triangleCount = vertexIndices.length / 3;
+		for (int itriangle=0; itriangle<triangleCount; itriangle++) {
+			int a = vertexIndices[itriangle * 3    ];
+			int b = vertexIndices[itriangle * 3 + 1];
+			int c = vertexIndices[itriangle * 3 + 2];
+			if (isDegenerateTriangle(xCoords, yCoords, zCoords, a, b, c)) {
+				continue;
+			}
+			this.drawTriangle(
+					xCoords[a], yCoords[a], zCoords[a],
+					xCoords[b], yCoords[b], zCoords[b],
+					xCoords[c], yCoords[c], zCoords[c],
+					parameter
+			);
+		}
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Checks whether the specified triangle is degenerate, i.e.: the cross product of its edge vectors is zero
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定された三角形が縮退しているか（辺ベクトルの外積がゼロであるか）どうかを判定します
+	 * </span>
+	 * .
+	 * @param xCoords
+	 *   <span class="lang-en">The X coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のX座標</span>
+	 * @param yCoords
+	 *   <span class="lang-en">The Y coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のY座標</span>
+	 * @param zCoords
+	 *   <span class="lang-en">The Z coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のZ座標</span>
+	 * @param a
+	 *   <span class="lang-en">The index of the vertex A of the triangle</span>
+	 *   <span class="lang-ja">三角形の頂点Aのインデックス</span>
+	 * @param b
+	 *   <span class="lang-en">The index of the vertex B of the triangle</span>
+	 *   <span class="lang-ja">三角形の頂点Bのインデックス</span>
+	 * @param c
+	 *   <span class="lang-en">The index of the vertex C of the triangle</span>
+	 *   <span class="lang-ja">三角形の頂点Cのインデックス</span>
+	 * @return
+	 *   <span class="lang-en">Returns true if the triangle is degenerate</span>
+	 *   <span class="lang-ja">縮退している場合に true</span>
+	 */
+	private static boolean isDegenerateTriangle(double[] xCoords, double[] yCoords, double[] zCoords, int a, int b, int c) {
+		double pX = xCoords[b] - xCoords[a];
+		double pY = yCoords[b] - yCoords[a];
+		double pZ = zCoords[b] - zCoords[a];
+		double qX = xCoords[c] - xCoords[a];
+		double qY = yCoords[c] - yCoords[a];
+		double qZ = zCoords[c] - zCoords[a];
+		return pY * qZ - pZ * qY == 0.0 && pZ * qX - pX * qZ == 0.0 && pX * qY - pY * qX == 0.0;
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Draws a triangle strip, in which each triangle consists of three consecutive vertices
+	 * </span>
+	 * <span class="lang-ja">
+	 * 連続する3頂点ごとに三角形を構成する, トライアングルストリップを描画します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The i-th triangle consists of the vertices {i, i+1, i+2},
+	 * where the first two vertices are swapped for odd i, to unify the orientations of the triangles.
+	 * Hence, N vertices compose (N - 2) triangles.
+	 * </span>
+	 * <span class="lang-ja">
+	 * i 番目の三角形は頂点 {i, i+1, i+2} で構成されます.
+	 * ただし, 各三角形の向きを揃えるため, i が奇数の場合は先頭の2頂点が入れ替えられます.
+	 * 従って, N 個の頂点から (N - 2) 個の三角形が構成されます.
+	 * </span>
+	 *
+	 * @param xCoords
+	 *   <span class="lang-en">The X coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のX座標</span>
+	 * @param yCoords
+	 *   <span class="lang-en">The Y coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のY座標</span>
+	 * @param zCoords
+	 *   <span class="lang-en">The Z coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のZ座標</span>
+	 * @param parameter
+	 *   <span class="lang-en">The object storing the drawing parameters</span>
+	 *   <span class="lang-ja">描画パラメーターを格納しているオブジェクト</span>
+	 */
+	public default void drawTriangleStrip(double[] xCoords, double[] yCoords, double[] zCoords,
+			RinearnGraph3DDrawingParameter parameter) {
+
+		int triangleCount = Math.max(xCoords.length - 2, 0);
+		int[] vertexIndices = new int[triangleCount * 3];
+		for (int itriangle=0; itriangle<triangleCount; itriangle++) {
+			boolean isOdd = (itriangle & 1) != 0;
+			vertexIndices[itriangle * 3    ] = isOdd ? itriangle + 1 : itriangle;
+			vertexIndices[itriangle * 3 + 1] = isOdd ? itriangle : itriangle + 1;
+			vertexIndices[itriangle * 3 + 2] = itriangle + 2;
+		}
+		this.drawIndexedTriangles(xCoords, yCoords, zCoords, vertexIndices, parameter);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Draws multiple lines sharing their edge points, specified by a vertex array and an index array
+	 * </span>
+	 * <span class="lang-ja">
+	 * 端点を共有する複数の線を, 頂点座標の配列とインデックスの配列によって指定して描画します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The vertex indices of each line are stored in "vertexIndices" in the order of A, B,
+	 * so the length of "vertexIndices" must be (the number of lines) * 2.
+	 * For lines composing a grid (e.g. a mesh), this method is more efficient than calling drawLine(...) for each line,
+	 * because the renderer can process each shared vertex only once.
+	 * </span>
+	 * <span class="lang-ja">
+	 * 各線の端点のインデックスは, "vertexIndices" に A, B の順に格納します.
+	 * 従って "vertexIndices" の長さは (線の本数) * 2 である必要があります.
+	 * 格子状に並ぶ線（メッシュなど）の描画では, 共有されている頂点の処理が1回で済むため,
+	 * 各線に対して drawLine(...) を呼び出すよりも効率的です.
+	 * </span>
+	 *
+	 * @param xCoords
+	 *   <span class="lang-en">The X coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のX座標</span>
+	 * @param yCoords
+	 *   <span class="lang-en">The Y coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のY座標</span>
+	 * @param zCoords
+	 *   <span class="lang-en">The Z coordinates of the vertices</span>
+	 *   <span class="lang-ja">各頂点のZ座標</span>
+	 * @param vertexIndices
+	 *   <span class="lang-en">The indices of the edge points of the lines, in the order [a0, b0, a1, b1, ...]</span>
+	 *   <span class="lang-ja">各線の端点のインデックス（ [a0, b0, a1, b1, ...] の順）</span>
+	 * @param width
+	 *   <span class="lang-en">The width of the lines (in pixels)</span>
+	 *   <span class="lang-ja">線の幅（ピクセル単位）</span>
+	 * @param parameter
+	 *   <span class="lang-en">The object storing the drawing parameters</span>
+	 *   <span class="lang-ja">描画パラメーターを格納しているオブジェクト</span>
+	 */
+	public default void drawIndexedLines(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, double width, RinearnGraph3DDrawingParameter parameter) {
+
+		int lineCount = vertexIndices.length / 2;
+		for (int iline=0; iline<lineCount; iline++) {
+			int a = vertexIndices[iline * 2    ];
+			int b = vertexIndices[iline * 2 + 1];
+			this.drawLine(
+					xCoords[a], yCoords[a], zCoords[a],
+					xCoords[b], yCoords[b], zCoords[b],
+					width, parameter
+			);
+		}
+	}
+
+
 	/**
 	 * <span class="lang-en">
 	 * Draws a text string in the 3D space, with the specified color
@@ -0,0 +1,111 @@
+package com.rinearn.graph3d.renderer.refimpl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+
+import com.rinearn.graph3d.config.light.LightConfiguration;
+
+
+/**
+ * A geometric piece class representing a line,
+ * of which edge points are stored in a MeshVertexBuffer shared with other pieces.
+ *
+ * The vertices are transformed and projected by the MeshVertexBuffer (only once per rendering for each vertex),
+ * so this piece only computes its own depth, from the results.
+ */
+public final class IndexedLineGeometricPiece extends GeometricPiece {
+
+	/** The buffer storing the edge points of this line. */
+	private final MeshVertexBuffer vertexBuffer;
+
+	/** The index of the point A in the vertex buffer. */
+	private final int aIndex;
+
+	/** The index of the point B in the vertex buffer. */
+	private final int bIndex;
+
+	/** The stroke for drawing this line (may be shared with other lines). */
+	private final Stroke stroke;
+
+
+	/**
+	 * Creates a new geometric piece representing a line between point A and point B, stored in the specified vertex buffer.
+	 *
+	 * @param vertexBuffer The buffer storing the vertices (of which coordinate values in the scaled space are already set).
+	 * @param aIndex The index of the point A in the vertex buffer.
+	 * @param bIndex The index of the point B in the vertex buffer.
+	 * @param stroke The stroke for drawing the line.
+	 * @param color The color of the line.
+	 */
+	public IndexedLineGeometricPiece(MeshVertexBuffer vertexBuffer, int aIndex, int bIndex, Stroke stroke, Color color) {
+		this.vertexBuffer = vertexBuffer;
+		this.aIndex = aIndex;
+		this.bIndex = bIndex;
+		this.vertexCount = 2;
+		this.stroke = stroke;
+		this.originalColor = color;
+	}
+
+
+	/**
+	 * Computes the depth of this line.
+	 *
+	 * The vertices themselves must be transformed by MeshVertexBuffer.transform(...) before calling this method.
+	 *
+	 * @param positionalTransformMatrix The matrix to transform positions, e.g.: vertex coordinates.
+	 * @param directionalTransformMatrix The matrix to transform directional vectors, e.g.: normal vectors of surfaces.
+	 */
+	@Override
+	public void transform(double[][] positionalTransformMatrix, double[][] directionalTransformMatrix) {
+		double[] tz = this.vertexBuffer.getTransformedVertexArrays()[Z];
+
+		// Compute the square of the 'depth' value.
+		double aZ = tz[this.aIndex];
+		double bZ = tz[this.bIndex];
+		double meanZ = (aZ + bZ) * 0.5;
+		this.depthSquaredValue = meanZ * meanZ;
+	}
+
+
+	/**
+	 * Shades the color.
+	 *
+	 * @param lightConfig The object storing parameters for lighting and shading.
+	 */
+	@Override
+	public void shade(LightConfiguration lightConfig) {
+
+		// Lines have no shades, so simply copy the original color as it is.
+		this.onscreenColor = this.originalColor;
+	}
+
+
+	/**
+	 * Does nothing, because the vertices of this line are projected by MeshVertexBuffer.project(...).
+	 *
+	 * @param screenWidth The width (pixels) of the screen.
+	 * @param screenHeight The height (pixels) of the screen.
+	 * @param screenOffsetX The X-offset value (positive for shifting rightward) of the screen center.
+	 * @param screenOffsetY The Y-offset value (positive for shifting upward) of the screen center.
+	 * @param magnification The magnification of the conversion from lengths in 3D space to pixels.
+	 */
+	@Override
+	public void project(int screenWidth, int screenHeight, int screenOffsetX, int screenOffsetY, double magnification) {
+	}
+
+
+	/**
+	 * Draws this line.
+	 *
+	 * @param graphics The Graphics2D instance for drawing shapes to the screen image.
+	 */
+	@Override
+	public void draw(Graphics2D graphics) {
+		graphics.setColor(this.onscreenColor);
+		graphics.setStroke(this.stroke);
+
+		int[][] pv = this.vertexBuffer.getProjectedVertexArrays();
+		graphics.drawLine(pv[X][this.aIndex], pv[Y][this.aIndex], pv[X][this.bIndex], pv[Y][this.bIndex]);
+	}
+}
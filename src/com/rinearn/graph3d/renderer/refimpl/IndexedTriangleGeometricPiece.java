@@ -0,0 +1,155 @@
+package com.rinearn.graph3d.renderer.refimpl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+import com.rinearn.graph3d.config.light.LightConfiguration;
+
+
+/**
+ * A geometric piece class representing a triangle,
+ * of which vertices are stored in a MeshVertexBuffer shared with other pieces.
+ *
+ * The vertices are transformed and projected by the MeshVertexBuffer (only once per rendering for each vertex),
+ * and the normal vector is computed and transformed by the MeshNormalBuffer (in a single pass for all faces),
+ * so this piece only computes its own depth, from the results.
+ */
+public final class IndexedTriangleGeometricPiece extends GeometricPiece {
+
+	/** The buffer storing the vertices of this triangle. */
+	private final MeshVertexBuffer vertexBuffer;
+
+	/** The index of the vertex A in the vertex buffer. */
+	private final int aIndex;
+
+	/** The index of the vertex B in the vertex buffer. */
+	private final int bIndex;
+
+	/** The index of the vertex C in the vertex buffer. */
+	private final int cIndex;
+
+	/** The buffer storing the normal vector of this triangle. */
+	private final MeshNormalBuffer normalBuffer;
+
+	/** The index of this triangle in the normal buffer. */
+	private final int faceIndex;
+
+
+	/**
+	 * Creates a new geometric piece representing a triangle consisting of points A, B and C,
+	 * stored in the specified vertex buffer.
+	 *
+	 * @param vertexBuffer The buffer storing the vertices (of which coordinate values in the scaled space are already set).
+	 * @param normalBuffer The buffer storing the normal vector of the triangle.
+	 * @param faceIndex The index of the triangle in the normal buffer, returned by MeshNormalBuffer.addTriangle(...).
+	 * @param aIndex The index of the vertex A in the vertex buffer.
+	 * @param bIndex The index of the vertex B in the vertex buffer.
+	 * @param cIndex The index of the vertex C in the vertex buffer.
+	 * @param color The color of the triangle.
+	 */
+	public IndexedTriangleGeometricPiece(MeshVertexBuffer vertexBuffer, MeshNormalBuffer normalBuffer, int faceIndex,
+			int aIndex, int bIndex, int cIndex, Color color) {
+
+		this.vertexBuffer = vertexBuffer;
+		this.normalBuffer = normalBuffer;
+		this.faceIndex = faceIndex;
+		this.aIndex = aIndex;
+		this.bIndex = bIndex;
+		this.cIndex = cIndex;
+		this.vertexCount = 3;
+		this.originalColor = color;
+	}
+
+
+	/**
+	 * Does nothing, because the normal vector of this triangle is re-computed by MeshNormalBuffer.updateNormalVectors(...),
+	 * together with the normal vectors of other faces in the same buffer.
+	 *
+	 * @param xLengthFactor The length factor for X dimension.
+	 * @param yLengthFactor The length factor for Y dimension.
+	 * @param zLengthFactor The length factor for Z dimension.
+	 */
+	@Override
+	public void updateDirectionalVectors(double xLengthFactor, double yLengthFactor, double zLengthFactor) {
+	}
+
+
+	/**
+	 * Computes the depth of this triangle.
+	 *
+	 * The vertices and the normal vector must be transformed by MeshVertexBuffer.transform(...)
+	 * and MeshNormalBuffer.transform(...) before calling this method.
+	 *
+	 * @param positionalTransformMatrix The matrix to transform positions, e.g.: vertex coordinates.
+	 * @param directionalTransformMatrix The matrix to transform directional vectors, e.g.: normal vectors of surfaces.
+	 */
+	@Override
+	public void transform(double[][] positionalTransformMatrix, double[][] directionalTransformMatrix) {
+		double[] tz = this.vertexBuffer.getTransformedVertexArrays()[Z];
+
+		// Compute the square of the 'depth' value.
+		double aZ = tz[this.aIndex];
+		double bZ = tz[this.bIndex];
+		double cZ = tz[this.cIndex];
+		double meanZ = (aZ + bZ + cZ) / 3.0;
+		this.depthSquaredValue = meanZ * meanZ;
+	}
+
+
+	/**
+	 * Shades the color.
+	 *
+	 * @param lightConfig The object storing parameters for lighting and shading.
+	 */
+	@Override
+	public void shade(LightConfiguration lightConfig) {
+		this.onscreenColor = SurfaceShader.shade(
+				this.normalBuffer.getTransformedNormalArray(), this.faceIndex * MeshNormalBuffer.STRIDE, this.originalColor, lightConfig
+		);
+	}
+
+
+	/**
+	 * Does nothing, because the vertices of this triangle are projected by MeshVertexBuffer.project(...).
+	 *
+	 * @param screenWidth The width (pixels) of the screen.
+	 * @param screenHeight The height (pixels) of the screen.
+	 * @param screenOffsetX The X-offset value (positive for shifting rightward) of the screen center.
+	 * @param screenOffsetY The Y-offset value (positive for shifting upward) of the screen center.
+	 * @param magnification The magnification of the conversion from lengths in 3D space to pixels.
+	 */
+	@Override
+	public void project(int screenWidth, int screenHeight, int screenOffsetX, int screenOffsetY, double magnification) {
+	}
+
+
+	/**
+	 * Draws this triangle.
+	 *
+	 * @param graphics The Graphics2D instance for drawing shapes to the screen image.
+	 */
+	@Override
+	public void draw(Graphics2D graphics) {
+		graphics.setColor(this.onscreenColor);
+
+		int[][] pv = this.vertexBuffer.getProjectedVertexArrays();
+		int[] xArray = { pv[X][this.aIndex], pv[X][this.bIndex], pv[X][this.cIndex] };
+		int[] yArray = { pv[Y][this.aIndex], pv[Y][this.bIndex], pv[Y][this.cIndex] };
+		graphics.fillPolygon(xArray, yArray, 3);
+	}
+
+
+	/**
+	 * Returns whether antialiasing is available for drawing this piece.
+	 *
+	 * When drawing this piece, antialiasing should be false,
+	 * otherwise the boudaries of conterminous multiple triangles become noisy.
+	 * Therefore, this method always returns false.
+	 *
+	 * @return Always returns false.
+	 */
+	@Override
+	public boolean isAntialiasingAvailable() {
+		return false;
+	}
+}
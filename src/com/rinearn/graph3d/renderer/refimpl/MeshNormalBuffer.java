@@ -0,0 +1,305 @@
+package com.rinearn.graph3d.renderer.refimpl;
+
+import java.util.stream.IntStream;
+
+
+/**
+ * The buffer storing the normal vectors of the faces (quadrangles, triangles, and so on)
+ * of which vertices are stored in a MeshVertexBuffer.
+ *
+ * The normal vectors of all the faces are stored in flat arrays,
+ * and are re-computed/transformed in a single pass over the arrays, instead of per-piece method calls.
+ * When the number of faces is large, the re-computation (required when the length factors of X/Y/Z dimensions are changed)
+ * is performed in parallel, so that resizing the graph frame of a large surface does not stall.
+ */
+public final class MeshNormalBuffer {
+
+	/** The stride of the elements of each face in the normal-vertex index array and in the normal vector arrays. */
+	public static final int STRIDE = 3;
+
+	/** The array index at which the X coordinate values are stored, in the vertex arrays. */
+	private static final int X = GeometricPiece.X;
+
+	/** The array index at which the Y coordinate values are stored, in the vertex arrays. */
+	private static final int Y = GeometricPiece.Y;
+
+	/** The array index at which the Z coordinate values are stored, in the vertex arrays. */
+	private static final int Z = GeometricPiece.Z;
+
+	/** The minimum number of faces for which the normal vectors are re-computed in parallel. */
+	private static final int PARALLEL_THRESHOLD = 16384;
+
+	/** The number of faces processed by each task, when the normal vectors are re-computed in parallel. */
+	private static final int PARALLEL_CHUNK_SIZE = 4096;
+
+	/** The buffer storing the vertices of the faces. */
+	private final MeshVertexBuffer vertexBuffer;
+
+	/** The number of the faces registered to this buffer. */
+	private int faceCount = 0;
+
+	/**
+	 * Stores the indices (in the vertex buffer) of the three vertices {P0, P1, P2} used for computing the normal vector of each face,
+	 * in the order [p0 of face0, p1 of face0, p2 of face0, p0 of face1, ...].
+	 */
+	private final int[] normalVertexIndexArray;
+
+	/** Stores the normal vectors of the faces in the scaled space, in the order [x0, y0, z0, x1, y1, z1, ...]. */
+	private final double[] scaledNormalArray;
+
+	/** Stores the transformed normal vectors of the faces, in the order [x0, y0, z0, x1, y1, z1, ...]. */
+	private final double[] transformedNormalArray;
+
+
+	/**
+	 * Creates a new normal buffer which can store the specified number of faces at most.
+	 *
+	 * @param vertexBuffer The buffer storing the vertices of the faces.
+	 * @param capacity The maximum number of the faces.
+	 */
+	public MeshNormalBuffer(MeshVertexBuffer vertexBuffer, int capacity) {
+		this.vertexBuffer = vertexBuffer;
+		this.normalVertexIndexArray = new int[capacity * STRIDE];
+		this.scaledNormalArray = new double[capacity * STRIDE];
+		this.transformedNormalArray = new double[capacity * STRIDE];
+	}
+
+
+	/**
+	 * Registers a triangle consisting of vertices A, B, and C, and returns the index of its normal vector.
+	 *
+	 * @param aIndex The index of the vertex A in the vertex buffer.
+	 * @param bIndex The index of the vertex B in the vertex buffer.
+	 * @param cIndex The index of the vertex C in the vertex buffer.
+	 * @return The index of the face, at which the normal vector is stored in this buffer.
+	 */
+	public int addTriangle(int aIndex, int bIndex, int cIndex) {
+		return this.addFace(aIndex, bIndex, cIndex);
+	}
+
+
+	/**
+	 * Registers a quadrangle consisting of vertices A, B, C, and D, and returns the index of its normal vector.
+	 *
+	 * The normal vector is computed from the vertices {A, B, C} in general,
+	 * but computed from {A, C, D} if there is a couple of points having the same coordinate values in {A, B, C}.
+	 * See the comment in the constructor of QuadrangleGeometricPiece.
+	 *
+	 * @param aIndex The index of the vertex A in the vertex buffer.
+	 * @param bIndex The index of the vertex B in the vertex buffer.
+	 * @param cIndex The index of the vertex C in the vertex buffer.
+	 * @param dIndex The index of the vertex D in the vertex buffer.
+	 * @return The index of the face, at which the normal vector is stored in this buffer.
+	 */
+	public int addQuadrangle(int aIndex, int bIndex, int cIndex, int dIndex) {
+		double[][] sv = this.vertexBuffer.getScaledVertexArrays();
+		boolean existsSamePointInABC =
+				this.equalsVertex(sv, aIndex, bIndex) ||
+				this.equalsVertex(sv, aIndex, cIndex) ||
+				this.equalsVertex(sv, bIndex, cIndex);
+
+		if (existsSamePointInABC) {
+			return this.addFace(aIndex, cIndex, dIndex);
+		} else {
+			return this.addFace(aIndex, bIndex, cIndex);
+		}
+	}
+
+
+	/**
+	 * Registers a face of which normal vector is computed from the vertices {P0, P1, P2}.
+	 *
+	 * @param p0Index The index of the vertex P0 in the vertex buffer.
+	 * @param p1Index The index of the vertex P1 in the vertex buffer.
+	 * @param p2Index The index of the vertex P2 in the vertex buffer.
+	 * @return The index of the face, at which the normal vector is stored in this buffer.
+	 */
+	private int addFace(int p0Index, int p1Index, int p2Index) {
+		int faceIndex = this.faceCount;
+		int offset = faceIndex * STRIDE;
+		this.normalVertexIndexArray[offset    ] = p0Index;
+		this.normalVertexIndexArray[offset + 1] = p1Index;
+		this.normalVertexIndexArray[offset + 2] = p2Index;
+		this.faceCount++;
+		return faceIndex;
+	}
+
+
+	/**
+	 * Checks whether the specified two vertices have completely the same coordinate values.
+	 *
+	 * @param vertexArrays The arrays storing the coordinate values of the vertices. The index is [0:X, 1:Y, 2:Z][vertexIndex].
+	 * @param index1 The index of the first vertex.
+	 * @param index2 The index of the second vertex.
+	 * @return Returns true if the two vertices have the same coordinate values.
+	 */
+	private boolean equalsVertex(double[][] vertexArrays, int index1, int index2) {
+		return vertexArrays[X][index1] == vertexArrays[X][index2]
+			&& vertexArrays[Y][index1] == vertexArrays[Y][index2]
+			&& vertexArrays[Z][index1] == vertexArrays[Z][index2];
+	}
+
+
+	/**
+	 * Gets the number of the faces registered to this buffer.
+	 *
+	 * @return The number of the faces.
+	 */
+	public int getFaceCount() {
+		return this.faceCount;
+	}
+
+
+	/**
+	 * Gets the (reference to the) array storing the transformed normal vectors of the faces.
+	 *
+	 * @return The array in which the normal vectors are stored in the order [x0, y0, z0, x1, y1, z1, ...].
+	 */
+	public double[] getTransformedNormalArray() {
+		return this.transformedNormalArray;
+	}
+
+
+	/**
+	 * Re-computes the normal vectors of all the faces in the scaled space.
+	 *
+	 * @param xLengthFactor The length factor for X dimension.
+	 * @param yLengthFactor The length factor for Y dimension.
+	 * @param zLengthFactor The length factor for Z dimension.
+	 */
+	public void updateNormalVectors(double xLengthFactor, double yLengthFactor, double zLengthFactor) {
+
+		// For a small number of faces, the overhead of the parallel processing is not negligible, so compute them sequentially.
+		if (this.faceCount < PARALLEL_THRESHOLD) {
+			this.updateNormalVectors(0, this.faceCount, xLengthFactor, yLengthFactor, zLengthFactor);
+			return;
+		}
+
+		// Otherwise, split the faces into chunks, and compute them in parallel.
+		// (Each chunk writes to the disjoint region of the normal vector array, so no synchronization is necessary.)
+		int chunkCount = (this.faceCount + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+		IntStream.range(0, chunkCount).parallel().forEach(ichunk -> {
+			int begin = ichunk * PARALLEL_CHUNK_SIZE;
+			int end = Math.min(begin + PARALLEL_CHUNK_SIZE, this.faceCount);
+			this.updateNormalVectors(begin, end, xLengthFactor, yLengthFactor, zLengthFactor);
+		});
+	}
+
+
+	/**
+	 * Re-computes the normal vectors of the faces in the specified range, in the scaled space.
+	 *
+	 * @param beginFaceIndex The index of the first face to be processed.
+	 * @param endFaceIndex The index next to the last face to be processed.
+	 * @param xLengthFactor The length factor for X dimension.
+	 * @param yLengthFactor The length factor for Y dimension.
+	 * @param zLengthFactor The length factor for Z dimension.
+	 */
+	private void updateNormalVectors(int beginFaceIndex, int endFaceIndex,
+			double xLengthFactor, double yLengthFactor, double zLengthFactor) {
+
+		// Short aliases of the arrays.
+		double[][] sv = this.vertexBuffer.getScaledVertexArrays();
+		int[] ni = this.normalVertexIndexArray;
+		double[] sn = this.scaledNormalArray;
+
+		for (int iface=beginFaceIndex; iface<endFaceIndex; iface++) {
+			int offset = iface * STRIDE;
+			int p0 = ni[offset    ];
+			int p1 = ni[offset + 1];
+			int p2 = ni[offset + 2];
+
+			// Calculate the 'triangle side' vectors, scaled by the length factors for X/Y/Z dimensions.
+			double pX = (sv[X][p1] - sv[X][p0]) * xLengthFactor;
+			double pY = (sv[Y][p1] - sv[Y][p0]) * yLengthFactor;
+			double pZ = (sv[Z][p1] - sv[Z][p0]) * zLengthFactor;
+			double qX = (sv[X][p2] - sv[X][p0]) * xLengthFactor;
+			double qY = (sv[Y][p2] - sv[Y][p0]) * yLengthFactor;
+			double qZ = (sv[Z][p2] - sv[Z][p0]) * zLengthFactor;
+
+			// Calculate the normal vector as the cross product of the 'triangle side' vectors.
+			double nX = pY * qZ - pZ * qY;
+			double nY = pZ * qX - pX * qZ;
+			double nZ = pX * qY - pY * qX;
+
+			// Normalize the length of the normal vector.
+			// (If the face has no area after the scaling, e.g. by underflow, leave its normal vector zero, instead of NaN.)
+			double length = Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+			double lengthRecip = length == 0.0 ? 0.0 : 1.0 / length;
+			sn[offset    ] = nX * lengthRecip;
+			sn[offset + 1] = nY * lengthRecip;
+			sn[offset + 2] = nZ * lengthRecip;
+		}
+	}
+
+
+	/**
+	 * Transforms the normal vectors of all the faces.
+	 *
+	 * The vertices in the vertex buffer must be transformed by MeshVertexBuffer.transform(...) before calling this method,
+	 * because the normal vector of each face facing the depth direction from the viewpoint is reversed, based on them.
+	 *
+	 * @param directionalTransformMatrix The matrix to transform directional vectors, e.g.: normal vectors of surfaces.
+	 */
+	public void transform(double[][] directionalTransformMatrix) {
+
+		// Short aliases of the matrix and vertex/normal arrays.
+		double[][] m = directionalTransformMatrix;
+		double[][] tv = this.vertexBuffer.getTransformedVertexArrays();
+		int[] ni = this.normalVertexIndexArray;
+		double[] sn = this.scaledNormalArray;
+		double[] tn = this.transformedNormalArray;
+
+		int length = this.faceCount * STRIDE;
+		for (int i=0; i<length; i+=STRIDE) {
+
+			// Transform the normal vector (without the translational elements of the matrix).
+			double x = sn[i];
+			double y = sn[i + 1];
+			double z = sn[i + 2];
+			double nX = m[0][0] * x + m[0][1] * y + m[0][2] * z;
+			double nY = m[1][0] * x + m[1][1] * y + m[1][2] * z;
+			double nZ = m[2][0] * x + m[2][1] * y + m[2][2] * z;
+
+			// If the face faces the depth direction from the viewpoint, reverse its normal vector.
+			// See also: the description of 'facesDepthDirection' method of QuadrangleGeometricPiece.
+			if (this.facesDepthDirection(tv, ni[i], ni[i + 1], ni[i + 2])) {
+				nX = -nX;
+				nY = -nY;
+				nZ = -nZ;
+			}
+			tn[i    ] = nX;
+			tn[i + 1] = nY;
+			tn[i + 2] = nZ;
+		}
+	}
+
+
+	/**
+	 * Determines whether the normal vector of the triangle {P0, P1, P2} faces the depth direction,
+	 * CONSIDERING THE PERSPECTIVE EFFECT.
+	 *
+	 * @param tv The arrays storing the transformed coordinates of the vertices. The index is [0:X, 1:Y, 2:Z][vertexIndex].
+	 * @param p0 The index of the vertex P0 in the vertex buffer.
+	 * @param p1 The index of the vertex P1 in the vertex buffer.
+	 * @param p2 The index of the vertex P2 in the vertex buffer.
+	 * @return Returns true if the normal vector (with considering the perspective effect) faces the depth direction.
+	 */
+	private boolean facesDepthDirection(double[][] tv, int p0, int p1, int p2) {
+
+		// Coefficients to apply the perspective effect to X and Y coordinate values of the vertices.
+		double p0zRecip = 1.0 / -tv[Z][p0];
+		double p1zRecip = 1.0 / -tv[Z][p1];
+		double p2zRecip = 1.0 / -tv[Z][p2];
+
+		// Calculate the X and Y coordinate values of the 'triangle side' vectors, with the perspective effect.
+		double sideVectorPX = tv[X][p1] * p1zRecip - tv[X][p0] * p0zRecip;
+		double sideVectorPY = tv[Y][p1] * p1zRecip - tv[Y][p0] * p0zRecip;
+		double sideVectorQX = tv[X][p2] * p2zRecip - tv[X][p0] * p0zRecip;
+		double sideVectorQY = tv[Y][p2] * p2zRecip - tv[Y][p0] * p0zRecip;
+
+		// Calculate the cross product of the above 'triangle side' vectors, and determine the result from its sign.
+		double crossProductZ = sideVectorPX * sideVectorQY - sideVectorPY * sideVectorQX;
+		return (crossProductZ < 0);
+	}
+}
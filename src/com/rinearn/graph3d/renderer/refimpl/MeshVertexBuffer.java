@@ -0,0 +1,163 @@
+package com.rinearn.graph3d.renderer.refimpl;
+
+
+/**
+ * The buffer storing vertices shared by multiple geometric pieces (e.g. quadrangles composing a surface),
+ * which are drawn by the indexed drawing methods of the renderer.
+ *
+ * Each vertex stored in this buffer is transformed and projected only once per rendering,
+ * and the pieces referencing the vertices by their indices use the results.
+ * Hence, for pieces composing a grid, the cost of transforming/projecting vertices becomes much smaller
+ * than drawing them as independent pieces, which transform/project each shared vertex repeatedly.
+ */
+public final class MeshVertexBuffer {
+
+	/** The array index at which the X coordinate values are stored, in the vertex arrays. */
+	private static final int X = GeometricPiece.X;
+
+	/** The array index at which the Y coordinate values are stored, in the vertex arrays. */
+	private static final int Y = GeometricPiece.Y;
+
+	/** The array index at which the Z coordinate values are stored, in the vertex arrays. */
+	private static final int Z = GeometricPiece.Z;
+
+	/** The number of the vertices stored in this buffer. */
+	private final int vertexCount;
+
+	/** Stores the coordinate values of the vertices in the scaled space. The index is [0:X, 1:Y, 2:Z][vertexIndex]. */
+	private final double[][] scaledVertexArrays;
+
+	/** Stores the transformed coordinate values of the vertices. The index is [0:X, 1:Y, 2:Z][vertexIndex]. */
+	private final double[][] transformedVertexArrays;
+
+	/** Stores the projected coordinate values of the vertices on the screen. The index is [0:X, 1:Y][vertexIndex]. */
+	private final int[][] projectedVertexArrays;
+
+
+	/**
+	 * Creates a new vertex buffer having the specified number of vertices.
+	 *
+	 * The coordinate values of the vertices in the scaled space should be set
+	 * to the arrays returned by getScaledVertexArrays() method, after creating the buffer.
+	 *
+	 * @param vertexCount The number of the vertices.
+	 */
+	public MeshVertexBuffer(int vertexCount) {
+		this.vertexCount = vertexCount;
+		this.scaledVertexArrays = new double[3][vertexCount];      // [3] is X/Y/Z
+		this.transformedVertexArrays = new double[3][vertexCount]; // [3] is X/Y/Z
+		this.projectedVertexArrays = new int[2][vertexCount];      // [2] is X/Y
+	}
+
+
+	/**
+	 * Gets the number of the vertices stored in this buffer.
+	 *
+	 * @return The number of the vertices.
+	 */
+	public int getVertexCount() {
+		return this.vertexCount;
+	}
+
+
+	/**
+	 * Gets the (reference to the) arrays storing the coordinate values of the vertices in the scaled space.
+	 *
+	 * @return The arrays storing the coordinate values. The index is [0:X, 1:Y, 2:Z][vertexIndex].
+	 */
+	public double[][] getScaledVertexArrays() {
+		return this.scaledVertexArrays;
+	}
+
+
+	/**
+	 * Gets the (reference to the) arrays storing the transformed coordinate values of the vertices.
+	 *
+	 * @return The arrays storing the coordinate values. The index is [0:X, 1:Y, 2:Z][vertexIndex].
+	 */
+	public double[][] getTransformedVertexArrays() {
+		return this.transformedVertexArrays;
+	}
+
+
+	/**
+	 * Gets the (reference to the) arrays storing the projected coordinate values of the vertices on the screen.
+	 *
+	 * @return The arrays storing the coordinate values. The index is [0:X, 1:Y][vertexIndex].
+	 */
+	public int[][] getProjectedVertexArrays() {
+		return this.projectedVertexArrays;
+	}
+
+
+	/**
+	 * Transforms the coordinate values of all the vertices in this buffer.
+	 *
+	 * The coordinate values are stored in separate arrays for X, Y, and Z (structure of arrays),
+	 * and the elements of the matrix are loaded into local variables before the loop,
+	 * so the loop has no dependencies between iterations and no indirect accesses.
+	 * Hence, the JIT compiler can process multiple vertices at once by SIMD instructions (auto-vectorization).
+	 *
+	 * @param positionalTransformMatrix The matrix to transform positions, e.g.: vertex coordinates.
+	 */
+	public void transform(double[][] positionalTransformMatrix) {
+
+		// Short aliases of the elements of the matrix.
+		double[][] m = positionalTransformMatrix;
+		double m00 = m[0][0], m01 = m[0][1], m02 = m[0][2], m03 = m[0][3];
+		double m10 = m[1][0], m11 = m[1][1], m12 = m[1][2], m13 = m[1][3];
+		double m20 = m[2][0], m21 = m[2][1], m22 = m[2][2], m23 = m[2][3];
+
+		// Short aliases of the vertices arrays.
+		double[] sx = this.scaledVertexArrays[X];
+		double[] sy = this.scaledVertexArrays[Y];
+		double[] sz = this.scaledVertexArrays[Z];
+		double[] tx = this.transformedVertexArrays[X];
+		double[] ty = this.transformedVertexArrays[Y];
+		double[] tz = this.transformedVertexArrays[Z];
+
+		// Transform each vertex.
+		int n = this.vertexCount;
+		for (int ivertex=0; ivertex<n; ivertex++) {
+			double x = sx[ivertex];
+			double y = sy[ivertex];
+			double z = sz[ivertex];
+			tx[ivertex] = m00 * x + m01 * y + m02 * z + m03;
+			ty[ivertex] = m10 * x + m11 * y + m12 * z + m13;
+			tz[ivertex] = m20 * x + m21 * y + m22 * z + m23;
+		}
+	}
+
+
+	/**
+	 * Computes the projected screen coordinate values of all the vertices in this buffer.
+	 *
+	 * @param screenWidth The width (pixels) of the screen.
+	 * @param screenHeight The height (pixels) of the screen.
+	 * @param screenOffsetX The X-offset value (positive for shifting rightward) of the screen center.
+	 * @param screenOffsetY The Y-offset value (positive for shifting upward) of the screen center.
+	 * @param magnification The magnification of the conversion from lengths in 3D space to pixels.
+	 */
+	public void project(int screenWidth, int screenHeight, int screenOffsetX, int screenOffsetY, double magnification) {
+
+		// Compute the project coordinates on the screen.
+		// (The origin is the left-top edge of the screen.)
+		int screenCenterX = (screenWidth >> 1) + screenOffsetX; // bit-shifting instead of dividing by 2.
+		int screenCenterY = (screenHeight >> 1) - screenOffsetY;
+
+		// Short aliases of the vertices arrays.
+		double[] tx = this.transformedVertexArrays[X];
+		double[] ty = this.transformedVertexArrays[Y];
+		double[] tz = this.transformedVertexArrays[Z];
+		int[] px = this.projectedVertexArrays[X];
+		int[] py = this.projectedVertexArrays[Y];
+
+		// Project each vertex (vectorizable in the same way as transform(...)).
+		int n = this.vertexCount;
+		for (int ivertex=0; ivertex<n; ivertex++) {
+			double projectionRatio = magnification / -tz[ivertex]; // Z takes a negative value for the depth direction.
+			px[ivertex] = screenCenterX + (int)(tx[ivertex] * projectionRatio);
+			py[ivertex] = screenCenterY - (int)(ty[ivertex] * projectionRatio);
+		}
+	}
+}
@@ -324,85 +324,7 @@ public final class QuadrangleGeometricPiece extends GeometricPiece {
 	 */
 	@Override
 	public void shade(LightConfiguration lightConfig) {
-
-		// Prepare aliases of the normal vector,
-		// and the direction vector pointing to the light source (hereinafter referred to as 'light vector').
-		double[] normalVector = this.transformedVertexArray[4];
-		double[] lightVector = {
-				lightConfig.getLightSourceDirectionX(),
-				lightConfig.getLightSourceDirectionY(),
-				lightConfig.getLightSourceDirectionZ()
-		};
-		// Note: There is no need to multiply x/y/zLengthFactor to the light vector.
-		//       In this graph software, x/y/zLengthFactor are used to control the aspect ratio of the 3D graph frame,
-		//       and the light is lighting up the graph from the OUTSIDE of the graph frame.
-
-		// Calculate the value of 'directional product',
-		// which is the inner product between the normal vector and the light vector.
-		double directionalProduct =
-				normalVector[X] * lightVector[X] +
-				normalVector[Y] * lightVector[Y] +
-				normalVector[Z] * lightVector[Z];
-
-		//System.out.println("normal2 = (" + normalVector[X] + ", " + normalVector[Y] + ", " + normalVector[Z]);
-		//System.out.println("drectional product: " + directionalProduct);
-
-		// Calculate the angle between the normal vector and the light vector,
-		// and normalize it into the range [0.0, 1.0].
-		double directionalAngle = Math.acos(directionalProduct);
-		double normalizedDirectionalAngle = directionalAngle / Math.PI;
-
-		// If the value of 'directional product' is negative, replace it by 0.
-		double directionalProductPositive = (0 <= directionalProduct) ? directionalProduct : 0.0;
-
-		// Calculate the brightness contributed by ambient, diffuse, and diffractive reflections.
-		double baseBrightness =
-				lightConfig.getAmbientReflectionStrength() +
-				lightConfig.getDiffuseReflectionStrength() * directionalProductPositive +
-				lightConfig.getDiffractiveReflectionStrength() * (1.0 - normalizedDirectionalAngle);
-
-		// Calculate the vector of the light reflected by specular reflection.
-		double[] specularReflectionVector = {
-				2.0 * directionalProduct * normalVector[X] - lightVector[X],
-				2.0 * directionalProduct * normalVector[Y] - lightVector[Y],
-				2.0 * directionalProduct * normalVector[Z] - lightVector[Z],
-		};
-		double specularReflectionVectorLength = Math.sqrt(
-				specularReflectionVector[X] * specularReflectionVector[X] +
-				specularReflectionVector[Y] * specularReflectionVector[Y] +
-				specularReflectionVector[Z] * specularReflectionVector[Z]
-		);
-
-		// Calculate the angle between the above vector and the Z-axis (= direction of the user's gaze).
-		double specularReflectionVectorAngle = Math.acos(specularReflectionVector[Z] / specularReflectionVectorLength);
-
-		// Calculate the brightness contributed by specular reflection.
-		double specularBrightness = 0.0;
-		double specularReflectionSpreadAngle = lightConfig.getSpecularReflectionAngle();
-		if (specularReflectionVectorAngle < specularReflectionSpreadAngle) {
-			specularBrightness = lightConfig.getSpecularReflectionStrength() *
-					Math.cos(0.5 * Math.PI * specularReflectionVectorAngle / specularReflectionSpreadAngle);
-		}
-
-		// Convert the RGBA components of the original color to double-type values, in range [0.0, 1.0].
-		double recip255 = 1.0 / 255.0;
-		double r = this.originalColor.getRed() * recip255;
-		double g = this.originalColor.getGreen() * recip255;
-		double b = this.originalColor.getBlue() * recip255;
-		double a = this.originalColor.getAlpha() * recip255;
-
-		// Blend the RGBA components based on the calculated brightnesses.
-		r = r * baseBrightness * (1.0 - specularBrightness) + specularBrightness;
-		g = g * baseBrightness * (1.0 - specularBrightness) + specularBrightness;
-		b = b * baseBrightness * (1.0 - specularBrightness) + specularBrightness;
-		a = a + specularBrightness;
-
-		// Calculated RGBA components may exceed the range [0.0, 1.0], so crop values.
-		r = Math.min(Math.max(r, 0.0), 1.0);
-		g = Math.min(Math.max(g, 0.0), 1.0);
-		b = Math.min(Math.max(b, 0.0), 1.0);
-		a = Math.min(Math.max(a, 0.0), 1.0);
-		this.onscreenColor = new Color((float)r, (float)g, (float)b, (float)a);
+		this.onscreenColor = SurfaceShader.shade(this.transformedVertexArray[4], this.originalColor, lightConfig);
 	}
 
 
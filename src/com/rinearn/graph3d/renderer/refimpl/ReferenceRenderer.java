@@ -14,13 +14,17 @@ import com.rinearn.graph3d.config.frame.FrameConfiguration;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.Stroke;
 
 
 // !!!!!
@@ -145,6 +149,12 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 	/** The list storing geometric pieces to be rendered. */
 	private volatile List<GeometricPiece> geometricPieceList = new ArrayList<GeometricPiece>();
 
+	/** The list storing vertex buffers shared by the geometric pieces registered by the indexed drawing methods. */
+	private volatile List<MeshVertexBuffer> vertexBufferList = new ArrayList<MeshVertexBuffer>();
+
+	/** The list storing normal buffers of the faces registered by the indexed drawing methods. */
+	private volatile List<MeshNormalBuffer> normalBufferList = new ArrayList<MeshNormalBuffer>();
+
 	/**
 	 * The transformation matrix to transform positions (e.g.: vertex coordinates),
 	 * from the graph coordinate system to the view coordinate system.
@@ -333,6 +343,12 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 		boolean hasYFactorChanged = yFactor != this.lastYLengthFactor;
 		boolean hasZFactorChanged = zFactor != this.lastZLengthFactor;
 		if (hasXFactorChanged || hasYFactorChanged || hasZFactorChanged) {
+
+			// The normal vectors of the faces registered by the indexed drawing methods are re-computed in batch,
+			// in a single pass (in parallel, for large buffers) over the flat normal vector array of each buffer.
+			for (MeshNormalBuffer normalBuffer: this.normalBufferList) {
+				normalBuffer.updateNormalVectors(xFactor, yFactor, zFactor);
+			}
 			for (GeometricPiece piece: this.geometricPieceList) {
 				piece.updateDirectionalVectors(xFactor, yFactor, zFactor);
 			}
@@ -374,6 +390,8 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 		this.foregroundLayerImage = null;
 		this.foregroundLayerGraphics.dispose();
 		this.geometricPieceList.clear();
+		this.vertexBufferList.clear();
+		this.normalBufferList.clear();
 		this.positionalTransformMatrix = null;
 		this.directionalTransformMatrix = null;
 
@@ -387,8 +405,10 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 	@Override
 	public synchronized void clear() {
 
-		// Remove all geometric pieces registered by the drawer methods.
+		// Remove all geometric pieces (and shared vertex buffers) registered by the drawer methods.
 		this.geometricPieceList.clear();
+		this.vertexBufferList.clear();
+		this.normalBufferList.clear();
 		System.gc();
 
 		// Clear the final output image of the graph screen.
@@ -441,6 +461,16 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 		this.middleLayerGraphics.setBackground(new Color(0, 0, 0, 0));
 		this.middleLayerGraphics.clearRect(0, 0, screenWidth, screenHeight);
 
+		// Transform and project the vertices shared by the pieces registered by the indexed drawing methods.
+		// Each shared vertex is processed only once here, and the pieces referencing it use the results.
+		for (MeshVertexBuffer vertexBuffer: this.vertexBufferList) {
+			vertexBuffer.transform(this.positionalTransformMatrix);
+			vertexBuffer.project(screenWidth, screenHeight, screenOffsetX, screenOffsetY, magnification);
+		}
+		for (MeshNormalBuffer normalBuffer: this.normalBufferList) {
+			normalBuffer.transform(this.directionalTransformMatrix);
+		}
+
 		// Transform each geometric piece.
 		for (GeometricPiece piece: this.geometricPieceList) {
 			piece.transform(positionalTransformMatrix, directionalTransformMatrix);
@@ -672,7 +702,10 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 			double bX, double bY, double bZ,
 			double cX, double cY, double cZ) {
 
-		throw new RuntimeException("Unimplemented yet");
+		RinearnGraph3DDrawingParameter parameter = new RinearnGraph3DDrawingParameter();
+		parameter.setAutoColoringEnabled(true);
+		parameter.setSeriesIndex(0);
+		this.drawTriangle(aX, aY, aZ, bX, bY, bZ, cX, cY, cZ, parameter);
 	}
 
 
@@ -682,7 +715,10 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 			double cX, double cY, double cZ,
 			Color color) {
 
-		throw new RuntimeException("Unimplemented yet");
+		RinearnGraph3DDrawingParameter parameter = new RinearnGraph3DDrawingParameter();
+		parameter.setAutoColoringEnabled(false);
+		parameter.setColor(color);
+		this.drawTriangle(aX, aY, aZ, bX, bY, bZ, cX, cY, cZ, parameter);
 	}
 
 
@@ -692,7 +728,64 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 			double cX, double cY, double cZ,
 			RinearnGraph3DDrawingParameter parameter) {
 
-		throw new RuntimeException("Unimplemented yet");
+		// Check whether the triangle is in ranges of X/Y/Z axes. If no, draw nothing.
+		if (parameter.isRangeClippingEnabled()) {
+			boolean isInRange =
+					this.spaceConverters[X].containsInRange(aX, true) &&
+					this.spaceConverters[Y].containsInRange(aY, true) &&
+					this.spaceConverters[Z].containsInRange(aZ, true) &&
+
+					this.spaceConverters[X].containsInRange(bX, true) &&
+					this.spaceConverters[Y].containsInRange(bY, true) &&
+					this.spaceConverters[Z].containsInRange(bZ, true) &&
+
+					this.spaceConverters[X].containsInRange(cX, true) &&
+					this.spaceConverters[Y].containsInRange(cY, true) &&
+					this.spaceConverters[Z].containsInRange(cZ, true);
+
+			if (!isInRange) {
+				return;
+			}
+		}
+
+		// Generates the color based on the current color configuration.
+		double[] colorRepresentCoords = {
+				(aX + bX + cX) / 3.0,
+				(aY + bY + cY) / 3.0,
+				(aZ + bZ + cZ) / 3.0
+		};
+		Color color = this.colorMixer.generateColor(
+				colorRepresentCoords, parameter, this.config.getColorConfiguration(), this.config.getScaleConfiguration()
+		);
+
+		// Scale X/Y/Z coordinate values into the range [-1.0, 1.0] (= scaled space).
+		if (parameter.isRangeScalingEnabled()) {
+			aX = this.spaceConverters[X].toScaledSpaceCoordinate(aX);
+			aY = this.spaceConverters[Y].toScaledSpaceCoordinate(aY);
+			aZ = this.spaceConverters[Z].toScaledSpaceCoordinate(aZ);
+
+			bX = this.spaceConverters[X].toScaledSpaceCoordinate(bX);
+			bY = this.spaceConverters[Y].toScaledSpaceCoordinate(bY);
+			bZ = this.spaceConverters[Z].toScaledSpaceCoordinate(bZ);
+
+			cX = this.spaceConverters[X].toScaledSpaceCoordinate(cX);
+			cY = this.spaceConverters[Y].toScaledSpaceCoordinate(cY);
+			cZ = this.spaceConverters[Z].toScaledSpaceCoordinate(cZ);
+		}
+
+		// Get the length factor of X/Y/Z dimensions.
+		FrameConfiguration frameConfig = this.config.getFrameConfiguration();
+		double xFactor = frameConfig.getXFrameConfiguration().getLengthFactor();
+		double yFactor = frameConfig.getYFrameConfiguration().getLengthFactor();
+		double zFactor = frameConfig.getZFrameConfiguration().getLengthFactor();
+
+		// Create a triangle piece and register to the list.
+		TriangleGeometricPiece triangle = new TriangleGeometricPiece(
+				aX, aY, aZ, bX, bY, bZ, cX, cY, cZ,
+				xFactor, yFactor, zFactor,
+				color
+		);
+		this.geometricPieceList.add(triangle);
 	}
 
 
@@ -799,6 +892,282 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 	}
 
 
+	/**
+	 * Draws multiple quadrangles sharing their vertices, specified by a vertex array and an index array.
+	 *
+	 * Each vertex is scaled, transformed, and projected only once (per rendering),
+	 * regardless of the number of the quadrangles sharing it.
+	 *
+	 * @param xCoords The X coordinates of the vertices.
+	 * @param yCoords The Y coordinates of the vertices.
+	 * @param zCoords The Z coordinates of the vertices.
+	 * @param vertexIndices The indices of the vertices of the quadrangles, in the order [a0, b0, c0, d0, a1, b1, c1, d1, ...].
+	 * @param parameter The object storing the drawing parameters.
+	 */
+	@Override
+	public synchronized void drawIndexedQuadrangles(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, RinearnGraph3DDrawingParameter parameter) {
+
+		if (vertexIndices.length % 4 != 0) {
+			throw new IllegalArgumentException("The length of the index array must be a multiple of 4.");
+		}
+
+		// Register the vertices to a new vertex buffer, and check whether each vertex is in ranges of X/Y/Z axes.
+		MeshVertexBuffer vertexBuffer = this.createVertexBuffer(xCoords, yCoords, zCoords, parameter);
+		boolean[] vertexInRange = this.checkVerticesInRange(xCoords, yCoords, zCoords, parameter);
+
+		// Get the length factor of X/Y/Z dimensions.
+		FrameConfiguration frameConfig = this.config.getFrameConfiguration();
+		double xFactor = frameConfig.getXFrameConfiguration().getLengthFactor();
+		double yFactor = frameConfig.getYFrameConfiguration().getLengthFactor();
+		double zFactor = frameConfig.getZFrameConfiguration().getLengthFactor();
+
+		// Create quadrangle pieces referencing the vertices in the buffer, and register them to the list.
+		double[] colorRepresentCoords = new double[3];
+		int quadrangleCount = vertexIndices.length / 4;
+		MeshNormalBuffer normalBuffer = new MeshNormalBuffer(vertexBuffer, quadrangleCount);
+		for (int iquad=0; iquad<quadrangleCount; iquad++) {
+			int a = vertexIndices[iquad * 4    ];
+			int b = vertexIndices[iquad * 4 + 1];
+			int c = vertexIndices[iquad * 4 + 2];
+			int d = vertexIndices[iquad * 4 + 3];
+
+			// If any vertex is out of ranges of X/Y/Z axes, draw nothing.
+			if (!vertexInRange[a] || !vertexInRange[b] || !vertexInRange[c] || !vertexInRange[d]) {
+				continue;
+			}
+
+			// Generates the color based on the current color configuration.
+			colorRepresentCoords[X] = (xCoords[a] + xCoords[b] + xCoords[c] + xCoords[d]) / 4.0;
+			colorRepresentCoords[Y] = (yCoords[a] + yCoords[b] + yCoords[c] + yCoords[d]) / 4.0;
+			colorRepresentCoords[Z] = (zCoords[a] + zCoords[b] + zCoords[c] + zCoords[d]) / 4.0;
+			Color color = this.colorMixer.generateColor(
+					colorRepresentCoords, parameter, this.config.getColorConfiguration(), this.config.getScaleConfiguration()
+			);
+
+			int faceIndex = normalBuffer.addQuadrangle(a, b, c, d);
+			IndexedQuadrangleGeometricPiece quad = new IndexedQuadrangleGeometricPiece(
+					vertexBuffer, normalBuffer, faceIndex, a, b, c, d, color
+			);
+			this.geometricPieceList.add(quad);
+		}
+
+		// Compute the normal vectors of all the quadrangles in batch.
+		normalBuffer.updateNormalVectors(xFactor, yFactor, zFactor);
+		this.normalBufferList.add(normalBuffer);
+	}
+
+
+	/**
+	 * Draws multiple triangles sharing their vertices, specified by a vertex array and an index array (triangle list).
+	 *
+	 * Each vertex is scaled, transformed, and projected only once (per rendering),
+	 * regardless of the number of the triangles sharing it.
+	 *
+	 * @param xCoords The X coordinates of the vertices.
+	 * @param yCoords The Y coordinates of the vertices.
+	 * @param zCoords The Z coordinates of the vertices.
+	 * @param vertexIndices The indices of the vertices of the triangles, in the order [a0, b0, c0, a1, b1, c1, ...].
+	 * @param parameter The object storing the drawing parameters.
+	 */
+	@Override
+	public synchronized void drawIndexedTriangles(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, RinearnGraph3DDrawingParameter parameter) {
+
+		if (vertexIndices.length % 3 != 0) {
+			throw new IllegalArgumentException("The length of the index array must be a multiple of 3.");
+		}
+
+		// Register the vertices to a new vertex buffer, and check whether each vertex is in ranges of X/Y/Z axes.
+		MeshVertexBuffer vertexBuffer = this.createVertexBuffer(xCoords, yCoords, zCoords, parameter);
+		boolean[] vertexInRange = this.checkVerticesInRange(xCoords, yCoords, zCoords, parameter);
+
+		// Get the length factor of X/Y/Z dimensions.
+		FrameConfiguration frameConfig = this.config.getFrameConfiguration();
+		double xFactor = frameConfig.getXFrameConfiguration().getLengthFactor();
+		double yFactor = frameConfig.getYFrameConfiguration().getLengthFactor();
+		double zFactor = frameConfig.getZFrameConfiguration().getLengthFactor();
+
+		// Create triangle pieces referencing the vertices in the buffer, and register them to the list.
+		double[] colorRepresentCoords = new double[3];
+		int triangleCount = vertexIndices.length / 3;
+		MeshNormalBuffer normalBuffer = new MeshNormalBuffer(vertexBuffer, triangleCount);
+		for (int itriangle=0; itriangle<triangleCount; itriangle++) {
+			int a = vertexIndices[itriangle * 3    ];
+			int b = vertexIndices[itriangle * 3 + 1];
+			int c = vertexIndices[itriangle * 3 + 2];
+
+			// If any vertex is out of ranges of X/Y/Z axes, draw nothing.
+			if (!vertexInRange[a] || !vertexInRange[b] || !vertexInRange[c]) {
+				continue;
+			}
+
+			// Degenerate triangles (e.g. the joints of triangle strips, connected by repeating vertices) have no area,
+			// and their normal vectors can't be determined, so skip them.
+			if (isDegenerateTriangle(xCoords, yCoords, zCoords, a, b, c)) {
+				continue;
+			}
+
+			// Generates the color based on the current color configuration.
+			colorRepresentCoords[X] = (xCoords[a] + xCoords[b] + xCoords[c]) / 3.0;
+			colorRepresentCoords[Y] = (yCoords[a] + yCoords[b] + yCoords[c]) / 3.0;
+			colorRepresentCoords[Z] = (zCoords[a] + zCoords[b] + zCoords[c]) / 3.0;
+			Color color = this.colorMixer.generateColor(
+					colorRepresentCoords, parameter, this.config.getColorConfiguration(), this.config.getScaleConfiguration()
+			);
+
+			int faceIndex = normalBuffer.addTriangle(a, b, c);
+			IndexedTriangleGeometricPiece triangle = new IndexedTriangleGeometricPiece(
+					vertexBuffer, normalBuffer, faceIndex, a, b, c, color
+			);
+			this.geometricPieceList.add(triangle);
+		}
+
+		// Compute the normal vectors of all the triangles in batch.
+		normalBuffer.updateNormalVectors(xFactor, yFactor, zFactor);
+		this.normalBufferList.add(normalBuffer);
+	}
+
+
+	/**
+	 * Checks whether the specified triangle is degenerate, i.e.: the cross product of its edge vectors is zero.
+	 *
+	 * @param xCoords The X coordinates of the vertices.
+	 * @param yCoords The Y coordinates of the vertices.
+	 * @param zCoords The Z coordinates of the vertices.
+	 * @param a The index of the vertex A of the triangle.
+	 * @param b The index of the vertex B of the triangle.
+	 * @param c The index of the vertex C of the triangle.
+	 * @return Returns true if the triangle is degenerate.
+	 */
+	private static boolean isDegenerateTriangle(double[] xCoords, double[] yCoords, double[] zCoords, int a, int b, int c) {
+		double pX = xCoords[b] - xCoords[a];
+		double pY = yCoords[b] - yCoords[a];
+		double pZ = zCoords[b] - zCoords[a];
+		double qX = xCoords[c] - xCoords[a];
+		double qY = yCoords[c] - yCoords[a];
+		double qZ = zCoords[c] - zCoords[a];
+		return pY * qZ - pZ * qY == 0.0 && pZ * qX - pX * qZ == 0.0 && pX * qY - pY * qX == 0.0;
+	}
+
+
+	/**
+	 * Draws multiple lines sharing their edge points, specified by a vertex array and an index array.
+	 *
+	 * Each vertex is scaled, transformed, and projected only once (per rendering),
+	 * regardless of the number of the lines sharing it.
+	 *
+	 * @param xCoords The X coordinates of the vertices.
+	 * @param yCoords The Y coordinates of the vertices.
+	 * @param zCoords The Z coordinates of the vertices.
+	 * @param vertexIndices The indices of the edge points of the lines, in the order [a0, b0, a1, b1, ...].
+	 * @param width The width (pixels) of the lines.
+	 * @param parameter The object storing the drawing parameters.
+	 */
+	@Override
+	public synchronized void drawIndexedLines(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] vertexIndices, double width, RinearnGraph3DDrawingParameter parameter) {
+
+		if (vertexIndices.length % 2 != 0) {
+			throw new IllegalArgumentException("The length of the index array must be a multiple of 2.");
+		}
+
+		// Register the vertices to a new vertex buffer, and check whether each vertex is in ranges of X/Y/Z axes.
+		MeshVertexBuffer vertexBuffer = this.createVertexBuffer(xCoords, yCoords, zCoords, parameter);
+		boolean[] vertexInRange = this.checkVerticesInRange(xCoords, yCoords, zCoords, parameter);
+
+		// All the lines drawn by this method have the same width, so share the same stroke instance.
+		Stroke stroke = new BasicStroke((float)width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_BEVEL);
+
+		// Create line pieces referencing the vertices in the buffer, and register them to the list.
+		double[] colorRepresentCoords = new double[3];
+		int lineCount = vertexIndices.length / 2;
+		for (int iline=0; iline<lineCount; iline++) {
+			int a = vertexIndices[iline * 2    ];
+			int b = vertexIndices[iline * 2 + 1];
+
+			// If any edge point is out of ranges of X/Y/Z axes, draw nothing.
+			if (!vertexInRange[a] || !vertexInRange[b]) {
+				continue;
+			}
+
+			// Generates the color based on the current color configuration.
+			colorRepresentCoords[X] = (xCoords[a] + xCoords[b]) / 2.0;
+			colorRepresentCoords[Y] = (yCoords[a] + yCoords[b]) / 2.0;
+			colorRepresentCoords[Z] = (zCoords[a] + zCoords[b]) / 2.0;
+			Color color = this.colorMixer.generateColor(
+					colorRepresentCoords, parameter, this.config.getColorConfiguration(), this.config.getScaleConfiguration()
+			);
+
+			IndexedLineGeometricPiece line = new IndexedLineGeometricPiece(vertexBuffer, a, b, stroke, color);
+			this.geometricPieceList.add(line);
+		}
+	}
+
+
+	/**
+	 * Creates a new vertex buffer storing the specified vertices (scaled if necessary), and registers it to the list.
+	 *
+	 * @param xCoords The X coordinates of the vertices.
+	 * @param yCoords The Y coordinates of the vertices.
+	 * @param zCoords The Z coordinates of the vertices.
+	 * @param parameter The object storing the drawing parameters.
+	 * @return The created vertex buffer.
+	 */
+	private MeshVertexBuffer createVertexBuffer(double[] xCoords, double[] yCoords, double[] zCoords,
+			RinearnGraph3DDrawingParameter parameter) {
+
+		int vertexCount = xCoords.length;
+		if (yCoords.length != vertexCount || zCoords.length != vertexCount) {
+			throw new IllegalArgumentException("The lengths of the X/Y/Z coordinate arrays are different.");
+		}
+
+		// Scale X/Y/Z coordinate values into the range [-1.0, 1.0] (= scaled space), and store them into the buffer.
+		MeshVertexBuffer vertexBuffer = new MeshVertexBuffer(vertexCount);
+		double[][] sv = vertexBuffer.getScaledVertexArrays();
+		if (parameter.isRangeScalingEnabled()) {
+			for (int ivertex=0; ivertex<vertexCount; ivertex++) {
+				sv[X][ivertex] = this.spaceConverters[X].toScaledSpaceCoordinate(xCoords[ivertex]);
+				sv[Y][ivertex] = this.spaceConverters[Y].toScaledSpaceCoordinate(yCoords[ivertex]);
+				sv[Z][ivertex] = this.spaceConverters[Z].toScaledSpaceCoordinate(zCoords[ivertex]);
+			}
+		} else {
+			System.arraycopy(xCoords, 0, sv[X], 0, vertexCount);
+			System.arraycopy(yCoords, 0, sv[Y], 0, vertexCount);
+			System.arraycopy(zCoords, 0, sv[Z], 0, vertexCount);
+		}
+
+		this.vertexBufferList.add(vertexBuffer);
+		return vertexBuffer;
+	}
+
+
+	/**
+	 * Checks whether each of the specified vertices is in ranges of X/Y/Z axes.
+	 *
+	 * @param xCoords The X coordinates of the vertices.
+	 * @param yCoords The Y coordinates of the vertices.
+	 * @param zCoords The Z coordinates of the vertices.
+	 * @param parameter The object storing the drawing parameters.
+	 * @return The array storing true for the vertices in ranges (all elements are true if the range clipping is disabled).
+	 */
+	private boolean[] checkVerticesInRange(double[] xCoords, double[] yCoords, double[] zCoords,
+			RinearnGraph3DDrawingParameter parameter) {
+
+		int vertexCount = xCoords.length;
+		boolean[] vertexInRange = new boolean[vertexCount];
+		boolean isRangeClippingEnabled = parameter.isRangeClippingEnabled();
+		for (int ivertex=0; ivertex<vertexCount; ivertex++) {
+			vertexInRange[ivertex] = !isRangeClippingEnabled || (
+					this.spaceConverters[X].containsInRange(xCoords[ivertex], true) &&
+					this.spaceConverters[Y].containsInRange(yCoords[ivertex], true) &&
+					this.spaceConverters[Z].containsInRange(zCoords[ivertex], true)
+			);
+		}
+		return vertexInRange;
+	}
+
+
 	@Override
 	public synchronized void drawText(double x, double y, double z,
 			String text, Font font, Color color) {
@@ -980,12 +1349,41 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 	 */
 	public synchronized BufferedImage copyScreenImage(int bufferedImageType) {
 
+		// Create the buffer to store copied image, and copy the image to it.
+		BufferedImage buffer = new BufferedImage(this.screenImage.getWidth(), this.screenImage.getHeight(), bufferedImageType);
+		return this.copyScreenImage(buffer, bufferedImageType);
+	}
+
+
+	/**
+	 * Copies the current image of the graph screen to the specified buffer if it is reusable,
+	 * otherwise allocates a new buffer and copies the image to it.
+	 *
+	 * The specified buffer is reused when its width/height are the same as the graph screen and its type is "bufferedImageType".
+	 * Unlike copyScreenImage(BufferedImage, Graphics2D), the buffer is cleared by the background color before copying the image,
+	 * so the result is the same as copyScreenImage(int).
+	 *
+	 * @param buffer The buffer to be reused (may be null).
+	 * @param bufferedImageType The type of the BufferedImage to be returned (e.g.: BufferedImage.TYPE_INT_ARGB, TYPE_INT_RGB, etc.)
+	 * @return The buffer storing the copy of the current image of the graph screen (the specified one if reused).
+	 */
+	@Override
+	public synchronized BufferedImage copyScreenImage(BufferedImage buffer, int bufferedImageType) {
+
 		// Gets the current size of the screen.
 		int screenWidth = this.screenImage.getWidth();
 		int screenHeight = this.screenImage.getHeight();
 
-		// Create the buffer to store copied image, and the Graphics2D object to draw the image to the buffer.
-		BufferedImage buffer = new BufferedImage(screenWidth, screenHeight, bufferedImageType);
+		// If the buffer is not reusable, allocate a new one.
+		boolean isReusable = buffer != null
+				&& buffer.getType() == bufferedImageType
+				&& buffer.getWidth() == screenWidth
+				&& buffer.getHeight() == screenHeight;
+		if (!isReusable) {
+			buffer = new BufferedImage(screenWidth, screenHeight, bufferedImageType);
+		}
+
+		// Create the Graphics2D object to draw the image to the buffer.
 		Graphics2D graphics = buffer.createGraphics();
 
 		// Clear by the background color.
@@ -1027,15 +1425,95 @@ public final class ReferenceRenderer implements RinearnGraph3DRenderer {
 		//   Other renderer implementations may use the "buffer", and may not use "graphics".
 		//   It depends on the internal architecture of each implementation that which way is better.
 
-		boolean completed = false;
+		// Note: Drawing a BufferedImage completes immediately in general, so wait only when it has not completed.
+		boolean completed = graphics.drawImage(this.screenImage, 0, 0, null);
 		while (!completed) {
-			completed = graphics.drawImage(this.screenImage, 0, 0, null);
 			try {
 				Thread.sleep(10);
 			} catch (InterruptedException nfe) {
 				break;
 			}
+			completed = graphics.drawImage(this.screenImage, 0, 0, null);
+		}
+	}
+
+
+	/**
+	 * Passes the read-only view of the current image of the graph screen to the specified reader, without copying it.
+	 *
+	 * All the drawing/rendering methods of this renderer are synchronized, and the screen image is updated only in compositeLayers(),
+	 * so the passed Raster always stores the last completed frame while the reader is running.
+	 * Don't modify the content of the passed Raster, and don't refer it after the reader returns.
+	 *
+	 * @param reader The reader to which the read-only view of the screen image is passed.
+	 */
+	@Override
+	public synchronized void readScreenImage(Consumer<Raster> reader) {
+		reader.accept(this.screenImage.getRaster());
+	}
+
+
+	/**
+	 * Computes the projected positions of the specified points on the screen, under the current camera angle, ranges, etc.
+	 *
+	 * The points are transformed and projected in the same way as the vertices stored in MeshVertexBuffers in render(),
+	 * so the results match with the positions at which the points have been drawn by the last rendering
+	 * (if the camera angle, ranges, and screen size have not been changed after it).
+	 *
+	 * @param xCoords The X coordinate values of the points.
+	 * @param yCoords The Y coordinate values of the points.
+	 * @param zCoords The Z coordinate values of the points.
+	 * @param screenXCoords The array to which the projected X coordinates are stored.
+	 * @param screenYCoords The array to which the projected Y coordinates are stored.
+	 * @return The array storing true for the points projected on the screen.
+	 */
+	@Override
+	public synchronized boolean[] projectToScreen(double[] xCoords, double[] yCoords, double[] zCoords,
+			int[] screenXCoords, int[] screenYCoords) {
+
+		int pointCount = xCoords.length;
+		if (yCoords.length != pointCount || zCoords.length != pointCount
+				|| screenXCoords.length < pointCount || screenYCoords.length < pointCount) {
+			throw new IllegalArgumentException("The lengths of the coordinate arrays are inconsistent.");
+		}
+
+		// Check whether each point is in ranges of X/Y/Z axes, and scale it into the range [-1.0, 1.0] (= scaled space).
+		// (The bulk versions of the methods of SpaceConverter are used, because the number of the points may be very large.)
+		boolean[] projected = new boolean[pointCount];
+		boolean[] yInRange = new boolean[pointCount];
+		boolean[] zInRange = new boolean[pointCount];
+		this.spaceConverters[X].containsInRange(xCoords, true, projected);
+		this.spaceConverters[Y].containsInRange(yCoords, true, yInRange);
+		this.spaceConverters[Z].containsInRange(zCoords, true, zInRange);
+		MeshVertexBuffer vertexBuffer = new MeshVertexBuffer(pointCount);
+		double[][] sv = vertexBuffer.getScaledVertexArrays();
+		this.spaceConverters[X].toScaledSpaceCoordinates(xCoords, sv[X]);
+		this.spaceConverters[Y].toScaledSpaceCoordinates(yCoords, sv[Y]);
+		this.spaceConverters[Z].toScaledSpaceCoordinates(zCoords, sv[Z]);
+
+		// Transform and project the points, in the same way as render().
+		// (The buffer is not registered to vertexBufferList, so it does not affect the rendering.)
+		int screenWidth = this.screenImage.getWidth();
+		int screenHeight = this.screenImage.getHeight();
+		int screenOffsetX = this.config.getCameraConfiguration().getHorizontalCenterOffset();
+		int screenOffsetY = this.config.getCameraConfiguration().getVerticalCenterOffset();
+		double magnification = this.config.getCameraConfiguration().getMagnification();
+		vertexBuffer.transform(this.positionalTransformMatrix);
+		vertexBuffer.project(screenWidth, screenHeight, screenOffsetX, screenOffsetY, magnification);
+
+		// Store the results, excluding the points behind the camera or out of the screen.
+		double[] tz = vertexBuffer.getTransformedVertexArrays()[Z];
+		int[][] pv = vertexBuffer.getProjectedVertexArrays();
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			int screenX = pv[X][ipoint];
+			int screenY = pv[Y][ipoint];
+			projected[ipoint] &= yInRange[ipoint] && zInRange[ipoint] && tz[ipoint] < 0.0
+					&& 0 <= screenX && screenX < screenWidth
+					&& 0 <= screenY && screenY < screenHeight;
+			screenXCoords[ipoint] = screenX;
+			screenYCoords[ipoint] = screenY;
 		}
+		return projected;
 	}
 
 
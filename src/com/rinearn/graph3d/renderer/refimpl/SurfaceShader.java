@@ -0,0 +1,132 @@
+package com.rinearn.graph3d.renderer.refimpl;
+
+import java.awt.Color;
+
+import com.rinearn.graph3d.config.light.LightConfiguration;
+
+
+/**
+ * The class to compute the shaded colors of surface-type geometric pieces (quadrangles, and so on).
+ *
+ * This class is shared by the pieces having their own vertices and by the pieces referencing vertices in a MeshVertexBuffer,
+ * so that both kinds of pieces are shaded in completely the same way.
+ */
+public final class SurfaceShader {
+
+	/** The array index at which a X coordinate value is stored. */
+	private static final int X = 0;
+
+	/** The array index at which a Y coordinate value is stored. */
+	private static final int Y = 1;
+
+	/** The array index at which a Z coordinate value is stored. */
+	private static final int Z = 2;
+
+
+	/**
+	 * This class has only static methods, so instantiation is not allowed.
+	 */
+	private SurfaceShader() {
+	}
+
+
+	/**
+	 * Computes the shaded color of a surface.
+	 *
+	 * @param normalVector The transformed normal vector of the surface. The index is [0:X, 1:Y, 2:Z].
+	 * @param originalColor The original (unmodified) color of the surface.
+	 * @param lightConfig The object storing parameters for lighting and shading.
+	 * @return The shaded color.
+	 */
+	public static Color shade(double[] normalVector, Color originalColor, LightConfiguration lightConfig) {
+		return shade(normalVector, 0, originalColor, lightConfig);
+	}
+
+
+	/**
+	 * Computes the shaded color of a surface, of which normal vector is stored in a flat array at the specified offset.
+	 *
+	 * @param normalArray The array storing the transformed normal vector of the surface, at [offset+0:X, offset+1:Y, offset+2:Z].
+	 * @param offset The index of the X element of the normal vector in the array.
+	 * @param originalColor The original (unmodified) color of the surface.
+	 * @param lightConfig The object storing parameters for lighting and shading.
+	 * @return The shaded color.
+	 */
+	public static Color shade(double[] normalArray, int offset, Color originalColor, LightConfiguration lightConfig) {
+		double[] normalVector = { normalArray[offset + X], normalArray[offset + Y], normalArray[offset + Z] };
+
+		// Prepare the direction vector pointing to the light source (hereinafter referred to as 'light vector').
+		double[] lightVector = {
+				lightConfig.getLightSourceDirectionX(),
+				lightConfig.getLightSourceDirectionY(),
+				lightConfig.getLightSourceDirectionZ()
+		};
+		// Note: There is no need to multiply x/y/zLengthFactor to the light vector.
+		//       In this graph software, x/y/zLengthFactor are used to control the aspect ratio of the 3D graph frame,
+		//       and the light is lighting up the graph from the OUTSIDE of the graph frame.
+
+		// Calculate the value of 'directional product',
+		// which is the inner product between the normal vector and the light vector.
+		double directionalProduct =
+				normalVector[X] * lightVector[X] +
+				normalVector[Y] * lightVector[Y] +
+				normalVector[Z] * lightVector[Z];
+
+		// Calculate the angle between the normal vector and the light vector,
+		// and normalize it into the range [0.0, 1.0].
+		double directionalAngle = Math.acos(directionalProduct);
+		double normalizedDirectionalAngle = directionalAngle / Math.PI;
+
+		// If the value of 'directional product' is negative, replace it by 0.
+		double directionalProductPositive = (0 <= directionalProduct) ? directionalProduct : 0.0;
+
+		// Calculate the brightness contributed by ambient, diffuse, and diffractive reflections.
+		double baseBrightness =
+				lightConfig.getAmbientReflectionStrength() +
+				lightConfig.getDiffuseReflectionStrength() * directionalProductPositive +
+				lightConfig.getDiffractiveReflectionStrength() * (1.0 - normalizedDirectionalAngle);
+
+		// Calculate the vector of the light reflected by specular reflection.
+		double[] specularReflectionVector = {
+				2.0 * directionalProduct * normalVector[X] - lightVector[X],
+				2.0 * directionalProduct * normalVector[Y] - lightVector[Y],
+				2.0 * directionalProduct * normalVector[Z] - lightVector[Z],
+		};
+		double specularReflectionVectorLength = Math.sqrt(
+				specularReflectionVector[X] * specularReflectionVector[X] +
+				specularReflectionVector[Y] * specularReflectionVector[Y] +
+				specularReflectionVector[Z] * specularReflectionVector[Z]
+		);
+
+		// Calculate the angle between the above vector and the Z-axis (= direction of the user's gaze).
+		double specularReflectionVectorAngle = Math.acos(specularReflectionVector[Z] / specularReflectionVectorLength);
+
+		// Calculate the brightness contributed by specular reflection.
+		double specularBrightness = 0.0;
+		double specularReflectionSpreadAngle = lightConfig.getSpecularReflectionAngle();
+		if (specularReflectionVectorAngle < specularReflectionSpreadAngle) {
+			specularBrightness = lightConfig.getSpecularReflectionStrength() *
+					Math.cos(0.5 * Math.PI * specularReflectionVectorAngle / specularReflectionSpreadAngle);
+		}
+
+		// Convert the RGBA components of the original color to double-type values, in range [0.0, 1.0].
+		double recip255 = 1.0 / 255.0;
+		double r = originalColor.getRed() * recip255;
+		double g = originalColor.getGreen() * recip255;
+		double b = originalColor.getBlue() * recip255;
+		double a = originalColor.getAlpha() * recip255;
+
+		// Blend the RGBA components based on the calculated brightnesses.
+		r = r * baseBrightness * (1.0 - specularBrightness) + specularBrightness;
+		g = g * baseBrightness * (1.0 - specularBrightness) + specularBrightness;
+		b = b * baseBrightness * (1.0 - specularBrightness) + specularBrightness;
+		a = a + specularBrightness;
+
+		// Calculated RGBA components may exceed the range [0.0, 1.0], so crop values.
+		r = Math.min(Math.max(r, 0.0), 1.0);
+		g = Math.min(Math.max(g, 0.0), 1.0);
+		b = Math.min(Math.max(b, 0.0), 1.0);
+		a = Math.min(Math.max(a, 0.0), 1.0);
+		return new Color((float)r, (float)g, (float)b, (float)a);
+	}
+}
@@ -0,0 +1,241 @@
+package com.rinearn.graph3d.renderer.refimpl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+import com.rinearn.graph3d.config.light.LightConfiguration;
+
+
+/**
+ * A geometric piece class representing a triangle.
+ */
+public final class TriangleGeometricPiece extends GeometricPiece {
+
+	/** Represents the array index of the vertex point A, in vertex-related arrays. */
+	private static final int A = 0;
+
+	/** Represents the array index of the vertex point B, in vertex-related arrays. */
+	private static final int B = 1;
+
+	/** Represents the array index of the vertex point C, in vertex-related arrays. */
+	private static final int C = 2;
+
+	/** Represents the array index of the normal vector, in vertex-related arrays. */
+	private static final int NORMAL = 3;
+
+
+	/**
+	 * Creates a new geometric piece representing a triangle consisting of points A, B, and C.
+	 *
+	 * @param aX The x coordinate value of the point A, in the scaled space.
+	 * @param aY The y coordinate value of the point A, in the scaled space.
+	 * @param aZ The z coordinate value of the point A, in the scaled space.
+	 * @param bX The x coordinate value of the point B, in the scaled space.
+	 * @param bY The y coordinate value of the point B, in the scaled space.
+	 * @param bZ The z coordinate value of the point B, in the scaled space.
+	 * @param cX The x coordinate value of the point C, in the scaled space.
+	 * @param cY The y coordinate value of the point C, in the scaled space.
+	 * @param cZ The z coordinate value of the point C, in the scaled space.
+	 * @param xLengthFactor The length factor for X dimension.
+	 * @param yLengthFactor The length factor for Y dimension.
+	 * @param zLengthFactor The length factor for Z dimension.
+	 * @param color The color of the triangle.
+	 */
+	public TriangleGeometricPiece(double aX, double aY, double aZ,
+			double bX, double bY, double bZ,
+			double cX, double cY, double cZ,
+			double xLengthFactor, double yLengthFactor, double zLengthFactor,
+			Color color) {
+
+		// Store the scaled coordinate values of the points A, B, and C into the vertex array.
+		// Also, store the normal vector as the last vertex, expediently.
+		// For the normal vector, we should transform only its angle, so set the value of W (the last element) to 0.
+		this.scaledVertexArray = new double[][] {
+			{ aX, aY, aZ, 1.0 }, // The last element "1.0" is so-called W value.
+			{ bX, bY, bZ, 1.0 },
+			{ cX, cY, cZ, 1.0 },
+			{ 0.0, 0.0, 0.0, 0.0 },
+		};
+		this.updateDirectionalVectors(xLengthFactor, yLengthFactor, zLengthFactor);
+
+		// Initialize other fields.
+		this.vertexCount = 4; // 3 vertex vectors + 1 normal vector
+		this.transformedVertexArray = new double[this.vertexCount][3]; // [3] is X/Y/Z
+		this.projectedVertexArray = new int[this.vertexCount][2];      // [2] is X/Y
+		this.originalColor = color;
+	}
+
+
+	/**
+	 * Updates the directional vectors, e.g. normal vectors of QuadrangleGeometricPieces.
+	 *
+	 * Some types of directional vectors must be re-computed when the length factors of X/Y/Z dimensions are changed,
+	 * so this method is called on such time.
+	 *
+	 * @param xLengthFactor The length factor for X dimension.
+	 * @param yLengthFactor The length factor for Y dimension.
+	 * @param zLengthFactor The length factor for Z dimension.
+	 */
+	@Override
+	public void updateDirectionalVectors(double xLengthFactor, double yLengthFactor, double zLengthFactor) {
+		double[][] sv = this.scaledVertexArray;
+
+		// Calculate the 'triangle side' vectors, scaled by the length factors for X/Y/Z dimensions.
+		double pX = (sv[B][X] - sv[A][X]) * xLengthFactor;
+		double pY = (sv[B][Y] - sv[A][Y]) * yLengthFactor;
+		double pZ = (sv[B][Z] - sv[A][Z]) * zLengthFactor;
+		double qX = (sv[C][X] - sv[A][X]) * xLengthFactor;
+		double qY = (sv[C][Y] - sv[A][Y]) * yLengthFactor;
+		double qZ = (sv[C][Z] - sv[A][Z]) * zLengthFactor;
+
+		// Calculate the normal vector as the cross product of the 'triangle side' vectors.
+		double nX = pY * qZ - pZ * qY;
+		double nY = pZ * qX - pX * qZ;
+		double nZ = pX * qY - pY * qX;
+
+		// Normalize the length of the normal vector.
+		double lengthRecip = 1.0 / Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+		sv[NORMAL][X] = nX * lengthRecip;
+		sv[NORMAL][Y] = nY * lengthRecip;
+		sv[NORMAL][Z] = nZ * lengthRecip;
+	}
+
+
+	/**
+	 * Transforms the coordinate values of this triangle.
+	 *
+	 * @param positionalTransformMatrix The matrix to transform positions, e.g.: vertex coordinates.
+	 * @param directionalTransformMatrix The matrix to transform directional vectors, e.g.: normal vectors of surfaces.
+	 */
+	@Override
+	public void transform(double[][] positionalTransformMatrix, double[][] directionalTransformMatrix) {
+
+		// Short aliases of the matrix and vertices arrays.
+		double[][] m = positionalTransformMatrix;
+		double[][] sv = this.scaledVertexArray;
+		double[][] tv = this.transformedVertexArray;
+
+		// Transform each vertex coordinates (A,B,C), where X=0, Y=1, Z=2, and W=3.
+		for (int ivertex=A; ivertex<=C; ivertex++) {
+			tv[ivertex][X] = m[0][0] * sv[ivertex][X] + m[0][1] * sv[ivertex][Y] + m[0][2] * sv[ivertex][Z] + m[0][3] * sv[ivertex][W];
+			tv[ivertex][Y] = m[1][0] * sv[ivertex][X] + m[1][1] * sv[ivertex][Y] + m[1][2] * sv[ivertex][Z] + m[1][3] * sv[ivertex][W];
+			tv[ivertex][Z] = m[2][0] * sv[ivertex][X] + m[2][1] * sv[ivertex][Y] + m[2][2] * sv[ivertex][Z] + m[2][3] * sv[ivertex][W];
+		}
+
+		// Transform normal vector.
+		m = directionalTransformMatrix;
+		tv[NORMAL][X] = m[0][0] * sv[NORMAL][X] + m[0][1] * sv[NORMAL][Y] + m[0][2] * sv[NORMAL][Z] + m[0][3] * sv[NORMAL][W];
+		tv[NORMAL][Y] = m[1][0] * sv[NORMAL][X] + m[1][1] * sv[NORMAL][Y] + m[1][2] * sv[NORMAL][Z] + m[1][3] * sv[NORMAL][W];
+		tv[NORMAL][Z] = m[2][0] * sv[NORMAL][X] + m[2][1] * sv[NORMAL][Y] + m[2][2] * sv[NORMAL][Z] + m[2][3] * sv[NORMAL][W];
+
+		// If this triangle faces the depth direction from the viewpoint, reverse its normal vector.
+		// See also: the description of 'facesDepthDirection' method of QuadrangleGeometricPiece.
+		if (this.facesDepthDirection(tv)) {
+			tv[NORMAL][X] = -tv[NORMAL][X];
+			tv[NORMAL][Y] = -tv[NORMAL][Y];
+			tv[NORMAL][Z] = -tv[NORMAL][Z];
+		}
+
+		// Compute the square of the 'depth' value.
+		double meanZ = (tv[A][Z] + tv[B][Z] + tv[C][Z]) / 3.0;
+		this.depthSquaredValue = meanZ * meanZ;
+	}
+
+
+	/**
+	 * Determines whether the normal vector of this triangle faces the depth direction,
+	 * CONSIDERING THE PERSPECTIVE EFFECT.
+	 *
+	 * @param v The array storing the transformed coordinates of the vertices of the triangle.
+	 * @return Returns true if the normal vector (with considering the perspective effect) faces the depth direction.
+	 */
+	private boolean facesDepthDirection(double[][] v) {
+
+		// Coefficients to apply the perspective effect to X and Y coordinate values of the vertices A, B, and C.
+		double azRecip = 1.0 / -v[A][Z];
+		double bzRecip = 1.0 / -v[B][Z];
+		double czRecip = 1.0 / -v[C][Z];
+
+		// Calculate the X and Y coordinate values of the 'triangle side' vectors, with the perspective effect.
+		double sideVectorPX = v[B][X] * bzRecip - v[A][X] * azRecip;
+		double sideVectorPY = v[B][Y] * bzRecip - v[A][Y] * azRecip;
+		double sideVectorQX = v[C][X] * czRecip - v[A][X] * azRecip;
+		double sideVectorQY = v[C][Y] * czRecip - v[A][Y] * azRecip;
+
+		// Calculate the cross product of the above 'triangle side' vectors, and determine the result from its sign.
+		double crossProductZ = sideVectorPX * sideVectorQY - sideVectorPY * sideVectorQX;
+		return (crossProductZ < 0);
+	}
+
+
+	/**
+	 * Shades the color.
+	 *
+	 * @param lightConfig The object storing parameters for lighting and shading.
+	 */
+	@Override
+	public void shade(LightConfiguration lightConfig) {
+		this.onscreenColor = SurfaceShader.shade(this.transformedVertexArray[NORMAL], this.originalColor, lightConfig);
+	}
+
+
+	/**
+	 * Computes the projected screen coordinate values of this triangle.
+	 *
+	 * @param screenWidth The width (pixels) of the screen.
+	 * @param screenHeight The height (pixels) of the screen.
+	 * @param screenOffsetX The X-offset value (positive for shifting rightward) of the screen center.
+	 * @param screenOffsetY The Y-offset value (positive for shifting upward) of the screen center.
+	 * @param magnification The magnification of the conversion from lengths in 3D space to pixels.
+	 */
+	@Override
+	public void project(int screenWidth, int screenHeight, int screenOffsetX, int screenOffsetY, double magnification) {
+
+		// Compute the project coordinates on the screen.
+		// (The origin is the left-top edge of the screen.)
+		int screenCenterX = (screenWidth >> 1) + screenOffsetX; // bit-shifting instead of dividing by 2.
+		int screenCenterY = (screenHeight >> 1) - screenOffsetY;
+
+		// Short aliases of the vertices arrays.
+		double[][] tv = this.transformedVertexArray;
+		int[][] pv = this.projectedVertexArray;
+
+		// Project each vertex (the normal vector is not necessary to be projected).
+		for (int ivertex=A; ivertex<=C; ivertex++) {
+			double projectionRatio = magnification / -tv[ivertex][Z]; // Z takes a negative value for the depth direction.
+			pv[ivertex][X] = screenCenterX + (int)(tv[ivertex][X] * projectionRatio);
+			pv[ivertex][Y] = screenCenterY - (int)(tv[ivertex][Y] * projectionRatio);
+		}
+	}
+
+
+	/**
+	 * Draws this triangle.
+	 *
+	 * @param graphics The Graphics2D instance for drawing shapes to the screen image.
+	 */
+	@Override
+	public void draw(Graphics2D graphics) {
+		graphics.setColor(this.onscreenColor);
+
+		int[][] pv = this.projectedVertexArray;
+		int[] xArray = { pv[A][X], pv[B][X], pv[C][X] };
+		int[] yArray = { pv[A][Y], pv[B][Y], pv[C][Y] };
+		graphics.fillPolygon(xArray, yArray, 3);
+	}
+
+
+	/**
+	 * Returns whether antialiasing is available for drawing this piece.
+	 *
+	 * When drawing this piece, antialiasing should be false,
+	 * otherwise the boudaries of conterminous multiple triangles become noisy.
+	 * Therefore, this method always returns false.
+	 *
+	 * @return Always returns false.
+	 */
+	@Override
+	public boolean isAntialiasingAvailable() {
+		return false;
+	}
+}
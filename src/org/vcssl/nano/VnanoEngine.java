@@ -19,6 +19,7 @@ import org.vcssl.nano.spec.ErrorType;
 import org.vcssl.nano.spec.OperationCode;
 import org.vcssl.nano.spec.OptionKey;
 import org.vcssl.nano.spec.PerformanceKey;
+import org.vcssl.nano.vm.ReexecutionCache;
 import org.vcssl.nano.vm.VirtualMachine;
 
 /**
@@ -32,15 +33,38 @@ public final class VnanoEngine {
 	/** Stores an object to mediate information/connections between components ("interconnect"). */
 	private Interconnect interconnect = null;
 
-	/** Stores the script which was executed last time. */
-	private String lastScript = null;
+	/**
+	 * Stores the resources for re-executing the recently executed scripts (the input scripts are the keys),
+	 * in the least-recently-used order.
+	 *
+	 * All the caches are cleared when this engine's state (options, permissions, plug-ins, etc.) is changed,
+	 * so the cached scripts are always executed in the same state with the current state.
+	 * The maximum number of the cached scripts is specified by REEXECUTION_CACHE_CAPACITY option.
+	 */
+	private final Map<String, ReexecutionCache> reexecutionCacheMap = new LinkedHashMap<String, ReexecutionCache>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ReexecutionCache> eldestEntry) {
+			return (Integer)interconnect.getOptionMap().get(OptionKey.REEXECUTION_CACHE_CAPACITY) < this.size();
+		}
+	};
+
+	/** The number of the executions which have re-used the cached resources. */
+	private volatile int reexecutionCacheHitCount = 0;
 
-	/** The flag representing that this engine's state is the same with it of when "lastScript" was executed. */
-	private boolean lastStateIsSame = false;
+	/** The number of the executions which have not found the cached resources, so have compiled the scripts. */
+	private volatile int reexecutionCacheMissCount = 0;
 
-	/** The flag representing that "AUTOMATIC_ACTIVATION_ENABLED" option was enabled when "lastScript" was executed. */
+	/** The flag representing that "AUTOMATIC_ACTIVATION_ENABLED" option was enabled when the cached scripts were executed. */
 	private boolean lastAutoActivationIsEnabled = false;
 
+	/**
+	 * The version number of this engine's state (options, permissions, plug-ins, etc.),
+	 * incremented when the state is changed.
+	 * The scripts prepared by {@link VnanoEngine#prepareScript(String)} refer this number to detect the change.
+	 */
+	private volatile long stateVersion = 0;
+
 
 	/**
 	 * Create a Vnano Engine with default settings.
@@ -72,34 +96,19 @@ public final class VnanoEngine {
 			throw new NullPointerException();
 		}
 
-		// If the input script is the same with the last executed script, we can re-execute it with less overheads, using caches.
-		if (this.lastScript != null && this.lastStateIsSame) {
-
-			// When the references of two String variables are the same, their values are also the same.
-			// (Because they point to the same String instance.)
-			// Of course, their values can be the same when their references are different.
-			if (script == this.lastScript || script.equals(this.lastScript)) {
-				return this.reexecuteLastScript();
-			}
+		// If the input script has been executed recently, we can re-execute it with less overheads, using caches.
+		ReexecutionCache reexecutionCache = this.reexecutionCacheMap.get(script);
+		if (reexecutionCache != null) {
+			this.reexecutionCacheHitCount++;
+			return this.reexecuteScript(reexecutionCache);
 		}
+		this.reexecutionCacheMissCount++;
+		String inputScript = script;
 
 		try {
 
-			// Remove the encoding declaration if exists, and normalize environment-dependent contents, and so on.
-			try {
-				script = MetaQualifiedFileLoader.postprocess(null, script); // The first arg is the file name to display in error messages.
-			} catch (VnanoException vne) {
-				String message = vne.getMessageWithoutLocation();
-				throw new ScriptException(message);
-			}
-
-			// Get the name of the main script from the option map, if it is set.
-			// (The main script name has already been normalized,
-			//  because all option values are normalized when the option map is set to the engine.)
-			String mainScriptName = (String)this.interconnect.getOptionMap().get(OptionKey.MAIN_SCRIPT_NAME);
-
-			// Set the name/content of the main script, to the interconnect.
-			this.interconnect.setMainScript(mainScriptName, script);
+			// Translate the script to a VRIL code (intermediate assembly code).
+			String assemblyCode = this.compileScript(script);
 
 			// Check whether the automatic-activation feature is enabled.
 			boolean autoActivationIsEnabled = (Boolean)this.interconnect.getOptionMap().get(OptionKey.AUTOMATIC_ACTIVATION_ENABLED);
@@ -110,13 +119,6 @@ public final class VnanoEngine {
 				this.interconnect.activate();
 			}
 
-			// Get the file paths and contents of all scripts (the main script and all library scripts), from the interconnect.
-			String[] scripts = this.interconnect.getScriptContents();
-			String[] paths   = this.interconnect.getScriptPaths();
-
-			// Translate scripts to a VRIL code (intermediate assembly code) by a compiler.
-			String assemblyCode = new Compiler().compile(scripts, paths, this.interconnect);
-
 			// Execute the VRIL code on a VM.
 			Object evalValue = this.virtualMachine.executeAssemblyCode(assemblyCode, this.interconnect);
 
@@ -126,46 +128,181 @@ public final class VnanoEngine {
 				this.interconnect.deactivate();
 			}
 
-			// Stores the input script, to detect that the same script is input again.
+			// Caches the resources for re-executing the input script, to detect that the same script is input again.
 			// Also, set some flags, to reduce overhead costs of re-executions of the same script.
-			this.lastScript = script;
-			this.lastStateIsSame = true;
+			this.reexecutionCacheMap.put(inputScript, this.virtualMachine.getLastReexecutionCache());
 			this.lastAutoActivationIsEnabled = autoActivationIsEnabled;
 
 			return evalValue;
 
+		} catch (Exception e) {
+			this.handleExecutionException(e);
+			return null;
+		}
+	}
+
+
+	/**
+	 * Prepares an expression or script code for executing it repetitively with less overheads,
+	 * and returns the handle of the prepared script.
+	 *
+	 * The values of the external (float type, scalar) variables used as parameters of the script
+	 * can be bound to the handle by {@link VnanoPreparedScript#bindFloatParameter(String)},
+	 * and then can be set by {@link VnanoPreparedScript#setFloatParameter(int, double)} directly before each execution.
+	 * The bound values are written into the memory of the VM directly,
+	 * without converting them through the connected plug-ins.
+	 *
+	 * The prepared script is compiled again automatically
+	 * if this engine's state (options, permissions, plug-ins, etc.) has been changed.
+	 * As same as {@link VnanoEngine#executeScript(String)},
+	 * the prepared script must not be executed at the same time with other scripts on this engine.
+	 *
+	 * @param script An expression or script code to be prepared.
+	 * @return The handle of the prepared script.
+	 * @throws VnanoException Thrown when any error has detected for the content of the script.
+	 */
+	public VnanoPreparedScript prepareScript(String script) throws VnanoException {
+		if (script == null) {
+			throw new NullPointerException();
+		}
+		String assemblyCode = null;
+		try {
+			assemblyCode = this.compileScript(script);
+		} catch (Exception e) {
+			this.handleExecutionException(e);
+		}
+		return new VnanoPreparedScript(this, script, assemblyCode, this.stateVersion);
+	}
+
+
+	/**
+	 * Translates an expression or script code to a VRIL code (intermediate assembly code).
+	 *
+	 * @param script An expression or script code to be translated.
+	 * @return The translated VRIL code.
+	 * @throws VnanoException Thrown when any error has detected for the content of the script.
+	 * @throws ScriptException Thrown when the encoding declaration of the script is incorrect.
+	 */
+	String compileScript(String script) throws VnanoException, ScriptException {
+
+		// Remove the encoding declaration if exists, and normalize environment-dependent contents, and so on.
+		try {
+			script = MetaQualifiedFileLoader.postprocess(null, script); // The first arg is the file name to display in error messages.
+		} catch (VnanoException vne) {
+			String message = vne.getMessageWithoutLocation();
+			throw new ScriptException(message);
+		}
+
+		// Get the name of the main script from the option map, if it is set.
+		// (The main script name has already been normalized,
+		//  because all option values are normalized when the option map is set to the engine.)
+		String mainScriptName = (String)this.interconnect.getOptionMap().get(OptionKey.MAIN_SCRIPT_NAME);
+
+		// Set the name/content of the main script, to the interconnect.
+		this.interconnect.setMainScript(mainScriptName, script);
+
+		// Get the file paths and contents of all scripts (the main script and all library scripts), from the interconnect.
+		String[] scripts = this.interconnect.getScriptContents();
+		String[] paths   = this.interconnect.getScriptPaths();
+
+		// Translate scripts to a VRIL code (intermediate assembly code) by a compiler.
+		return new Compiler().compile(scripts, paths, this.interconnect);
+	}
+
+
+	/**
+	 * Handles an exception thrown when compiling or executing a script,
+	 * and re-throws it to upper layers as a VnanoException, unless it requires no error message (e.g.: thrown by exit() function).
+	 *
+	 * @param exception The thrown exception.
+	 * @throws VnanoException The VnanoException representing the error.
+	 */
+	void handleExecutionException(Exception exception) throws VnanoException {
+
 		// If any error is occurred for the content/processing of the script,
 		// set the locale to switch the language of error messages, and re-throw the exception to upper layers.
-		} catch (VnanoException e) {
-			Locale locale = (Locale)this.interconnect.getOptionMap().get(OptionKey.LOCALE); // Type was already checked.
-			e.setLocale(locale);
+		if (exception instanceof VnanoException) {
+			VnanoException e = (VnanoException)exception;
+			e.setLocale(this.getLocale());
 
 			if (e.getCause() instanceof ConnectorException && ((ConnectorException)e.getCause()).getMessage().startsWith("___")) {
 				this.handleSpecialConnectorException((ConnectorException)e.getCause(), e);
-				return null;
+				return;
 			} else {
 				throw e;
 			}
 
 		// If unexpected exception is occurred, wrap it by the VnanoException and re-throw,
 		// to prevent the stall of the host-application.
-		} catch (Exception unexpectedException) {
-			throw new VnanoException(unexpectedException);
+		} else {
+			throw new VnanoException(exception);
 		}
 	}
 
 
 	/**
-	 * Re-execute the script which was executed last time,
+	 * Gets the locale specified by the option, which determines the language of error messages.
+	 *
+	 * @return The locale of error messages.
+	 */
+	Locale getLocale() {
+		return (Locale)this.interconnect.getOptionMap().get(OptionKey.LOCALE); // Type was already checked.
+	}
+
+
+	/**
+	 * Gets the object to mediate information/connections between components ("interconnect") of this engine.
+	 *
+	 * @return The interconnect of this engine.
+	 */
+	Interconnect getInterconnect() {
+		return this.interconnect;
+	}
+
+
+	/**
+	 * Gets the process virtual machine of this engine.
+	 *
+	 * @return The virtual machine of this engine.
+	 */
+	VirtualMachine getVirtualMachine() {
+		return this.virtualMachine;
+	}
+
+
+	/**
+	 * Gets the version number of this engine's state (options, permissions, plug-ins, etc.),
+	 * which is incremented when the state is changed.
+	 *
+	 * @return The version number of this engine's state.
+	 */
+	long getStateVersion() {
+		return this.stateVersion;
+	}
+
+
+	/**
+	 * Discards all the resources cached for re-executing scripts, and increments the version number of this engine's state.
+	 * This method is called when this engine's state (options, permissions, plug-ins, etc.) is changed.
+	 */
+	private void invalidateCaches() {
+		this.reexecutionCacheMap.clear();
+		this.stateVersion++;
+	}
+
+
+	/**
+	 * Re-execute the script which was executed recently,
 	 * in less overhead way using cached resources in the VM.
 	 *
+	 * @param reexecutionCache The resources cached when the script was executed.
 	 * @return
 	 *     The evaluated value of the expression, or the last expression statement in script code.
 	 *     If there is no evaluated value, returns null.
 	 *
 	 * @throws VnanoException Thrown when any error has detected for the content or the processing of the script.
 	 */
-	private Object reexecuteLastScript() throws VnanoException {
+	private Object reexecuteScript(ReexecutionCache reexecutionCache) throws VnanoException {
 
 		// Activate the interconnect, for executing the script.
 		// (All connected plug-ins are initialized at this timing.
@@ -173,8 +310,8 @@ public final class VnanoEngine {
 			this.interconnect.activate();
 		}
 
-		// On the VM, re-execute the last executed VRIL code, using caches.
-		Object evalValue = this.virtualMachine.reexecuteLastAssemblyCode(this.interconnect);
+		// On the VM, re-execute the cached VRIL code.
+		Object evalValue = this.virtualMachine.reexecuteAssemblyCode(reexecutionCache, this.interconnect);
 
 		// Deactivate the interconnect.
 		// (All Connected plug-ins are finalized at this timing.)
@@ -376,7 +513,7 @@ public final class VnanoEngine {
 		if (bindingName == null || plugin == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.invalidateCaches();
 		this.interconnect.connectPlugin(bindingName, plugin);
 	}
 
@@ -387,7 +524,7 @@ public final class VnanoEngine {
 	 * @throws VnanoException Thrown when an exception occurred on the finalization of the plug-in to be disconnected.
 	 */
 	public void disconnectAllPlugins() throws VnanoException {
-		this.lastStateIsSame = false;
+		this.invalidateCaches();
 		this.interconnect.disconnectAllPlugins();
 	}
 
@@ -403,7 +540,7 @@ public final class VnanoEngine {
 		if (libraryScriptPath == null || libraryScriptContent == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.invalidateCaches();
 		this.interconnect.addLibraryScript(libraryScriptPath, libraryScriptContent);
 	}
 
@@ -416,7 +553,7 @@ public final class VnanoEngine {
 	 *   but it requires to be "catch"-ed for keeping compatibility in future.
 	 */
 	public void unregisterAllLibraryScripts() throws VnanoException {
-		this.lastStateIsSame = false;
+		this.invalidateCaches();
 		this.interconnect.removeAllLibraryScripts();
 	}
 
@@ -440,7 +577,7 @@ public final class VnanoEngine {
 		if (optionMap == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.invalidateCaches();
 		this.interconnect.setOptionMap(optionMap);
 	}
 
@@ -494,7 +631,7 @@ public final class VnanoEngine {
 		if (permissionMap == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.invalidateCaches();
 		this.interconnect.setPermissionMap(permissionMap);
 	}
 
@@ -580,6 +717,10 @@ public final class VnanoEngine {
 				}
 			}
 
+			// Store the counter values of the executions which have re-used/not-found the cached resources.
+			performanceMap.put(PerformanceKey.REEXECUTION_CACHE_HIT_COUNT_INT_VALUE, this.reexecutionCacheHitCount);
+			performanceMap.put(PerformanceKey.REEXECUTION_CACHE_MISS_COUNT_INT_VALUE, this.reexecutionCacheMissCount);
+
 			return performanceMap;
 		}
 	}
@@ -0,0 +1,345 @@
+/*
+ * Copyright(C) 2023 RINEARN
+ * This software is released under the MIT License.
+ */
+
+package org.vcssl.nano;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.vcssl.nano.interconnect.AbstractVariable;
+import org.vcssl.nano.interconnect.Interconnect;
+import org.vcssl.nano.interconnect.VariableTable;
+import org.vcssl.nano.spec.DataType;
+import org.vcssl.nano.spec.DataTypeName;
+import org.vcssl.nano.spec.ErrorType;
+import org.vcssl.nano.spec.OptionKey;
+import org.vcssl.nano.vm.ReexecutionCache;
+import org.vcssl.nano.vm.VirtualMachine;
+import org.vcssl.nano.vm.memory.DataContainer;
+import org.vcssl.nano.vm.memory.Memory;
+
+/**
+ * The class of the handle of a script prepared by {@link VnanoEngine#prepareScript(String)},
+ * for executing it repetitively with less overheads.
+ *
+ * The external (float type, scalar) variables used as parameters of the script can be bound to this handle
+ * by {@link VnanoPreparedScript#bindFloatParameter(String)}, and then their values can be set directly
+ * by {@link VnanoPreparedScript#setFloatParameter(int, double)} before each execution.
+ * The bound values are written into the memory of the VM directly,
+ * without boxing, data conversions, and accesses to the connected plug-ins,
+ * and the result value can be gotten as a primitive value by {@link VnanoPreparedScript#executeToFloat()}.
+ *
+ * Please note that, the values of the bound parameters are not written back to the connected plug-ins after executions.
+ * Also, as same as {@link VnanoEngine#executeScript(String)},
+ * this handle must not be used from multiple threads at the same time,
+ * and must not be executed at the same time with other scripts on the same engine.
+ */
+public final class VnanoPreparedScript {
+
+	/** The engine on which this script is prepared. */
+	private final VnanoEngine engine;
+
+	/** The content of the prepared script. */
+	private final String script;
+
+	/** The VRIL code (intermediate assembly code) compiled from the script. */
+	private String assemblyCode;
+
+	/** The version number of the engine's state when the script was compiled. */
+	private long compiledStateVersion;
+
+	/** The names of the bound parameters, in the order of their indices. */
+	private final List<String> parameterNameList = new ArrayList<String>();
+
+	/** The values of the bound parameters, in the order of their indices. */
+	private double[] parameterValues = new double[0];
+
+	/** The resources cached when the script was executed first (null if it has not been executed yet). */
+	private ReexecutionCache reexecutionCache = null;
+
+	/** The containers in the cached memory, storing the values of the bound parameters. */
+	private DataContainer<?>[] parameterDataContainers = null;
+
+	/** The flags representing whether the data of the global variable at each address should not be transferred. */
+	private boolean[] globalDataTransferSkipFlags = null;
+
+	/** The flag representing that "AUTOMATIC_ACTIVATION_ENABLED" option was enabled when the script was executed first. */
+	private boolean autoActivationIsEnabled = false;
+
+	/** The flag representing that the result value of the script is a float type scalar value. */
+	private boolean resultIsFloatScalar = false;
+
+
+	/**
+	 * Creates a new handle of the prepared script.
+	 *
+	 * @param engine The engine on which the script is prepared.
+	 * @param script The content of the prepared script.
+	 * @param assemblyCode The VRIL code (intermediate assembly code) compiled from the script.
+	 * @param compiledStateVersion The version number of the engine's state when the script was compiled.
+	 */
+	VnanoPreparedScript(VnanoEngine engine, String script, String assemblyCode, long compiledStateVersion) {
+		this.engine = engine;
+		this.script = script;
+		this.assemblyCode = assemblyCode;
+		this.compiledStateVersion = compiledStateVersion;
+	}
+
+
+	/**
+	 * Gets the content of the prepared script.
+	 *
+	 * @return The content of the prepared script.
+	 */
+	public String getScript() {
+		return this.script;
+	}
+
+
+	/**
+	 * Binds the external variable having the specified name as a parameter of this script,
+	 * and returns the index of the parameter, which is used for setting its value.
+	 *
+	 * The variable must be a non-constant, float type, scalar variable provided by a connected plug-in.
+	 * Until the value is set by {@link VnanoPreparedScript#setFloatParameter(int, double)}, the value of the parameter is 0.0.
+	 * If the same variable has already been bound, returns the same index.
+	 *
+	 * @param variableName The name of the external variable to be bound.
+	 * @return The index of the parameter.
+	 * @throws VnanoException Thrown when the specified variable does not exist, or it is not bindable.
+	 */
+	public int bindFloatParameter(String variableName) throws VnanoException {
+		if (variableName == null) {
+			throw new NullPointerException();
+		}
+		try {
+			this.getParameterVariable(variableName);
+		} catch (VnanoException e) {
+			e.setLocale(this.engine.getLocale());
+			throw e;
+		}
+
+		int parameterIndex = this.parameterNameList.indexOf(variableName);
+		if (parameterIndex != -1) {
+			return parameterIndex;
+		}
+		this.parameterNameList.add(variableName);
+		this.parameterValues = Arrays.copyOf(this.parameterValues, this.parameterNameList.size());
+
+		// The bindings in the cached memory are resolved again at the next execution.
+		this.reexecutionCache = null;
+		return this.parameterNameList.size() - 1;
+	}
+
+
+	/**
+	 * Sets the value of the bound parameter, which is reflected at the next execution.
+	 *
+	 * @param parameterIndex The index of the parameter, returned by {@link VnanoPreparedScript#bindFloatParameter(String)}.
+	 * @param value The value of the parameter.
+	 */
+	public void setFloatParameter(int parameterIndex, double value) {
+		this.parameterValues[parameterIndex] = value;
+	}
+
+
+	/**
+	 * Executes this script, and returns the result value as a primitive float (double) value.
+	 *
+	 * @return The evaluated value of the expression, or the last expression statement in script code.
+	 * @throws VnanoException
+	 *   Thrown when any error has detected for the content or the processing of the script,
+	 *   or when the result value is not a float type scalar value.
+	 */
+	public double executeToFloat() throws VnanoException {
+		DataContainer<?> resultDataContainer = this.executeDirectly();
+		if (resultDataContainer == null || !this.resultIsFloatScalar) {
+			String resultDataTypeName = DataTypeName.VOID;
+			if (resultDataContainer != null) {
+				resultDataTypeName = DataTypeName.getDataTypeNameOf(resultDataContainer.getDataType());
+				if (resultDataContainer.getArrayRank() != DataContainer.ARRAY_RANK_OF_SCALAR) {
+					resultDataTypeName += "[]";
+				}
+			}
+			VnanoException e = new VnanoException(
+				ErrorType.CAST_FAILED_DUE_TO_TYPE, new String[] { resultDataTypeName, DataTypeName.DEFAULT_FLOAT }
+			);
+			e.setLocale(this.engine.getLocale());
+			throw e;
+		}
+		return resultDataContainer.getFloat64ScalarData();
+	}
+
+
+	/**
+	 * Executes this script, and returns the result value.
+	 *
+	 * @return
+	 *     The evaluated value of the expression, or the last expression statement in script code.
+	 *     If there is no evaluated value, returns null.
+	 *
+	 * @throws VnanoException Thrown when any error has detected for the content or the processing of the script.
+	 */
+	public Object execute() throws VnanoException {
+		DataContainer<?> resultDataContainer = this.executeDirectly();
+		if (resultDataContainer == null) {
+			return null;
+		}
+		try {
+			return this.reexecutionCache.getResultDataConverter().convertToExternalObject(resultDataContainer);
+		} catch (Exception e) {
+			this.engine.handleExecutionException(e);
+			return null;
+		}
+	}
+
+
+	/**
+	 * Executes this script, and returns the container of the result value in the cached memory directly.
+	 *
+	 * @return The container of the result value (null if there is no evaluated value).
+	 * @throws VnanoException Thrown when any error has detected for the content or the processing of the script.
+	 */
+	private DataContainer<?> executeDirectly() throws VnanoException {
+
+		// At the first execution, or after the engine's state has been changed, execute the script in the normal way.
+		if (this.reexecutionCache == null || this.compiledStateVersion != this.engine.getStateVersion()) {
+			return this.executeFirstly();
+		}
+
+		// Write the values of the bound parameters into the cached memory directly.
+		int parameterCount = this.parameterValues.length;
+		for (int parameterIndex=0; parameterIndex<parameterCount; parameterIndex++) {
+			this.parameterDataContainers[parameterIndex].setFloat64ScalarData(this.parameterValues[parameterIndex]);
+		}
+
+		// Re-execute the cached code, without transferring the data of the bound parameters.
+		Interconnect interconnect = this.engine.getInterconnect();
+		try {
+			if (this.autoActivationIsEnabled) {
+				interconnect.activate();
+			}
+			DataContainer<?> resultDataContainer = this.engine.getVirtualMachine().reexecuteAssemblyCodeDirectly(
+				this.reexecutionCache, interconnect, this.globalDataTransferSkipFlags
+			);
+			if (this.autoActivationIsEnabled) {
+				interconnect.deactivate();
+			}
+			return resultDataContainer;
+
+		} catch (Exception e) {
+			this.engine.handleExecutionException(e);
+			return null;
+		}
+	}
+
+
+	/**
+	 * Executes this script in the normal way (with compiling it again if the engine's state has been changed),
+	 * and caches the resources for re-executing it.
+	 *
+	 * @return The container of the result value (null if there is no evaluated value).
+	 * @throws VnanoException Thrown when any error has detected for the content or the processing of the script.
+	 */
+	private DataContainer<?> executeFirstly() throws VnanoException {
+		this.reexecutionCache = null;
+		Interconnect interconnect = this.engine.getInterconnect();
+		VirtualMachine virtualMachine = this.engine.getVirtualMachine();
+		try {
+
+			// Compile the script again if the engine's state has been changed.
+			long stateVersion = this.engine.getStateVersion();
+			if (this.compiledStateVersion != stateVersion) {
+				this.assemblyCode = this.engine.compileScript(this.script);
+				this.compiledStateVersion = stateVersion;
+			}
+
+			// Set the values of the bound parameters to the external variables,
+			// and get their indices (equal to the addresses in the GLOBAL partition of the memory).
+			VariableTable externalVariableTable = interconnect.getExternalVariableTable();
+			int parameterCount = this.parameterValues.length;
+			int[] globalAddresses = new int[parameterCount];
+			for (int parameterIndex=0; parameterIndex<parameterCount; parameterIndex++) {
+				AbstractVariable variable = this.getParameterVariable(this.parameterNameList.get(parameterIndex));
+				DataContainer<double[]> dataContainer = new DataContainer<double[]>();
+				dataContainer.setFloat64ScalarData(this.parameterValues[parameterIndex]);
+				variable.setDataContainer(dataContainer);
+				globalAddresses[parameterIndex] = externalVariableTable.getIndexOf(variable);
+			}
+
+			// Execute the script on the VM.
+			boolean autoActivationIsEnabled = (Boolean)interconnect.getOptionMap().get(OptionKey.AUTOMATIC_ACTIVATION_ENABLED);
+			if (autoActivationIsEnabled) {
+				interconnect.activate();
+			}
+			virtualMachine.executeAssemblyCode(this.assemblyCode, interconnect);
+			if (autoActivationIsEnabled) {
+				interconnect.deactivate();
+			}
+
+			// Get the containers of the bound parameters in the cached memory, to write their values directly.
+			ReexecutionCache reexecutionCache = virtualMachine.getLastReexecutionCache();
+			Memory memory = reexecutionCache.getMemory();
+			DataContainer<?>[] parameterDataContainers = new DataContainer<?>[parameterCount];
+			boolean[] globalDataTransferSkipFlags = new boolean[externalVariableTable.getSize()];
+			for (int parameterIndex=0; parameterIndex<parameterCount; parameterIndex++) {
+				parameterDataContainers[parameterIndex] = memory.getDataContainer(Memory.Partition.GLOBAL, globalAddresses[parameterIndex]);
+				globalDataTransferSkipFlags[ globalAddresses[parameterIndex] ] = true;
+			}
+
+			// Check the data type of the result value.
+			DataContainer<?> resultDataContainer = null;
+			boolean resultIsFloatScalar = false;
+			if (reexecutionCache.hasResultDataResources()) {
+				resultDataContainer = reexecutionCache.getResultDataContainer();
+				resultIsFloatScalar = resultDataContainer.getDataType() == DataType.FLOAT64
+						&& resultDataContainer.getArrayRank() == DataContainer.ARRAY_RANK_OF_SCALAR;
+			}
+
+			this.parameterDataContainers = parameterDataContainers;
+			this.globalDataTransferSkipFlags = globalDataTransferSkipFlags;
+			this.autoActivationIsEnabled = autoActivationIsEnabled;
+			this.resultIsFloatScalar = resultIsFloatScalar;
+			this.reexecutionCache = reexecutionCache;
+			return resultDataContainer;
+
+		} catch (Exception e) {
+			this.engine.handleExecutionException(e);
+			return null;
+		}
+	}
+
+
+	/**
+	 * Gets the external variable to be bound as a parameter, with checking that it is bindable.
+	 *
+	 * @param variableName The name of the external variable.
+	 * @return The external variable.
+	 * @throws VnanoException Thrown when the specified variable does not exist, or it is not bindable.
+	 */
+	private AbstractVariable getParameterVariable(String variableName) throws VnanoException {
+		VariableTable externalVariableTable = this.engine.getInterconnect().getExternalVariableTable();
+		if (!externalVariableTable.containsVariableWithName(variableName)) {
+			throw new VnanoException(ErrorType.VARIABLE_IS_NOT_FOUND, variableName);
+		}
+		AbstractVariable variable = externalVariableTable.getVariableByName(variableName);
+		if (variable.isConstant()) {
+			throw new VnanoException(ErrorType.WRITING_TO_CONST_VARIABLE, variableName);
+		}
+		if (!DataTypeName.isDataTypeNameOf(DataType.FLOAT64, variable.getDataTypeName())
+				|| variable.getArrayRank() != DataContainer.ARRAY_RANK_OF_SCALAR) {
+
+			String variableDataTypeName = variable.getDataTypeName();
+			if (variable.getArrayRank() != DataContainer.ARRAY_RANK_OF_SCALAR) {
+				variableDataTypeName += "[]";
+			}
+			throw new VnanoException(
+				ErrorType.CAST_FAILED_DUE_TO_TYPE, new String[] { variableDataTypeName, DataTypeName.DEFAULT_FLOAT }
+			);
+		}
+		return variable;
+	}
+}
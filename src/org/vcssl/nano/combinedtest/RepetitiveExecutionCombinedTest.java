@@ -2,6 +2,7 @@ package org.vcssl.nano.combinedtest;
 
 import org.vcssl.nano.VnanoEngine;
 import org.vcssl.nano.VnanoException;
+import org.vcssl.nano.VnanoPreparedScript;
 
 
 public class RepetitiveExecutionCombinedTest extends CombinedTestElement {
@@ -11,6 +12,7 @@ public class RepetitiveExecutionCombinedTest extends CombinedTestElement {
 	public class VariablePlugin {
 		public int x = 2;
 		public int y = 3;
+		public double z = 0.5;
 	}
 
 	@Override
@@ -54,6 +56,12 @@ public class RepetitiveExecutionCombinedTest extends CombinedTestElement {
 			testId = 8;
 			this.testRepetitiveExecitons("x * y ;", 600, testId);
 
+			testId = 9;
+			this.testAlternateExecutions("x * y ;", "x + y ;", variablePlugin, testId);
+
+			testId = 10;
+			this.testPreparedExecutions("x * z + 0.25 ;", "x + y ;", variablePlugin, testId);
+
 		} catch (VnanoException e) {
 			throw new CombinedTestException(e);
 		}
@@ -70,4 +78,49 @@ public class RepetitiveExecutionCombinedTest extends CombinedTestElement {
 			super.evaluateResult(resultL, expectedValue, title, scriptCode);
 		}
 	}
+
+	private void testAlternateExecutions(String productScriptCode, String sumScriptCode, VariablePlugin variablePlugin,
+			int testIdNumberInTitle) throws VnanoException{
+
+		long resultL;
+
+		// Execute the two scripts alternately, with updating the values of the variables.
+		for (int repetedCount=1; repetedCount<=5; repetedCount++) {
+			variablePlugin.x = repetedCount;
+			variablePlugin.y = repetedCount + 10;
+
+			resultL = (long)this.engine.executeScript(productScriptCode);
+			String title = "alternate execition " + testIdNumberInTitle + "-" + repetedCount + "-product";
+			super.evaluateResult(resultL, repetedCount * (repetedCount + 10), title, productScriptCode);
+
+			resultL = (long)this.engine.executeScript(sumScriptCode);
+			title = "alternate execition " + testIdNumberInTitle + "-" + repetedCount + "-sum";
+			super.evaluateResult(resultL, repetedCount + (repetedCount + 10), title, sumScriptCode);
+		}
+	}
+
+	private void testPreparedExecutions(String preparedScriptCode, String otherScriptCode, VariablePlugin variablePlugin,
+			int testIdNumberInTitle) throws VnanoException{
+
+		double resultD;
+		long resultL;
+
+		VnanoPreparedScript preparedScript = this.engine.prepareScript(preparedScriptCode);
+		int zParameterIndex = preparedScript.bindFloatParameter("z");
+
+		// Execute the prepared script and the other script alternately, with setting the bound parameter directly.
+		for (int repetedCount=1; repetedCount<=5; repetedCount++) {
+			variablePlugin.x = repetedCount;
+			variablePlugin.y = repetedCount + 10;
+			preparedScript.setFloatParameter(zParameterIndex, repetedCount * 2.0);
+
+			resultD = preparedScript.executeToFloat();
+			String title = "prepared execition " + testIdNumberInTitle + "-" + repetedCount + "-prepared";
+			super.evaluateResult(resultD, repetedCount * (repetedCount * 2.0) + 0.25, title, preparedScriptCode);
+
+			resultL = (long)this.engine.executeScript(otherScriptCode);
+			title = "prepared execition " + testIdNumberInTitle + "-" + repetedCount + "-other";
+			super.evaluateResult(resultL, repetedCount + (repetedCount + 10), title, otherScriptCode);
+		}
+	}
 }
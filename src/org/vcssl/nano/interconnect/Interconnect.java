@@ -252,11 +252,33 @@ public class Interconnect {
 	public void writebackExternalVariables(Memory memory, VirtualMachineObjectCode intermediateCode)
 			throws VnanoException {
 
+		this.writebackExternalVariables(memory, intermediateCode, null);
+	}
+
+
+	/**
+	 * Writebacks data to external variables from the virtual memory of VM,
+	 * except for the variables specified by the skip flags.
+	 *
+	 * @param memory The virtual memory which was used for execution of the script.
+	 * @param intermediateCode The VM object code, executed with using the memory.
+	 * @param skipFlags
+	 *   The flags representing whether the variable at each global address should not be written back
+	 *   (null for writing back all the variables).
+	 */
+	public void writebackExternalVariables(Memory memory, VirtualMachineObjectCode intermediateCode, boolean[] skipFlags)
+			throws VnanoException {
+
 		// Write-back values of external (global) variables.
 		int maxGlobalAddress = intermediateCode.getMaximumGlobalAddress();
 		int minGlobalAddress = intermediateCode.getMinimumGlobalAddress();
 		for (int address=minGlobalAddress; address<=maxGlobalAddress; address++) {
 
+			// Skip if the variable is specified to be skipped by the caller.
+			if (skipFlags != null && skipFlags[address]) {
+				continue;
+			}
+
 			// Skip if the address of the variable is not accessed from the script.
 			if (!intermediateCode.hasGlobalVariableRegisteredAt(address)) {
 				continue;
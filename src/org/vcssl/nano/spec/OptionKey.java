@@ -159,6 +159,18 @@ public class OptionKey {
 	public static final String AUTOMATIC_ACTIVATION_ENABLED = "AUTOMATIC_ACTIVATION_ENABLED";
 
 
+	/**
+	 * An option to specify the maximum number of the scripts of which resources are cached for re-executing them.
+	 *
+	 * When a script which was executed recently is executed again, the engine skips compiling it by using the cached resources.
+	 * However, the cached resources include the data (e.g. arrays) allocated in the VM when the script was executed,
+	 * so specify a small value (or 0 to disable caching) when the engine executes scripts handling huge data.
+	 *
+	 * The value of this option is "Integer" type.
+	 */
+	public static final String REEXECUTION_CACHE_CAPACITY = "REEXECUTION_CACHE_CAPACITY";
+
+
 	/**
 	 * Specify the mode of UI for inputting/outputting values and so on.
 	 *
@@ -159,6 +159,12 @@ public final class OptionValue {
 	public static final int ACCELERATOR_OPTIMIZATION_LEVEL_DEFAULT = ACCELERATOR_OPTIMIZATION_LEVEL_3;
 
 
+	/**
+	 * The default value of {@link OptionKey#REEXECUTION_CACHE_CAPACITY REEXECUTION_CACHE_CAPACITY} option.
+	 */
+	public static final int REEXECUTION_CACHE_CAPACITY_DEFAULT = 64;
+
+
 	/** A map contains default values of the option map. */
 	private static final Map<String, Object> DEFAULT_VALUE_MAP = new LinkedHashMap<String, Object>();
 	static {
@@ -175,6 +181,7 @@ public final class OptionValue {
 		DEFAULT_VALUE_MAP.put(OptionKey.DUMPER_STREAM, System.out);
 		DEFAULT_VALUE_MAP.put(OptionKey.RUNNING_ENABLED, Boolean.TRUE);
 		DEFAULT_VALUE_MAP.put(OptionKey.AUTOMATIC_ACTIVATION_ENABLED, Boolean.TRUE);
+		DEFAULT_VALUE_MAP.put(OptionKey.REEXECUTION_CACHE_CAPACITY, REEXECUTION_CACHE_CAPACITY_DEFAULT);
 		DEFAULT_VALUE_MAP.put(OptionKey.MAIN_SCRIPT_NAME, MAIN_SCRIPT_NAME_DEFAULT);
 		DEFAULT_VALUE_MAP.put(OptionKey.MAIN_SCRIPT_DIRECTORY, MAIN_DIRECTORY_PATH_DEFAULT);
 		DEFAULT_VALUE_MAP.put(OptionKey.FILE_IO_ENCODING, "UTF-8");
@@ -281,6 +288,7 @@ public final class OptionValue {
 		checkValueOf(OptionKey.DUMPER_TARGET, optionMap, String.class);
 		checkValueOf(OptionKey.DUMPER_STREAM, optionMap, PrintStream.class);
 		checkValueOf(OptionKey.RUNNING_ENABLED, optionMap, Boolean.class);
+		checkValueOf(OptionKey.REEXECUTION_CACHE_CAPACITY, optionMap, Integer.class);
 		checkValueOf(OptionKey.MAIN_SCRIPT_NAME, optionMap, String.class);
 		checkValueOf(OptionKey.MAIN_SCRIPT_DIRECTORY, optionMap, String.class);
 		checkValueOf(OptionKey.FILE_IO_ENCODING, optionMap, String.class);
@@ -38,4 +38,28 @@ public class PerformanceKey {
 	 */
 	public static final String CURRENTLY_EXECUTED_OPERATION_CODE = "CURRENTLY_EXECUTED_OPERATION_CODE";
 
+
+	/**
+	 * The total number of the script executions which have been accelerated by re-using the cached compiled code,
+	 * from when the monitoring target engine was instantiated.
+	 *
+	 * The engine caches the compiled code (and the memory allocated for running it) of the recently executed scripts,
+	 * and re-uses them when the same script is executed again, skipping the compilation and the assembling.
+	 * The cached code are discarded when the state of the engine (options, permissions, plug-ins, etc.) is changed.
+	 *
+	 * The measured value of this monitoring item is "Integer" type.
+	 */
+	public static final String REEXECUTION_CACHE_HIT_COUNT_INT_VALUE = "REEXECUTION_CACHE_HIT_COUNT_INT_VALUE";
+
+
+	/**
+	 * The total number of the script executions which have required the compilation because their code were not cached,
+	 * from when the monitoring target engine was instantiated.
+	 *
+	 * See also {@link PerformanceKey#REEXECUTION_CACHE_HIT_COUNT_INT_VALUE REEXECUTION_CACHE_HIT_COUNT_INT_VALUE}.
+	 *
+	 * The measured value of this monitoring item is "Integer" type.
+	 */
+	public static final String REEXECUTION_CACHE_MISS_COUNT_INT_VALUE = "REEXECUTION_CACHE_MISS_COUNT_INT_VALUE";
+
 }
@@ -6,6 +6,7 @@
 package org.vcssl.nano.vm;
 
 import org.vcssl.nano.interconnect.DataConverter;
+import org.vcssl.nano.vm.accelerator.Accelerator;
 import org.vcssl.nano.vm.memory.DataContainer;
 import org.vcssl.nano.vm.memory.Memory;
 
@@ -30,6 +31,9 @@ public class ReexecutionCache {
 	/** The flag representing whether the accelerator is enabled. */
 	private boolean acceleratorEnabled = false;
 
+	/** The resources cached by the accelerator when it processed the last code. */
+	private volatile Accelerator.ReprocessingCache acceleratorReprocessingCache = null;
+
 
 	/**
 	 * Create an empty instance storing nothing.
@@ -132,4 +136,23 @@ public class ReexecutionCache {
 	public boolean isAcceleratorEnabled() {
 		return this.acceleratorEnabled;
 	}
+
+
+	/**
+	 * Sets the resources cached by the accelerator when it processed the last code.
+	 *
+	 * @param acceleratorReprocessingCache The resources cached by the accelerator.
+	 */
+	public void setAcceleratorReprocessingCache(Accelerator.ReprocessingCache acceleratorReprocessingCache) {
+		this.acceleratorReprocessingCache = acceleratorReprocessingCache;
+	}
+
+	/**
+	 * Gets the resources cached by the accelerator when it processed the last code.
+	 *
+	 * @return The resources cached by the accelerator.
+	 */
+	public Accelerator.ReprocessingCache getAcceleratorReprocessingCache() {
+		return this.acceleratorReprocessingCache;
+	}
 }
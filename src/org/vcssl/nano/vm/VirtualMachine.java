@@ -136,6 +136,9 @@ public class VirtualMachine {
 		this.reexecutionCache.setLastObjectCode(vmObjectCode);
 		this.reexecutionCache.setMemory(memory);
 		this.reexecutionCache.setAcceleratorEnabled(acceleratorEnabled);
+		if (acceleratorEnabled) {
+			this.reexecutionCache.setAcceleratorReprocessingCache(this.accelerator.getReprocessingCache());
+		}
 
 		// Convert the data-type of the result value (from the internal data-type to the external one), and return it.
 		Object returnValue = null;
@@ -165,33 +168,93 @@ public class VirtualMachine {
 		if (this.reexecutionCache == null) {
 			throw new VnanoException(ErrorType.INVALID_REEXECUTION_REQUEST);
 		}
+		return this.reexecuteAssemblyCode(this.reexecutionCache, interconnect);
+	}
+
+
+	/**
+	 * Gets the resources cached for re-executing the code, which was executed by executeAssemblyCode() method last time.
+	 *
+	 * The returned cache can be passed to {@link VirtualMachine#reexecuteAssemblyCode(ReexecutionCache, Interconnect)}
+	 * for re-executing the code later, even after other code has been executed.
+	 * Note that, the cached resources (the memory, etc.) are reused for each re-execution,
+	 * so the same cache must not be re-executed in parallel.
+	 *
+	 * @return The resources cached for re-executing the last code (null if no code has been executed yet).
+	 */
+	public ReexecutionCache getLastReexecutionCache() {
+		return this.reexecutionCache;
+	}
+
+
+	/**
+	 * Re-executes the assembly code executed before, by using the specified resources cached when it was executed.
+	 *
+	 * @param reexecutionCache The cached resources, gotten by {@link VirtualMachine#getLastReexecutionCache()}.
+	 * @param interconnect The interconnect to which external functions/variables are connected.
+	 * @return
+	 *   The value specified by {@link org.vcssl.nano.spec.OperationCode#END END} instruction at the end of VRIL code.
+	 *   If no value is specified, returns null.
+	 *
+	 * @throws VnanoException Thrown when a runtime error is occurred.
+	 */
+	public Object reexecuteAssemblyCode(ReexecutionCache reexecutionCache, Interconnect interconnect) throws VnanoException {
+
+		// Re-execute the cached code, and get the container of the result value.
+		DataContainer<?> resultDataContainer = this.reexecuteAssemblyCodeDirectly(reexecutionCache, interconnect, null);
+
+		// Convert the data-type of the result value (from the internal data-type to the external one), and return it.
+		Object returnValue = null;
+		if (resultDataContainer != null) {
+			DataConverter converter = reexecutionCache.getResultDataConverter();
+			returnValue = converter.convertToExternalObject(resultDataContainer);
+		}
+		return returnValue;
+	}
+
+
+	/**
+	 * Re-executes the assembly code executed before, by using the specified resources cached when it was executed,
+	 * and returns the container of the result value directly, without converting it to an external object.
+	 *
+	 * The data of the global variables specified by the skip flags are neither reloaded from the external variables
+	 * before the execution, nor written back to them after the execution.
+	 * This is used when the caller writes the data of the variables directly into the cached memory.
+	 *
+	 * @param reexecutionCache The cached resources, gotten by {@link VirtualMachine#getLastReexecutionCache()}.
+	 * @param interconnect The interconnect to which external functions/variables are connected.
+	 * @param globalDataTransferSkipFlags
+	 *   The flags representing whether the data of the global variable at each address should not be transferred
+	 *   (null for transferring all the data).
+	 * @return The container of the result value (null if no value is specified by END instruction).
+	 *
+	 * @throws VnanoException Thrown when a runtime error is occurred.
+	 */
+	public DataContainer<?> reexecuteAssemblyCodeDirectly(ReexecutionCache reexecutionCache, Interconnect interconnect,
+			boolean[] globalDataTransferSkipFlags) throws VnanoException {
 
-		// Extract the cached last code, and the cached memory instance for running the code.
-		VirtualMachineObjectCode lastObjectCode = this.reexecutionCache.getLastObjectCode();
+		// Extract the cached code, and the cached memory instance for running the code.
+		VirtualMachineObjectCode lastObjectCode = reexecutionCache.getLastObjectCode();
 		Instruction[] instructions = lastObjectCode.getInstructions();
-		Memory memory = this.reexecutionCache.getMemory();
+		Memory memory = reexecutionCache.getMemory();
 
 		// Reload the (may be updated) values of external variables to GLOBAL partition of the memory.
-		memory.updateGlobalPartitionData(lastObjectCode, interconnect.getExternalVariableTable());
+		memory.updateGlobalPartitionData(lastObjectCode, interconnect.getExternalVariableTable(), globalDataTransferSkipFlags);
 
-		// Execute the last code.
-		if (this.reexecutionCache.isAcceleratorEnabled()) {
-			this.accelerator.reprocess(instructions, memory, interconnect, this.processor);
+		// Execute the cached code.
+		if (reexecutionCache.isAcceleratorEnabled()) {
+			this.accelerator.reprocess(
+				instructions, memory, interconnect, this.processor, reexecutionCache.getAcceleratorReprocessingCache()
+			);
 		} else {
 			this.processor.process(instructions, memory, interconnect);
 		}
 
 		// Write back data of external variables from the memory (may had been modified by the executed VM object code).
-		interconnect.writebackExternalVariables(memory, lastObjectCode); // lastObjectCode has the table of variable names and memory addresses
+		// (lastObjectCode has the table of variable names and memory addresses)
+		interconnect.writebackExternalVariables(memory, lastObjectCode, globalDataTransferSkipFlags);
 
-		// Convert the data-type of the result value (from the internal data-type to the external one), and return it.
-		Object returnValue = null;
-		if (this.reexecutionCache.hasResultDataResources()) {
-			DataContainer<?> resultDataContainer = this.reexecutionCache.getResultDataContainer();
-			DataConverter converter = this.reexecutionCache.getResultDataConverter();
-			returnValue = converter.convertToExternalObject(resultDataContainer);
-		}
-		return returnValue;
+		return reexecutionCache.hasResultDataResources() ? reexecutionCache.getResultDataContainer() : null;
 	}
 
 
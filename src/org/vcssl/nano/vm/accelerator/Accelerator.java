@@ -32,7 +32,7 @@ public class Accelerator {
 	 * The container class for caching some resources,
 	 * to reduce overheads when this accelerator processes the same code repetitively.
 	 */
-	private class ReprocessingCache {
+	public static final class ReprocessingCache {
 
 		/** Stores the execution nodes created for the last processed code. */
 		public volatile AcceleratorExecutionNode[] lastExecutionNodes;
@@ -223,6 +223,15 @@ public class Accelerator {
 		dataManager.getCacheSynchronizers(Memory.Partition.CONSTANT).synchronizeFromMemoryToCache();
 		dataManager.getCacheSynchronizers(Memory.Partition.GLOBAL).synchronizeFromMemoryToCache();
 
+		// Caches some resources, to reduce overheads when this accelerator processes the same code repetitively.
+		// (Cache them before the execution, for keeping consistency with the processed code even if the execution is disabled by the option.)
+		this.reprocessingCache = new ReprocessingCache();
+		this.reprocessingCache.lastExecutionNodes = nodes;
+		this.reprocessingCache.lastDataManager = dataManager;
+		this.reprocessingCache.lastRunningEnabled = shouldRun;
+		this.reprocessingCache.lastTerminatorEnabled = terminatable;
+		this.reprocessingCache.lastPerformanceMonitorEnabled = monitorable;
+
 		// オプションでコード実行が無効化されていた場合はここで終了
 		if (!shouldRun) {
 			return;
@@ -247,13 +256,6 @@ public class Accelerator {
 			dumpStream.println("================================================================================");
 		}
 
-		// Caches some resources, to reduce overheads when this accelerator processes the same code repetitively.
-		this.reprocessingCache = new ReprocessingCache();
-		this.reprocessingCache.lastExecutionNodes = nodes;
-		this.reprocessingCache.lastDataManager = dataManager;
-		this.reprocessingCache.lastRunningEnabled = shouldRun;
-		this.reprocessingCache.lastTerminatorEnabled = terminatable;
-		this.reprocessingCache.lastPerformanceMonitorEnabled = monitorable;
 	}
 
 
@@ -270,12 +272,30 @@ public class Accelerator {
 	public void reprocess(Instruction[] instructions, Memory memory, Interconnect interconnect, Processor processor)
 			throws VnanoException {
 
-		// Extract cached resources of the last execution.
-		AcceleratorExecutionNode[] nodes = this.reprocessingCache.lastExecutionNodes;
-		AcceleratorDataManagementUnit dataManager = this.reprocessingCache.lastDataManager;
-		boolean shouldRun = this.reprocessingCache.lastRunningEnabled;
-		boolean terminatable = this.reprocessingCache.lastTerminatorEnabled;
-		boolean monitorable = this.reprocessingCache.lastPerformanceMonitorEnabled;
+		this.reprocess(instructions, memory, interconnect, processor, this.reprocessingCache);
+	}
+
+
+	/**
+	 * Re-processes the instructions processed before, by using the resources cached when they were processed.
+	 *
+	 * @param instructions The list of the instructions to be processed.
+	 * @param memory The memory to which data I/O will be performed (must be the same instance used when the cache was created).
+	 * @param interconnect The interconnect having the external function plug-ins which may be called by the instructions.
+	 * @param processor The processor for processing some instructions unsupported by this accelerator.
+	 * @param reprocessingCache The cached resources, gotten by {@link Accelerator#getReprocessingCache()} after processing the instructions.
+	 * @throws VnanoException Thrown when any normal run-time error has been occurred (errors of cast, array indexing, and so on).
+	 * @throws VnanoFatalException Thrown when any abnormal error (might be a bug of the VM or the compiler) occurred.
+	 */
+	public void reprocess(Instruction[] instructions, Memory memory, Interconnect interconnect, Processor processor,
+			ReprocessingCache reprocessingCache) throws VnanoException {
+
+		// Extract cached resources of the execution.
+		AcceleratorExecutionNode[] nodes = reprocessingCache.lastExecutionNodes;
+		AcceleratorDataManagementUnit dataManager = reprocessingCache.lastDataManager;
+		boolean shouldRun = reprocessingCache.lastRunningEnabled;
+		boolean terminatable = reprocessingCache.lastTerminatorEnabled;
+		boolean monitorable = reprocessingCache.lastPerformanceMonitorEnabled;
 		if (!shouldRun) {
 			return;
 		}
@@ -289,6 +309,18 @@ public class Accelerator {
 	}
 
 
+	/**
+	 * Gets the resources cached when the last code was processed,
+	 * which can be passed to {@link Accelerator#reprocess(Instruction[], Memory, Interconnect, Processor, ReprocessingCache)}
+	 * for re-processing the code later, even after other code has been processed.
+	 *
+	 * @return The cached resources (null if no code has been processed yet).
+	 */
+	public ReprocessingCache getReprocessingCache() {
+		return this.reprocessingCache;
+	}
+
+
 	/**
 	 * Executes the chain of AcceleratorExecutionNode instances.
 	 * This corresponds the processing of the list of the instructions, on a Processor.
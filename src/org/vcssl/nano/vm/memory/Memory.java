@@ -335,8 +335,32 @@ public final class Memory {
 	public final void updateGlobalPartitionData(VirtualMachineObjectCode vmObjectCode, VariableTable globalVariableTable)
 			throws VnanoException {
 
+		this.updateGlobalPartitionData(vmObjectCode, globalVariableTable, null);
+	}
+
+
+	/**
+	 * Updates the data stored in the GLOBAL partition, without replacing DataContainer instances (references),
+	 * except for the data of the global variables specified by the skip flags.
+	 *
+	 * This method is used when the data of some global variables are directly written into the memory by the caller,
+	 * e.g.: the parameters bound by {@link org.vcssl.nano.VnanoPreparedScript VnanoPreparedScript}.
+	 *
+	 * @param vmObjectCode The VM object code, executed with using this memory.
+	 * @param globalVariableTable The table of the global (external) variables.
+	 * @param skipFlags
+	 *   The flags representing whether the data of the global variable at each index should not be updated
+	 *   (null for updating all the data).
+	 * @throws VnanoException Thrown when failed to get the data-container of a global (external) variable.
+	 */
+	public final void updateGlobalPartitionData(VirtualMachineObjectCode vmObjectCode, VariableTable globalVariableTable,
+			boolean[] skipFlags) throws VnanoException {
+
 		int globalSize = globalVariableTable.getSize();
 		for (int globalIndex=0; globalIndex<globalSize; globalIndex++) {
+			if (skipFlags != null && skipFlags[globalIndex]) {
+				continue;
+			}
 
 			// WARNING: Don't swap DataContainer instances stored in the memory.
 			//          Their references have also stored in AcceleratorExecutionNode instances,